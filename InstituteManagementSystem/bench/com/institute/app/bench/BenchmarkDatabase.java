@@ -0,0 +1,137 @@
+package com.institute.app.bench;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.institute.app.config.DBConnection;
+import com.institute.app.models.Student;
+import com.institute.app.tools.DataGenerator;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An embedded MariaDB server (through MariaDB4j) loaded with the application schema and
+ * a fixed set of synthetic rows, shared by every benchmark in one JMH fork.
+ *
+ * The server listens on a free local port; `db.url`, `db.user` and `db.password` are set
+ * as system properties so {@link DBConnection} and the DAOs use it without any changes.
+ * The rows come from {@link DataGenerator} with a fixed seed, so every run sees the same
+ * data, and it is the same data the load tests and demos generate at a smaller scale.
+ */
+public final class BenchmarkDatabase {
+
+    public static final String NAME = "institute_management_db";
+    public static final int STUDENTS = 10_000;
+    public static final int COURSES = 1_000;
+    /** The average; each student gets between 0 and twice this many. */
+    public static final int PAYMENTS_PER_STUDENT = 3;
+    public static final int EXAMS_PER_COURSE = 2;
+
+    private static final long SEED = 42L;
+    // Dates are counted back from a fixed day (2025-01-01 UTC) rather than today, so every run is identical.
+    private static final long BASE_MILLIS = 1_735_689_600_000L;
+    private static final String[] FIRST_NAMES = {"Aarav", "Maya", "Liam", "Sofia", "Noah", "Amara", "Kenji", "Elena", "Omar", "Priya"};
+    private static final String[] LAST_NAMES = {"Perera", "Silva", "Fernando", "Smith", "Khan", "Garcia", "Tanaka", "Novak", "Okafor", "Jones"};
+
+    private static DB server;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private BenchmarkDatabase() {}
+
+    /**
+     * Starts and seeds the database the first time it is called in this JVM.
+     */
+    public static synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0); // Pick a free port.
+            server = DB.newEmbeddedDB(config.build());
+            server.start();
+            server.createDB(NAME);
+            // The schema script is copied onto the benchmark classpath by the `bench-compile` target.
+            server.source("institute_management_db.sql", "root", null, NAME);
+
+            System.setProperty("db.url", "jdbc:mysql://localhost:" + server.getConfiguration().getPort() + "/" + NAME);
+            System.setProperty("db.user", "root");
+            System.setProperty("db.password", "");
+            DBConnection.closeConnection(); // Make sure the pool is created with the new settings.
+
+            seed();
+            Runtime.getRuntime().addShutdownHook(new Thread(BenchmarkDatabase::stop, "bench-db-shutdown"));
+        } catch (ManagedProcessException e) {
+            throw new RuntimeException("Failed to start the embedded benchmark database.", e);
+        }
+    }
+
+    /**
+     * Closes the pool and stops the server.
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        DBConnection.closeConnection();
+        try {
+            server.stop();
+        } catch (ManagedProcessException e) {
+            e.printStackTrace();
+        }
+        server = null;
+    }
+
+    /**
+     * Creates synthetic students for insert benchmarks. The emails are unique within the run
+     * as long as each call uses a different prefix.
+     *
+     * @param prefix A prefix that makes the emails unique, e.g. a counter.
+     * @param count  The number of students.
+     * @return Students with ID 0, ready to insert.
+     */
+    public static List<Student> newStudents(String prefix, int count) {
+        Random random = new Random(SEED);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(newStudent(random, prefix + "-" + i));
+        }
+        return students;
+    }
+
+    private static void seed() {
+        DataGenerator generator = new DataGenerator(SEED);
+        generator.setStudents(STUDENTS);
+        generator.setTeachers(50);
+        generator.setCourses(COURSES);
+        generator.setEnrollmentsPerStudent(3);
+        generator.setExamsPerCourse(EXAMS_PER_COURSE);
+        generator.setPaymentsPerStudent(PAYMENTS_PER_STUDENT);
+        try {
+            generator.insertIntoDatabase(4);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to seed the benchmark database.", e);
+        }
+    }
+
+    private static Student newStudent(Random random, String key) {
+        return new Student(0,
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                daysAgo(6_000 + random.nextInt(3_000)),
+                key + "@bench.invalid",
+                String.format("07%08d", random.nextInt(100_000_000)),
+                random.nextInt(1_000) + " Galle Road, Colombo " + (1 + random.nextInt(15)),
+                daysAgo(random.nextInt(4 * 365)));
+    }
+
+    private static Date daysAgo(int days) {
+        return new Date(BASE_MILLIS - TimeUnit.DAYS.toMillis(days));
+    }
+}
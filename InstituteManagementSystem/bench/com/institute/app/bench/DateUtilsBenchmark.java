@@ -0,0 +1,61 @@
+package com.institute.app.bench;
+
+import com.institute.app.utils.DateUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link DateUtils} helpers used when filling tables and binding statement parameters.
+ * Needs no database.
+ *
+ * `formatToUIShared` runs the same formatter from four threads at once, as the Swing
+ * thread and background loads do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateUtilsBenchmark {
+
+    private final Date date = new Date(1_735_689_600_000L);
+    private final String uiDate = "25-Aug-2024";
+
+    @Benchmark
+    public String formatToUI() {
+        return DateUtils.formatToUI(date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String formatToUIShared() {
+        return DateUtils.formatToUI(date);
+    }
+
+    @Benchmark
+    public String formatToDB() {
+        return DateUtils.formatToDB(date);
+    }
+
+    @Benchmark
+    public Date parseFromUI() {
+        return DateUtils.parseFromUI(uiDate);
+    }
+
+    @Benchmark
+    public java.sql.Date toSqlDate() {
+        return DateUtils.toSqlDate(date);
+    }
+}
@@ -0,0 +1,79 @@
+package com.institute.app.bench;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.models.Student;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-row {@link StudentDAO#addStudent(Student)} against the batched
+ * {@link StudentDAO#addStudents(List)}, reported as time per inserted row.
+ *
+ * Each invocation inserts {@link #ROWS} fresh students; the rows are deleted again after
+ * every iteration so the table size stays stable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class InsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private int invocation;
+    private List<Student> students;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        BenchmarkDatabase.start();
+    }
+
+    @Setup(Level.Invocation)
+    public void createRows() {
+        students = BenchmarkDatabase.newStudents("insert" + (invocation++), ROWS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteRows() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM students WHERE email LIKE 'insert%@bench.invalid'")) {
+            pstmt.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void perRow(Blackhole bh) {
+        for (Student student : students) {
+            bh.consume(studentDAO.addStudent(student));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Student> batched() {
+        return studentDAO.addStudents(students);
+    }
+}
@@ -0,0 +1,80 @@
+package com.institute.app.bench;
+
+import com.institute.app.dao.PaymentDAO;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.models.Payment;
+import com.institute.app.models.Student;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading a whole table: `getAll*` (copies every row into a list) against `streamAll*`
+ * and `forEach*` (map and hand over one row at a time).
+ *
+ * Run with `-prof gc` to see the allocation difference as well as the time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final PaymentDAO paymentDAO = new PaymentDAO();
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        BenchmarkDatabase.start();
+    }
+
+    @Benchmark
+    public void getAllStudents(Blackhole bh) {
+        List<Student> students = studentDAO.getAllStudents();
+        for (Student student : students) {
+            bh.consume(student);
+        }
+    }
+
+    @Benchmark
+    public void streamAllStudents(Blackhole bh) {
+        try (Stream<Student> students = studentDAO.streamAllStudents()) {
+            students.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void forEachStudent(Blackhole bh) {
+        studentDAO.forEachStudent(bh::consume);
+    }
+
+    @Benchmark
+    public void getAllPayments(Blackhole bh) {
+        List<Payment> payments = paymentDAO.getAllPayments();
+        for (Payment payment : payments) {
+            bh.consume(payment);
+        }
+    }
+
+    @Benchmark
+    public void streamAllPayments(Blackhole bh) {
+        try (Stream<Payment> payments = paymentDAO.streamAllPayments()) {
+            payments.forEach(bh::consume);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.institute.app.dao;
+
+import com.institute.app.bench.BenchmarkDatabase;
+import com.institute.app.config.DBConnection;
+import com.institute.app.models.Payment;
+import com.institute.app.models.Student;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of turning one row into a model object, without the network or the server.
+ *
+ * The rows are read once from the embedded database into an in-memory `CachedRowSet`;
+ * each invocation maps all of them. Lives in the `dao` package because the mappers are
+ * package-private. `byLabel` mirrors the old `rs.getXxx("column")` style for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMappingBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final PaymentDAO paymentDAO = new PaymentDAO();
+    private CachedRowSet students;
+    private CachedRowSet payments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start();
+        students = load("SELECT " + StudentDAO.COLUMNS + " FROM students ORDER BY student_id LIMIT " + ROWS);
+        payments = load("SELECT " + PaymentDAO.COLUMNS + " FROM payments ORDER BY payment_id LIMIT " + ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapStudent(Blackhole bh) throws SQLException {
+        students.beforeFirst();
+        while (students.next()) {
+            bh.consume(studentDAO.mapResultSetToStudent(students));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapStudentByLabel(Blackhole bh) throws SQLException {
+        students.beforeFirst();
+        while (students.next()) {
+            bh.consume(new Student(students.getInt("student_id"), students.getString("first_name"),
+                    students.getString("last_name"), students.getDate("date_of_birth"), students.getString("email"),
+                    students.getString("phone"), students.getString("address"), students.getDate("enrollment_date")));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapPayment(Blackhole bh) throws SQLException {
+        payments.beforeFirst();
+        while (payments.next()) {
+            bh.consume(paymentDAO.mapResultSetToPayment(payments));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mapPaymentByLabel(Blackhole bh) throws SQLException {
+        payments.beforeFirst();
+        while (payments.next()) {
+            bh.consume(new Payment(payments.getInt("payment_id"), payments.getInt("student_id"),
+                    (Integer) payments.getObject("course_id"), payments.getBigDecimal("amount"),
+                    payments.getDate("payment_date"), (Integer) payments.getObject("payment_method_id"),
+                    payments.getString("description"), payments.getString("invoice_number")));
+        }
+    }
+
+    private static CachedRowSet load(String sql) throws SQLException {
+        CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rows.populate(rs);
+        }
+        return rows;
+    }
+}
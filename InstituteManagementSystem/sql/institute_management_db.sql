@@ -10,6 +10,11 @@
 -- USE institute_management_db;
 
 -- Drop tables in reverse order of dependency to avoid foreign key errors
+DROP TABLE IF EXISTS `idempotency_keys`;
+DROP TABLE IF EXISTS `timetable_sessions`;
+DROP TABLE IF EXISTS `rooms`;
+DROP TABLE IF EXISTS `payment_daily_rollup`;
+DROP TABLE IF EXISTS `invoice_sequences`;
 DROP TABLE IF EXISTS `payments`;
 DROP TABLE IF EXISTS `payment_methods`;
 DROP TABLE IF EXISTS `exam_results`;
@@ -57,6 +62,8 @@ CREATE TABLE `teachers` (
     `subject_specialization` VARCHAR(100),
     `hire_date` DATE,
     `user_id` INT UNIQUE COMMENT 'Optional link to a user account for login',
+    -- Serves the name-ordered listing and keyset pagination (InnoDB appends the primary key).
+    INDEX `idx_teachers_name` (`last_name`, `first_name`),
     FOREIGN KEY (`user_id`) REFERENCES `users`(`user_id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -71,6 +78,7 @@ CREATE TABLE `courses` (
     `description` TEXT,
     `credits` INT,
     `teacher_id` INT COMMENT 'Lead teacher for the course',
+    INDEX `idx_courses_name` (`course_name`),
     FOREIGN KEY (`teacher_id`) REFERENCES `teachers`(`teacher_id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -86,7 +94,9 @@ CREATE TABLE `students` (
     `email` VARCHAR(100) NOT NULL UNIQUE,
     `phone` VARCHAR(20),
     `address` TEXT,
-    `enrollment_date` DATE NOT NULL
+    `enrollment_date` DATE NOT NULL,
+    -- Serves the name-ordered listing and keyset pagination (InnoDB appends the primary key).
+    INDEX `idx_students_name` (`last_name`, `first_name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 
@@ -114,6 +124,7 @@ CREATE TABLE `exams` (
     `exam_date` DATETIME NOT NULL,
     `course_id` INT,
     `max_marks` INT NOT NULL DEFAULT 100,
+    INDEX `idx_exams_date` (`exam_date`),
     FOREIGN KEY (`course_id`) REFERENCES `courses`(`course_id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -154,12 +165,86 @@ CREATE TABLE `payments` (
     `payment_method_id` INT,
     `description` VARCHAR(255),
     `invoice_number` VARCHAR(50) UNIQUE,
+    -- Serves the newest-first listing and keyset pagination (InnoDB appends the primary key).
+    INDEX `idx_payments_date` (`payment_date`),
     FOREIGN KEY (`student_id`) REFERENCES `students`(`student_id`) ON DELETE CASCADE,
     FOREIGN KEY (`course_id`) REFERENCES `courses`(`course_id`) ON DELETE SET NULL,
     FOREIGN KEY (`payment_method_id`) REFERENCES `payment_methods`(`method_id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 
+-- ---------------------------------
+-- Table Structure for `payment_daily_rollup`
+-- ---------------------------------
+-- Payment count and total per day, course and payment method, kept up to date by PaymentDAO
+-- in the same transaction as every payment change, so revenue queries (RevenueDAO) read a
+-- few hundred rows instead of the whole ledger. A 0 course or method means none.
+-- No foreign keys: CourseDAO.deleteCourse moves a deleted course's totals to 0 itself.
+CREATE TABLE `payment_daily_rollup` (
+    `payment_date` DATE NOT NULL,
+    `course_id` INT NOT NULL DEFAULT 0,
+    `payment_method_id` INT NOT NULL DEFAULT 0,
+    `payment_count` INT NOT NULL,
+    `total_amount` DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (`payment_date`, `course_id`, `payment_method_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
+-- ---------------------------------
+-- Table Structure for `invoice_sequences`
+-- ---------------------------------
+-- The next free invoice number per prefix (e.g., per branch). InvoiceNumberAllocator
+-- reserves numbers from here in blocks; a prefix's row is created on first use.
+CREATE TABLE `invoice_sequences` (
+    `prefix` VARCHAR(32) PRIMARY KEY,
+    `next_value` BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
+-- ---------------------------------
+-- Table Structure for `idempotency_keys`
+-- ---------------------------------
+-- One row per operation replayed from a desk's offline journal, written in the same
+-- transaction as the row it created, so a replayed operation is never applied twice.
+CREATE TABLE `idempotency_keys` (
+    `idempotency_key` VARCHAR(64) PRIMARY KEY,
+    `entity_id` INT NOT NULL COMMENT 'ID of the student or payment the operation created',
+    `applied_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
+-- ---------------------------------
+-- Table Structure for `rooms`
+-- ---------------------------------
+CREATE TABLE `rooms` (
+    `room_id` INT AUTO_INCREMENT PRIMARY KEY,
+    `room_name` VARCHAR(50) NOT NULL UNIQUE,
+    `capacity` INT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
+-- ---------------------------------
+-- Table Structure for `timetable_sessions`
+-- ---------------------------------
+-- One scheduled class meeting, from `starts_at` (inclusive) to `ends_at` (exclusive).
+-- Clashes between sessions are detected in memory by TimetableService, not by constraints.
+CREATE TABLE `timetable_sessions` (
+    `session_id` INT AUTO_INCREMENT PRIMARY KEY,
+    `course_id` INT NOT NULL,
+    `teacher_id` INT,
+    `room_id` INT,
+    `student_group` VARCHAR(50) COMMENT 'Class or batch attending, e.g. BSc-CS-1A',
+    `starts_at` DATETIME NOT NULL,
+    `ends_at` DATETIME NOT NULL,
+    -- Serves the per-term load (TimetableDAO.getSessionsBetween).
+    INDEX `idx_sessions_start` (`starts_at`),
+    CHECK (`ends_at` > `starts_at`),
+    FOREIGN KEY (`course_id`) REFERENCES `courses`(`course_id`) ON DELETE CASCADE,
+    FOREIGN KEY (`teacher_id`) REFERENCES `teachers`(`teacher_id`) ON DELETE SET NULL,
+    FOREIGN KEY (`room_id`) REFERENCES `rooms`(`room_id`) ON DELETE SET NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
 -- =================================================================
 -- Seed Data
 -- =================================================================
@@ -178,6 +263,13 @@ INSERT INTO `payment_methods` (`method_name`) VALUES
 ('Bank Transfer'),
 ('Online Payment');
 
+-- Insert sample rooms
+INSERT INTO `rooms` (`room_name`, `capacity`) VALUES
+('Room 101', 40),
+('Room 102', 40),
+('Computer Lab 1', 30),
+('Lecture Hall A', 120);
+
 -- Insert a default admin user (password is 'admin_password' - should be hashed in a real app)
 -- NOTE: This is a placeholder hash. A real application must generate a secure hash.
 INSERT INTO `users` (`username`, `password_hash`, `email`, `role_id`) VALUES
@@ -210,6 +302,12 @@ INSERT INTO `payments` (`student_id`, `course_id`, `amount`, `payment_date`, `pa
  CONCAT('INV-', DATE_FORMAT(CURDATE(), '%Y%m%d'), '-001')
 );
 
+-- Build the revenue rollup for the seed payments (same statement as RevenueDAO.rebuildRollup)
+INSERT INTO `payment_daily_rollup` (`payment_date`, `course_id`, `payment_method_id`, `payment_count`, `total_amount`)
+SELECT `payment_date`, COALESCE(`course_id`, 0), COALESCE(`payment_method_id`, 0), COUNT(*), SUM(`amount`)
+FROM `payments`
+GROUP BY `payment_date`, COALESCE(`course_id`, 0), COALESCE(`payment_method_id`, 0);
+
 -- =================================================================
 -- End of Script
 -- =================================================================
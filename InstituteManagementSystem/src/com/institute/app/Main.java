@@ -1,6 +1,7 @@
 package com.institute.app;
 
 import com.formdev.flatlaf.FlatDarkLaf;
+import com.institute.app.config.DBConnection;
 import com.institute.app.gui.LoginForm;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -21,6 +22,9 @@ public class Main {
             e.printStackTrace();
         }
 
+        // Return pooled database connections cleanly when the application exits.
+        Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::closeConnection, "db-shutdown"));
+
         // All Swing UI operations should be performed on the Event Dispatch Thread (EDT)
         // to ensure thread safety. SwingUtilities.invokeLater is the standard way to do this.
         SwingUtilities.invokeLater(() -> {
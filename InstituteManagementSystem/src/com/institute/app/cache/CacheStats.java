@@ -0,0 +1,69 @@
+package com.institute.app.cache;
+
+/**
+ * An immutable snapshot of an {@link EntityCache}'s counters.
+ */
+public class CacheStats {
+    private final String name;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final int size;
+    private final int maxSize;
+
+    public CacheStats(String name, long hits, long misses, long evictions, long expirations, int size, int maxSize) {
+        this.name = name;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    // --- Getters ---
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Entries removed because the cache was full (least recently used first). */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /** Entries removed because they outlived their time-to-live. */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** Fraction of lookups answered from memory (0 when there were none). */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats [" + name + ": size=" + size + "/" + maxSize + ", hits=" + hits + ", misses=" + misses
+                + ", hitRatio=" + String.format("%.3f", getHitRatio()) + ", evictions=" + evictions
+                + ", expirations=" + expirations + "]";
+    }
+}
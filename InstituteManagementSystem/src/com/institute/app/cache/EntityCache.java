@@ -0,0 +1,42 @@
+package com.institute.app.cache;
+
+import java.util.function.Function;
+
+/**
+ * A read-through cache placed in front of a DAO lookup.
+ *
+ * Implementations decide how entries are bounded and when they expire; DAOs only call
+ * {@link #get(Object, Function)} on reads and {@link #invalidate(Object)} after writes.
+ * Create instances through {@link EntityCaches} so they pick up their configured limits
+ * and show up in the cache statistics.
+ *
+ * @param <K> The key type (usually the entity's integer ID).
+ * @param <V> The cached entity type.
+ */
+public interface EntityCache<K, V> {
+
+    /**
+     * Returns the cached value for a key, calling the loader on a miss.
+     * A null result from the loader (e.g. "not found") is returned but not cached.
+     *
+     * @param key    The key to look up.
+     * @param loader Loads the value from the database on a miss.
+     * @return The cached or freshly loaded value, or null.
+     */
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    /**
+     * Removes one entry, e.g. after the row was updated or deleted.
+     */
+    void invalidate(K key);
+
+    /**
+     * Removes every entry, e.g. after a change that affects many rows.
+     */
+    void invalidateAll();
+
+    /**
+     * Returns a snapshot of this cache's counters.
+     */
+    CacheStats getStats();
+}
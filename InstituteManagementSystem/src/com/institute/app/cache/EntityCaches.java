@@ -0,0 +1,63 @@
+package com.institute.app.cache;
+
+import com.institute.app.config.AppSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates entity caches from `AppSettings.properties` and keeps track of them, so their
+ * statistics can be inspected in one place.
+ *
+ * Each cache is configured by two settings:
+ * - `cache.<name>.maxSize`: the maximum number of entries (0 disables the cache);
+ * - `cache.<name>.ttlSeconds`: how long an entry stays valid (0 means until evicted or invalidated).
+ */
+public final class EntityCaches {
+
+    private static final Map<String, EntityCache<?, ?>> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private EntityCaches() {}
+
+    /**
+     * Creates (or returns the existing) cache with the given name.
+     *
+     * @param name               The cache name used in settings and statistics (e.g., "course").
+     * @param defaultMaxSize     The size to use when `cache.<name>.maxSize` is not set.
+     * @param defaultTtlSeconds  The TTL to use when `cache.<name>.ttlSeconds` is not set.
+     * @return The configured cache.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> EntityCache<K, V> create(String name, int defaultMaxSize, long defaultTtlSeconds) {
+        return (EntityCache<K, V>) REGISTRY.computeIfAbsent(name, n -> {
+            int maxSize = AppSettings.getInt("cache." + n + ".maxSize", defaultMaxSize);
+            long ttlSeconds = AppSettings.getLong("cache." + n + ".ttlSeconds", defaultTtlSeconds);
+            return maxSize > 0 ? new LruEntityCache<K, V>(n, maxSize, ttlSeconds) : new NoOpEntityCache<K, V>(n);
+        });
+    }
+
+    /**
+     * Returns statistics for every cache created so far.
+     */
+    public static List<CacheStats> getAllStats() {
+        List<CacheStats> stats = new ArrayList<>();
+        for (EntityCache<?, ?> cache : REGISTRY.values()) {
+            stats.add(cache.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Empties every cache, e.g. after data was changed outside the application.
+     */
+    public static void invalidateAll() {
+        for (EntityCache<?, ?> cache : REGISTRY.values()) {
+            cache.invalidateAll();
+        }
+    }
+}
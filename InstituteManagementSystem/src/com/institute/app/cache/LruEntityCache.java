@@ -0,0 +1,135 @@
+package com.institute.app.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * An {@link EntityCache} bounded by entry count (least recently used entries are evicted
+ * first) and by age (entries older than the time-to-live are reloaded).
+ *
+ * Loads happen outside the lock, so a slow query never blocks other lookups. If the key is
+ * invalidated while a load is in flight, the loaded value is returned but not cached, so
+ * an update can never be overwritten by the stale row it replaced.
+ */
+public class LruEntityCache<K, V> implements EntityCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // All fields below are guarded by `lock`. LinkedHashMap in access order mutates on get().
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long invalidations;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * @param name       The name shown in statistics (e.g., "course").
+     * @param maxSize    The maximum number of entries.
+     * @param ttlSeconds How long an entry stays valid; 0 or less means no expiry.
+     */
+    public LruEntityCache(String name, int maxSize, long ttlSeconds) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds > 0 ? TimeUnit.SECONDS.toNanos(ttlSeconds) : Long.MAX_VALUE;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruEntityCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long invalidationsBeforeLoad;
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAtNanos < ttlNanos) {
+                    hits++;
+                    return entry.value;
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            invalidationsBeforeLoad = invalidations;
+        } finally {
+            lock.unlock();
+        }
+
+        V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+
+        lock.lock();
+        try {
+            if (invalidations == invalidationsBeforeLoad) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            invalidations++;
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            invalidations++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        lock.lock();
+        try {
+            return new CacheStats(name, hits, misses, evictions, expirations, entries.size(), maxSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A cached value and when it was loaded.
+     */
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAtNanos;
+
+        Entry(V value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.institute.app.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * An {@link EntityCache} that caches nothing: every lookup goes to the loader.
+ * Used when a cache is disabled with `cache.<name>.maxSize=0`.
+ */
+public class NoOpEntityCache<K, V> implements EntityCache<K, V> {
+
+    private final String name;
+    private final LongAdder misses = new LongAdder();
+
+    public NoOpEntityCache(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        misses.increment();
+        return loader.apply(key);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        // Nothing is cached.
+    }
+
+    @Override
+    public void invalidateAll() {
+        // Nothing is cached.
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(name, 0, misses.sum(), 0, 0, 0, 0);
+    }
+}
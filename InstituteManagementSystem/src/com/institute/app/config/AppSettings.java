@@ -0,0 +1,122 @@
+package com.institute.app.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Read-only access to the values in `AppSettings.properties`.
+ * The file is loaded once, the first time any setting is requested.
+ *
+ * A JVM system property with the same key (e.g. `-Ddb.url=...`) takes precedence over the
+ * file, so tools and benchmarks can point the application at another database.
+ */
+public final class AppSettings {
+
+    private static final String RESOURCE = "com/institute/app/config/AppSettings.properties";
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private AppSettings() {}
+
+    /**
+     * Holder idiom: the JVM guarantees the properties are loaded exactly once,
+     * even when several threads ask for a setting at the same time.
+     */
+    private static final class Holder {
+        private static final Properties PROPS = load();
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+        try (InputStream inputStream = AppSettings.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (inputStream == null) {
+                throw new RuntimeException("Sorry, unable to find AppSettings.properties in the classpath.");
+            }
+            props.load(inputStream);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Failed to read `AppSettings.properties`.", e);
+        }
+        return props;
+    }
+
+    /**
+     * Returns the raw value of a setting.
+     *
+     * @param key The property key (e.g., "db.url").
+     * @return The trimmed value, or null if the key is not present.
+     */
+    public static String get(String key) {
+        String value = System.getProperty(key, Holder.PROPS.getProperty(key));
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * Returns the value of a setting, or a default if it is missing or blank.
+     */
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Returns an integer setting, or a default if it is missing or not a number.
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid integer for setting '" + key + "': " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns a long setting, or a default if it is missing or not a number.
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number for setting '" + key + "': " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns a decimal setting, or a default if it is missing or not a number.
+     */
+    public static double getDouble(String key, double defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number for setting '" + key + "': " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns a boolean setting ("true"/"false"), or a default if it is missing.
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
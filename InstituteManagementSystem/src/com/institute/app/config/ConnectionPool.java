@@ -0,0 +1,580 @@
+package com.institute.app.config;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * A small, bounded JDBC connection pool.
+ *
+ * Callers get a proxy from {@link #getConnection()}; calling `close()` on it hands the
+ * physical connection back to the pool instead of closing it. This is what lets the DAOs
+ * keep their try-with-resources blocks while sharing a fixed set of connections.
+ *
+ * Features:
+ * - a hard upper bound on open connections, with a max-wait timeout for borrowers;
+ * - validation on borrow (skipped for connections that were returned moments ago);
+ * - eviction of connections idle longer than the configured timeout, down to `minIdle`;
+ * - leak detection that reports where a long-held connection was borrowed;
+ * - a per-connection LRU cache of prepared statements ({@link StatementCache});
+ * - counters for active/idle connections, waiters, borrow latency and statement
+ *   cache hits/misses ({@link PoolStats});
+ * - an optional {@link SlowQueryLog} that times a sample of the statements handed out.
+ */
+public class ConnectionPool implements DataSource {
+
+    // A connection returned within this window is handed out again without a validation ping.
+    private static final long VALIDATION_SKIP_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final String name;
+    private final String url;
+    private final Properties connectionProps;
+    private final int maxSize;
+    private final int minIdle;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final long leakDetectionMillis;
+    private final int statementCacheSize;
+
+    // Pool state. `idle`, `total`, `waiters` and `shutdown` are guarded by `lock`.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private int total;
+    private int waiters;
+    private boolean shutdown;
+
+    // Statistics.
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile SlowQueryLog slowQueryLog;
+
+    /**
+     * Creates a pool. No connections are opened until the first borrow.
+     *
+     * @param name                     A short name used in log messages and thread names (e.g., "primary").
+     * @param url                      The JDBC URL.
+     * @param connectionProps          Driver properties, including `user` and `password`.
+     * @param maxSize                  The maximum number of open connections.
+     * @param minIdle                  Idle connections that are never evicted.
+     * @param maxWaitMillis            How long a borrower waits for a free connection before failing.
+     * @param idleTimeoutMillis        How long a connection may sit idle before it is closed.
+     * @param validationTimeoutSeconds The timeout passed to `Connection.isValid` on borrow.
+     * @param leakDetectionMillis      Report connections held longer than this; 0 disables detection.
+     * @param housekeepingMillis       How often eviction and leak detection run.
+     * @param statementCacheSize       Prepared statements cached per connection; 0 disables the cache.
+     */
+    public ConnectionPool(String name, String url, Properties connectionProps, int maxSize, int minIdle,
+                          long maxWaitMillis, long idleTimeoutMillis, int validationTimeoutSeconds,
+                          long leakDetectionMillis, long housekeepingMillis, int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1.");
+        }
+        this.name = name;
+        this.url = url;
+        this.connectionProps = connectionProps;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(Math.max(minIdle, 0), maxSize);
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.leakDetectionMillis = leakDetectionMillis;
+        this.statementCacheSize = Math.max(statementCacheSize, 0);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, housekeepingMillis, housekeepingMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured max wait if the pool is exhausted.
+     * Close the returned connection to give it back.
+     *
+     * @return A pooled connection.
+     * @throws SQLTimeoutException if no connection became free in time.
+     * @throws SQLException        if a new connection could not be opened.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        while (true) {
+            PooledConnection pooled;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (!shutdown && idle.isEmpty() && total >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        throw new SQLTimeoutException("Timed out after " + maxWaitMillis + " ms waiting for a connection from pool '"
+                                + name + "' (" + total + " of " + maxSize + " in use).");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+                if (shutdown) {
+                    throw new SQLException("Connection pool '" + name + "' has been shut down.");
+                }
+                pooled = idle.pollFirst();
+                if (pooled == null) {
+                    // Reserve the slot now; the (slow) connect happens outside the lock.
+                    total++;
+                    create = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                pooled = openConnection();
+            } else if (!isAlive(pooled)) {
+                discard(pooled);
+                continue;
+            }
+            return lease(pooled, start);
+        }
+    }
+
+    /**
+     * Not supported: all pooled connections share the credentials the pool was created with.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials.");
+    }
+
+    /**
+     * Returns a snapshot of the pool's counters.
+     */
+    public PoolStats getStats() {
+        int idleNow;
+        int totalNow;
+        int waitersNow;
+        lock.lock();
+        try {
+            idleNow = idle.size();
+            totalNow = total;
+            waitersNow = waiters;
+        } finally {
+            lock.unlock();
+        }
+        long borrows = borrowCount.sum();
+        long average = borrows == 0 ? 0 : borrowNanos.sum() / borrows;
+        return new PoolStats(totalNow - idleNow, idleNow, totalNow, maxSize, waitersNow, borrows,
+                timeoutCount.sum(), leakCount.sum(), average, maxBorrowNanos.get(),
+                statementCacheHits.sum(), statementCacheMisses.sum(), statementCacheEvictions.sum());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Attaches a slow-query log; statements handed out from now on are sampled by it.
+     * The log is closed when the pool shuts down.
+     *
+     * @param slowQueryLog The log, or null to stop tracing.
+     */
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * Closes all idle connections and stops the pool. Borrowed connections are
+     * closed as they are returned. Waiting borrowers fail immediately.
+     */
+    public void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        toClose.forEach(this::closeQuietly);
+        SlowQueryLog log = slowQueryLog;
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    // --- Borrow / return internals ---
+
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, connectionProps);
+            StatementCache cache = statementCacheSize == 0 ? null
+                    : new StatementCache(physical, statementCacheSize, statementCacheHits, statementCacheMisses, statementCacheEvictions);
+            return new PooledConnection(physical, cache);
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isAlive(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.lastReturnedNanos < VALIDATION_SKIP_NANOS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection lease(PooledConnection pooled, long borrowStartNanos) {
+        long now = System.nanoTime();
+        pooled.borrowedAtNanos = now;
+        pooled.leakReported = false;
+        pooled.borrowSite = leakDetectionMillis > 0 ? new Throwable("Connection borrowed from pool '" + name + "' here") : null;
+        borrowed.add(pooled);
+
+        long elapsed = now - borrowStartNanos;
+        borrowCount.increment();
+        borrowNanos.add(elapsed);
+        maxBorrowNanos.accumulateAndGet(elapsed, Math::max);
+
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandle(pooled));
+    }
+
+    private void release(PooledConnection pooled, boolean stateChanged) {
+        borrowed.remove(pooled);
+        if (pooled.statementCache != null) {
+            pooled.statementCache.releaseAll();
+        }
+        if (stateChanged && !pooled.resetState()) {
+            discard(pooled);
+            return;
+        }
+        boolean closeNow = false;
+        lock.lock();
+        try {
+            if (shutdown) {
+                total--;
+                closeNow = true;
+            } else {
+                pooled.lastReturnedNanos = System.nanoTime();
+                // Most-recently-used first, so the tail of the deque is what ages out.
+                idle.addFirst(pooled);
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (closeNow) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        closeQuietly(pooled);
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeQuietly(PooledConnection pooled) {
+        if (pooled.statementCache != null) {
+            pooled.statementCache.clear();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // The connection is being thrown away anyway.
+        }
+    }
+
+    /**
+     * Periodic task: evicts long-idle connections, tops the pool back up to `minIdle`
+     * and reports connections that look leaked.
+     */
+    private void housekeep() {
+        long now = System.nanoTime();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        List<PooledConnection> expired = new ArrayList<>();
+        int missing;
+
+        lock.lock();
+        try {
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && total > minIdle) {
+                PooledConnection candidate = oldestFirst.next();
+                if (now - candidate.lastReturnedNanos < idleTimeoutNanos) {
+                    break;
+                }
+                oldestFirst.remove();
+                total--;
+                expired.add(candidate);
+            }
+            missing = shutdown ? 0 : minIdle - total;
+            total += Math.max(missing, 0);
+        } finally {
+            lock.unlock();
+        }
+        expired.forEach(this::closeQuietly);
+
+        for (int i = 0; i < missing; i++) {
+            try {
+                release(openConnection(), false);
+            } catch (SQLException e) {
+                // The database may simply be down; borrowers will see the real error.
+                // openConnection() has already given back this slot; give back the rest too.
+                lock.lock();
+                try {
+                    total -= missing - i - 1;
+                } finally {
+                    lock.unlock();
+                }
+                break;
+            }
+        }
+
+        if (leakDetectionMillis > 0) {
+            long leakNanos = TimeUnit.MILLISECONDS.toNanos(leakDetectionMillis);
+            for (PooledConnection pooled : borrowed) {
+                if (!pooled.leakReported && now - pooled.borrowedAtNanos > leakNanos) {
+                    pooled.leakReported = true;
+                    leakCount.increment();
+                    System.err.println("Possible connection leak in pool '" + name + "': connection held for more than "
+                            + leakDetectionMillis + " ms.");
+                    if (pooled.borrowSite != null) {
+                        pooled.borrowSite.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    // --- DataSource boilerplate ---
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("java.util.logging is not used by this pool.");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * A physical connection plus the bookkeeping the pool needs for it.
+     */
+    private static final class PooledConnection {
+        final Connection physical;
+        final StatementCache statementCache;
+        final int defaultIsolation;
+        final String defaultCatalog;
+        volatile long borrowedAtNanos;
+        volatile boolean leakReported;
+        volatile Throwable borrowSite;
+        long lastReturnedNanos;
+
+        PooledConnection(Connection physical, StatementCache statementCache) throws SQLException {
+            this.physical = physical;
+            this.statementCache = statementCache;
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.defaultCatalog = physical.getCatalog();
+            this.lastReturnedNanos = System.nanoTime();
+        }
+
+        /**
+         * Undoes session changes a borrower may have made (open transaction, read-only, ...).
+         *
+         * @return false if the connection could not be reset and should be discarded.
+         */
+        boolean resetState() {
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                if (physical.getTransactionIsolation() != defaultIsolation) {
+                    physical.setTransactionIsolation(defaultIsolation);
+                }
+                if (defaultCatalog != null && !defaultCatalog.equals(physical.getCatalog())) {
+                    physical.setCatalog(defaultCatalog);
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The proxy behind each borrowed connection. `close()` returns the connection to the
+     * pool; any use after that fails instead of silently touching someone else's session.
+     * Plain `prepareStatement(sql)` and `prepareStatement(sql, autoGeneratedKeys)` calls are
+     * served from the connection's statement cache, and every statement handed out is
+     * offered to the slow-query log for sampling.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+        private boolean stateChanged;
+
+        ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            switch (methodName) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pooled, stateChanged);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled connection (" + name + ") " + pooled.physical;
+                case "setAutoCommit":
+                case "setReadOnly":
+                case "setTransactionIsolation":
+                case "setCatalog":
+                    stateChanged = true;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("This connection has already been returned to the pool.");
+            }
+            Object result = null;
+            if (pooled.statementCache != null && "prepareStatement".equals(methodName)) {
+                result = prepareCached(method, args);
+            }
+            if (result == null) {
+                try {
+                    result = method.invoke(pooled.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            SlowQueryLog log = slowQueryLog;
+            if (log != null && result instanceof Statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return log.trace((Statement) result, sql);
+            }
+            return result;
+        }
+
+        private PreparedStatement prepareCached(Method method, Object[] args) throws SQLException {
+            Class<?>[] params = method.getParameterTypes();
+            if (params.length == 1) {
+                return pooled.statementCache.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+            }
+            if (params.length == 2 && params[1] == int.class) {
+                return pooled.statementCache.prepare((String) args[0], (Integer) args[1]);
+            }
+            // Column-index/name variants and cursor options are rare; prepare those directly.
+            return null;
+        }
+    }
+}
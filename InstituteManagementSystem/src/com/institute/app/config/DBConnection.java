@@ -1,65 +1,222 @@
 package com.institute.app.config;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import javax.swing.SwingUtilities;
 
+/**
+ * Entry point for database access.
+ *
+ * Connections come from a bounded {@link ConnectionPool} that is created lazily from the
+ * `db.*` settings in `AppSettings.properties`. Callers should close every connection they
+ * get (try-with-resources), which returns it to the pool rather than disconnecting.
+ *
+ * Read-only work (lookups, lists, reports) should use {@link #getReadConnection()}. When
+ * `db.replica.urls` lists read replicas, those connections come from a replica that is not
+ * lagging too far behind (see {@link ReplicaRouter}); otherwise, and for everything else,
+ * connections come from the primary.
+ */
 public class DBConnection {
 
-    private static Connection connection = null;
+    // Database calls belong on background threads (see services.AsyncDAO), never on the Swing EDT.
+    private static final boolean WARN_ON_EDT = AppSettings.getBoolean("db.warnOnEdt", true);
 
+    private static volatile ConnectionPool pool;
+    // Null when no replicas are configured. Written before `pool`, so readers of `pool` see it.
+    private static volatile ReplicaRouter replicaRouter;
+
+    /**
+     * Borrows a connection to the primary database, for writes and for reads that must see
+     * the latest data.
+     *
+     * @return A pooled connection; closing it returns it to the pool.
+     * @throws RuntimeException if the pool cannot provide a connection.
+     */
     public static Connection getConnection() {
-        if (connection == null) {
-            try {
-                Properties props = new Properties();
-                // The properties file should be in the classpath.
-                // For a Maven/Gradle structure, it would be in `src/main/resources`.
-                // In this NetBeans-style structure, we'll place it alongside the config classes
-                // and ensure the `resources` folder is on the classpath during the build.
-                try (InputStream inputStream = DBConnection.class.getClassLoader().getResourceAsStream("com/institute/app/config/AppSettings.properties")) {
-                    if (inputStream == null) {
-                        // A more robust solution might try to load from a file path as a fallback.
-                        throw new RuntimeException("Sorry, unable to find AppSettings.properties in the classpath.");
-                    }
-                    props.load(inputStream);
-                }
+        warnIfOnEdt();
+        try {
+            Connection conn = getDataSource().getConnection();
+            ReplicaRouter router = replicaRouter;
+            return router == null ? conn : router.trackWrite(conn);
+        } catch (SQLException e) {
+            throw connectFailure(e);
+        }
+    }
 
-                String url = props.getProperty("db.url");
-                String user = props.getProperty("db.user");
-                String password = props.getProperty("db.password");
-
-                // Load the MySQL JDBC driver
-                Class.forName("com.mysql.cj.jdbc.Driver");
-
-                // Attempt to establish the connection
-                connection = DriverManager.getConnection(url, user, password);
-
-            } catch (ClassNotFoundException e) {
-                e.printStackTrace();
-                throw new RuntimeException("MySQL JDBC Driver not found. Ensure `mysql-connector-j-*.jar` is in the `lib` directory and on the classpath.");
-            } catch (SQLException e) {
-                e.printStackTrace();
-                throw new RuntimeException("Failed to connect to the database. Please check your DB settings in `AppSettings.properties` and ensure the database is running.", e);
-            } catch (IOException e) {
-                e.printStackTrace();
-                throw new RuntimeException("Failed to read `AppSettings.properties`.", e);
+    /**
+     * Borrows a connection for read-only work: a read replica when one is configured, in
+     * sync and no write has just happened; otherwise the primary.
+     *
+     * @return A pooled connection; closing it returns it to its pool.
+     * @throws RuntimeException if no connection can be provided.
+     */
+    public static Connection getReadConnection() {
+        warnIfOnEdt();
+        try {
+            ConnectionPool primary = getDataSource();
+            ReplicaRouter router = replicaRouter;
+            return router == null ? primary.getConnection() : router.getReadConnection(primary);
+        } catch (SQLException e) {
+            throw connectFailure(e);
+        }
+    }
+
+    /**
+     * Returns the pooled DataSource, creating it on first use.
+     * Double-checked locking on a volatile field keeps the lazy init thread-safe.
+     */
+    public static ConnectionPool getDataSource() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = createPool();
+                    pool = current;
+                }
             }
         }
-        return connection;
+        return current;
     }
 
+    /**
+     * Returns a snapshot of the pool's counters (active, idle, waiters, borrow latency).
+     */
+    public static PoolStats getPoolStats() {
+        return getDataSource().getStats();
+    }
+
+    /**
+     * Describes each read replica's state and lag, or returns an empty string if none are configured.
+     */
+    public static String getReplicaStatus() {
+        getDataSource();
+        ReplicaRouter router = replicaRouter;
+        return router == null ? "" : router.describe();
+    }
+
+    /**
+     * Shuts down the pool and closes all idle connections.
+     * A later call to {@link #getConnection()} creates a fresh pool.
+     */
     public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                connection = null; // Set to null to allow for reconnection if needed
-            } catch (SQLException e) {
-                // Log this, but don't rethrow as the application might be shutting down.
-                e.printStackTrace();
+        synchronized (DBConnection.class) {
+            if (replicaRouter != null) {
+                replicaRouter.shutdown();
+                replicaRouter = null;
             }
+            if (pool != null) {
+                pool.shutdown();
+                pool = null; // Set to null to allow for reconnection if needed
+            }
+        }
+    }
+
+    private static ConnectionPool createPool() {
+        try {
+            // Load the MySQL JDBC driver
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            throw new RuntimeException("MySQL JDBC Driver not found. Ensure `mysql-connector-j-*.jar` is in the `lib` directory and on the classpath.");
         }
+
+        Properties info = new Properties();
+        info.setProperty("user", AppSettings.get("db.user", ""));
+        info.setProperty("password", AppSettings.get("db.password", ""));
+        // With server-side prepares MySQL parses each cached statement once per connection;
+        // otherwise Connector/J prepares on the client and our cache saves its parse step.
+        info.setProperty("useServerPrepStmts", String.valueOf(AppSettings.getBoolean("db.statementCache.serverSidePrepare", false)));
+        // Lets Connector/J send a JDBC batch of inserts as one multi-row INSERT.
+        info.setProperty("rewriteBatchedStatements", String.valueOf(AppSettings.getBoolean("db.batch.rewrite", true)));
+        // A positive streaming fetch size needs server-side cursors. Note the cost: with
+        // useCursorFetch Connector/J also turns on server-side prepared statements, so every
+        // statement on every connection is prepared on the server (an extra round trip per
+        // statement not already in the statement cache), not just the streaming reads.
+        if (AppSettings.getInt("db.stream.fetchSize", 0) > 0) {
+            info.setProperty("useCursorFetch", "true");
+        }
+
+        ConnectionPool created = new ConnectionPool(
+                "primary",
+                AppSettings.get("db.url"),
+                info,
+                AppSettings.getInt("db.pool.maxSize", 10),
+                AppSettings.getInt("db.pool.minIdle", 2),
+                AppSettings.getLong("db.pool.maxWaitMillis", 30_000),
+                AppSettings.getLong("db.pool.idleTimeoutMillis", 600_000),
+                AppSettings.getInt("db.pool.validationTimeoutSeconds", 2),
+                AppSettings.getLong("db.pool.leakDetectionMillis", 60_000),
+                AppSettings.getLong("db.pool.housekeepingMillis", 30_000),
+                AppSettings.getInt("db.statementCache.size", 64));
+
+        SlowQueryLog slowQueryLog = null;
+        long slowQueryMillis = AppSettings.getLong("db.slowQuery.thresholdMillis", 0);
+        if (slowQueryMillis > 0) {
+            slowQueryLog = new SlowQueryLog(
+                    created,
+                    slowQueryMillis,
+                    AppSettings.getDouble("db.slowQuery.sampleRate", 0.1),
+                    AppSettings.getBoolean("db.slowQuery.explain", true),
+                    AppSettings.get("db.slowQuery.maskColumns", ""),
+                    AppSettings.get("db.slowQuery.file", "logs/slow-query.%g.log"),
+                    AppSettings.getInt("db.slowQuery.maxFileBytes", 10 * 1024 * 1024),
+                    AppSettings.getInt("db.slowQuery.maxFiles", 5));
+            created.setSlowQueryLog(slowQueryLog);
+        }
+
+        List<ConnectionPool> replicas = new ArrayList<>();
+        for (String url : AppSettings.get("db.replica.urls", "").split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            Properties replicaInfo = new Properties();
+            replicaInfo.putAll(info);
+            if (!AppSettings.get("db.replica.user", "").isEmpty()) {
+                replicaInfo.setProperty("user", AppSettings.get("db.replica.user"));
+                replicaInfo.setProperty("password", AppSettings.get("db.replica.password", ""));
+            }
+            ConnectionPool replica = new ConnectionPool(
+                    "replica-" + (replicas.size() + 1),
+                    url.trim(),
+                    replicaInfo,
+                    AppSettings.getInt("db.replica.pool.maxSize", 10),
+                    AppSettings.getInt("db.pool.minIdle", 2),
+                    AppSettings.getLong("db.pool.maxWaitMillis", 30_000),
+                    AppSettings.getLong("db.pool.idleTimeoutMillis", 600_000),
+                    AppSettings.getInt("db.pool.validationTimeoutSeconds", 2),
+                    AppSettings.getLong("db.pool.leakDetectionMillis", 60_000),
+                    AppSettings.getLong("db.pool.housekeepingMillis", 30_000),
+                    AppSettings.getInt("db.statementCache.size", 64));
+            // Shared with the primary: one log file, EXPLAIN always runs on the primary.
+            replica.setSlowQueryLog(slowQueryLog);
+            replicas.add(replica);
+        }
+        if (!replicas.isEmpty()) {
+            long lagCheckMillis = AppSettings.getLong("db.replica.lagCheckMillis", 1_000);
+            double maxLagSeconds = AppSettings.getDouble("db.replica.maxLagSeconds", 5);
+            replicaRouter = new ReplicaRouter(
+                    replicas,
+                    maxLagSeconds,
+                    // A write is on every usable replica within maxLag (plus one check interval of drift).
+                    AppSettings.getLong("db.replica.stickyMillis", (long) (maxLagSeconds * 1000) + lagCheckMillis),
+                    lagCheckMillis,
+                    AppSettings.get("db.replica.lagQuery", ""));
+        }
+        return created;
+    }
+
+    private static void warnIfOnEdt() {
+        if (WARN_ON_EDT && SwingUtilities.isEventDispatchThread()) {
+            new Throwable("Database access on the Swing Event Dispatch Thread; use AsyncDAO instead.").printStackTrace();
+        }
+    }
+
+    private static RuntimeException connectFailure(SQLException e) {
+        e.printStackTrace();
+        return new RuntimeException("Failed to connect to the database. Please check your DB settings in `AppSettings.properties` and ensure the database is running.", e);
     }
 }
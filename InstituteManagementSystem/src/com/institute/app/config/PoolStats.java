@@ -0,0 +1,118 @@
+package com.institute.app.config;
+
+/**
+ * An immutable snapshot of a {@link ConnectionPool}'s counters.
+ * Use {@link ConnectionPool#getStats()} to obtain one.
+ */
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int maxSize;
+    private final int waiters;
+    private final long borrowCount;
+    private final long timeoutCount;
+    private final long leakCount;
+    private final long averageBorrowNanos;
+    private final long maxBorrowNanos;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long statementCacheEvictions;
+
+    public PoolStats(int active, int idle, int total, int maxSize, int waiters, long borrowCount,
+                     long timeoutCount, long leakCount, long averageBorrowNanos, long maxBorrowNanos,
+                     long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.maxSize = maxSize;
+        this.waiters = waiters;
+        this.borrowCount = borrowCount;
+        this.timeoutCount = timeoutCount;
+        this.leakCount = leakCount;
+        this.averageBorrowNanos = averageBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.statementCacheEvictions = statementCacheEvictions;
+    }
+
+    // --- Getters ---
+
+    /** Connections currently handed out to callers. */
+    public int getActive() {
+        return active;
+    }
+
+    /** Open connections waiting in the pool. */
+    public int getIdle() {
+        return idle;
+    }
+
+    /** All open connections (active + idle). */
+    public int getTotal() {
+        return total;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** Threads currently blocked waiting for a connection. */
+    public int getWaiters() {
+        return waiters;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /** Borrows that gave up after the configured max wait. */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /** Connections reported as held longer than the leak detection threshold. */
+    public long getLeakCount() {
+        return leakCount;
+    }
+
+    /** Mean time spent inside `getConnection()`, including waiting and validation. */
+    public long getAverageBorrowNanos() {
+        return averageBorrowNanos;
+    }
+
+    public long getMaxBorrowNanos() {
+        return maxBorrowNanos;
+    }
+
+    /** `prepareStatement` calls answered from a connection's statement cache. */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /** `prepareStatement` calls that had to prepare a new statement. */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /** Statements closed to make room in a full cache. */
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions;
+    }
+
+    /** Fraction of `prepareStatement` calls served from the cache (0 when there were none). */
+    public double getStatementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats [active=" + active + ", idle=" + idle + ", total=" + total + "/" + maxSize
+                + ", waiters=" + waiters + ", borrows=" + borrowCount + ", timeouts=" + timeoutCount
+                + ", leaks=" + leakCount + ", avgBorrow=" + averageBorrowNanos / 1_000 + "us"
+                + ", maxBorrow=" + maxBorrowNanos / 1_000 + "us"
+                + ", stmtCacheHits=" + statementCacheHits + ", stmtCacheMisses=" + statementCacheMisses + "]";
+    }
+}
@@ -0,0 +1,218 @@
+package com.institute.app.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses where read-only work runs: one of the read replicas, or the primary.
+ *
+ * - Replicas are used in turn (round robin), but only while their measured replication lag
+ *   is at most `db.replica.maxLagSeconds`. Lag is checked every `db.replica.lagCheckMillis`,
+ *   with `SHOW REPLICA STATUS` (or `SHOW SLAVE STATUS` on older servers) unless
+ *   `db.replica.lagQuery` names a query that returns the lag in seconds, such as a heartbeat
+ *   table. A replica that cannot be reached or reports no lag (replication stopped) is skipped.
+ * - Read-your-writes: the application is one session. While a write connection is open and
+ *   for `db.replica.stickyMillis` after it is returned, reads go to the primary, so a screen
+ *   that just saved a row reads it back from where it was written.
+ * - If no replica qualifies, reads go to the primary.
+ *
+ * A replica being skipped is logged with the reason; its current state and lag are shown
+ * by {@link #describe()} (DBConnection.getReplicaStatus()).
+ */
+final class ReplicaRouter {
+
+    private static final class Replica {
+        final ConnectionPool pool;
+        volatile boolean usable;
+        volatile double lagSeconds = -1;
+
+        Replica(ConnectionPool pool) {
+            this.pool = pool;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final long stickyNanos;
+    private final String lagQuery;
+    private final ScheduledExecutorService monitor;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger openWrites = new AtomicInteger();
+    private volatile long lastWriteNanos;
+    private volatile boolean legacyStatusSyntax;
+
+    /**
+     * Creates the router and starts checking replica lag. Replicas are not used until their
+     * first successful check.
+     *
+     * @param pools          One pool per replica.
+     * @param maxLagSeconds  Replicas lagging further behind are skipped.
+     * @param stickyMillis   How long reads stay on the primary after a write connection is returned.
+     * @param lagCheckMillis How often replica lag is measured.
+     * @param lagQuery       A query returning the lag in seconds, or empty for the replication status.
+     */
+    ReplicaRouter(List<ConnectionPool> pools, double maxLagSeconds, long stickyMillis, long lagCheckMillis, String lagQuery) {
+        for (ConnectionPool pool : pools) {
+            replicas.add(new Replica(pool));
+        }
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMillis);
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        this.lastWriteNanos = System.nanoTime() - stickyNanos;
+
+        this.monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-replica-lag");
+            t.setDaemon(true);
+            return t;
+        });
+        monitor.scheduleWithFixedDelay(this::checkAll, 0, lagCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection for read-only work.
+     *
+     * @param primary The pool to fall back to.
+     * @return A replica connection if one qualifies, otherwise a primary connection.
+     * @throws SQLException if the primary cannot provide a connection either.
+     */
+    Connection getReadConnection(ConnectionPool primary) throws SQLException {
+        if (openWrites.get() == 0 && System.nanoTime() - lastWriteNanos >= stickyNanos) {
+            int count = replicas.size();
+            int first = Math.floorMod(next.getAndIncrement(), count);
+            for (int i = 0; i < count; i++) {
+                Replica replica = replicas.get((first + i) % count);
+                if (replica.usable) {
+                    try {
+                        return replica.pool.getConnection();
+                    } catch (SQLException e) {
+                        markUnusable(replica, e.getMessage());
+                    }
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Wraps a primary connection so that returning it starts the read-your-writes window.
+     */
+    Connection trackWrite(Connection conn) {
+        openWrites.incrementAndGet();
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(ReplicaRouter.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        synchronized (closed) {
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                lastWriteNanos = System.nanoTime();
+                                openWrites.decrementAndGet();
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Returns one line per replica with its state and last measured lag, for diagnostics.
+     */
+    String describe() {
+        StringBuilder text = new StringBuilder();
+        for (Replica replica : replicas) {
+            text.append(replica.pool.getName()).append(replica.usable ? ": in use" : ": skipped")
+                    .append(", lag ").append(replica.lagSeconds < 0 ? "unknown" : replica.lagSeconds + " s")
+                    .append(", ").append(replica.pool.getStats()).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Stops the lag checks and shuts down the replica pools.
+     */
+    void shutdown() {
+        monitor.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.pool.shutdown();
+        }
+    }
+
+    // --- Lag monitoring ---
+
+    private void checkAll() {
+        for (Replica replica : replicas) {
+            try (Connection conn = replica.pool.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                double lag = lagQuery.isEmpty() ? replicationLag(stmt) : queryLag(stmt);
+                replica.lagSeconds = lag;
+                if (lag < 0) {
+                    markUnusable(replica, "replication is not running");
+                } else if (lag > maxLagSeconds) {
+                    markUnusable(replica, "lag " + lag + " s exceeds " + maxLagSeconds + " s");
+                } else {
+                    replica.usable = true;
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = -1;
+                markUnusable(replica, e.getMessage());
+            }
+        }
+    }
+
+    private double queryLag(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(lagQuery)) {
+            return rs.next() && rs.getObject(1) != null ? rs.getDouble(1) : -1;
+        }
+    }
+
+    /**
+     * Reads `Seconds_Behind_Source` (MySQL 8.0.22+) or `Seconds_Behind_Master`.
+     *
+     * @return The lag in seconds, or -1 if the server is not replicating.
+     */
+    private double replicationLag(Statement stmt) throws SQLException {
+        if (!legacyStatusSyntax) {
+            try (ResultSet rs = stmt.executeQuery("SHOW REPLICA STATUS")) {
+                return rs.next() && rs.getObject("Seconds_Behind_Source") != null ? rs.getLong("Seconds_Behind_Source") : -1;
+            } catch (SQLException e) {
+                if (!isSyntaxError(e)) {
+                    throw e;
+                }
+                legacyStatusSyntax = true; // Older server; do not try the new syntax again.
+            }
+        }
+        try (ResultSet rs = stmt.executeQuery("SHOW SLAVE STATUS")) {
+            return rs.next() && rs.getObject("Seconds_Behind_Master") != null ? rs.getLong("Seconds_Behind_Master") : -1;
+        }
+    }
+
+    /**
+     * True for MySQL's "You have an error in your SQL syntax" (SQLState 42000, error 1064),
+     * which is how servers before 8.0.22 reject `SHOW REPLICA STATUS`. Other 42000 errors,
+     * such as a missing REPLICATION CLIENT privilege, are not a reason to switch syntax.
+     */
+    private static boolean isSyntaxError(SQLException e) {
+        return e.getErrorCode() == 1064 && "42000".equals(e.getSQLState());
+    }
+
+    private static void markUnusable(Replica replica, String reason) {
+        if (replica.usable) {
+            replica.usable = false;
+            System.err.println("Read replica '" + replica.pool.getName() + "' skipped: " + reason);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.institute.app.config;
+
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+
+/**
+ * Records statements that take longer than a threshold, with their bound parameters (PII
+ * masked), the DAO method that ran them and, optionally, MySQL's `EXPLAIN FORMAT=JSON`
+ * plan, in a rolling log file.
+ *
+ * To keep the overhead negligible only a sample of statements is timed: the
+ * {@link ConnectionPool} asks {@link #trace(Statement, String)} for every statement it
+ * hands out, and statements that are not sampled are returned unwrapped. Formatting,
+ * the EXPLAIN query and the file write all happen on a background thread.
+ */
+public final class SlowQueryLog {
+
+    private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(SELECT|INSERT|UPDATE|DELETE|REPLACE|WITH)\\b", Pattern.CASE_INSENSITIVE);
+    private static final int QUEUE_SIZE = 256;
+    private static final String MASK = "***";
+
+    private final DataSource explainSource;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean explain;
+    private final Set<String> maskedColumns;
+    private final Handler output;
+    private final ThreadPoolExecutor writer;
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * @param explainSource   Where to borrow a connection for EXPLAIN (the pool being traced).
+     * @param thresholdMillis Statements taking at least this long are logged.
+     * @param sampleRate      The fraction of statements to time, from 0.0 to 1.0.
+     * @param explain         Whether to capture EXPLAIN plans for slow statements.
+     * @param maskedColumns   Comma-separated column names whose parameter values are masked.
+     * @param filePattern     The log file pattern; `%g` is replaced by the generation number.
+     * @param maxFileBytes    The size at which the log rolls over to a new file.
+     * @param maxFiles        The number of log files kept.
+     */
+    public SlowQueryLog(DataSource explainSource, long thresholdMillis, double sampleRate, boolean explain,
+                        String maskedColumns, String filePattern, int maxFileBytes, int maxFiles) {
+        this.explainSource = explainSource;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(thresholdMillis, 0));
+        this.sampleRate = sampleRate;
+        this.explain = explain;
+        this.maskedColumns = new HashSet<>();
+        for (String column : maskedColumns.split(",")) {
+            if (!column.trim().isEmpty()) {
+                this.maskedColumns.add(column.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        this.output = openOutput(filePattern, maxFileBytes, maxFiles);
+        // One background thread; when it falls behind, new entries are dropped rather than
+        // slowing down the queries being measured.
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), r -> {
+            Thread t = new Thread(r, "slow-query-log");
+            t.setDaemon(true);
+            return t;
+        }, (task, executor) -> droppedCount.increment());
+    }
+
+    /**
+     * Decides whether a statement is sampled and, if so, wraps it so its executions are timed.
+     *
+     * @param statement The statement about to be handed to a caller.
+     * @param sql       The SQL it was prepared with, or null for a plain `Statement`.
+     * @return The statement itself, or a timing proxy implementing the same interface.
+     */
+    Statement trace(Statement statement, String sql) {
+        if (sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return statement;
+        }
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[]{type},
+                new TracedStatement(statement, this, sql));
+    }
+
+    long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * Queues a slow statement for logging. Called on the thread that ran it, so the calling
+     * DAO method can be read from {@link Metrics#currentOperation()}.
+     */
+    void record(String sql, Object[] parameters, int batchSize, long elapsedNanos, Throwable error) {
+        if (sql.regionMatches(true, 0, "EXPLAIN", 0, 7)) {
+            return; // Our own EXPLAIN queries.
+        }
+        slowCount.increment();
+        OperationMetrics operation = Metrics.currentOperation();
+        String caller = operation != null ? operation.getName() : "(no DAO method)";
+        String thread = Thread.currentThread().getName();
+        LocalDateTime time = LocalDateTime.now();
+        writer.execute(() -> write(time, thread, caller, sql, parameters, batchSize, elapsedNanos, error));
+    }
+
+    /**
+     * @return The number of slow statements seen so far (among the sampled ones).
+     */
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    /**
+     * @return The number of entries dropped because the background writer fell behind.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Writes out queued entries (waiting briefly) and closes the log file.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (output != null) {
+            output.close();
+        }
+    }
+
+    private void write(LocalDateTime time, String thread, String caller, String sql, Object[] parameters,
+                       int batchSize, long elapsedNanos, Throwable error) {
+        StringBuilder entry = new StringBuilder();
+        entry.append("# ").append(time)
+                .append(String.format(" %.1f ms ", elapsedNanos / 1_000_000.0))
+                .append(caller).append(" [").append(thread).append("]\n");
+        if (batchSize > 0) {
+            entry.append("# Batch of ").append(batchSize).append(" rows; parameters are those of the last row.\n");
+        }
+        if (error != null) {
+            entry.append("# Failed: ").append(error).append('\n');
+        }
+        entry.append("SQL: ").append(sql.trim()).append('\n');
+        if (parameters.length > 0) {
+            entry.append("Parameters: ").append(maskParameters(sql, parameters)).append('\n');
+        }
+        if (explain && EXPLAINABLE.matcher(sql).find()) {
+            entry.append("Plan: ").append(explain(sql, parameters)).append('\n');
+        }
+
+        String text = entry.toString();
+        if (output != null) {
+            output.publish(new LogRecord(Level.INFO, text));
+        } else {
+            System.err.print(text);
+        }
+    }
+
+    /**
+     * Renders the parameters as `[1=42, 2=***, ...]`. Values bound to masked columns are
+     * hidden, and so are string values whose column cannot be determined.
+     */
+    private String maskParameters(String sql, Object[] parameters) {
+        String[] columns = SqlParameters.columnNames(sql);
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            String column = i < columns.length ? columns[i] : null;
+            Object value = parameters[i];
+            text.append(i + 1).append('=');
+            if (value == null) {
+                text.append("NULL");
+            } else if (column != null ? maskedColumns.contains(column) : value instanceof String) {
+                text.append(MASK);
+            } else if (value instanceof String) {
+                text.append('\'').append(value).append('\'');
+            } else if (value instanceof byte[]) {
+                text.append('<').append(((byte[]) value).length).append(" bytes>");
+            } else {
+                text.append(value);
+            }
+        }
+        return text.append(']').toString();
+    }
+
+    private String explain(String sql, Object[] parameters) {
+        try (Connection conn = explainSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN FORMAT=JSON " + sql.trim())) {
+            for (int i = 0; i < parameters.length; i++) {
+                pstmt.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : "(no plan returned)";
+            }
+        } catch (SQLException | RuntimeException e) {
+            return "(EXPLAIN failed: " + e.getMessage() + ")";
+        }
+    }
+
+    private static Handler openOutput(String filePattern, int maxFileBytes, int maxFiles) {
+        try {
+            File parent = new File(filePattern).getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Cannot create directory " + parent);
+            }
+            FileHandler handler = new FileHandler(filePattern, Math.max(maxFileBytes, 0), Math.max(maxFiles, 1), true);
+            handler.setEncoding("UTF-8");
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return record.getMessage() + System.lineSeparator();
+                }
+            });
+            return handler;
+        } catch (IOException | SecurityException e) {
+            // Still useful on the console; the application must not fail because of its logs.
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
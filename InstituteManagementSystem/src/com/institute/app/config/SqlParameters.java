@@ -0,0 +1,208 @@
+package com.institute.app.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Works out which column each `?` placeholder of a SQL statement is bound to, so the
+ * slow-query log can mask parameters by column name.
+ *
+ * This is a small heuristic tokenizer, not a SQL parser. It understands the shapes the
+ * DAOs use:
+ * - `INSERT INTO t (a, b) VALUES (?, ?)`;
+ * - `col = ?`, `col > ?`, `col LIKE ?` and the other comparison operators;
+ * - row constructors such as `(a, b, c) > (?, ?, ?)`;
+ * - `col IN (?, ?)`.
+ * Placeholders in any other position (e.g. `LIMIT ?`) map to null.
+ */
+final class SqlParameters {
+
+    private static final int MAX_CACHED_STATEMENTS = 512;
+    private static final Map<String, String[]> COLUMNS_BY_SQL = new ConcurrentHashMap<>();
+
+    private enum Type { WORD, PLACEHOLDER, OPEN, CLOSE, COMMA, OPERATOR }
+
+    private static final class Token {
+        final Type type;
+        final String text;
+
+        Token(Type type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        boolean isWord(String word) {
+            return type == Type.WORD && text.equalsIgnoreCase(word);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private SqlParameters() {}
+
+    /**
+     * Returns the column bound to each placeholder, in placeholder order.
+     *
+     * @param sql The statement text.
+     * @return One entry per `?`: the lower-case column name, or null if it cannot be determined.
+     */
+    static String[] columnNames(String sql) {
+        String[] cached = COLUMNS_BY_SQL.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String[] columns = resolve(tokenize(sql));
+        if (COLUMNS_BY_SQL.size() < MAX_CACHED_STATEMENTS) {
+            COLUMNS_BY_SQL.put(sql, columns);
+        }
+        return columns;
+    }
+
+    private static String[] resolve(List<Token> tokens) {
+        List<Integer> placeholders = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.get(i).type == Type.PLACEHOLDER) {
+                placeholders.add(i);
+            }
+        }
+        String[] columns = new String[placeholders.size()];
+        for (int p = 0; p < columns.length; p++) {
+            columns[p] = columnFor(tokens, placeholders.get(p));
+        }
+        return columns;
+    }
+
+    private static String columnFor(List<Token> tokens, int at) {
+        Token previous = at > 0 ? tokens.get(at - 1) : null;
+        if (previous == null) {
+            return null;
+        }
+        // col = ?, col LIKE ?
+        if (previous.type == Type.OPERATOR || previous.isWord("LIKE")) {
+            return at > 1 && tokens.get(at - 2).type == Type.WORD ? name(tokens.get(at - 2)) : null;
+        }
+        if (previous.type != Type.OPEN && previous.type != Type.COMMA) {
+            return null;
+        }
+        // Inside a parenthesised list: find its opening parenthesis and our position in it.
+        int position = 0;
+        int depth = 0;
+        int open = -1;
+        for (int i = at - 1; i >= 0 && open < 0; i--) {
+            Token token = tokens.get(i);
+            if (token.type == Type.CLOSE) {
+                depth++;
+            } else if (token.type == Type.OPEN) {
+                if (depth == 0) {
+                    open = i;
+                } else {
+                    depth--;
+                }
+            } else if (token.type == Type.COMMA && depth == 0) {
+                position++;
+            }
+        }
+        if (open < 1) {
+            return null;
+        }
+        Token before = tokens.get(open - 1);
+        if (before.isWord("IN")) {
+            return open > 1 && tokens.get(open - 2).type == Type.WORD ? name(tokens.get(open - 2)) : null;
+        }
+        if (before.isWord("VALUES")) {
+            // INSERT INTO t (a, b, ...) VALUES (?, ?, ...): the column list precedes VALUES.
+            return open > 1 && tokens.get(open - 2).type == Type.CLOSE ? listItem(tokens, open - 2, position) : null;
+        }
+        if (before.type == Type.OPERATOR && open > 1 && tokens.get(open - 2).type == Type.CLOSE) {
+            // (a, b, c) > (?, ?, ?)
+            return listItem(tokens, open - 2, position);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the n-th plain column name of the parenthesised list ending at `close`.
+     */
+    private static String listItem(List<Token> tokens, int close, int position) {
+        List<String> names = new ArrayList<>();
+        int i = close - 1;
+        while (i >= 0 && tokens.get(i).type != Type.OPEN) {
+            Token token = tokens.get(i);
+            if (token.type == Type.WORD) {
+                names.add(0, name(token));
+            } else if (token.type != Type.COMMA) {
+                return null; // Not a simple column list.
+            }
+            i--;
+        }
+        return position < names.size() ? names.get(position) : null;
+    }
+
+    private static String name(Token word) {
+        String text = word.text;
+        int dot = text.lastIndexOf('.');
+        return (dot >= 0 ? text.substring(dot + 1) : text).toLowerCase();
+    }
+
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                // Skip string literals; a doubled quote is an escaped quote.
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == c) {
+                        if (i + 1 < length && sql.charAt(i + 1) == c) {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                tokens.add(new Token(Type.WORD, "'literal'"));
+            } else if (c == '`') {
+                int end = sql.indexOf('`', i + 1);
+                end = end < 0 ? length : end;
+                tokens.add(new Token(Type.WORD, sql.substring(i + 1, end)));
+                i = end + 1;
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || "_$.".indexOf(sql.charAt(i)) >= 0)) {
+                    i++;
+                }
+                tokens.add(new Token(Type.WORD, sql.substring(start, i)));
+            } else if (c == '?') {
+                tokens.add(new Token(Type.PLACEHOLDER, "?"));
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(Type.OPEN, "("));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(Type.CLOSE, ")"));
+                i++;
+            } else if (c == ',') {
+                tokens.add(new Token(Type.COMMA, ","));
+                i++;
+            } else if ("=<>!".indexOf(c) >= 0) {
+                int start = i;
+                while (i < length && "=<>!".indexOf(sql.charAt(i)) >= 0) {
+                    i++;
+                }
+                tokens.add(new Token(Type.OPERATOR, sql.substring(start, i)));
+            } else {
+                i++; // Arithmetic and other punctuation do not matter here.
+            }
+        }
+        return tokens;
+    }
+}
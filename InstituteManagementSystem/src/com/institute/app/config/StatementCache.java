@@ -0,0 +1,265 @@
+package com.institute.app.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An LRU cache of prepared statements for one physical connection.
+ *
+ * The DAOs prepare the same handful of SQL strings over and over. Keeping the
+ * `PreparedStatement` objects alive between calls saves the driver's parse step and,
+ * when server-side prepares are enabled, a round trip to MySQL per call.
+ *
+ * Callers receive a proxy; closing it resets the statement (parameters, batch, fetch size,
+ * row limit, timeout) and puts it back in the cache instead of closing it. Proxies still
+ * open when the connection goes back to the pool are closed by {@link #releaseAll()}, so a
+ * caller that forgets to close one cannot pin its entry.
+ *
+ * A connection is only ever used by one thread at a time (the pool guarantees that), so
+ * the cache itself needs no locking.
+ */
+final class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final Map<Key, Entry> entries;
+    private final List<Handle> open = new ArrayList<>();
+
+    /**
+     * @param physical  The connection the statements belong to.
+     * @param maxSize   The maximum number of cached statements.
+     * @param hits      Pool-wide hit counter, shared by all connections.
+     * @param misses    Pool-wide miss counter.
+     * @param evictions Pool-wide eviction counter.
+     */
+    StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        // Access-ordered map: iteration order is least-recently-used first.
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= StatementCache.this.maxSize) {
+                    return false;
+                }
+                StatementCache.this.evictions.increment();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a statement for the given SQL, reusing a cached one when possible.
+     *
+     * @param sql               The SQL text.
+     * @param autoGeneratedKeys `Statement.RETURN_GENERATED_KEYS` or `Statement.NO_GENERATED_KEYS`.
+     * @return A prepared statement; closing it returns it to the cache.
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.inUse) {
+            hits.increment();
+        } else {
+            misses.increment();
+            PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+            if (entry != null) {
+                // The same SQL is already open on this connection (e.g. a nested call).
+                // Hand out a private statement that is closed for real afterwards.
+                Entry uncached = new Entry(statement);
+                uncached.evicted = true;
+                return checkOut(uncached);
+            }
+            entry = new Entry(statement);
+            entries.put(key, entry);
+        }
+        return checkOut(entry);
+    }
+
+    /**
+     * Closes every proxy still handed out, returning its statement to the cache. Called when
+     * the connection is returned to the pool; the borrower's proxies are unusable afterwards.
+     */
+    void releaseAll() {
+        while (!open.isEmpty()) {
+            open.get(open.size() - 1).close();
+        }
+    }
+
+    /**
+     * Closes every cached statement. Called before the physical connection is closed.
+     */
+    void clear() {
+        releaseAll();
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            entry.evict();
+        }
+    }
+
+    private PreparedStatement checkOut(Entry entry) {
+        entry.inUse = true;
+        Handle handle = new Handle(entry);
+        open.add(handle);
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                handle);
+    }
+
+    /**
+     * Cache key: the same SQL prepared with and without generated keys are different statements.
+     */
+    private static final class Key {
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+
+    /**
+     * One cached physical statement and whether it is currently handed out.
+     */
+    private static final class Entry {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        /**
+         * Called when the caller's proxy is closed.
+         */
+        void checkIn() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                ResultSet open = statement.getResultSet();
+                if (open != null) {
+                    open.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                // Back to the driver defaults, so one caller's settings never reach the next.
+                statement.setFetchSize(0);
+                statement.setMaxRows(0);
+                statement.setQueryTimeout(0);
+            } catch (SQLException e) {
+                // A statement that cannot be reset is not worth keeping.
+                evicted = true;
+                closeQuietly();
+            }
+        }
+
+        /**
+         * Called when the entry leaves the cache. A statement that is still in use is
+         * closed when its caller is done with it.
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Nothing useful to do; the statement is being discarded.
+            }
+        }
+    }
+
+    /**
+     * The proxy handed to callers. Behaves like the real statement until it is closed.
+     */
+    private final class Handle implements InvocationHandler {
+        private final Entry entry;
+        private boolean closed;
+
+        Handle(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("This statement has already been closed.");
+            }
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                open.remove(this);
+                entry.checkIn();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.institute.app.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * The proxy behind a statement sampled by the {@link SlowQueryLog}.
+ *
+ * It remembers the SQL and the bound parameters, times every `execute*` call and reports
+ * calls slower than the threshold. Everything else is passed straight through.
+ */
+final class TracedStatement implements InvocationHandler {
+
+    private final Statement target;
+    private final SlowQueryLog log;
+    private String sql;
+    private Object[] parameters = new Object[8];
+    private int parameterCount;
+    private int batchSize;
+
+    TracedStatement(Statement target, SlowQueryLog log, String sql) {
+        this.target = target;
+        this.log = log;
+        this.sql = sql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "clearParameters":
+                Arrays.fill(parameters, null);
+                parameterCount = 0;
+                break;
+            case "addBatch":
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    sql = (String) args[0]; // Statement.addBatch(sql): report the last one.
+                }
+                break;
+            case "clearBatch":
+                batchSize = 0;
+                break;
+            default:
+                if (name.startsWith("execute")) {
+                    return execute(method, args);
+                }
+                // PreparedStatement setters: setXxx(parameterIndex, value, ...)
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bind((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+                }
+                break;
+        }
+        return invokeTarget(method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            sql = (String) args[0]; // Statement.execute*(sql)
+        }
+        Throwable error = null;
+        long start = System.nanoTime();
+        try {
+            return invokeTarget(method, args);
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= log.getThresholdNanos() && sql != null) {
+                log.record(sql, Arrays.copyOf(parameters, parameterCount), batchSize, elapsed, error);
+            }
+            if (method.getName().endsWith("Batch")) {
+                batchSize = 0;
+            }
+        }
+    }
+
+    private void bind(int index, Object value) {
+        if (index < 1 || index > 10_000) {
+            return;
+        }
+        if (index > parameters.length) {
+            parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+        }
+        parameters[index - 1] = value;
+        parameterCount = Math.max(parameterCount, index);
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
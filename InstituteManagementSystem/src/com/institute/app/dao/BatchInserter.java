@@ -0,0 +1,160 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared logic for the DAOs' batch insert methods.
+ *
+ * Rows are sent in chunks using JDBC batching (rewritten into multi-row INSERTs by the
+ * driver, see `db.batch.rewrite`), and each chunk is committed in its own transaction.
+ * The auto-generated IDs of every chunk are written back to the objects.
+ */
+final class BatchInserter {
+
+    /** Rows per chunk, from `db.batch.chunkSize`. */
+    static final int CHUNK_SIZE = Math.max(AppSettings.getInt("db.batch.chunkSize", 500), 1);
+
+    /**
+     * Binds one object's fields to the insert statement's parameters.
+     */
+    interface Binder<T> {
+        void bind(PreparedStatement pstmt, T item) throws SQLException;
+    }
+
+    /**
+     * Stores the generated primary key on an object.
+     */
+    interface KeySetter<T> {
+        void setKey(T item, int id);
+    }
+
+    /**
+     * Runs after each chunk is inserted, in the chunk's transaction (for example to update
+     * a summary table together with the rows).
+     */
+    interface ChunkHook<T> {
+        void afterInsert(Connection conn, List<T> chunk) throws SQLException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private BatchInserter() {}
+
+    /**
+     * Inserts all items using the default chunk size.
+     *
+     * @see #insertAll(String, List, int, Binder, KeySetter, ChunkHook)
+     */
+    static <T> List<T> insertAll(String sql, List<T> items, Binder<T> binder, KeySetter<T> keySetter) {
+        return insertAll(sql, items, CHUNK_SIZE, binder, keySetter, null);
+    }
+
+    /**
+     * Inserts all items using the default chunk size, running `hook` in each chunk's transaction.
+     *
+     * @see #insertAll(String, List, int, Binder, KeySetter, ChunkHook)
+     */
+    static <T> List<T> insertAll(String sql, List<T> items, Binder<T> binder, KeySetter<T> keySetter, ChunkHook<T> hook) {
+        return insertAll(sql, items, CHUNK_SIZE, binder, keySetter, hook);
+    }
+
+    /**
+     * Inserts all items, one transaction per chunk.
+     *
+     * If a chunk fails it is rolled back and no further chunks are sent; chunks committed
+     * before the failure stay in the database.
+     *
+     * @param sql       A single-row INSERT statement with `?` placeholders.
+     * @param items     The objects to insert.
+     * @param chunkSize The number of rows per batch and per transaction.
+     * @param binder    Sets the statement parameters for one object.
+     * @param keySetter Stores the generated ID on an object.
+     * @param hook      Runs before each chunk is committed, or null.
+     * @return The items that were committed, with their IDs set. This is all of them unless an error occurred.
+     */
+    static <T> List<T> insertAll(String sql, List<T> items, int chunkSize, Binder<T> binder, KeySetter<T> keySetter, ChunkHook<T> hook) {
+        List<T> inserted = new ArrayList<>(items.size());
+        if (items.isEmpty()) {
+            return inserted;
+        }
+        int size = Math.max(chunkSize, 1);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            for (int from = 0; from < items.size(); from += size) {
+                List<T> chunk = items.subList(from, Math.min(from + size, items.size()));
+                try {
+                    executeChunk(pstmt, chunk, binder, keySetter);
+                    if (hook != null) {
+                        hook.afterInsert(conn, chunk);
+                    }
+                    conn.commit();
+                    inserted.addAll(chunk);
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+        } catch (SQLException e) {
+            Metrics.recordError();
+            e.printStackTrace();
+        }
+        return inserted;
+    }
+
+    /**
+     * Inserts all items inside the caller's transaction: nothing is committed or rolled
+     * back here, so the rows can be committed together with other work on `conn`.
+     *
+     * @param conn      A connection with auto-commit disabled.
+     * @param sql       A single-row INSERT statement with `?` placeholders.
+     * @param items     The objects to insert.
+     * @param binder    Sets the statement parameters for one object.
+     * @param keySetter Stores the generated ID on an object.
+     * @param hook      Runs after each chunk is inserted, or null.
+     * @throws SQLException if any row fails; the caller should roll back.
+     */
+    static <T> void insertInto(Connection conn, String sql, List<T> items, Binder<T> binder, KeySetter<T> keySetter, ChunkHook<T> hook) throws SQLException {
+        if (items.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+                List<T> chunk = items.subList(from, Math.min(from + CHUNK_SIZE, items.size()));
+                executeChunk(pstmt, chunk, binder, keySetter);
+                if (hook != null) {
+                    hook.afterInsert(conn, chunk);
+                }
+            }
+        }
+    }
+
+    private static <T> void executeChunk(PreparedStatement pstmt, List<T> chunk, Binder<T> binder, KeySetter<T> keySetter) throws SQLException {
+        for (T item : chunk) {
+            binder.bind(pstmt, item);
+            pstmt.addBatch();
+        }
+        pstmt.executeBatch();
+
+        // Keys come back in insert order, one per row.
+        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+            int i = 0;
+            while (i < chunk.size() && generatedKeys.next()) {
+                keySetter.setKey(chunk.get(i++), generatedKeys.getInt(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.institute.app.dao;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The listeners registered for one table's writes (see {@link EntityChangeListener}).
+ * Registration is rare and notification frequent, so the list is copied on write and
+ * iterated without locking. A listener that throws is reported and does not stop the others
+ * or fail the write that has already been committed.
+ *
+ * @param <T> The model type.
+ */
+public final class ChangeListeners<T> {
+
+    private final List<EntityChangeListener<? super T>> listeners = new CopyOnWriteArrayList<>();
+
+    public void add(EntityChangeListener<? super T> listener) {
+        listeners.add(listener);
+    }
+
+    public void remove(EntityChangeListener<? super T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Notifies every listener that a row was inserted or updated.
+     */
+    public void fireSaved(T entity) {
+        for (EntityChangeListener<? super T> listener : listeners) {
+            try {
+                listener.saved(entity);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Notifies every listener that a row was deleted.
+     */
+    public void fireDeleted(int id) {
+        for (EntityChangeListener<? super T> listener : listeners) {
+            try {
+                listener.deleted(id);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
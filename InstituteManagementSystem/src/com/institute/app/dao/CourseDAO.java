@@ -1,6 +1,10 @@
 package com.institute.app.dao;
 
+import com.institute.app.cache.EntityCache;
+import com.institute.app.cache.EntityCaches;
 import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
 import com.institute.app.models.Course;
 
 import java.sql.*;
@@ -12,6 +16,29 @@ import java.util.List;
  */
 public class CourseDAO {
 
+    // Read-through cache behind getCourseById; updateCourse/deleteCourse invalidate their row.
+    static final EntityCache<Integer, Course> CACHE = EntityCaches.create("course", 5_000, 3600);
+
+    /** Notified after each committed insert, update and delete (e.g. by the search index). */
+    public static final ChangeListeners<Course> CHANGES = new ChangeListeners<>();
+
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "course_id, course_name, course_code, description, credits, teacher_id";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM courses ORDER BY course_name, course_id LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM courses WHERE (course_name, course_id) > (?, ?) ORDER BY course_name, course_id LIMIT ?";
+
+    // Summary projection for list views: everything except the wide `description` TEXT column.
+    private static final String SUMMARY_COLUMNS = "course_id, course_name, course_code, credits, teacher_id";
+    private static final String SUMMARY_ALL_SQL = "SELECT " + SUMMARY_COLUMNS + " FROM courses ORDER BY course_name";
+
+    private static final OperationMetrics ADD_COURSE = Metrics.operation("CourseDAO.addCourse");
+    private static final OperationMetrics GET_COURSE_BY_ID = Metrics.operation("CourseDAO.getCourseById");
+    private static final OperationMetrics GET_ALL_COURSES = Metrics.operation("CourseDAO.getAllCourses");
+    private static final OperationMetrics GET_COURSES_AFTER = Metrics.operation("CourseDAO.getCoursesAfter");
+    private static final OperationMetrics GET_ALL_COURSE_SUMMARIES = Metrics.operation("CourseDAO.getAllCourseSummaries");
+    private static final OperationMetrics UPDATE_COURSE = Metrics.operation("CourseDAO.updateCourse");
+    private static final OperationMetrics DELETE_COURSE = Metrics.operation("CourseDAO.deleteCourse");
+
     /**
      * Adds a new course to the database.
      *
@@ -19,41 +46,68 @@ public class CourseDAO {
      * @return The course object with the new course_id, or null on failure.
      */
     public Course addCourse(Course course) {
-        String sql = "INSERT INTO courses (course_name, course_code, description, credits, teacher_id) VALUES (?, ?, ?, ?, ?)";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setString(1, course.getCourseName());
-            pstmt.setString(2, course.getCourseCode());
-            pstmt.setString(3, course.getDescription());
-            pstmt.setObject(4, course.getCredits()); // Use setObject for nullable Integer
-            pstmt.setObject(5, course.getTeacherId()); // Use setObject for nullable Integer
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        course.setCourseId(generatedKeys.getInt(1));
-                        return course;
+        long startNanos = ADD_COURSE.start();
+        try {
+            String sql = "INSERT INTO courses (course_name, course_code, description, credits, teacher_id) VALUES (?, ?, ?, ?, ?)";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                pstmt.setString(1, course.getCourseName());
+                pstmt.setString(2, course.getCourseCode());
+                pstmt.setString(3, course.getDescription());
+                pstmt.setObject(4, course.getCredits()); // Use setObject for nullable Integer
+                pstmt.setObject(5, course.getTeacherId()); // Use setObject for nullable Integer
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            course.setCourseId(generatedKeys.getInt(1));
+                            CHANGES.fireSaved(course);
+                            return course;
+                        }
                     }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_COURSE.stop(startNanos);
         }
-        return null;
     }
 
     /**
      * Retrieves a course by its ID.
+     * Repeated lookups are answered from an in-memory cache (see `cache.course.*`).
      *
      * @param courseId The ID of the course to retrieve.
      * @return A Course object if found, otherwise null.
      */
     public Course getCourseById(int courseId) {
-        String sql = "SELECT * FROM courses WHERE course_id = ?";
-        try (Connection conn = DBConnection.getConnection();
+        long startNanos = GET_COURSE_BY_ID.start();
+        try {
+            Course cached = CACHE.get(courseId, this::loadCourseById);
+            return cached == null ? null : copyOf(cached);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_COURSE_BY_ID.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method that reads one course from the database (the cache loader).
+     */
+    private Course loadCourseById(int courseId) {
+        String sql = "SELECT " + COLUMNS + " FROM courses WHERE course_id = ?";
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, courseId);
@@ -63,6 +117,7 @@ public class CourseDAO {
                 }
             }
         } catch (SQLException e) {
+            Metrics.recordError();
             e.printStackTrace();
         }
         return null;
@@ -74,19 +129,101 @@ public class CourseDAO {
      * @return A List of Course objects.
      */
     public List<Course> getAllCourses() {
-        List<Course> courses = new ArrayList<>();
-        String sql = "SELECT * FROM courses ORDER BY course_name";
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                courses.add(mapResultSetToCourse(rs));
+        long startNanos = GET_ALL_COURSES.start();
+        try {
+            List<Course> courses = new ArrayList<>();
+            String sql = "SELECT " + COLUMNS + " FROM courses ORDER BY course_name";
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+
+                while (rs.next()) {
+                    courses.add(mapResultSetToCourse(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return courses;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_COURSES.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves one page of courses in `course_name` order using keyset pagination.
+     * Instead of an OFFSET, the query seeks past the last row of the previous page through
+     * `idx_courses_name`, so page N costs the same as the first page.
+     *
+     * @param courseName The name of the final course on the previous page, or null for the first page.
+     * @param courseId   The ID of that course (breaks ties between identical names).
+     * @param limit      The maximum number of courses to return.
+     * @return The next page of courses; an empty list when there are no more.
+     */
+    public List<Course> getCoursesAfter(String courseName, int courseId, int limit) {
+        long startNanos = GET_COURSES_AFTER.start();
+        try {
+            List<Course> courses = new ArrayList<>();
+            String sql = courseName == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL;
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                int i = 1;
+                if (courseName != null) {
+                    pstmt.setString(i++, courseName);
+                    pstmt.setInt(i++, courseId);
+                }
+                pstmt.setInt(i, limit);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        courses.add(mapResultSetToCourse(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return courses;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_COURSES_AFTER.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves all courses without their description, for list views and drop-downs
+     * that never show it. The returned objects have a null description.
+     *
+     * @return A List of Course objects, ordered by name.
+     */
+    public List<Course> getAllCourseSummaries() {
+        long startNanos = GET_ALL_COURSE_SUMMARIES.start();
+        try {
+            List<Course> courses = new ArrayList<>();
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SUMMARY_ALL_SQL)) {
+
+                while (rs.next()) {
+                    courses.add(mapResultSetToCourseSummary(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return courses;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_COURSE_SUMMARIES.stop(startNanos);
         }
-        return courses;
     }
 
     /**
@@ -96,41 +233,87 @@ public class CourseDAO {
      * @return true if the update was successful, false otherwise.
      */
     public boolean updateCourse(Course course) {
-        String sql = "UPDATE courses SET course_name = ?, course_code = ?, description = ?, credits = ?, teacher_id = ? WHERE course_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long startNanos = UPDATE_COURSE.start();
+        try {
+            String sql = "UPDATE courses SET course_name = ?, course_code = ?, description = ?, credits = ?, teacher_id = ? WHERE course_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, course.getCourseName());
-            pstmt.setString(2, course.getCourseCode());
-            pstmt.setString(3, course.getDescription());
-            pstmt.setObject(4, course.getCredits());
-            pstmt.setObject(5, course.getTeacherId());
-            pstmt.setInt(6, course.getCourseId());
+                pstmt.setString(1, course.getCourseName());
+                pstmt.setString(2, course.getCourseCode());
+                pstmt.setString(3, course.getDescription());
+                pstmt.setObject(4, course.getCredits());
+                pstmt.setObject(5, course.getTeacherId());
+                pstmt.setInt(6, course.getCourseId());
 
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+                boolean updated = pstmt.executeUpdate() > 0;
+                if (updated) {
+                    CHANGES.fireSaved(course);
+                }
+                return updated;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            } finally {
+                CACHE.invalidate(course.getCourseId());
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_COURSE.stop(startNanos);
         }
-        return false;
     }
 
     /**
-     * Deletes a course from the database.
+     * Deletes a course from the database. Its payments keep existing without a course
+     * (ON DELETE SET NULL), so their revenue rollup totals move to "no course" in the same
+     * transaction. Its enrollments are deleted with it (ON DELETE CASCADE) and dropped from
+     * the roster index after the commit.
      *
      * @param courseId The ID of the course to delete.
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteCourse(int courseId) {
-        String sql = "DELETE FROM courses WHERE course_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long startNanos = DELETE_COURSE.start();
+        try {
+            String sql = "DELETE FROM courses WHERE course_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, courseId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+                conn.setAutoCommit(false);
+                pstmt.setInt(1, courseId);
+                boolean deleted = pstmt.executeUpdate() > 0;
+                PaymentRollup.moveCourseToNone(conn, courseId);
+                conn.commit();
+                if (deleted) {
+                    EnrollmentDAO.courseDeleted(courseId);
+                    CHANGES.fireDeleted(courseId);
+                }
+                return deleted;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            } finally {
+                CACHE.invalidate(courseId);
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_COURSE.stop(startNanos);
         }
-        return false;
+    }
+
+    /**
+     * Helper method that copies a cached course, so callers can edit the object they
+     * receive without changing what other callers get from the cache.
+     */
+    private static Course copyOf(Course course) {
+        return new Course(course.getCourseId(), course.getCourseName(), course.getCourseCode(), course.getDescription(),
+                course.getCredits(), course.getTeacherId());
     }
 
     /**
@@ -138,12 +321,26 @@ public class CourseDAO {
      */
     private Course mapResultSetToCourse(ResultSet rs) throws SQLException {
         return new Course(
-                rs.getInt("course_id"),
-                rs.getString("course_name"),
-                rs.getString("course_code"),
-                rs.getString("description"),
-                (Integer) rs.getObject("credits"),
-                (Integer) rs.getObject("teacher_id")
+                rs.getInt(1),                   // course_id
+                rs.getString(2),                // course_name
+                rs.getString(3),                // course_code
+                rs.getString(4),                // description
+                (Integer) rs.getObject(5),      // credits
+                (Integer) rs.getObject(6)       // teacher_id
+        );
+    }
+
+    /**
+     * Helper method to map a row of the summary projection (no description) to a Course object.
+     */
+    private Course mapResultSetToCourseSummary(ResultSet rs) throws SQLException {
+        return new Course(
+                rs.getInt(1),                   // course_id
+                rs.getString(2),                // course_name
+                rs.getString(3),                // course_code
+                null,                           // description is not part of the summary
+                (Integer) rs.getObject(4),      // credits
+                (Integer) rs.getObject(5)       // teacher_id
         );
     }
 }
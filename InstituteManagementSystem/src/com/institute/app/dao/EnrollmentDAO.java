@@ -0,0 +1,488 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.config.DBConnection;
+import com.institute.app.index.IntBitmap;
+import com.institute.app.index.MembershipIndex;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+import com.institute.app.models.Enrollment;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Handles all database operations for the Enrollment model, and answers roster questions
+ * ("who is in CS101", "students in both A and B") from an in-memory index.
+ *
+ * The index holds a compressed bitmap of student IDs per course and of course IDs per
+ * student ({@link MembershipIndex}). It is loaded from the primary on the first roster
+ * question, kept current by this DAO's inserts and deletes and by student and course
+ * deletes, and reloaded after `enrollment.index.ttlSeconds` to pick up changes made by
+ * other installations. The reload runs in the background while queries keep using the
+ * current index; writes committed during a load are replayed on the new index before it
+ * replaces the old one.
+ */
+public class EnrollmentDAO {
+
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "enrollment_id, student_id, course_id, enrollment_date, grade";
+    private static final String INSERT_SQL = "INSERT INTO enrollments (student_id, course_id, enrollment_date, grade) VALUES (?, ?, ?, ?)";
+    private static final long INDEX_TTL_NANOS = TimeUnit.SECONDS.toNanos(AppSettings.getLong("enrollment.index.ttlSeconds", 600));
+
+    private static final OperationMetrics ADD_ENROLLMENT = Metrics.operation("EnrollmentDAO.addEnrollment");
+    private static final OperationMetrics ADD_ENROLLMENTS = Metrics.operation("EnrollmentDAO.addEnrollments");
+    private static final OperationMetrics GET_ENROLLMENTS_FOR_COURSE = Metrics.operation("EnrollmentDAO.getEnrollmentsForCourse");
+    private static final OperationMetrics GET_ENROLLMENTS_FOR_STUDENT = Metrics.operation("EnrollmentDAO.getEnrollmentsForStudent");
+    private static final OperationMetrics UPDATE_GRADE = Metrics.operation("EnrollmentDAO.updateGrade");
+    private static final OperationMetrics DELETE_ENROLLMENT = Metrics.operation("EnrollmentDAO.deleteEnrollment");
+    private static final OperationMetrics LOAD_INDEX = Metrics.operation("EnrollmentDAO.loadIndex");
+    private static final OperationMetrics ROSTER_QUERY = Metrics.operation("EnrollmentDAO.rosterQuery");
+
+    // Guarded by EnrollmentDAO.class for writes; read without locking.
+    private static volatile MembershipIndex index;
+    private static volatile long indexLoadedNanos;
+    // Non-null while a load runs: the changes to replay on the new index. Guarded by EnrollmentDAO.class.
+    private static List<Consumer<MembershipIndex>> pending;
+    // Serializes loads, so only one set of pending changes exists at a time.
+    private static final Object LOAD_LOCK = new Object();
+    private static final AtomicBoolean REFRESHING = new AtomicBoolean();
+
+    /**
+     * Enrolls a student in a course.
+     *
+     * @param enrollment The Enrollment object to add.
+     * @return The enrollment object with the new enrollment_id, or null on failure
+     *         (including when the student is already enrolled in the course).
+     */
+    public Enrollment addEnrollment(Enrollment enrollment) {
+        long startNanos = ADD_ENROLLMENT.start();
+        try {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+                setEnrollmentParameters(pstmt, enrollment);
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            enrollment.setEnrollmentId(generatedKeys.getInt(1));
+                            enrolled(enrollment.getStudentId(), enrollment.getCourseId());
+                            return enrollment;
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_ENROLLMENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Adds many enrollments at once using JDBC batching (e.g., registering a term's classes).
+     * Rows are committed in chunks of `db.batch.chunkSize`.
+     *
+     * @param enrollments The enrollments to add.
+     * @return The enrollments that were saved, each with its new enrollment_id. If an error
+     *         occurs, this contains only the chunks committed before it.
+     */
+    public List<Enrollment> addEnrollments(List<Enrollment> enrollments) {
+        long startNanos = ADD_ENROLLMENTS.start();
+        try {
+            List<Enrollment> saved = BatchInserter.insertAll(INSERT_SQL, enrollments, EnrollmentDAO::setEnrollmentParameters,
+                    Enrollment::setEnrollmentId);
+            for (Enrollment enrollment : saved) {
+                enrolled(enrollment.getStudentId(), enrollment.getCourseId());
+            }
+            return saved;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_ENROLLMENTS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves the enrollment records of a course, with dates and grades.
+     *
+     * @param courseId The ID of the course.
+     * @return A List of Enrollment objects, ordered by student ID.
+     */
+    public List<Enrollment> getEnrollmentsForCourse(int courseId) {
+        long startNanos = GET_ENROLLMENTS_FOR_COURSE.start();
+        try {
+            return getEnrollments("SELECT " + COLUMNS + " FROM enrollments WHERE course_id = ? ORDER BY student_id", courseId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ENROLLMENTS_FOR_COURSE.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves the enrollment records of a student, with dates and grades.
+     *
+     * @param studentId The ID of the student.
+     * @return A List of Enrollment objects, ordered by course ID (served by `uk_student_course`).
+     */
+    public List<Enrollment> getEnrollmentsForStudent(int studentId) {
+        long startNanos = GET_ENROLLMENTS_FOR_STUDENT.start();
+        try {
+            return getEnrollments("SELECT " + COLUMNS + " FROM enrollments WHERE student_id = ? ORDER BY course_id", studentId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ENROLLMENTS_FOR_STUDENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Records a student's final grade in a course.
+     *
+     * @param studentId The ID of the student.
+     * @param courseId  The ID of the course.
+     * @param grade     The grade (e.g., "A+"), or null to clear it.
+     * @return true if the update was successful, false otherwise.
+     */
+    public boolean updateGrade(int studentId, int courseId, String grade) {
+        long startNanos = UPDATE_GRADE.start();
+        try {
+            String sql = "UPDATE enrollments SET grade = ? WHERE student_id = ? AND course_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setString(1, grade);
+                pstmt.setInt(2, studentId);
+                pstmt.setInt(3, courseId);
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_GRADE.stop(startNanos);
+        }
+    }
+
+    /**
+     * Removes a student from a course.
+     *
+     * @param studentId The ID of the student.
+     * @param courseId  The ID of the course.
+     * @return true if the deletion was successful, false otherwise.
+     */
+    public boolean deleteEnrollment(int studentId, int courseId) {
+        long startNanos = DELETE_ENROLLMENT.start();
+        try {
+            String sql = "DELETE FROM enrollments WHERE student_id = ? AND course_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, studentId);
+                pstmt.setInt(2, courseId);
+                boolean deleted = pstmt.executeUpdate() > 0;
+                if (deleted) {
+                    unenrolled(studentId, courseId);
+                }
+                return deleted;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_ENROLLMENT.stop(startNanos);
+        }
+    }
+
+    // --- Roster queries (answered from the index) ---
+
+    /**
+     * Returns the IDs of the students enrolled in a course.
+     */
+    public IntBitmap getStudentIdsInCourse(int courseId) {
+        long startNanos = ROSTER_QUERY.start();
+        try {
+            return index().membersOf(courseId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ROSTER_QUERY.stop(startNanos);
+        }
+    }
+
+    /**
+     * Returns the IDs of the courses a student is enrolled in.
+     */
+    public IntBitmap getCourseIdsForStudent(int studentId) {
+        long startNanos = ROSTER_QUERY.start();
+        try {
+            return index().groupsOf(studentId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ROSTER_QUERY.stop(startNanos);
+        }
+    }
+
+    /**
+     * Returns true if the student is enrolled in the course.
+     */
+    public boolean isEnrolled(int studentId, int courseId) {
+        long startNanos = ROSTER_QUERY.start();
+        try {
+            return index().contains(studentId, courseId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ROSTER_QUERY.stop(startNanos);
+        }
+    }
+
+    /**
+     * Returns the IDs of the students enrolled in every one of the courses (intersection).
+     */
+    public IntBitmap getStudentIdsInAllCourses(int... courseIds) {
+        long startNanos = ROSTER_QUERY.start();
+        try {
+            return index().membersOfAll(courseIds);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ROSTER_QUERY.stop(startNanos);
+        }
+    }
+
+    /**
+     * Returns the IDs of the students enrolled in at least one of the courses (union).
+     */
+    public IntBitmap getStudentIdsInAnyCourse(int... courseIds) {
+        long startNanos = ROSTER_QUERY.start();
+        try {
+            return index().membersOfAny(courseIds);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ROSTER_QUERY.stop(startNanos);
+        }
+    }
+
+    /**
+     * Returns the IDs of the students enrolled in a course but in none of the others (difference).
+     */
+    public IntBitmap getStudentIdsInCourseExcept(int courseId, int... excludedCourseIds) {
+        long startNanos = ROSTER_QUERY.start();
+        try {
+            return index().membersOfExcept(courseId, excludedCourseIds);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ROSTER_QUERY.stop(startNanos);
+        }
+    }
+
+    /**
+     * Reloads the roster index from the database now, e.g. after a bulk import. Queries keep
+     * using the current index until the new one is ready.
+     */
+    public void reloadIndex() {
+        loadIndex();
+    }
+
+    // --- Index maintenance ---
+
+    /**
+     * Returns the index, loading it on first use. Once it is older than
+     * `enrollment.index.ttlSeconds` (0 keeps it until the application restarts), a reload
+     * is started in the background and the current index is returned meanwhile.
+     */
+    private static MembershipIndex index() {
+        MembershipIndex current = index;
+        if (current == null) {
+            synchronized (LOAD_LOCK) {
+                current = index;
+                if (current == null) {
+                    current = loadIndex();
+                }
+            }
+        } else if (isStale() && REFRESHING.compareAndSet(false, true)) {
+            Thread t = new Thread(EnrollmentDAO::refreshIndex, "enrollment-index-refresh");
+            t.setDaemon(true);
+            t.start();
+        }
+        return current;
+    }
+
+    private static boolean isStale() {
+        return INDEX_TTL_NANOS > 0 && System.nanoTime() - indexLoadedNanos > INDEX_TTL_NANOS;
+    }
+
+    private static void refreshIndex() {
+        try {
+            if (isStale()) {
+                loadIndex();
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the current index; the next query after the TTL tries again.
+            e.printStackTrace();
+        } finally {
+            REFRESHING.set(false);
+        }
+    }
+
+    /**
+     * Builds the index from every (student, course) pair, streamed from the primary so that
+     * no committed change is missed, and swaps it in. The update hooks keep applying to the
+     * current index during the load and are recorded, then replayed on the new one, so no
+     * change committed meanwhile is lost.
+     */
+    private static MembershipIndex loadIndex() {
+        synchronized (LOAD_LOCK) {
+            long startNanos = LOAD_INDEX.start();
+            synchronized (EnrollmentDAO.class) {
+                pending = new ArrayList<>();
+            }
+            try {
+                MembershipIndex.Builder builder = new MembershipIndex.Builder();
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement("SELECT student_id, course_id FROM enrollments",
+                             ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                    pstmt.setFetchSize(ResultStreams.FETCH_SIZE > 0 ? ResultStreams.FETCH_SIZE : Integer.MIN_VALUE);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            builder.add(rs.getInt(1), rs.getInt(2));
+                        }
+                    }
+                } catch (SQLException e) {
+                    Metrics.recordError();
+                    throw new RuntimeException("Failed to load the enrollment index.", e);
+                }
+                MembershipIndex loaded = builder.build();
+                synchronized (EnrollmentDAO.class) {
+                    for (Consumer<MembershipIndex> change : pending) {
+                        change.accept(loaded);
+                    }
+                    index = loaded;
+                    indexLoadedNanos = System.nanoTime();
+                }
+                return loaded;
+            } catch (RuntimeException | Error e) {
+                Metrics.recordError();
+                throw e;
+            } finally {
+                synchronized (EnrollmentDAO.class) {
+                    pending = null;
+                }
+                LOAD_INDEX.stop(startNanos);
+            }
+        }
+    }
+
+    /**
+     * Applies a committed change to the current index and, during a load, records it for the new one.
+     */
+    private static synchronized void apply(Consumer<MembershipIndex> change) {
+        if (index != null) {
+            change.accept(index);
+        }
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    private static void enrolled(int studentId, int courseId) {
+        apply(current -> current.add(studentId, courseId));
+    }
+
+    private static void unenrolled(int studentId, int courseId) {
+        apply(current -> current.remove(studentId, courseId));
+    }
+
+    /**
+     * Called by {@link StudentDAO#deleteStudent(int)}: the student's enrollments were deleted with them.
+     */
+    static void studentDeleted(int studentId) {
+        apply(current -> current.removeMember(studentId));
+    }
+
+    /**
+     * Called by {@link CourseDAO#deleteCourse(int)}: the course's enrollments were deleted with it.
+     */
+    static void courseDeleted(int courseId) {
+        apply(current -> current.removeGroup(courseId));
+    }
+
+    /**
+     * Helper method that runs a query with one int parameter and maps every row.
+     */
+    private List<Enrollment> getEnrollments(String sql, int id) {
+        List<Enrollment> enrollments = new ArrayList<>();
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    enrollments.add(mapResultSetToEnrollment(rs));
+                }
+            }
+        } catch (SQLException e) {
+            Metrics.recordError();
+            e.printStackTrace();
+        }
+        return enrollments;
+    }
+
+    /**
+     * Helper method to bind an enrollment's fields to parameters 1-4.
+     */
+    private static void setEnrollmentParameters(PreparedStatement pstmt, Enrollment enrollment) throws SQLException {
+        pstmt.setInt(1, enrollment.getStudentId());
+        pstmt.setInt(2, enrollment.getCourseId());
+        pstmt.setDate(3, new java.sql.Date(enrollment.getEnrollmentDate().getTime()));
+        pstmt.setString(4, enrollment.getGrade());
+    }
+
+    /**
+     * Helper method to map a ResultSet row to an Enrollment object.
+     */
+    private Enrollment mapResultSetToEnrollment(ResultSet rs) throws SQLException {
+        return new Enrollment(
+                rs.getInt(1),                   // enrollment_id
+                rs.getInt(2),                   // student_id
+                rs.getInt(3),                   // course_id
+                rs.getDate(4),                  // enrollment_date
+                rs.getString(5)                 // grade
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.institute.app.dao;
+
+/**
+ * Receives the rows a DAO has written, after they are committed, so in-memory views of a
+ * table (such as the search index) can follow it without reloading.
+ *
+ * Callbacks run on the writing thread, inside the DAO call; keep them short and do not
+ * call back into the database from them.
+ *
+ * @param <T> The model type.
+ */
+public interface EntityChangeListener<T> {
+
+    /**
+     * Called after a row was inserted or updated.
+     *
+     * @param entity The row as written, with its database ID.
+     */
+    void saved(T entity);
+
+    /**
+     * Called after a row was deleted.
+     *
+     * @param id The deleted row's ID.
+     */
+    void deleted(int id);
+}
@@ -1,17 +1,39 @@
 package com.institute.app.dao;
 
 import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
 import com.institute.app.models.Exam;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Handles all database operations for the Exam model.
  */
 public class ExamDAO {
 
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "exam_id, exam_name, exam_date, course_id, max_marks";
+    private static final String SELECT_ALL_SQL = "SELECT " + COLUMNS + " FROM exams ORDER BY exam_date DESC";
+    private static final String INSERT_SQL = "INSERT INTO exams (exam_name, exam_date, course_id, max_marks) VALUES (?, ?, ?, ?)";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM exams ORDER BY exam_date DESC, exam_id DESC LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM exams WHERE (exam_date, exam_id) < (?, ?) ORDER BY exam_date DESC, exam_id DESC LIMIT ?";
+
+    private static final OperationMetrics ADD_EXAM = Metrics.operation("ExamDAO.addExam");
+    private static final OperationMetrics ADD_EXAMS = Metrics.operation("ExamDAO.addExams");
+    private static final OperationMetrics GET_EXAM_BY_ID = Metrics.operation("ExamDAO.getExamById");
+    private static final OperationMetrics GET_ALL_EXAMS = Metrics.operation("ExamDAO.getAllExams");
+    private static final OperationMetrics STREAM_ALL_EXAMS = Metrics.operation("ExamDAO.streamAllExams");
+    private static final OperationMetrics FOR_EACH_EXAM = Metrics.operation("ExamDAO.forEachExam");
+    private static final OperationMetrics GET_EXAMS_BEFORE = Metrics.operation("ExamDAO.getExamsBefore");
+    private static final OperationMetrics GET_EXAMS_BETWEEN = Metrics.operation("ExamDAO.getExamsBetween");
+    private static final OperationMetrics UPDATE_EXAM = Metrics.operation("ExamDAO.updateExam");
+    private static final OperationMetrics DELETE_EXAM = Metrics.operation("ExamDAO.deleteExam");
+
     /**
      * Adds a new exam to the database.
      *
@@ -19,30 +41,54 @@ public class ExamDAO {
      * @return The exam object with the new exam_id, or null on failure.
      */
     public Exam addExam(Exam exam) {
-        String sql = "INSERT INTO exams (exam_name, exam_date, course_id, max_marks) VALUES (?, ?, ?, ?)";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setString(1, exam.getExamName());
-            // The `exam_date` column in the schema is DATETIME, so Timestamp is appropriate.
-            pstmt.setTimestamp(2, new java.sql.Timestamp(exam.getExamDate().getTime()));
-            pstmt.setObject(3, exam.getCourseId());
-            pstmt.setInt(4, exam.getMaxMarks());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        exam.setExamId(generatedKeys.getInt(1));
-                        return exam;
+        long startNanos = ADD_EXAM.start();
+        try {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+                setExamParameters(pstmt, exam);
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            exam.setExamId(generatedKeys.getInt(1));
+                            return exam;
+                        }
                     }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_EXAM.stop(startNanos);
+        }
+    }
+
+    /**
+     * Adds many exams at once using JDBC batching (e.g., scheduling a whole term).
+     * Rows are committed in chunks of `db.batch.chunkSize`.
+     *
+     * @param exams The exams to add.
+     * @return The exams that were saved, each with its new exam_id. If an error occurs,
+     *         this contains only the chunks committed before it.
+     */
+    public List<Exam> addExams(List<Exam> exams) {
+        long startNanos = ADD_EXAMS.start();
+        try {
+            return BatchInserter.insertAll(INSERT_SQL, exams, ExamDAO::setExamParameters, Exam::setExamId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_EXAMS.stop(startNanos);
         }
-        return null;
     }
 
     /**
@@ -52,20 +98,29 @@ public class ExamDAO {
      * @return An Exam object if found, otherwise null.
      */
     public Exam getExamById(int examId) {
-        String sql = "SELECT * FROM exams WHERE exam_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, examId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToExam(rs);
+        long startNanos = GET_EXAM_BY_ID.start();
+        try {
+            String sql = "SELECT " + COLUMNS + " FROM exams WHERE exam_id = ?";
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, examId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return mapResultSetToExam(rs);
+                    }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_EXAM_BY_ID.stop(startNanos);
         }
-        return null;
     }
 
     /**
@@ -74,19 +129,142 @@ public class ExamDAO {
      * @return A List of Exam objects.
      */
     public List<Exam> getAllExams() {
-        List<Exam> exams = new ArrayList<>();
-        String sql = "SELECT * FROM exams ORDER BY exam_date DESC";
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                exams.add(mapResultSetToExam(rs));
+        long startNanos = GET_ALL_EXAMS.start();
+        try {
+            List<Exam> exams = new ArrayList<>();
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SELECT_ALL_SQL)) {
+
+                while (rs.next()) {
+                    exams.add(mapResultSetToExam(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return exams;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_EXAMS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Streams all exams in the same order as {@link #getAllExams()}, reading one row at a
+     * time instead of building a list, so memory use does not grow with the table.
+     * The stream holds a database connection until it is closed; use try-with-resources:
+     * <pre>
+     * try (Stream&lt;Exam&gt; exams = dao.streamAllExams()) { ... }
+     * </pre>
+     *
+     * @return A stream of Exam objects.
+     * @throws RuntimeException if the query fails.
+     */
+    public Stream<Exam> streamAllExams() {
+        // Timed until the stream is closed, rows included.
+        return ResultStreams.stream(STREAM_ALL_EXAMS, SELECT_ALL_SQL, this::mapResultSetToExam);
+    }
+
+    /**
+     * Calls the given action for every exam, one row at a time, in the same order as
+     * {@link #getAllExams()}. The connection is released when this method returns.
+     *
+     * @param action The callback to run for each row.
+     * @throws RuntimeException if the query fails.
+     */
+    public void forEachExam(Consumer<? super Exam> action) {
+        long startNanos = FOR_EACH_EXAM.start();
+        try {
+            try (Stream<Exam> exams = streamAllExams()) {
+                exams.forEach(action);
+            }
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            FOR_EACH_EXAM.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves one page of exams in newest-first order using keyset pagination.
+     * Instead of an OFFSET, the query seeks before the last row of the previous page through
+     * `idx_exams_date`, so page N costs the same as the first page.
+     *
+     * @param examDate The date of the final exam on the previous page, or null for the first page.
+     * @param examId   The ID of that exam (orders exams at the same time).
+     * @param limit    The maximum number of exams to return.
+     * @return The next page of exams; an empty list when there are no more.
+     */
+    public List<Exam> getExamsBefore(java.util.Date examDate, int examId, int limit) {
+        long startNanos = GET_EXAMS_BEFORE.start();
+        try {
+            List<Exam> exams = new ArrayList<>();
+            String sql = examDate == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL;
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                int i = 1;
+                if (examDate != null) {
+                    pstmt.setTimestamp(i++, new java.sql.Timestamp(examDate.getTime()));
+                    pstmt.setInt(i++, examId);
+                }
+                pstmt.setInt(i, limit);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        exams.add(mapResultSetToExam(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return exams;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_EXAMS_BEFORE.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves the exams held in a period (e.g., a term), oldest first, through `idx_exams_date`.
+     *
+     * @param from The start of the period (inclusive).
+     * @param to   The end of the period (exclusive).
+     * @return A List of Exam objects.
+     */
+    public List<Exam> getExamsBetween(java.util.Date from, java.util.Date to) {
+        long startNanos = GET_EXAMS_BETWEEN.start();
+        try {
+            List<Exam> exams = new ArrayList<>();
+            String sql = "SELECT " + COLUMNS + " FROM exams WHERE exam_date >= ? AND exam_date < ? ORDER BY exam_date, exam_id";
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setTimestamp(1, new java.sql.Timestamp(from.getTime()));
+                pstmt.setTimestamp(2, new java.sql.Timestamp(to.getTime()));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        exams.add(mapResultSetToExam(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return exams;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_EXAMS_BETWEEN.stop(startNanos);
         }
-        return exams;
     }
 
     /**
@@ -96,21 +274,27 @@ public class ExamDAO {
      * @return true if the update was successful, false otherwise.
      */
     public boolean updateExam(Exam exam) {
-        String sql = "UPDATE exams SET exam_name = ?, exam_date = ?, course_id = ?, max_marks = ? WHERE exam_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, exam.getExamName());
-            pstmt.setTimestamp(2, new java.sql.Timestamp(exam.getExamDate().getTime()));
-            pstmt.setObject(3, exam.getCourseId());
-            pstmt.setInt(4, exam.getMaxMarks());
-            pstmt.setInt(5, exam.getExamId());
-
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long startNanos = UPDATE_EXAM.start();
+        try {
+            String sql = "UPDATE exams SET exam_name = ?, exam_date = ?, course_id = ?, max_marks = ? WHERE exam_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                setExamParameters(pstmt, exam);
+                pstmt.setInt(5, exam.getExamId());
+
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_EXAM.stop(startNanos);
         }
-        return false;
     }
 
     /**
@@ -120,16 +304,36 @@ public class ExamDAO {
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteExam(int examId) {
-        String sql = "DELETE FROM exams WHERE exam_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, examId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long startNanos = DELETE_EXAM.start();
+        try {
+            String sql = "DELETE FROM exams WHERE exam_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, examId);
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_EXAM.stop(startNanos);
         }
-        return false;
+    }
+
+    /**
+     * Helper method to bind an exam's fields to parameters 1-4 (shared by INSERT and UPDATE).
+     */
+    private static void setExamParameters(PreparedStatement pstmt, Exam exam) throws SQLException {
+        pstmt.setString(1, exam.getExamName());
+        // The `exam_date` column in the schema is DATETIME, so Timestamp is appropriate.
+        pstmt.setTimestamp(2, new java.sql.Timestamp(exam.getExamDate().getTime()));
+        pstmt.setObject(3, exam.getCourseId());
+        pstmt.setInt(4, exam.getMaxMarks());
     }
 
     /**
@@ -137,11 +341,11 @@ public class ExamDAO {
      */
     private Exam mapResultSetToExam(ResultSet rs) throws SQLException {
         return new Exam(
-                rs.getInt("exam_id"),
-                rs.getString("exam_name"),
-                rs.getTimestamp("exam_date"), // Use getTimestamp for DATETIME columns
-                (Integer) rs.getObject("course_id"),
-                rs.getInt("max_marks")
+                rs.getInt(1),                   // exam_id
+                rs.getString(2),                // exam_name
+                rs.getTimestamp(3),             // exam_date: use getTimestamp for DATETIME columns
+                (Integer) rs.getObject(4),      // course_id
+                rs.getInt(5)                    // max_marks
         );
     }
 }
@@ -0,0 +1,335 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+import com.institute.app.models.ExamResult;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Handles all database operations for the ExamResult model.
+ */
+public class ExamResultDAO {
+
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "result_id, exam_id, student_id, marks_obtained, comments";
+    private static final String MAX_MARKS_SQL = "SELECT max_marks FROM exams WHERE exam_id = ? FOR SHARE";
+    // Exam IDs per IN (...) query in getMarksForExams.
+    private static final int LOOKUP_CHUNK = 500;
+    // Upserts on uk_exam_student; existing comments are kept when marks are re-entered.
+    private static final String UPSERT_SQL = "INSERT INTO exam_results (exam_id, student_id, marks_obtained) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE marks_obtained = VALUES(marks_obtained)";
+
+    private static final OperationMetrics SAVE_RESULTS = Metrics.operation("ExamResultDAO.saveResults");
+    private static final OperationMetrics GET_RESULTS_FOR_EXAM = Metrics.operation("ExamResultDAO.getResultsForExam");
+    private static final OperationMetrics GET_RESULTS_FOR_STUDENT = Metrics.operation("ExamResultDAO.getResultsForStudent");
+    private static final OperationMetrics GET_MARKS_FOR_EXAMS = Metrics.operation("ExamResultDAO.getMarksForExams");
+    private static final OperationMetrics UPDATE_COMMENTS = Metrics.operation("ExamResultDAO.updateComments");
+    private static final OperationMetrics DELETE_RESULT = Metrics.operation("ExamResultDAO.deleteResult");
+
+    /**
+     * Saves the marks for a whole class in one transaction: new results are inserted and
+     * existing ones updated, in batches of `db.batch.chunkSize` rows. Either every mark is
+     * saved or none is.
+     *
+     * Rows are written in student ID order, so two teachers saving overlapping classes at
+     * the same time lock the rows in the same order and cannot deadlock each other.
+     *
+     * @param examId The exam the marks belong to.
+     * @param marks  Marks obtained, by student ID.
+     * @return true if the marks were saved; false if the exam does not exist or a database error occurred.
+     * @throws IllegalArgumentException if any mark is missing, negative or above the exam's
+     *         `max_marks`; nothing is saved then.
+     */
+    public boolean saveResults(int examId, Map<Integer, BigDecimal> marks) {
+        long startNanos = SAVE_RESULTS.start();
+        try {
+            if (marks.isEmpty()) {
+                return true;
+            }
+            // On failure the pool rolls back the open transaction when the connection is returned.
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement maxMarksStmt = conn.prepareStatement(MAX_MARKS_SQL);
+                 PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+
+                conn.setAutoCommit(false);
+
+                // The shared lock keeps max_marks from changing until the marks are committed.
+                maxMarksStmt.setInt(1, examId);
+                int maxMarks;
+                try (ResultSet rs = maxMarksStmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    maxMarks = rs.getInt(1);
+                }
+                Map<Integer, BigDecimal> sorted = new TreeMap<>(marks);
+                validateMarks(sorted, maxMarks);
+
+                int pending = 0;
+                for (Map.Entry<Integer, BigDecimal> entry : sorted.entrySet()) {
+                    pstmt.setInt(1, examId);
+                    pstmt.setInt(2, entry.getKey());
+                    pstmt.setBigDecimal(3, entry.getValue());
+                    pstmt.addBatch();
+                    if (++pending == BatchInserter.CHUNK_SIZE) {
+                        pstmt.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    pstmt.executeBatch();
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            SAVE_RESULTS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves all results of an exam, ordered by student ID.
+     *
+     * @param examId The ID of the exam.
+     * @return A List of ExamResult objects.
+     */
+    public List<ExamResult> getResultsForExam(int examId) {
+        long startNanos = GET_RESULTS_FOR_EXAM.start();
+        try {
+            // Served by uk_exam_student.
+            return getResults("SELECT " + COLUMNS + " FROM exam_results WHERE exam_id = ? ORDER BY student_id", examId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_RESULTS_FOR_EXAM.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves all results of a student, ordered by exam ID.
+     *
+     * @param studentId The ID of the student.
+     * @return A List of ExamResult objects.
+     */
+    public List<ExamResult> getResultsForStudent(int studentId) {
+        long startNanos = GET_RESULTS_FOR_STUDENT.start();
+        try {
+            return getResults("SELECT " + COLUMNS + " FROM exam_results WHERE student_id = ? ORDER BY exam_id", studentId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_RESULTS_FOR_STUDENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Loads only the marks of many exams, as primitive arrays, for statistics. Rows are
+     * streamed from the server (see `db.stream.fetchSize`) and read with `getDouble`, so no
+     * ExamResult or BigDecimal objects are created however large the cohorts are.
+     *
+     * @param examIds The exams to load.
+     * @return Each exam's marks, in no particular order. Exams without results are left out.
+     *         The arrays belong to the caller, who may reorder them.
+     */
+    public Map<Integer, double[]> getMarksForExams(Collection<Integer> examIds) {
+        long startNanos = GET_MARKS_FOR_EXAMS.start();
+        try {
+            Map<Integer, double[]> marks = new HashMap<>();
+            Integer[] ids = examIds.toArray(new Integer[0]);
+            if (ids.length == 0) {
+                return marks;
+            }
+            Arrays.sort(ids); // Index order; each exam's rows then arrive in one run.
+            try (Connection conn = DBConnection.getReadConnection()) {
+                for (int from = 0; from < ids.length; from += LOOKUP_CHUNK) {
+                    int n = Math.min(LOOKUP_CHUNK, ids.length - from);
+                    StringBuilder sql = new StringBuilder("SELECT exam_id, marks_obtained FROM exam_results WHERE exam_id IN (?");
+                    for (int i = 1; i < n; i++) {
+                        sql.append(", ?");
+                    }
+                    sql.append(") ORDER BY exam_id");
+
+                    // Not served from the statement cache, so the streaming fetch size stays local.
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                        pstmt.setFetchSize(ResultStreams.FETCH_SIZE > 0 ? ResultStreams.FETCH_SIZE : Integer.MIN_VALUE);
+                        for (int i = 0; i < n; i++) {
+                            pstmt.setInt(i + 1, ids[from + i]);
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            readMarks(rs, marks);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return marks;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_MARKS_FOR_EXAMS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Updates the teacher's comments on a result.
+     *
+     * @param examId    The ID of the exam.
+     * @param studentId The ID of the student.
+     * @param comments  The new comments, or null to clear them.
+     * @return true if the update was successful, false otherwise.
+     */
+    public boolean updateComments(int examId, int studentId, String comments) {
+        long startNanos = UPDATE_COMMENTS.start();
+        try {
+            String sql = "UPDATE exam_results SET comments = ? WHERE exam_id = ? AND student_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setString(1, comments);
+                pstmt.setInt(2, examId);
+                pstmt.setInt(3, studentId);
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_COMMENTS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Deletes a student's result for an exam.
+     *
+     * @param examId    The ID of the exam.
+     * @param studentId The ID of the student.
+     * @return true if the deletion was successful, false otherwise.
+     */
+    public boolean deleteResult(int examId, int studentId) {
+        long startNanos = DELETE_RESULT.start();
+        try {
+            String sql = "DELETE FROM exam_results WHERE exam_id = ? AND student_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, examId);
+                pstmt.setInt(2, studentId);
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_RESULT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method that checks every mark is between 0 and the exam's maximum.
+     *
+     * @throws IllegalArgumentException naming the students whose marks are invalid.
+     */
+    private static void validateMarks(Map<Integer, BigDecimal> marks, int maxMarks) {
+        BigDecimal max = BigDecimal.valueOf(maxMarks);
+        List<Integer> invalid = new ArrayList<>();
+        for (Map.Entry<Integer, BigDecimal> entry : marks.entrySet()) {
+            BigDecimal mark = entry.getValue();
+            if (mark == null || mark.signum() < 0 || mark.compareTo(max) > 0) {
+                invalid.add(entry.getKey());
+            }
+        }
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException("Marks must be between 0 and " + maxMarks + "; invalid for student(s) " + invalid);
+        }
+    }
+
+    /**
+     * Helper method that collects (exam_id, marks) rows, ordered by exam, into one array per exam.
+     */
+    private static void readMarks(ResultSet rs, Map<Integer, double[]> marks) throws SQLException {
+        double[] buffer = new double[256];
+        int count = 0;
+        int examId = 0;
+        while (rs.next()) {
+            int id = rs.getInt(1);
+            if (id != examId) {
+                if (count > 0) {
+                    marks.put(examId, Arrays.copyOf(buffer, count));
+                }
+                examId = id;
+                count = 0;
+            }
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+            buffer[count++] = rs.getDouble(2);
+        }
+        if (count > 0) {
+            marks.put(examId, Arrays.copyOf(buffer, count));
+        }
+    }
+
+    /**
+     * Helper method that runs a query with one int parameter and maps every row.
+     */
+    private List<ExamResult> getResults(String sql, int id) {
+        List<ExamResult> results = new ArrayList<>();
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(mapResultSetToExamResult(rs));
+                }
+            }
+        } catch (SQLException e) {
+            Metrics.recordError();
+            e.printStackTrace();
+        }
+        return results;
+    }
+
+    /**
+     * Helper method to map a ResultSet row to an ExamResult object.
+     */
+    private ExamResult mapResultSetToExamResult(ResultSet rs) throws SQLException {
+        return new ExamResult(
+                rs.getInt(1),                   // result_id
+                rs.getInt(2),                   // exam_id
+                rs.getInt(3),                   // student_id
+                rs.getBigDecimal(4),            // marks_obtained
+                rs.getString(5)                 // comments
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package com.institute.app.dao;
+
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Records which client-generated operations have already been applied, in the
+ * `idempotency_keys` table, so that an operation sent twice is only applied once.
+ *
+ * Both methods work inside the caller's transaction: a key is committed together with the
+ * row it stands for, so either both exist or neither does.
+ */
+public class IdempotencyKeyDAO {
+
+    // Keys per IN (...) lookup; larger sets are looked up in several queries.
+    private static final int LOOKUP_CHUNK = 500;
+
+    private static final OperationMetrics FIND_APPLIED = Metrics.operation("IdempotencyKeyDAO.findApplied");
+    private static final OperationMetrics MARK_APPLIED = Metrics.operation("IdempotencyKeyDAO.markApplied");
+
+    /**
+     * Looks up which of the given keys have already been applied.
+     *
+     * @param conn The connection (and transaction) to use.
+     * @param keys The keys to look up.
+     * @return The applied keys, each mapped to the ID of the row it created.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<String, Integer> findApplied(Connection conn, Collection<String> keys) throws SQLException {
+        long startNanos = FIND_APPLIED.start();
+        try {
+            Map<String, Integer> applied = new HashMap<>();
+            Iterator<String> it = keys.iterator();
+            while (it.hasNext()) {
+                StringBuilder sql = new StringBuilder("SELECT idempotency_key, entity_id FROM idempotency_keys WHERE idempotency_key IN (?");
+                String[] chunk = new String[Math.min(keys.size(), LOOKUP_CHUNK)];
+                int n = 0;
+                while (it.hasNext() && n < chunk.length) {
+                    chunk[n++] = it.next();
+                }
+                for (int i = 1; i < n; i++) {
+                    sql.append(", ?");
+                }
+                sql.append(')');
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < n; i++) {
+                        pstmt.setString(i + 1, chunk[i]);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            applied.put(rs.getString(1), rs.getInt(2));
+                        }
+                    }
+                }
+            }
+            return applied;
+        } catch (SQLException | RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            FIND_APPLIED.stop(startNanos);
+        }
+    }
+
+    /**
+     * Records keys as applied. Commit the caller's transaction to make them permanent.
+     *
+     * @param conn    The connection (and transaction) to use.
+     * @param applied Each key mapped to the ID of the row it created.
+     * @throws SQLException if a key already exists or a database access error occurs.
+     */
+    public void markApplied(Connection conn, Map<String, Integer> applied) throws SQLException {
+        long startNanos = MARK_APPLIED.start();
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO idempotency_keys (idempotency_key, entity_id) VALUES (?, ?)")) {
+            for (Map.Entry<String, Integer> entry : applied.entrySet()) {
+                pstmt.setString(1, entry.getKey());
+                pstmt.setInt(2, entry.getValue());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } catch (SQLException | RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            MARK_APPLIED.stop(startNanos);
+        }
+    }
+}
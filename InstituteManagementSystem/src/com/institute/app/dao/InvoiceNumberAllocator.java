@@ -0,0 +1,140 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out invoice numbers such as `INV-000123`, one sequence per prefix (e.g., per branch).
+ *
+ * Numbers are reserved from `invoice_sequences` in blocks: one auto-committed statement
+ * advances the prefix's counter by the block size and returns the new value through
+ * `LAST_INSERT_ID(expr)`, so a reservation is a single round trip and the row lock is held
+ * only for that statement. Numbers are then handed out from memory with an atomic counter;
+ * only the thread that finds the block used up goes back to the database.
+ *
+ * A reserved block belongs to this process alone, even if the process dies, so numbers are
+ * never issued twice; the unused rest of a block is simply skipped (gaps are expected).
+ *
+ * Settings: `invoice.prefix` (the default prefix), `invoice.digits`, and
+ * `invoice.blockSize` or `invoice.<prefix>.blockSize`.
+ */
+public final class InvoiceNumberAllocator {
+
+    // A new prefix starts at 1 (block [1, size]); an existing one advances by the block size.
+    private static final String RESERVE_SQL = "INSERT INTO invoice_sequences (prefix, next_value) VALUES (?, LAST_INSERT_ID(1 + ?)) "
+            + "ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + VALUES(next_value) - 1)";
+
+    private static final OperationMetrics RESERVE_BLOCK = Metrics.operation("InvoiceNumberAllocator.reserveBlock");
+    private static final Map<String, InvoiceNumberAllocator> ALLOCATORS = new ConcurrentHashMap<>();
+
+    /**
+     * A reserved range of numbers: `next` up to, but not including, `end`.
+     */
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private final String prefix;
+    private final int blockSize;
+    private final String format;
+    private volatile Block block = new Block(0, 0);
+
+    private InvoiceNumberAllocator(String prefix) {
+        this.prefix = prefix;
+        this.blockSize = Math.max(AppSettings.getInt("invoice." + prefix + ".blockSize", AppSettings.getInt("invoice.blockSize", 50)), 1);
+        this.format = "%s-%0" + Math.max(AppSettings.getInt("invoice.digits", 6), 1) + "d";
+    }
+
+    /**
+     * Returns the allocator for `invoice.prefix` (default "INV").
+     */
+    public static InvoiceNumberAllocator getDefault() {
+        return forPrefix(AppSettings.get("invoice.prefix", "INV"));
+    }
+
+    /**
+     * Returns the allocator for a prefix, creating it on first use. Each prefix has its own
+     * sequence in `invoice_sequences`.
+     *
+     * @param prefix The invoice number prefix, e.g. a branch code (at most 32 characters).
+     */
+    public static InvoiceNumberAllocator forPrefix(String prefix) {
+        return ALLOCATORS.computeIfAbsent(prefix, InvoiceNumberAllocator::new);
+    }
+
+    /**
+     * Returns the next invoice number. Usually a memory-only operation; every `blockSize`
+     * calls one of them reserves a new block from the database, on a pooled connection of its
+     * own. Do not call it while holding a pooled connection (e.g. inside a transaction): with
+     * enough such callers every connection waits for a second one and the pool deadlocks.
+     *
+     * @return The invoice number, e.g. "INV-000123".
+     * @throws SQLException if a new block was needed and could not be reserved.
+     */
+    public String next() throws SQLException {
+        while (true) {
+            Block current = block;
+            long number = current.next.getAndIncrement();
+            if (number < current.end) {
+                return String.format(format, prefix, number);
+            }
+            refill(current);
+        }
+    }
+
+    /**
+     * Replaces the used-up block, unless another thread already did.
+     */
+    private synchronized void refill(Block exhausted) throws SQLException {
+        if (block == exhausted) {
+            long end = reserveBlock();
+            block = new Block(end - blockSize, end);
+        }
+    }
+
+    /**
+     * Advances the prefix's sequence by one block on a connection of its own, so the
+     * reservation is committed at once and never rolled back with a caller's transaction.
+     *
+     * @return The end (exclusive) of the reserved block.
+     */
+    private long reserveBlock() throws SQLException {
+        long startNanos = RESERVE_BLOCK.start();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(RESERVE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, prefix);
+            pstmt.setLong(2, blockSize);
+            pstmt.executeUpdate();
+            // The driver reports LAST_INSERT_ID as the first generated key.
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    return keys.getLong(1);
+                }
+            }
+            throw new SQLException("No sequence value returned for invoice prefix " + prefix);
+        } catch (SQLException | RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            RESERVE_BLOCK.stop(startNanos);
+        }
+    }
+}
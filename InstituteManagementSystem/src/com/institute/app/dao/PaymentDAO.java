@@ -1,50 +1,136 @@
 package com.institute.app.dao;
 
 import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
 import com.institute.app.models.Payment;
+import com.institute.app.utils.ValidationUtils;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Handles all database operations for the Payment model.
  */
 public class PaymentDAO {
 
+    // Explicit column list: the row mapper reads these by position, in this order.
+    static final String COLUMNS = "payment_id, student_id, course_id, amount, payment_date, payment_method_id, description, invoice_number";
+    private static final String SELECT_ALL_SQL = "SELECT " + COLUMNS + " FROM payments ORDER BY payment_date DESC";
+    private static final String INSERT_SQL = "INSERT INTO payments (student_id, course_id, amount, payment_date, payment_method_id, description, invoice_number) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM payments ORDER BY payment_date DESC, payment_id DESC LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM payments WHERE (payment_date, payment_id) < (?, ?) ORDER BY payment_date DESC, payment_id DESC LIMIT ?";
+
+    private static final OperationMetrics ADD_PAYMENT = Metrics.operation("PaymentDAO.addPayment");
+    private static final OperationMetrics ADD_PAYMENTS = Metrics.operation("PaymentDAO.addPayments");
+    private static final OperationMetrics ADD_PAYMENTS_IN_TRANSACTION = Metrics.operation("PaymentDAO.addPaymentsInTransaction");
+    private static final OperationMetrics GET_PAYMENT_BY_ID = Metrics.operation("PaymentDAO.getPaymentById");
+    private static final OperationMetrics GET_ALL_PAYMENTS = Metrics.operation("PaymentDAO.getAllPayments");
+    private static final OperationMetrics STREAM_ALL_PAYMENTS = Metrics.operation("PaymentDAO.streamAllPayments");
+    private static final OperationMetrics FOR_EACH_PAYMENT = Metrics.operation("PaymentDAO.forEachPayment");
+    private static final OperationMetrics GET_PAYMENTS_BEFORE = Metrics.operation("PaymentDAO.getPaymentsBefore");
+    private static final OperationMetrics UPDATE_PAYMENT = Metrics.operation("PaymentDAO.updatePayment");
+    private static final OperationMetrics DELETE_PAYMENT = Metrics.operation("PaymentDAO.deletePayment");
+
     /**
-     * Adds a new payment to the database.
+     * Adds a new payment to the database and to the revenue rollup, in one transaction.
+     * A payment without an invoice number gets the next one from {@link InvoiceNumberAllocator}.
      *
      * @param payment The Payment object to add.
      * @return The payment object with the new payment_id, or null on failure.
      */
     public Payment addPayment(Payment payment) {
-        String sql = "INSERT INTO payments (student_id, course_id, amount, payment_date, payment_method_id, description, invoice_number) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setInt(1, payment.getStudentId());
-            pstmt.setObject(2, payment.getCourseId());
-            pstmt.setBigDecimal(3, payment.getAmount());
-            pstmt.setDate(4, new java.sql.Date(payment.getPaymentDate().getTime()));
-            pstmt.setObject(5, payment.getPaymentMethodId());
-            pstmt.setString(6, payment.getDescription());
-            pstmt.setString(7, payment.getInvoiceNumber());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        payment.setPaymentId(generatedKeys.getInt(1));
-                        return payment;
+        long startNanos = ADD_PAYMENT.start();
+        try {
+            if (!tryAssignInvoiceNumbers(List.of(payment))) {
+                return null;
+            }
+            // On failure the pool rolls back the open transaction when the connection is returned.
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+                conn.setAutoCommit(false);
+                setPaymentParameters(pstmt, payment);
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            payment.setPaymentId(generatedKeys.getInt(1));
+                            PaymentRollup.add(conn, List.of(payment));
+                            conn.commit();
+                            return payment;
+                        }
                     }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_PAYMENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Adds many payments at once using JDBC batching (e.g., loading a term's fee records).
+     * Rows are committed in chunks of `db.batch.chunkSize`, each together with its share of
+     * the revenue rollup. Payments without an invoice number are given one first.
+     *
+     * @param payments The payments to add.
+     * @return The payments that were saved, each with its new payment_id. If an error occurs,
+     *         this contains only the chunks committed before it.
+     */
+    public List<Payment> addPayments(List<Payment> payments) {
+        long startNanos = ADD_PAYMENTS.start();
+        try {
+            if (!tryAssignInvoiceNumbers(payments)) {
+                return new ArrayList<>();
+            }
+            return BatchInserter.insertAll(INSERT_SQL, payments, PaymentDAO::setPaymentParameters, Payment::setPaymentId, PaymentRollup::add);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_PAYMENTS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Adds payments (and their share of the revenue rollup) inside the caller's transaction,
+     * for work that must commit them together with other rows (such as the offline journal
+     * replay). Nothing is committed here. Every payment must already have an invoice number
+     * (see {@link #assignInvoiceNumbers(List)}).
+     *
+     * @param conn     A connection with auto-commit disabled.
+     * @param payments The payments to add; each gets its new payment_id.
+     * @throws SQLException if any row fails; the caller should roll back.
+     * @throws IllegalStateException if a payment has no invoice number.
+     */
+    public void addPayments(Connection conn, List<Payment> payments) throws SQLException {
+        long startNanos = ADD_PAYMENTS_IN_TRANSACTION.start();
+        try {
+            for (Payment payment : payments) {
+                if (ValidationUtils.isNullOrEmpty(payment.getInvoiceNumber())) {
+                    throw new IllegalStateException("Payment for student " + payment.getStudentId()
+                            + " has no invoice number; assign one before the transaction starts.");
+                }
+            }
+            BatchInserter.insertInto(conn, INSERT_SQL, payments, PaymentDAO::setPaymentParameters, Payment::setPaymentId, PaymentRollup::add);
+        } catch (SQLException | RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_PAYMENTS_IN_TRANSACTION.stop(startNanos);
         }
-        return null;
     }
 
     /**
@@ -54,20 +140,29 @@ public class PaymentDAO {
      * @return A Payment object if found, otherwise null.
      */
     public Payment getPaymentById(int paymentId) {
-        String sql = "SELECT * FROM payments WHERE payment_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, paymentId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToPayment(rs);
+        long startNanos = GET_PAYMENT_BY_ID.start();
+        try {
+            String sql = "SELECT " + COLUMNS + " FROM payments WHERE payment_id = ?";
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, paymentId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return mapResultSetToPayment(rs);
+                    }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_PAYMENT_BY_ID.stop(startNanos);
         }
-        return null;
     }
 
     /**
@@ -76,80 +171,245 @@ public class PaymentDAO {
      * @return A List of Payment objects.
      */
     public List<Payment> getAllPayments() {
-        List<Payment> payments = new ArrayList<>();
-        String sql = "SELECT * FROM payments ORDER BY payment_date DESC";
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                payments.add(mapResultSetToPayment(rs));
+        long startNanos = GET_ALL_PAYMENTS.start();
+        try {
+            List<Payment> payments = new ArrayList<>();
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SELECT_ALL_SQL)) {
+
+                while (rs.next()) {
+                    payments.add(mapResultSetToPayment(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return payments;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_PAYMENTS.stop(startNanos);
         }
-        return payments;
     }
 
     /**
-     * Updates an existing payment's record.
+     * Streams all payments in the same order as {@link #getAllPayments()}, reading one row at a
+     * time instead of building a list, so memory use does not grow with the table.
+     * The stream holds a database connection until it is closed; use try-with-resources:
+     * <pre>
+     * try (Stream&lt;Payment&gt; payments = dao.streamAllPayments()) { ... }
+     * </pre>
+     *
+     * @return A stream of Payment objects.
+     * @throws RuntimeException if the query fails.
+     */
+    public Stream<Payment> streamAllPayments() {
+        // Timed until the stream is closed, rows included.
+        return ResultStreams.stream(STREAM_ALL_PAYMENTS, SELECT_ALL_SQL, this::mapResultSetToPayment);
+    }
+
+    /**
+     * Calls the given action for every payment, one row at a time, in the same order as
+     * {@link #getAllPayments()}. The connection is released when this method returns.
+     *
+     * @param action The callback to run for each row.
+     * @throws RuntimeException if the query fails.
+     */
+    public void forEachPayment(Consumer<? super Payment> action) {
+        long startNanos = FOR_EACH_PAYMENT.start();
+        try {
+            try (Stream<Payment> payments = streamAllPayments()) {
+                payments.forEach(action);
+            }
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            FOR_EACH_PAYMENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves one page of payments in newest-first order using keyset pagination.
+     * Instead of an OFFSET, the query seeks before the last row of the previous page through
+     * `idx_payments_date`, so page N costs the same as the first page.
+     *
+     * @param paymentDate The date of the final payment on the previous page, or null for the first page.
+     * @param paymentId   The ID of that payment (orders payments made on the same day).
+     * @param limit       The maximum number of payments to return.
+     * @return The next page of payments; an empty list when there are no more.
+     */
+    public List<Payment> getPaymentsBefore(java.util.Date paymentDate, int paymentId, int limit) {
+        long startNanos = GET_PAYMENTS_BEFORE.start();
+        try {
+            List<Payment> payments = new ArrayList<>();
+            String sql = paymentDate == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL;
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                int i = 1;
+                if (paymentDate != null) {
+                    pstmt.setDate(i++, new java.sql.Date(paymentDate.getTime()));
+                    pstmt.setInt(i++, paymentId);
+                }
+                pstmt.setInt(i, limit);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        payments.add(mapResultSetToPayment(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return payments;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_PAYMENTS_BEFORE.stop(startNanos);
+        }
+    }
+
+    /**
+     * Updates an existing payment's record. The old values are taken out of the revenue
+     * rollup and the new ones added in one ordered pass, in the same transaction as the update.
      *
      * @param payment The Payment object with updated information.
      * @return true if the update was successful, false otherwise.
      */
     public boolean updatePayment(Payment payment) {
-        String sql = "UPDATE payments SET student_id = ?, course_id = ?, amount = ?, payment_date = ?, payment_method_id = ?, description = ?, invoice_number = ? WHERE payment_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, payment.getStudentId());
-            pstmt.setObject(2, payment.getCourseId());
-            pstmt.setBigDecimal(3, payment.getAmount());
-            pstmt.setDate(4, new java.sql.Date(payment.getPaymentDate().getTime()));
-            pstmt.setObject(5, payment.getPaymentMethodId());
-            pstmt.setString(6, payment.getDescription());
-            pstmt.setString(7, payment.getInvoiceNumber());
-            pstmt.setInt(8, payment.getPaymentId());
-
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long startNanos = UPDATE_PAYMENT.start();
+        try {
+            String sql = "UPDATE payments SET student_id = ?, course_id = ?, amount = ?, payment_date = ?, payment_method_id = ?, description = ?, invoice_number = ? WHERE payment_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                conn.setAutoCommit(false);
+                List<Payment> old = PaymentRollup.lockPayments(conn, "payment_id", payment.getPaymentId());
+                if (old.isEmpty()) {
+                    return false;
+                }
+                setPaymentParameters(pstmt, payment);
+                pstmt.setInt(8, payment.getPaymentId());
+                pstmt.executeUpdate();
+
+                PaymentRollup.replace(conn, old, List.of(payment));
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_PAYMENT.stop(startNanos);
         }
-        return false;
     }
 
     /**
-     * Deletes a payment from the database.
+     * Deletes a payment from the database and takes it out of the revenue rollup, in one
+     * transaction.
      *
      * @param paymentId The ID of the payment to delete.
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deletePayment(int paymentId) {
-        String sql = "DELETE FROM payments WHERE payment_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long startNanos = DELETE_PAYMENT.start();
+        try {
+            String sql = "DELETE FROM payments WHERE payment_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                conn.setAutoCommit(false);
+                List<Payment> old = PaymentRollup.lockPayments(conn, "payment_id", paymentId);
+                if (old.isEmpty()) {
+                    return false;
+                }
+                PaymentRollup.subtract(conn, old);
+
+                pstmt.setInt(1, paymentId);
+                pstmt.executeUpdate();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_PAYMENT.stop(startNanos);
+        }
+    }
 
-            pstmt.setInt(1, paymentId);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Gives each payment without an invoice number the next one. Call it before borrowing the
+     * connection for {@link #addPayments(Connection, List)}: a new block of numbers needs a
+     * connection of its own, and waiting for one while holding another can exhaust the pool.
+     * Numbers are not returned to the sequence if the payments are never saved.
+     *
+     * @throws SQLException if a new block of numbers could not be reserved.
+     */
+    public void assignInvoiceNumbers(List<Payment> payments) throws SQLException {
+        for (Payment payment : payments) {
+            if (ValidationUtils.isNullOrEmpty(payment.getInvoiceNumber())) {
+                payment.setInvoiceNumber(InvoiceNumberAllocator.getDefault().next());
+            }
+        }
+    }
+
+    /**
+     * Helper method for {@link #assignInvoiceNumbers(List)} that reports a failure instead of
+     * throwing. Called before a connection is borrowed.
+     *
+     * @return false if numbers could not be reserved.
+     */
+    private boolean tryAssignInvoiceNumbers(List<Payment> payments) {
+        try {
+            assignInvoiceNumbers(payments);
+            return true;
         } catch (SQLException e) {
-            e.printStackTrace();
+            e.printStackTrace(); // Already counted by InvoiceNumberAllocator.
+            return false;
         }
-        return false;
+    }
+
+    /**
+     * Helper method to bind a payment's fields to parameters 1-7 (shared by INSERT and UPDATE).
+     */
+    private static void setPaymentParameters(PreparedStatement pstmt, Payment payment) throws SQLException {
+        pstmt.setInt(1, payment.getStudentId());
+        pstmt.setObject(2, payment.getCourseId());
+        pstmt.setBigDecimal(3, payment.getAmount());
+        pstmt.setDate(4, new java.sql.Date(payment.getPaymentDate().getTime()));
+        pstmt.setObject(5, payment.getPaymentMethodId());
+        pstmt.setString(6, payment.getDescription());
+        pstmt.setString(7, payment.getInvoiceNumber());
     }
 
     /**
      * Helper method to map a ResultSet row to a Payment object.
+     * Package-private so the JMH benchmarks (`bench/`) can measure it in isolation.
      */
-    private Payment mapResultSetToPayment(ResultSet rs) throws SQLException {
+    Payment mapResultSetToPayment(ResultSet rs) throws SQLException {
         return new Payment(
-                rs.getInt("payment_id"),
-                rs.getInt("student_id"),
-                (Integer) rs.getObject("course_id"),
-                rs.getBigDecimal("amount"),
-                rs.getDate("payment_date"),
-                (Integer) rs.getObject("payment_method_id"),
-                rs.getString("description"),
-                rs.getString("invoice_number")
+                rs.getInt(1),                   // payment_id
+                rs.getInt(2),                   // student_id
+                (Integer) rs.getObject(3),      // course_id
+                rs.getBigDecimal(4),            // amount
+                rs.getDate(5),                  // payment_date
+                (Integer) rs.getObject(6),      // payment_method_id
+                rs.getString(7),                // description
+                rs.getString(8)                 // invoice_number
         );
     }
 }
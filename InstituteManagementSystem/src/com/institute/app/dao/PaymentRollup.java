@@ -0,0 +1,193 @@
+package com.institute.app.dao;
+
+import com.institute.app.models.Payment;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps `payment_daily_rollup` in step with `payments`.
+ *
+ * Every method works inside the caller's transaction, so a payment and its share of the
+ * rollup are committed (or rolled back) together. Each call sums its changes per rollup
+ * row first and writes them in one pass in primary-key order (an update's old and new
+ * values included, see {@link #replace}), so two transactions touching the same rows lock
+ * them in the same order and cannot deadlock each other.
+ */
+final class PaymentRollup {
+
+    private static final String UPSERT_SQL = "INSERT INTO payment_daily_rollup (payment_date, course_id, payment_method_id, payment_count, total_amount) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), "
+            + "total_amount = total_amount + VALUES(total_amount)";
+    private static final String PRUNE_SQL = "DELETE FROM payment_daily_rollup WHERE payment_date = ? AND course_id = ? AND payment_method_id = ? AND payment_count <= 0";
+    private static final String MOVE_COURSE_SQL = "INSERT INTO payment_daily_rollup (payment_date, course_id, payment_method_id, payment_count, total_amount) "
+            + "SELECT src.payment_date, 0, src.payment_method_id, src.payment_count, src.total_amount FROM payment_daily_rollup src WHERE src.course_id = ? "
+            + "ON DUPLICATE KEY UPDATE payment_count = payment_daily_rollup.payment_count + VALUES(payment_count), "
+            + "total_amount = payment_daily_rollup.total_amount + VALUES(total_amount)";
+    private static final String DELETE_COURSE_SQL = "DELETE FROM payment_daily_rollup WHERE course_id = ?";
+
+    /**
+     * One rollup row's key. A missing course or payment method is stored as 0.
+     */
+    private static final class Bucket implements Comparable<Bucket> {
+        final LocalDate day;
+        final int courseId;
+        final int methodId;
+
+        Bucket(Payment payment) {
+            this.day = new Date(payment.getPaymentDate().getTime()).toLocalDate();
+            this.courseId = payment.getCourseId() == null ? 0 : payment.getCourseId();
+            this.methodId = payment.getPaymentMethodId() == null ? 0 : payment.getPaymentMethodId();
+        }
+
+        @Override
+        public int compareTo(Bucket other) {
+            int c = day.compareTo(other.day);
+            if (c == 0) {
+                c = Integer.compare(courseId, other.courseId);
+            }
+            return c != 0 ? c : Integer.compare(methodId, other.methodId);
+        }
+    }
+
+    /**
+     * The change to one rollup row.
+     */
+    private static final class Delta {
+        int count;
+        BigDecimal amount = BigDecimal.ZERO;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private PaymentRollup() {}
+
+    /**
+     * Adds payments that were just inserted to the rollup.
+     */
+    static void add(Connection conn, List<Payment> payments) throws SQLException {
+        apply(conn, payments, 1);
+    }
+
+    /**
+     * Removes payments that are about to be deleted or changed from the rollup.
+     */
+    static void subtract(Connection conn, List<Payment> payments) throws SQLException {
+        apply(conn, payments, -1);
+    }
+
+    /**
+     * Replaces updated payments' old values with their new ones in a single ordered pass.
+     * Subtracting and then adding would lock the old rows before the new ones, so two updates
+     * moving payments between the same rows in opposite directions could deadlock.
+     */
+    static void replace(Connection conn, List<Payment> oldValues, List<Payment> newValues) throws SQLException {
+        Map<Bucket, Delta> deltas = new TreeMap<>();
+        sum(deltas, oldValues, -1);
+        sum(deltas, newValues, 1);
+        write(conn, deltas);
+    }
+
+    /**
+     * Reads and locks (`FOR UPDATE`) the rollup-relevant fields of the payments matching
+     * `column = id`, so they cannot change before the caller subtracts them and removes
+     * the rows.
+     *
+     * @param column `payment_id` or `student_id`.
+     */
+    static List<Payment> lockPayments(Connection conn, String column, int id) throws SQLException {
+        String sql = "SELECT payment_date, course_id, payment_method_id, amount FROM payments WHERE " + column + " = ? FOR UPDATE";
+        List<Payment> payments = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    payments.add(new Payment(0, 0, (Integer) rs.getObject(2), rs.getBigDecimal(4), rs.getDate(1),
+                            (Integer) rs.getObject(3), null, null));
+                }
+            }
+        }
+        return payments;
+    }
+
+    /**
+     * Moves a course's totals to "no course", matching the `ON DELETE SET NULL` that the
+     * course's payments get when it is deleted.
+     */
+    static void moveCourseToNone(Connection conn, int courseId) throws SQLException {
+        try (PreparedStatement move = conn.prepareStatement(MOVE_COURSE_SQL);
+             PreparedStatement delete = conn.prepareStatement(DELETE_COURSE_SQL)) {
+            move.setInt(1, courseId);
+            move.executeUpdate();
+            delete.setInt(1, courseId);
+            delete.executeUpdate();
+        }
+    }
+
+    private static void apply(Connection conn, List<Payment> payments, int sign) throws SQLException {
+        Map<Bucket, Delta> deltas = new TreeMap<>();
+        sum(deltas, payments, sign);
+        write(conn, deltas);
+    }
+
+    private static void sum(Map<Bucket, Delta> deltas, List<Payment> payments, int sign) {
+        for (Payment payment : payments) {
+            Delta delta = deltas.computeIfAbsent(new Bucket(payment), b -> new Delta());
+            delta.count += sign;
+            if (payment.getAmount() != null) {
+                delta.amount = sign > 0 ? delta.amount.add(payment.getAmount()) : delta.amount.subtract(payment.getAmount());
+            }
+        }
+    }
+
+    /**
+     * Writes the non-zero deltas in key order, then prunes the rows that lost payments.
+     */
+    private static void write(Connection conn, Map<Bucket, Delta> deltas) throws SQLException {
+        deltas.values().removeIf(delta -> delta.count == 0 && delta.amount.signum() == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement upsert = conn.prepareStatement(UPSERT_SQL)) {
+            for (Map.Entry<Bucket, Delta> entry : deltas.entrySet()) {
+                bindKey(upsert, entry.getKey());
+                upsert.setInt(4, entry.getValue().count);
+                upsert.setBigDecimal(5, entry.getValue().amount);
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+        // Rows whose last payment went away are removed rather than left at zero.
+        List<Bucket> shrunk = new ArrayList<>();
+        for (Map.Entry<Bucket, Delta> entry : deltas.entrySet()) {
+            if (entry.getValue().count < 0) {
+                shrunk.add(entry.getKey());
+            }
+        }
+        if (!shrunk.isEmpty()) {
+            try (PreparedStatement prune = conn.prepareStatement(PRUNE_SQL)) {
+                for (Bucket bucket : shrunk) {
+                    bindKey(prune, bucket);
+                    prune.addBatch();
+                }
+                prune.executeBatch();
+            }
+        }
+    }
+
+    private static void bindKey(PreparedStatement pstmt, Bucket bucket) throws SQLException {
+        pstmt.setDate(1, Date.valueOf(bucket.day));
+        pstmt.setInt(2, bucket.courseId);
+        pstmt.setInt(3, bucket.methodId);
+    }
+}
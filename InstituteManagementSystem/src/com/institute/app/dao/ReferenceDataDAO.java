@@ -0,0 +1,83 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+import com.institute.app.models.ReferenceTable;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the small, static lookup tables (`roles` and `payment_methods`).
+ * Use {@link com.institute.app.services.ReferenceDataRegistry} rather than calling this
+ * directly; it keeps the loaded tables in memory.
+ */
+public class ReferenceDataDAO {
+
+    private static final OperationMetrics LOAD_ROLES = Metrics.operation("ReferenceDataDAO.loadRoles");
+    private static final OperationMetrics LOAD_PAYMENT_METHODS = Metrics.operation("ReferenceDataDAO.loadPaymentMethods");
+
+    /**
+     * Loads all rows of the `roles` table.
+     *
+     * @return The roles, or null if the query fails.
+     */
+    public ReferenceTable loadRoles() {
+        long startNanos = LOAD_ROLES.start();
+        try {
+            return load("roles", "SELECT role_id, role_name FROM roles ORDER BY role_id");
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            LOAD_ROLES.stop(startNanos);
+        }
+    }
+
+    /**
+     * Loads all rows of the `payment_methods` table.
+     *
+     * @return The payment methods, or null if the query fails.
+     */
+    public ReferenceTable loadPaymentMethods() {
+        long startNanos = LOAD_PAYMENT_METHODS.start();
+        try {
+            return load("payment_methods", "SELECT method_id, method_name FROM payment_methods ORDER BY method_id");
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            LOAD_PAYMENT_METHODS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method that reads an (id, name) query into a ReferenceTable.
+     *
+     * @return The table, or null if the query fails.
+     */
+    private ReferenceTable load(String tableName, String sql) {
+        List<Integer> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Connection conn = DBConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+                names.add(rs.getString(2));
+            }
+        } catch (SQLException e) {
+            Metrics.recordError();
+            e.printStackTrace();
+            return null;
+        }
+        int[] idArray = new int[ids.size()];
+        for (int i = 0; i < idArray.length; i++) {
+            idArray[i] = ids.get(i);
+        }
+        return new ReferenceTable(tableName, idArray, names.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,133 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Shared logic for the DAOs' streaming read methods.
+ *
+ * Unlike the `getAll*` methods, which copy a whole table into a list, these streams read
+ * rows through a forward-only, read-only cursor and map them one at a time, so memory use
+ * stays flat however large the table grows. The stream holds a pooled connection until it
+ * is closed; always use it in a try-with-resources block.
+ */
+final class ResultStreams {
+
+    /**
+     * `db.stream.fetchSize`: 0 makes MySQL stream rows one by one over the open result set;
+     * a positive value fetches that many rows per round trip through a server-side cursor.
+     */
+    static final int FETCH_SIZE = AppSettings.getInt("db.stream.fetchSize", 0);
+
+    /**
+     * Maps the current row of a ResultSet to an object.
+     */
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ResultStreams() {}
+
+    /**
+     * Runs a query and returns its rows as a lazily-read stream.
+     * Closing the stream closes the result set and returns the connection to the pool.
+     *
+     * The call is timed under `operation` from the query until the stream is closed, so the
+     * latency covers reading the rows, not just starting the query; a row that cannot be read
+     * counts as an error.
+     *
+     * @param operation The calling DAO method's metrics.
+     * @param sql       The SELECT statement.
+     * @param mapper    Converts one row into an object.
+     * @return A sequential stream of mapped rows.
+     * @throws RuntimeException if the query cannot be started or a row cannot be read.
+     */
+    static <T> Stream<T> stream(OperationMetrics operation, String sql, RowMapper<T> mapper) {
+        long startNanos = operation.start();
+        boolean[] failed = new boolean[1];
+        Stream<T> rows = null;
+        try {
+            rows = open(sql, mapper, failed);
+            return rows.onClose(() -> operation.finish(startNanos, failed[0]));
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            // The caller continues while the rows are read, so leave the call now and time it on close.
+            failed[0] |= operation.detach();
+            if (rows == null) {
+                operation.finish(startNanos, true);
+            }
+        }
+    }
+
+    private static <T> Stream<T> open(String sql, RowMapper<T> mapper, boolean[] failed) {
+        Connection conn = DBConnection.getReadConnection();
+        PreparedStatement pstmt = null;
+        try {
+            // The three-argument form is deliberately not served from the statement cache,
+            // so the streaming fetch size never leaks into other callers' statements.
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(FETCH_SIZE > 0 ? FETCH_SIZE : Integer.MIN_VALUE);
+            ResultSet rs = pstmt.executeQuery();
+
+            PreparedStatement statement = pstmt;
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        failed[0] = true;
+                        Metrics.recordError();
+                        throw new RuntimeException("Failed to read the next row while streaming.", e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> closeAll(rs, statement, conn));
+        } catch (SQLException | RuntimeException e) {
+            Metrics.recordError();
+            closeAll(null, pstmt, conn);
+            e.printStackTrace();
+            throw new RuntimeException("Failed to start streaming query.", e);
+        }
+    }
+
+    private static void closeAll(ResultSet rs, PreparedStatement pstmt, Connection conn) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (pstmt != null) {
+                pstmt.close();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
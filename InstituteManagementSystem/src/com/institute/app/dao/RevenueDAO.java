@@ -0,0 +1,229 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+import com.institute.app.models.RevenueTotal;
+import com.institute.app.utils.DateUtils;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Revenue totals for dashboards and reports, computed in the database.
+ *
+ * The queries read `payment_daily_rollup` (one row per day, course and payment method, kept
+ * up to date by {@link PaymentDAO}) rather than `payments`, so a year of revenue costs a few
+ * hundred rows however large the ledger grows. Every method takes an inclusive date range;
+ * either end may be null for "unbounded".
+ */
+public class RevenueDAO {
+
+    private static final java.sql.Date MIN_DATE = java.sql.Date.valueOf("1000-01-01");
+    private static final java.sql.Date MAX_DATE = java.sql.Date.valueOf("9999-12-31");
+
+    private static final String BY_DAY_SQL = "SELECT payment_date, SUM(payment_count), SUM(total_amount) FROM payment_daily_rollup "
+            + "WHERE payment_date BETWEEN ? AND ? GROUP BY payment_date ORDER BY payment_date";
+    private static final String BY_MONTH_SQL = "SELECT CAST(DATE_FORMAT(payment_date, '%Y-%m-01') AS DATE) AS month, SUM(payment_count), SUM(total_amount) "
+            + "FROM payment_daily_rollup WHERE payment_date BETWEEN ? AND ? GROUP BY month ORDER BY month";
+    private static final String BY_COURSE_SQL = "SELECT r.course_id, c.course_name, SUM(r.payment_count), SUM(r.total_amount) FROM payment_daily_rollup r "
+            + "LEFT JOIN courses c ON c.course_id = r.course_id WHERE r.payment_date BETWEEN ? AND ? "
+            + "GROUP BY r.course_id, c.course_name ORDER BY SUM(r.total_amount) DESC";
+    private static final String BY_METHOD_SQL = "SELECT r.payment_method_id, m.method_name, SUM(r.payment_count), SUM(r.total_amount) FROM payment_daily_rollup r "
+            + "LEFT JOIN payment_methods m ON m.method_id = r.payment_method_id WHERE r.payment_date BETWEEN ? AND ? "
+            + "GROUP BY r.payment_method_id, m.method_name ORDER BY SUM(r.total_amount) DESC";
+    private static final String DELETE_RANGE_SQL = "DELETE FROM payment_daily_rollup WHERE payment_date BETWEEN ? AND ?";
+    private static final String REBUILD_RANGE_SQL = "INSERT INTO payment_daily_rollup (payment_date, course_id, payment_method_id, payment_count, total_amount) "
+            + "SELECT payment_date, COALESCE(course_id, 0), COALESCE(payment_method_id, 0), COUNT(*), SUM(amount) FROM payments "
+            + "WHERE payment_date BETWEEN ? AND ? GROUP BY payment_date, COALESCE(course_id, 0), COALESCE(payment_method_id, 0)";
+
+    private static final OperationMetrics GET_REVENUE_BY_DAY = Metrics.operation("RevenueDAO.getRevenueByDay");
+    private static final OperationMetrics GET_REVENUE_BY_MONTH = Metrics.operation("RevenueDAO.getRevenueByMonth");
+    private static final OperationMetrics GET_REVENUE_BY_COURSE = Metrics.operation("RevenueDAO.getRevenueByCourse");
+    private static final OperationMetrics GET_REVENUE_BY_PAYMENT_METHOD = Metrics.operation("RevenueDAO.getRevenueByPaymentMethod");
+    private static final OperationMetrics REBUILD_ROLLUP = Metrics.operation("RevenueDAO.rebuildRollup");
+
+    /**
+     * Retrieves revenue per day, oldest first. Days without payments are left out.
+     *
+     * @param from The first day to include, or null.
+     * @param to   The last day to include, or null.
+     * @return One total per day, labelled "yyyy-MM-dd".
+     */
+    public List<RevenueTotal> getRevenueByDay(java.util.Date from, java.util.Date to) {
+        long startNanos = GET_REVENUE_BY_DAY.start();
+        try {
+            List<RevenueTotal> totals = new ArrayList<>();
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(BY_DAY_SQL)) {
+
+                setRange(pstmt, from, to);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        java.sql.Date day = rs.getDate(1);
+                        totals.add(new RevenueTotal(DateUtils.formatToDB(day), day, null, rs.getLong(2), rs.getBigDecimal(3)));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return totals;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_REVENUE_BY_DAY.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves revenue per calendar month, oldest first. A range that starts or ends mid-month
+     * gives partial totals for those months.
+     *
+     * @param from The first day to include, or null.
+     * @param to   The last day to include, or null.
+     * @return One total per month, labelled "yyyy-MM", with the first day of the month as its period start.
+     */
+    public List<RevenueTotal> getRevenueByMonth(java.util.Date from, java.util.Date to) {
+        long startNanos = GET_REVENUE_BY_MONTH.start();
+        try {
+            List<RevenueTotal> totals = new ArrayList<>();
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(BY_MONTH_SQL)) {
+
+                setRange(pstmt, from, to);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        java.sql.Date month = rs.getDate(1);
+                        totals.add(new RevenueTotal(DateUtils.formatToDB(month).substring(0, 7), month, null,
+                                rs.getLong(2), rs.getBigDecimal(3)));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return totals;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_REVENUE_BY_MONTH.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves revenue per course, largest first. Payments not tied to a course are
+     * grouped under "No course" with a null group ID.
+     *
+     * @param from The first day to include, or null.
+     * @param to   The last day to include, or null.
+     * @return One total per course, labelled with the course name.
+     */
+    public List<RevenueTotal> getRevenueByCourse(java.util.Date from, java.util.Date to) {
+        long startNanos = GET_REVENUE_BY_COURSE.start();
+        try {
+            return getGroupedRevenue(BY_COURSE_SQL, from, to, "No course");
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_REVENUE_BY_COURSE.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves revenue per payment method, largest first. Payments without a method are
+     * grouped under "Not specified" with a null group ID.
+     *
+     * @param from The first day to include, or null.
+     * @param to   The last day to include, or null.
+     * @return One total per payment method, labelled with the method name.
+     */
+    public List<RevenueTotal> getRevenueByPaymentMethod(java.util.Date from, java.util.Date to) {
+        long startNanos = GET_REVENUE_BY_PAYMENT_METHOD.start();
+        try {
+            return getGroupedRevenue(BY_METHOD_SQL, from, to, "Not specified");
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_REVENUE_BY_PAYMENT_METHOD.stop(startNanos);
+        }
+    }
+
+    /**
+     * Recomputes the rollup rows for a date range from `payments`, in one transaction.
+     * Only needed after payments were changed without going through {@link PaymentDAO}
+     * (bulk loads, manual SQL); the DAO keeps the rollup current on its own.
+     *
+     * @param from The first day to rebuild, or null.
+     * @param to   The last day to rebuild, or null.
+     * @return true if the rollup was rebuilt, false otherwise.
+     */
+    public boolean rebuildRollup(java.util.Date from, java.util.Date to) {
+        long startNanos = REBUILD_ROLLUP.start();
+        try {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement delete = conn.prepareStatement(DELETE_RANGE_SQL);
+                 PreparedStatement insert = conn.prepareStatement(REBUILD_RANGE_SQL)) {
+
+                conn.setAutoCommit(false);
+                setRange(delete, from, to);
+                delete.executeUpdate();
+                setRange(insert, from, to);
+                insert.executeUpdate();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            REBUILD_ROLLUP.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method for the queries that return (group ID, name, count, total) rows.
+     */
+    private List<RevenueTotal> getGroupedRevenue(String sql, java.util.Date from, java.util.Date to, String noneLabel) {
+        List<RevenueTotal> totals = new ArrayList<>();
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            setRange(pstmt, from, to);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int groupId = rs.getInt(1);
+                    String name = rs.getString(2);
+                    if (groupId == 0) {
+                        totals.add(new RevenueTotal(noneLabel, null, null, rs.getLong(3), rs.getBigDecimal(4)));
+                    } else {
+                        // A deleted payment method leaves its ID behind in the rollup.
+                        totals.add(new RevenueTotal(name != null ? name : "#" + groupId, null, groupId,
+                                rs.getLong(3), rs.getBigDecimal(4)));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            Metrics.recordError();
+            e.printStackTrace();
+        }
+        return totals;
+    }
+
+    /**
+     * Helper method to bind an inclusive date range to parameters 1 and 2.
+     */
+    private static void setRange(PreparedStatement pstmt, java.util.Date from, java.util.Date to) throws SQLException {
+        pstmt.setDate(1, from == null ? MIN_DATE : DateUtils.toSqlDate(from));
+        pstmt.setDate(2, to == null ? MAX_DATE : DateUtils.toSqlDate(to));
+    }
+}
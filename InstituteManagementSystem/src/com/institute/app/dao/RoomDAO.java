@@ -0,0 +1,163 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+import com.institute.app.models.Room;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles all database operations for the Room model.
+ */
+public class RoomDAO {
+
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "room_id, room_name, capacity";
+
+    private static final OperationMetrics ADD_ROOM = Metrics.operation("RoomDAO.addRoom");
+    private static final OperationMetrics GET_ALL_ROOMS = Metrics.operation("RoomDAO.getAllRooms");
+    private static final OperationMetrics UPDATE_ROOM = Metrics.operation("RoomDAO.updateRoom");
+    private static final OperationMetrics DELETE_ROOM = Metrics.operation("RoomDAO.deleteRoom");
+
+    /**
+     * Adds a new room to the database.
+     *
+     * @param room The Room object to add.
+     * @return The room object with the new room_id, or null on failure.
+     */
+    public Room addRoom(Room room) {
+        long startNanos = ADD_ROOM.start();
+        try {
+            String sql = "INSERT INTO rooms (room_name, capacity) VALUES (?, ?)";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                pstmt.setString(1, room.getRoomName());
+                pstmt.setObject(2, room.getCapacity());
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            room.setRoomId(generatedKeys.getInt(1));
+                            return room;
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_ROOM.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves a list of all rooms, ordered by name.
+     *
+     * @return A List of Room objects.
+     */
+    public List<Room> getAllRooms() {
+        long startNanos = GET_ALL_ROOMS.start();
+        try {
+            List<Room> rooms = new ArrayList<>();
+            String sql = "SELECT " + COLUMNS + " FROM rooms ORDER BY room_name";
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+
+                while (rs.next()) {
+                    rooms.add(mapResultSetToRoom(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return rooms;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_ROOMS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Updates an existing room's record.
+     *
+     * @param room The Room object with updated information.
+     * @return true if the update was successful, false otherwise.
+     */
+    public boolean updateRoom(Room room) {
+        long startNanos = UPDATE_ROOM.start();
+        try {
+            String sql = "UPDATE rooms SET room_name = ?, capacity = ? WHERE room_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setString(1, room.getRoomName());
+                pstmt.setObject(2, room.getCapacity());
+                pstmt.setInt(3, room.getRoomId());
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_ROOM.stop(startNanos);
+        }
+    }
+
+    /**
+     * Deletes a room from the database. Sessions scheduled in it keep existing without a
+     * room (ON DELETE SET NULL).
+     *
+     * @param roomId The ID of the room to delete.
+     * @return true if the deletion was successful, false otherwise.
+     */
+    public boolean deleteRoom(int roomId) {
+        long startNanos = DELETE_ROOM.start();
+        try {
+            String sql = "DELETE FROM rooms WHERE room_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, roomId);
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_ROOM.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method to map a ResultSet row to a Room object.
+     */
+    private Room mapResultSetToRoom(ResultSet rs) throws SQLException {
+        return new Room(
+                rs.getInt(1),                   // room_id
+                rs.getString(2),                // room_name
+                (Integer) rs.getObject(3)       // capacity
+        );
+    }
+}
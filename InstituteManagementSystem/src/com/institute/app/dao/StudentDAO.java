@@ -1,11 +1,17 @@
 package com.institute.app.dao;
 
+import com.institute.app.cache.EntityCache;
+import com.institute.app.cache.EntityCaches;
 import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
 import com.institute.app.models.Student;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Handles all database operations for the Student model.
@@ -13,6 +19,38 @@ import java.util.List;
  */
 public class StudentDAO {
 
+    // Read-through cache behind getStudentById; updateStudent/deleteStudent invalidate their row.
+    static final EntityCache<Integer, Student> CACHE = EntityCaches.create("student", 10_000, 300);
+
+    /** Notified after each committed insert, update and delete (e.g. by the search index). */
+    public static final ChangeListeners<Student> CHANGES = new ChangeListeners<>();
+
+    // Explicit column list: the row mapper reads these by position, in this order.
+    static final String COLUMNS = "student_id, first_name, last_name, date_of_birth, email, phone, address, enrollment_date";
+    private static final String SELECT_ALL_SQL = "SELECT " + COLUMNS + " FROM students ORDER BY last_name, first_name";
+    private static final String INSERT_SQL = "INSERT INTO students (first_name, last_name, date_of_birth, email, phone, address, enrollment_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM students ORDER BY last_name, first_name, student_id LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM students WHERE (last_name, first_name, student_id) > (?, ?, ?) ORDER BY last_name, first_name, student_id LIMIT ?";
+
+    // Summary projection for list views: everything except the wide `address` TEXT column.
+    private static final String SUMMARY_COLUMNS = "student_id, first_name, last_name, date_of_birth, email, phone, enrollment_date";
+    private static final String SUMMARY_ALL_SQL = "SELECT " + SUMMARY_COLUMNS + " FROM students ORDER BY last_name, first_name";
+    private static final String SUMMARY_FIRST_PAGE_SQL = "SELECT " + SUMMARY_COLUMNS + " FROM students ORDER BY last_name, first_name, student_id LIMIT ?";
+    private static final String SUMMARY_NEXT_PAGE_SQL = "SELECT " + SUMMARY_COLUMNS + " FROM students WHERE (last_name, first_name, student_id) > (?, ?, ?) ORDER BY last_name, first_name, student_id LIMIT ?";
+
+    private static final OperationMetrics ADD_STUDENT = Metrics.operation("StudentDAO.addStudent");
+    private static final OperationMetrics ADD_STUDENTS = Metrics.operation("StudentDAO.addStudents");
+    private static final OperationMetrics ADD_STUDENTS_IN_TRANSACTION = Metrics.operation("StudentDAO.addStudentsInTransaction");
+    private static final OperationMetrics GET_STUDENT_BY_ID = Metrics.operation("StudentDAO.getStudentById");
+    private static final OperationMetrics GET_ALL_STUDENTS = Metrics.operation("StudentDAO.getAllStudents");
+    private static final OperationMetrics STREAM_ALL_STUDENTS = Metrics.operation("StudentDAO.streamAllStudents");
+    private static final OperationMetrics FOR_EACH_STUDENT = Metrics.operation("StudentDAO.forEachStudent");
+    private static final OperationMetrics GET_STUDENTS_AFTER = Metrics.operation("StudentDAO.getStudentsAfter");
+    private static final OperationMetrics GET_ALL_STUDENT_SUMMARIES = Metrics.operation("StudentDAO.getAllStudentSummaries");
+    private static final OperationMetrics GET_STUDENT_SUMMARIES_AFTER = Metrics.operation("StudentDAO.getStudentSummariesAfter");
+    private static final OperationMetrics UPDATE_STUDENT = Metrics.operation("StudentDAO.updateStudent");
+    private static final OperationMetrics DELETE_STUDENT = Metrics.operation("StudentDAO.deleteStudent");
+
     /**
      * Adds a new student to the database.
      *
@@ -20,55 +58,118 @@ public class StudentDAO {
      * @return The student object with the new student_id assigned by the database, or null on failure.
      */
     public Student addStudent(Student student) {
-        // The SQL query to insert a new student record.
-        String sql = "INSERT INTO students (first_name, last_name, date_of_birth, email, phone, address, enrollment_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        // Using try-with-resources to ensure the connection and statement are closed automatically.
-        try (Connection conn = DBConnection.getConnection();
-             // The `RETURN_GENERATED_KEYS` flag tells the JDBC driver to return the auto-incremented ID.
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            // Set the parameters for the prepared statement.
-            pstmt.setString(1, student.getFirstName());
-            pstmt.setString(2, student.getLastName());
-            // Convert java.util.Date to java.sql.Date for the database.
-            pstmt.setDate(3, new java.sql.Date(student.getDateOfBirth().getTime()));
-            pstmt.setString(4, student.getEmail());
-            pstmt.setString(5, student.getPhone());
-            pstmt.setString(6, student.getAddress());
-            pstmt.setDate(7, new java.sql.Date(student.getEnrollmentDate().getTime()));
-
-            // Execute the insert statement.
-            int affectedRows = pstmt.executeUpdate();
-
-            // Check if the insert was successful.
-            if (affectedRows > 0) {
-                // Retrieve the auto-generated key (the new student_id).
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        // Set the ID on the original student object and return it.
-                        student.setStudentId(generatedKeys.getInt(1));
-                        return student;
+        long startNanos = ADD_STUDENT.start();
+        try {
+            // Using try-with-resources to ensure the connection and statement are closed automatically.
+            try (Connection conn = DBConnection.getConnection();
+                 // The `RETURN_GENERATED_KEYS` flag tells the JDBC driver to return the auto-incremented ID.
+                 PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+                // Set the parameters for the prepared statement.
+                setStudentParameters(pstmt, student);
+
+                // Execute the insert statement.
+                int affectedRows = pstmt.executeUpdate();
+
+                // Check if the insert was successful.
+                if (affectedRows > 0) {
+                    // Retrieve the auto-generated key (the new student_id).
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            // Set the ID on the original student object and return it.
+                            student.setStudentId(generatedKeys.getInt(1));
+                            CHANGES.fireSaved(student);
+                            return student;
+                        }
                     }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                // In a real app, use a logging framework.
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            // In a real app, use a logging framework.
-            e.printStackTrace();
+            // Return null if the operation failed.
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_STUDENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Adds many students at once using JDBC batching, which is much faster than calling
+     * {@link #addStudent(Student)} in a loop (e.g., when loading a term's enrollments).
+     * Rows are committed in chunks of `db.batch.chunkSize`.
+     *
+     * @param students The students to add.
+     * @return The students that were saved, each with its new student_id. If an error occurs,
+     *         this contains only the chunks committed before it.
+     */
+    public List<Student> addStudents(List<Student> students) {
+        long startNanos = ADD_STUDENTS.start();
+        try {
+            List<Student> saved = BatchInserter.insertAll(INSERT_SQL, students, StudentDAO::setStudentParameters, Student::setStudentId);
+            for (Student student : saved) {
+                CHANGES.fireSaved(student);
+            }
+            return saved;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_STUDENTS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Adds students inside the caller's transaction, for work that must commit them together
+     * with other rows (such as the offline journal replay). Nothing is committed here, so
+     * {@link #CHANGES} is not notified; the caller fires it after its commit.
+     *
+     * @param conn     A connection with auto-commit disabled.
+     * @param students The students to add; each gets its new student_id.
+     * @throws SQLException if any row fails; the caller should roll back.
+     */
+    public void addStudents(Connection conn, List<Student> students) throws SQLException {
+        long startNanos = ADD_STUDENTS_IN_TRANSACTION.start();
+        try {
+            BatchInserter.insertInto(conn, INSERT_SQL, students, StudentDAO::setStudentParameters, Student::setStudentId, null);
+        } catch (SQLException | RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_STUDENTS_IN_TRANSACTION.stop(startNanos);
         }
-        // Return null if the operation failed.
-        return null;
     }
 
     /**
      * Retrieves a single student from the database by their ID.
+     * Repeated lookups are answered from an in-memory cache (see `cache.student.*`).
      *
      * @param studentId The ID of the student to retrieve.
      * @return A Student object if found, otherwise null.
      */
     public Student getStudentById(int studentId) {
-        String sql = "SELECT * FROM students WHERE student_id = ?";
-        try (Connection conn = DBConnection.getConnection();
+        long startNanos = GET_STUDENT_BY_ID.start();
+        try {
+            // Copied going in and coming out, so no caller ever holds the cached instance.
+            return copyOf(CACHE.get(studentId, id -> copyOf(loadStudentById(id))));
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_STUDENT_BY_ID.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method that reads one student from the database (the cache loader).
+     */
+    private Student loadStudentById(int studentId) {
+        String sql = "SELECT " + COLUMNS + " FROM students WHERE student_id = ?";
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, studentId);
@@ -80,6 +181,7 @@ public class StudentDAO {
                 }
             }
         } catch (SQLException e) {
+            Metrics.recordError();
             e.printStackTrace();
         }
         return null;
@@ -91,17 +193,161 @@ public class StudentDAO {
      * @return A List of Student objects. The list will be empty if no students are found.
      */
     public List<Student> getAllStudents() {
+        long startNanos = GET_ALL_STUDENTS.start();
+        try {
+            List<Student> students = new ArrayList<>();
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SELECT_ALL_SQL)) {
+
+                // Iterate through the result set and add each student to the list.
+                while (rs.next()) {
+                    students.add(mapResultSetToStudent(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return students;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_STUDENTS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Streams all students in the same order as {@link #getAllStudents()}, reading one row at a
+     * time instead of building a list, so memory use does not grow with the table.
+     * The stream holds a database connection until it is closed; use try-with-resources:
+     * <pre>
+     * try (Stream&lt;Student&gt; students = dao.streamAllStudents()) { ... }
+     * </pre>
+     *
+     * @return A stream of Student objects.
+     * @throws RuntimeException if the query fails.
+     */
+    public Stream<Student> streamAllStudents() {
+        // Timed until the stream is closed, rows included.
+        return ResultStreams.stream(STREAM_ALL_STUDENTS, SELECT_ALL_SQL, this::mapResultSetToStudent);
+    }
+
+    /**
+     * Calls the given action for every student, one row at a time, in the same order as
+     * {@link #getAllStudents()}. The connection is released when this method returns.
+     *
+     * @param action The callback to run for each row.
+     * @throws RuntimeException if the query fails.
+     */
+    public void forEachStudent(Consumer<? super Student> action) {
+        long startNanos = FOR_EACH_STUDENT.start();
+        try {
+            try (Stream<Student> students = streamAllStudents()) {
+                students.forEach(action);
+            }
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            FOR_EACH_STUDENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves one page of students in `last_name, first_name` order using keyset pagination.
+     * Instead of an OFFSET, the query seeks past the last row of the previous page through
+     * `idx_students_name`, so page N costs the same as the first page.
+     *
+     * @param lastName  The last name of the final student on the previous page, or null for the first page.
+     * @param firstName The first name of that student.
+     * @param studentId The ID of that student (breaks ties between identical names).
+     * @param limit     The maximum number of students to return.
+     * @return The next page of students; an empty list when there are no more.
+     */
+    public List<Student> getStudentsAfter(String lastName, String firstName, int studentId, int limit) {
+        long startNanos = GET_STUDENTS_AFTER.start();
+        try {
+            return getPage(FIRST_PAGE_SQL, NEXT_PAGE_SQL, this::mapResultSetToStudent, lastName, firstName, studentId, limit);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_STUDENTS_AFTER.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves all students without their address, for list views and lookups that
+     * never show it. The returned objects have a null address.
+     *
+     * @return A List of Student objects, ordered by name.
+     */
+    public List<Student> getAllStudentSummaries() {
+        long startNanos = GET_ALL_STUDENT_SUMMARIES.start();
+        try {
+            List<Student> students = new ArrayList<>();
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SUMMARY_ALL_SQL)) {
+
+                while (rs.next()) {
+                    students.add(mapResultSetToStudentSummary(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return students;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_STUDENT_SUMMARIES.stop(startNanos);
+        }
+    }
+
+    /**
+     * Like {@link #getStudentsAfter(String, String, int, int)}, but without the address
+     * column. Use this for paged list views; the returned objects have a null address.
+     */
+    public List<Student> getStudentSummariesAfter(String lastName, String firstName, int studentId, int limit) {
+        long startNanos = GET_STUDENT_SUMMARIES_AFTER.start();
+        try {
+            return getPage(SUMMARY_FIRST_PAGE_SQL, SUMMARY_NEXT_PAGE_SQL, this::mapResultSetToStudentSummary, lastName, firstName, studentId, limit);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_STUDENT_SUMMARIES_AFTER.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method that runs one keyset-paginated query with the given mapper.
+     */
+    private List<Student> getPage(String firstPageSql, String nextPageSql, ResultStreams.RowMapper<Student> mapper,
+                                  String lastName, String firstName, int studentId, int limit) {
         List<Student> students = new ArrayList<>();
-        String sql = "SELECT * FROM students ORDER BY last_name, first_name";
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            // Iterate through the result set and add each student to the list.
-            while (rs.next()) {
-                students.add(mapResultSetToStudent(rs));
+        String sql = lastName == null ? firstPageSql : nextPageSql;
+        try (Connection conn = DBConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            if (lastName != null) {
+                pstmt.setString(i++, lastName);
+                pstmt.setString(i++, firstName);
+                pstmt.setInt(i++, studentId);
+            }
+            pstmt.setInt(i, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(mapper.map(rs));
+                }
             }
         } catch (SQLException e) {
+            Metrics.recordError();
             e.printStackTrace();
         }
         return students;
@@ -114,65 +360,147 @@ public class StudentDAO {
      * @return true if the update was successful, false otherwise.
      */
     public boolean updateStudent(Student student) {
-        String sql = "UPDATE students SET first_name = ?, last_name = ?, date_of_birth = ?, email = ?, phone = ?, address = ?, enrollment_date = ? WHERE student_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long startNanos = UPDATE_STUDENT.start();
+        try {
+            String sql = "UPDATE students SET first_name = ?, last_name = ?, date_of_birth = ?, email = ?, phone = ?, address = ?, enrollment_date = ? WHERE student_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, student.getFirstName());
-            pstmt.setString(2, student.getLastName());
-            pstmt.setDate(3, new java.sql.Date(student.getDateOfBirth().getTime()));
-            pstmt.setString(4, student.getEmail());
-            pstmt.setString(5, student.getPhone());
-            pstmt.setString(6, student.getAddress());
-            pstmt.setDate(7, new java.sql.Date(student.getEnrollmentDate().getTime()));
-            pstmt.setInt(8, student.getStudentId());
-
-            // `executeUpdate` returns the number of rows affected.
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+                setStudentParameters(pstmt, student);
+                pstmt.setInt(8, student.getStudentId());
+
+                // `executeUpdate` returns the number of rows affected.
+                boolean updated = pstmt.executeUpdate() > 0;
+                if (updated) {
+                    CHANGES.fireSaved(student);
+                }
+                return updated;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            } finally {
+                CACHE.invalidate(student.getStudentId());
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_STUDENT.stop(startNanos);
         }
-        return false;
     }
 
     /**
-     * Deletes a student from the database.
+     * Deletes a student from the database. Their payments are deleted with them (ON DELETE
+     * CASCADE), so they are taken out of the revenue rollup in the same transaction. Their
+     * enrollments cascade too and are dropped from the roster index after the commit.
      *
      * @param studentId The ID of the student to delete.
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteStudent(int studentId) {
-        String sql = "DELETE FROM students WHERE student_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long startNanos = DELETE_STUDENT.start();
+        try {
+            String sql = "DELETE FROM students WHERE student_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, studentId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            // This might fail if there are foreign key constraints (e.g., enrollments).
-            // The ON DELETE CASCADE in the SQL schema handles this.
-            e.printStackTrace();
+                conn.setAutoCommit(false);
+                PaymentRollup.subtract(conn, PaymentRollup.lockPayments(conn, "student_id", studentId));
+
+                pstmt.setInt(1, studentId);
+                boolean deleted = pstmt.executeUpdate() > 0;
+                conn.commit();
+                if (deleted) {
+                    EnrollmentDAO.studentDeleted(studentId);
+                    CHANGES.fireDeleted(studentId);
+                }
+                return deleted;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                // This might fail if there are foreign key constraints (e.g., enrollments).
+                // The ON DELETE CASCADE in the SQL schema handles this.
+                e.printStackTrace();
+            } finally {
+                CACHE.invalidate(studentId);
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_STUDENT.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method to bind a student's fields to parameters 1-7, in the column order
+     * shared by the INSERT and UPDATE statements.
+     */
+    private static void setStudentParameters(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getFirstName());
+        pstmt.setString(2, student.getLastName());
+        // Convert java.util.Date to java.sql.Date for the database.
+        pstmt.setDate(3, new java.sql.Date(student.getDateOfBirth().getTime()));
+        pstmt.setString(4, student.getEmail());
+        pstmt.setString(5, student.getPhone());
+        pstmt.setString(6, student.getAddress());
+        pstmt.setDate(7, new java.sql.Date(student.getEnrollmentDate().getTime()));
+    }
+
+    /**
+     * Helper method that copies a cached student, dates included, so callers can edit the
+     * object they receive without changing what other callers get from the cache.
+     *
+     * @return The copy, or null if `student` is null.
+     */
+    private static Student copyOf(Student student) {
+        if (student == null) {
+            return null;
         }
-        return false;
+        return new Student(student.getStudentId(), student.getFirstName(), student.getLastName(), copyOf(student.getDateOfBirth()),
+                student.getEmail(), student.getPhone(), student.getAddress(), copyOf(student.getEnrollmentDate()));
+    }
+
+    private static java.util.Date copyOf(java.util.Date date) {
+        // clone() keeps the runtime type (java.sql.Date for rows read from the database).
+        return date == null ? null : (java.util.Date) date.clone();
     }
 
     /**
      * Helper method to map a ResultSet row to a Student object.
+     * Package-private so the JMH benchmarks (`bench/`) can measure it in isolation.
      *
      * @param rs The ResultSet to map.
      * @return A new Student object.
      * @throws SQLException if a database access error occurs.
      */
-    private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
+    Student mapResultSetToStudent(ResultSet rs) throws SQLException {
+        return new Student(
+                rs.getInt(1),       // student_id
+                rs.getString(2),    // first_name
+                rs.getString(3),    // last_name
+                rs.getDate(4),      // date_of_birth
+                rs.getString(5),    // email
+                rs.getString(6),    // phone
+                rs.getString(7),    // address
+                rs.getDate(8)       // enrollment_date
+        );
+    }
+
+    /**
+     * Helper method to map a row of the summary projection (no address) to a Student object.
+     */
+    private Student mapResultSetToStudentSummary(ResultSet rs) throws SQLException {
         return new Student(
-                rs.getInt("student_id"),
-                rs.getString("first_name"),
-                rs.getString("last_name"),
-                rs.getDate("date_of_birth"),
-                rs.getString("email"),
-                rs.getString("phone"),
-                rs.getString("address"),
-                rs.getDate("enrollment_date")
+                rs.getInt(1),       // student_id
+                rs.getString(2),    // first_name
+                rs.getString(3),    // last_name
+                rs.getDate(4),      // date_of_birth
+                rs.getString(5),    // email
+                rs.getString(6),    // phone
+                null,               // address is not part of the summary
+                rs.getDate(7)       // enrollment_date
         );
     }
 }
@@ -1,6 +1,10 @@
 package com.institute.app.dao;
 
+import com.institute.app.cache.EntityCache;
+import com.institute.app.cache.EntityCaches;
 import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
 import com.institute.app.models.Teacher;
 
 import java.sql.*;
@@ -12,6 +16,24 @@ import java.util.List;
  */
 public class TeacherDAO {
 
+    // Read-through cache behind getTeacherById; updateTeacher/deleteTeacher invalidate their row.
+    static final EntityCache<Integer, Teacher> CACHE = EntityCaches.create("teacher", 1_000, 3600);
+
+    /** Notified after each committed insert, update and delete (e.g. by the search index). */
+    public static final ChangeListeners<Teacher> CHANGES = new ChangeListeners<>();
+
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "teacher_id, first_name, last_name, email, phone, subject_specialization, hire_date, user_id";
+    private static final String FIRST_PAGE_SQL = "SELECT " + COLUMNS + " FROM teachers ORDER BY last_name, first_name, teacher_id LIMIT ?";
+    private static final String NEXT_PAGE_SQL = "SELECT " + COLUMNS + " FROM teachers WHERE (last_name, first_name, teacher_id) > (?, ?, ?) ORDER BY last_name, first_name, teacher_id LIMIT ?";
+
+    private static final OperationMetrics ADD_TEACHER = Metrics.operation("TeacherDAO.addTeacher");
+    private static final OperationMetrics GET_TEACHER_BY_ID = Metrics.operation("TeacherDAO.getTeacherById");
+    private static final OperationMetrics GET_ALL_TEACHERS = Metrics.operation("TeacherDAO.getAllTeachers");
+    private static final OperationMetrics GET_TEACHERS_AFTER = Metrics.operation("TeacherDAO.getTeachersAfter");
+    private static final OperationMetrics UPDATE_TEACHER = Metrics.operation("TeacherDAO.updateTeacher");
+    private static final OperationMetrics DELETE_TEACHER = Metrics.operation("TeacherDAO.deleteTeacher");
+
     /**
      * Adds a new teacher to the database.
      *
@@ -19,48 +41,75 @@ public class TeacherDAO {
      * @return The teacher object with the new teacher_id, or null on failure.
      */
     public Teacher addTeacher(Teacher teacher) {
-        String sql = "INSERT INTO teachers (first_name, last_name, email, phone, subject_specialization, hire_date, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setString(1, teacher.getFirstName());
-            pstmt.setString(2, teacher.getLastName());
-            pstmt.setString(3, teacher.getEmail());
-            pstmt.setString(4, teacher.getPhone());
-            pstmt.setString(5, teacher.getSubjectSpecialization());
-            pstmt.setDate(6, new java.sql.Date(teacher.getHireDate().getTime()));
-            // Handle nullable user_id
-            if (teacher.getUserId() != null) {
-                pstmt.setInt(7, teacher.getUserId());
-            } else {
-                pstmt.setNull(7, Types.INTEGER);
-            }
+        long startNanos = ADD_TEACHER.start();
+        try {
+            String sql = "INSERT INTO teachers (first_name, last_name, email, phone, subject_specialization, hire_date, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                pstmt.setString(1, teacher.getFirstName());
+                pstmt.setString(2, teacher.getLastName());
+                pstmt.setString(3, teacher.getEmail());
+                pstmt.setString(4, teacher.getPhone());
+                pstmt.setString(5, teacher.getSubjectSpecialization());
+                pstmt.setDate(6, new java.sql.Date(teacher.getHireDate().getTime()));
+                // Handle nullable user_id
+                if (teacher.getUserId() != null) {
+                    pstmt.setInt(7, teacher.getUserId());
+                } else {
+                    pstmt.setNull(7, Types.INTEGER);
+                }
 
-            int affectedRows = pstmt.executeUpdate();
+                int affectedRows = pstmt.executeUpdate();
 
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        teacher.setTeacherId(generatedKeys.getInt(1));
-                        return teacher;
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            teacher.setTeacherId(generatedKeys.getInt(1));
+                            CHANGES.fireSaved(teacher);
+                            return teacher;
+                        }
                     }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_TEACHER.stop(startNanos);
         }
-        return null;
     }
 
     /**
      * Retrieves a teacher by their ID.
+     * Repeated lookups are answered from an in-memory cache (see `cache.teacher.*`).
      *
      * @param teacherId The ID of the teacher to retrieve.
      * @return A Teacher object if found, otherwise null.
      */
     public Teacher getTeacherById(int teacherId) {
-        String sql = "SELECT * FROM teachers WHERE teacher_id = ?";
-        try (Connection conn = DBConnection.getConnection();
+        long startNanos = GET_TEACHER_BY_ID.start();
+        try {
+            // Copied going in and coming out, so no caller ever holds the cached instance.
+            return copyOf(CACHE.get(teacherId, id -> copyOf(loadTeacherById(id))));
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_TEACHER_BY_ID.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method that reads one teacher from the database (the cache loader).
+     */
+    private Teacher loadTeacherById(int teacherId) {
+        String sql = "SELECT " + COLUMNS + " FROM teachers WHERE teacher_id = ?";
+        try (Connection conn = DBConnection.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, teacherId);
@@ -70,6 +119,7 @@ public class TeacherDAO {
                 }
             }
         } catch (SQLException e) {
+            Metrics.recordError();
             e.printStackTrace();
         }
         return null;
@@ -81,19 +131,73 @@ public class TeacherDAO {
      * @return A List of Teacher objects.
      */
     public List<Teacher> getAllTeachers() {
-        List<Teacher> teachers = new ArrayList<>();
-        String sql = "SELECT * FROM teachers ORDER BY last_name, first_name";
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                teachers.add(mapResultSetToTeacher(rs));
+        long startNanos = GET_ALL_TEACHERS.start();
+        try {
+            List<Teacher> teachers = new ArrayList<>();
+            String sql = "SELECT " + COLUMNS + " FROM teachers ORDER BY last_name, first_name";
+            try (Connection conn = DBConnection.getReadConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+
+                while (rs.next()) {
+                    teachers.add(mapResultSetToTeacher(rs));
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return teachers;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_ALL_TEACHERS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves one page of teachers in `last_name, first_name` order using keyset pagination.
+     * Instead of an OFFSET, the query seeks past the last row of the previous page through
+     * `idx_teachers_name`, so page N costs the same as the first page.
+     *
+     * @param lastName  The last name of the final teacher on the previous page, or null for the first page.
+     * @param firstName The first name of that teacher.
+     * @param teacherId The ID of that teacher (breaks ties between identical names).
+     * @param limit     The maximum number of teachers to return.
+     * @return The next page of teachers; an empty list when there are no more.
+     */
+    public List<Teacher> getTeachersAfter(String lastName, String firstName, int teacherId, int limit) {
+        long startNanos = GET_TEACHERS_AFTER.start();
+        try {
+            List<Teacher> teachers = new ArrayList<>();
+            String sql = lastName == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL;
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                int i = 1;
+                if (lastName != null) {
+                    pstmt.setString(i++, lastName);
+                    pstmt.setString(i++, firstName);
+                    pstmt.setInt(i++, teacherId);
+                }
+                pstmt.setInt(i, limit);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        teachers.add(mapResultSetToTeacher(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return teachers;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_TEACHERS_AFTER.stop(startNanos);
         }
-        return teachers;
     }
 
     /**
@@ -103,28 +207,43 @@ public class TeacherDAO {
      * @return true if the update was successful, false otherwise.
      */
     public boolean updateTeacher(Teacher teacher) {
-        String sql = "UPDATE teachers SET first_name = ?, last_name = ?, email = ?, phone = ?, subject_specialization = ?, hire_date = ?, user_id = ? WHERE teacher_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long startNanos = UPDATE_TEACHER.start();
+        try {
+            String sql = "UPDATE teachers SET first_name = ?, last_name = ?, email = ?, phone = ?, subject_specialization = ?, hire_date = ?, user_id = ? WHERE teacher_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, teacher.getFirstName());
-            pstmt.setString(2, teacher.getLastName());
-            pstmt.setString(3, teacher.getEmail());
-            pstmt.setString(4, teacher.getPhone());
-            pstmt.setString(5, teacher.getSubjectSpecialization());
-            pstmt.setDate(6, new java.sql.Date(teacher.getHireDate().getTime()));
-            if (teacher.getUserId() != null) {
-                pstmt.setInt(7, teacher.getUserId());
-            } else {
-                pstmt.setNull(7, Types.INTEGER);
-            }
-            pstmt.setInt(8, teacher.getTeacherId());
+                pstmt.setString(1, teacher.getFirstName());
+                pstmt.setString(2, teacher.getLastName());
+                pstmt.setString(3, teacher.getEmail());
+                pstmt.setString(4, teacher.getPhone());
+                pstmt.setString(5, teacher.getSubjectSpecialization());
+                pstmt.setDate(6, new java.sql.Date(teacher.getHireDate().getTime()));
+                if (teacher.getUserId() != null) {
+                    pstmt.setInt(7, teacher.getUserId());
+                } else {
+                    pstmt.setNull(7, Types.INTEGER);
+                }
+                pstmt.setInt(8, teacher.getTeacherId());
 
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+                boolean updated = pstmt.executeUpdate() > 0;
+                if (updated) {
+                    CHANGES.fireSaved(teacher);
+                }
+                return updated;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            } finally {
+                CACHE.invalidate(teacher.getTeacherId());
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_TEACHER.stop(startNanos);
         }
-        return false;
     }
 
     /**
@@ -134,16 +253,52 @@ public class TeacherDAO {
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteTeacher(int teacherId) {
-        String sql = "DELETE FROM teachers WHERE teacher_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        long startNanos = DELETE_TEACHER.start();
+        try {
+            String sql = "DELETE FROM teachers WHERE teacher_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, teacherId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
+                pstmt.setInt(1, teacherId);
+                boolean deleted = pstmt.executeUpdate() > 0;
+                if (deleted) {
+                    CHANGES.fireDeleted(teacherId);
+                }
+                return deleted;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            } finally {
+                CACHE.invalidate(teacherId);
+                // courses.teacher_id is ON DELETE SET NULL, so cached courses may now be stale.
+                CourseDAO.CACHE.invalidateAll();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_TEACHER.stop(startNanos);
         }
-        return false;
+    }
+
+    /**
+     * Helper method that copies a cached teacher, dates included, so callers can edit the
+     * object they receive without changing what other callers get from the cache.
+     *
+     * @return The copy, or null if `teacher` is null.
+     */
+    private static Teacher copyOf(Teacher teacher) {
+        if (teacher == null) {
+            return null;
+        }
+        return new Teacher(teacher.getTeacherId(), teacher.getFirstName(), teacher.getLastName(), teacher.getEmail(),
+                teacher.getPhone(), teacher.getSubjectSpecialization(), copyOf(teacher.getHireDate()), teacher.getUserId());
+    }
+
+    private static java.util.Date copyOf(java.util.Date date) {
+        // clone() keeps the runtime type (java.sql.Date for rows read from the database).
+        return date == null ? null : (java.util.Date) date.clone();
     }
 
     /**
@@ -151,16 +306,16 @@ public class TeacherDAO {
      */
     private Teacher mapResultSetToTeacher(ResultSet rs) throws SQLException {
         // Use getObject for nullable columns to avoid returning 0 for NULL.
-        Integer userId = (Integer) rs.getObject("user_id");
+        Integer userId = (Integer) rs.getObject(8); // user_id
 
         return new Teacher(
-                rs.getInt("teacher_id"),
-                rs.getString("first_name"),
-                rs.getString("last_name"),
-                rs.getString("email"),
-                rs.getString("phone"),
-                rs.getString("subject_specialization"),
-                rs.getDate("hire_date"),
+                rs.getInt(1),       // teacher_id
+                rs.getString(2),    // first_name
+                rs.getString(3),    // last_name
+                rs.getString(4),    // email
+                rs.getString(5),    // phone
+                rs.getString(6),    // subject_specialization
+                rs.getDate(7),      // hire_date
                 userId
         );
     }
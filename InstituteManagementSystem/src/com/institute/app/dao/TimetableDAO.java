@@ -0,0 +1,240 @@
+package com.institute.app.dao;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+import com.institute.app.models.TimetableSession;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles all database operations for the TimetableSession model.
+ * Clash detection lives in {@link com.institute.app.services.TimetableService}.
+ */
+public class TimetableDAO {
+
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "session_id, course_id, teacher_id, room_id, student_group, starts_at, ends_at";
+    private static final String INSERT_SQL = "INSERT INTO timetable_sessions (course_id, teacher_id, room_id, student_group, starts_at, ends_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final OperationMetrics ADD_SESSION = Metrics.operation("TimetableDAO.addSession");
+    private static final OperationMetrics ADD_SESSIONS = Metrics.operation("TimetableDAO.addSessions");
+    private static final OperationMetrics GET_SESSION_BY_ID = Metrics.operation("TimetableDAO.getSessionById");
+    private static final OperationMetrics GET_SESSIONS_BETWEEN = Metrics.operation("TimetableDAO.getSessionsBetween");
+    private static final OperationMetrics UPDATE_SESSION = Metrics.operation("TimetableDAO.updateSession");
+    private static final OperationMetrics DELETE_SESSION = Metrics.operation("TimetableDAO.deleteSession");
+
+    /**
+     * Adds a new session to the timetable.
+     *
+     * @param session The TimetableSession object to add.
+     * @return The session object with the new session_id, or null on failure.
+     */
+    public TimetableSession addSession(TimetableSession session) {
+        long startNanos = ADD_SESSION.start();
+        try {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+                setSessionParameters(pstmt, session);
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            session.setSessionId(generatedKeys.getInt(1));
+                            return session;
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_SESSION.stop(startNanos);
+        }
+    }
+
+    /**
+     * Adds many sessions at once using JDBC batching (e.g., a generated term timetable).
+     * Rows are committed in chunks of `db.batch.chunkSize`.
+     *
+     * @param sessions The sessions to add.
+     * @return The sessions that were saved, each with its new session_id. If an error occurs,
+     *         this contains only the chunks committed before it.
+     */
+    public List<TimetableSession> addSessions(List<TimetableSession> sessions) {
+        long startNanos = ADD_SESSIONS.start();
+        try {
+            return BatchInserter.insertAll(INSERT_SQL, sessions, TimetableDAO::setSessionParameters,
+                    TimetableSession::setSessionId);
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            ADD_SESSIONS.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves a session by its ID.
+     *
+     * @param sessionId The ID of the session to retrieve.
+     * @return A TimetableSession object if found, otherwise null.
+     */
+    public TimetableSession getSessionById(int sessionId) {
+        long startNanos = GET_SESSION_BY_ID.start();
+        try {
+            String sql = "SELECT " + COLUMNS + " FROM timetable_sessions WHERE session_id = ?";
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, sessionId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return mapResultSetToSession(rs);
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_SESSION_BY_ID.stop(startNanos);
+        }
+    }
+
+    /**
+     * Retrieves the sessions starting in a period (e.g., a term), in start order, through
+     * `idx_sessions_start`.
+     *
+     * @param from The start of the period (inclusive).
+     * @param to   The end of the period (exclusive).
+     * @return A List of TimetableSession objects.
+     */
+    public List<TimetableSession> getSessionsBetween(java.util.Date from, java.util.Date to) {
+        long startNanos = GET_SESSIONS_BETWEEN.start();
+        try {
+            List<TimetableSession> sessions = new ArrayList<>();
+            String sql = "SELECT " + COLUMNS + " FROM timetable_sessions WHERE starts_at >= ? AND starts_at < ? ORDER BY starts_at, session_id";
+            try (Connection conn = DBConnection.getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setTimestamp(1, new java.sql.Timestamp(from.getTime()));
+                pstmt.setTimestamp(2, new java.sql.Timestamp(to.getTime()));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        sessions.add(mapResultSetToSession(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return sessions;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GET_SESSIONS_BETWEEN.stop(startNanos);
+        }
+    }
+
+    /**
+     * Updates an existing session's record.
+     *
+     * @param session The TimetableSession object with updated information.
+     * @return true if the update was successful, false otherwise.
+     */
+    public boolean updateSession(TimetableSession session) {
+        long startNanos = UPDATE_SESSION.start();
+        try {
+            String sql = "UPDATE timetable_sessions SET course_id = ?, teacher_id = ?, room_id = ?, student_group = ?, starts_at = ?, ends_at = ? WHERE session_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                setSessionParameters(pstmt, session);
+                pstmt.setInt(7, session.getSessionId());
+
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            UPDATE_SESSION.stop(startNanos);
+        }
+    }
+
+    /**
+     * Deletes a session from the timetable.
+     *
+     * @param sessionId The ID of the session to delete.
+     * @return true if the deletion was successful, false otherwise.
+     */
+    public boolean deleteSession(int sessionId) {
+        long startNanos = DELETE_SESSION.start();
+        try {
+            String sql = "DELETE FROM timetable_sessions WHERE session_id = ?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setInt(1, sessionId);
+                return pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+            }
+            return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            DELETE_SESSION.stop(startNanos);
+        }
+    }
+
+    /**
+     * Helper method to bind a session's fields to parameters 1-6 (shared by INSERT and UPDATE).
+     */
+    private static void setSessionParameters(PreparedStatement pstmt, TimetableSession session) throws SQLException {
+        pstmt.setInt(1, session.getCourseId());
+        pstmt.setObject(2, session.getTeacherId());
+        pstmt.setObject(3, session.getRoomId());
+        pstmt.setString(4, session.getStudentGroup());
+        // `starts_at` and `ends_at` are DATETIME columns, so Timestamp is appropriate.
+        pstmt.setTimestamp(5, new java.sql.Timestamp(session.getStartTime().getTime()));
+        pstmt.setTimestamp(6, new java.sql.Timestamp(session.getEndTime().getTime()));
+    }
+
+    /**
+     * Helper method to map a ResultSet row to a TimetableSession object.
+     */
+    private TimetableSession mapResultSetToSession(ResultSet rs) throws SQLException {
+        return new TimetableSession(
+                rs.getInt(1),                   // session_id
+                rs.getInt(2),                   // course_id
+                (Integer) rs.getObject(3),      // teacher_id
+                (Integer) rs.getObject(4),      // room_id
+                rs.getString(5),                // student_group
+                rs.getTimestamp(6),             // starts_at
+                rs.getTimestamp(7)              // ends_at
+        );
+    }
+}
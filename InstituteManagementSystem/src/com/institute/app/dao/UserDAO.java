@@ -1,6 +1,8 @@
 package com.institute.app.dao;
 
 import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
 import com.institute.app.models.User;
 
 import java.sql.Connection;
@@ -21,6 +23,11 @@ import java.sql.SQLException;
  */
 public class UserDAO {
 
+    // Explicit column list: the row mapper reads these by position, in this order.
+    private static final String COLUMNS = "user_id, username, password_hash, email, role_id, created_at";
+
+    private static final OperationMetrics AUTHENTICATE = Metrics.operation("UserDAO.authenticate");
+
     /**
      * Authenticates a user by checking the provided username and plain text password
      * against the database.
@@ -30,27 +37,36 @@ public class UserDAO {
      * @return A `User` object if the credentials are correct; `null` otherwise.
      */
     public User authenticate(String username, String password) {
-        // SQL query to find a user with a matching username and (insecure) plain text password.
-        String sql = "SELECT * FROM users WHERE username = ? AND password_hash = ?";
+        long startNanos = AUTHENTICATE.start();
+        try {
+            // SQL query to find a user with a matching username and (insecure) plain text password.
+            String sql = "SELECT " + COLUMNS + " FROM users WHERE username = ? AND password_hash = ?";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, username);
-            pstmt.setString(2, password); // This is the insecure part.
+                pstmt.setString(1, username);
+                pstmt.setString(2, password); // This is the insecure part.
 
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    // If a user is found, map the ResultSet to a User object.
-                    return mapResultSetToUser(rs);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        // If a user is found, map the ResultSet to a User object.
+                        return mapResultSetToUser(rs);
+                    }
                 }
+            } catch (SQLException e) {
+                Metrics.recordError();
+                e.printStackTrace();
+                // In a real app, this should be logged to a file or monitoring service.
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            // In a real app, this should be logged to a file or monitoring service.
+            // Return null if no matching user was found or if an error occurred.
+            return null;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            AUTHENTICATE.stop(startNanos);
         }
-        // Return null if no matching user was found or if an error occurred.
-        return null;
     }
 
     /**
@@ -61,12 +77,12 @@ public class UserDAO {
      */
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
         return new User(
-                rs.getInt("user_id"),
-                rs.getString("username"),
-                rs.getString("password_hash"),
-                rs.getString("email"),
-                rs.getInt("role_id"),
-                rs.getTimestamp("created_at")
+                rs.getInt(1),       // user_id
+                rs.getString(2),    // username
+                rs.getString(3),    // password_hash
+                rs.getString(4),    // email
+                rs.getInt(5),       // role_id
+                rs.getTimestamp(6)  // created_at
         );
     }
 }
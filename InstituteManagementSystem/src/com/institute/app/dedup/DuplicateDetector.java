@@ -0,0 +1,276 @@
+package com.institute.app.dedup;
+
+import com.institute.app.index.IntBitmap;
+import com.institute.app.models.DuplicatePair;
+import com.institute.app.models.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Finds student records that probably describe the same person: the same name in either
+ * order or with a typo, a re-typed phone number, a mistyped birth date, a different email.
+ *
+ * Comparing every pair of 200k records is 20 billion comparisons, so only candidate pairs
+ * are scored (see {@link StudentProfile#similarity}):
+ * <ul>
+ *   <li>Blocking: records sharing a key (all name words, the last 7 phone digits, or the
+ *       birth date with both initials) are compared. A block larger than `maxBlockSize`
+ *       says too little to be worth it (a shared office number) and is dropped.</li>
+ *   <li>Sorted neighbourhood: records are sorted by their name words, forwards and reversed,
+ *       and each is compared with the next `window - 1` records, which catches names that
+ *       block on nothing because of a typo.</li>
+ * </ul>
+ * Both stay linear in the number of records. {@link #findAll()} scores the blocks and
+ * windows in parallel; {@link #add} checks one new record against its blocks and sort
+ * neighbours only.
+ *
+ * Reads may run alongside updates and see a recent state; updates are serialized.
+ */
+public final class DuplicateDetector {
+
+    private final double threshold;
+    private final int window;
+    private final int maxBlockSize;
+
+    private final Map<Integer, StudentProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<String, IntBitmap> blocks = new ConcurrentHashMap<>();
+    private final Set<String> oversized = ConcurrentHashMap.newKeySet();
+    // One sort order per StudentProfile sort key, keyed by sort key + '\0' + student_id.
+    private final List<ConcurrentSkipListMap<String, Integer>> orders = List.of(new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>());
+
+    /**
+     * @param threshold    The similarity (0 to 1) from which two records are reported.
+     * @param window       The sorted-neighbourhood window, in records (at least 2).
+     * @param maxBlockSize The largest block that is still compared pairwise.
+     */
+    public DuplicateDetector(double threshold, int window, int maxBlockSize) {
+        this.threshold = threshold;
+        this.window = Math.max(2, window);
+        this.maxBlockSize = Math.max(2, maxBlockSize);
+    }
+
+    /**
+     * Replaces the records with the given ones, normalizing and grouping them in parallel.
+     */
+    public synchronized void load(Collection<Student> students) {
+        profiles.clear();
+        blocks.clear();
+        oversized.clear();
+        orders.forEach(Map::clear);
+
+        List<StudentProfile> loaded = students.parallelStream().map(StudentProfile::of).collect(Collectors.toList());
+        Map<String, IntBitmap.Builder> grouped = new ConcurrentHashMap<>();
+        loaded.parallelStream().forEach(profile -> {
+            for (String key : profile.blockingKeys()) {
+                IntBitmap.Builder block = grouped.computeIfAbsent(key, k -> new IntBitmap.Builder());
+                synchronized (block) {
+                    block.add(profile.id());
+                }
+            }
+        });
+        grouped.entrySet().parallelStream().forEach(entry -> {
+            IntBitmap block = entry.getValue().build();
+            if (block.cardinality() > maxBlockSize) {
+                oversized.add(entry.getKey());
+            } else {
+                blocks.put(entry.getKey(), block);
+            }
+        });
+        loaded.parallelStream().forEach(profile -> {
+            profiles.put(profile.id(), profile);
+            String[] sortKeys = profile.sortKeys();
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).put(orderKey(sortKeys[i], profile.id()), profile.id());
+            }
+        });
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    // --- Queries ---
+
+    /**
+     * Returns every likely duplicate pair among the records, best first. Blocks and sort
+     * windows are scored in parallel on the common pool.
+     */
+    public List<DuplicatePair> findAll() {
+        Map<Long, DuplicatePair> found = new ConcurrentHashMap<>();
+        blocks.values().parallelStream().forEach(block -> {
+            StudentProfile[] members = profilesOf(block.toArray());
+            for (int i = 0; i < members.length; i++) {
+                for (int j = i + 1; j < members.length; j++) {
+                    compare(members[i], members[j], found);
+                }
+            }
+        });
+        for (ConcurrentSkipListMap<String, Integer> order : orders) {
+            StudentProfile[] sorted = profilesOf(order.values().stream().mapToInt(Integer::intValue).toArray());
+            IntStream.range(0, sorted.length).parallel().forEach(i -> {
+                int end = Math.min(sorted.length, i + window);
+                for (int j = i + 1; j < end; j++) {
+                    compare(sorted[i], sorted[j], found);
+                }
+            });
+        }
+        return sorted(found.values());
+    }
+
+    /**
+     * Returns the records that are likely duplicates of a student, best first, without adding
+     * it; e.g. to warn before saving a new student.
+     */
+    public List<DuplicatePair> findMatches(Student student) {
+        return matchesOf(StudentProfile.of(student));
+    }
+
+    private List<DuplicatePair> matchesOf(StudentProfile profile) {
+        List<DuplicatePair> matches = new ArrayList<>();
+        for (int id : candidatesFor(profile)) {
+            StudentProfile other = profiles.get(id);
+            if (other != null && id != profile.id()) {
+                double score = profile.similarity(other);
+                if (score >= threshold) {
+                    matches.add(pair(profile, other, score));
+                }
+            }
+        }
+        return sorted(matches);
+    }
+
+    private Set<Integer> candidatesFor(StudentProfile profile) {
+        Set<Integer> candidates = new HashSet<>();
+        for (String key : profile.blockingKeys()) {
+            IntBitmap block = blocks.get(key);
+            if (block != null) {
+                block.forEach(candidates::add);
+            }
+        }
+        String[] sortKeys = profile.sortKeys();
+        for (int i = 0; i < orders.size(); i++) {
+            String key = orderKey(sortKeys[i], profile.id());
+            NavigableMap<String, Integer> order = orders.get(i);
+            addFirst(order.headMap(key, false).descendingMap().values(), candidates);
+            addFirst(order.tailMap(key, false).values(), candidates);
+        }
+        return candidates;
+    }
+
+    private void addFirst(Collection<Integer> neighbours, Set<Integer> candidates) {
+        int n = 0;
+        for (Integer id : neighbours) {
+            if (++n >= window) {
+                break;
+            }
+            candidates.add(id);
+        }
+    }
+
+    private void compare(StudentProfile first, StudentProfile second, Map<Long, DuplicatePair> found) {
+        if (first == null || second == null || first == second) {
+            return;
+        }
+        double score = first.similarity(second);
+        if (score >= threshold) {
+            int a = first.id();
+            int b = second.id();
+            found.putIfAbsent(((long) Math.min(a, b) << 32) | Math.max(a, b), pair(first, second, score));
+        }
+    }
+
+    /**
+     * Looks up the profiles of the given IDs; removed records give null.
+     */
+    private StudentProfile[] profilesOf(int[] ids) {
+        StudentProfile[] result = new StudentProfile[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = profiles.get(ids[i]);
+        }
+        return result;
+    }
+
+    // --- Updates ---
+
+    /**
+     * Adds a student (or replaces the record with the same student_id) and returns the
+     * existing records it is a likely duplicate of, best first.
+     */
+    public synchronized List<DuplicatePair> add(Student student) {
+        remove(student.getStudentId());
+        StudentProfile profile = StudentProfile.of(student);
+        List<DuplicatePair> matches = matchesOf(profile);
+        profiles.put(profile.id(), profile);
+        for (String key : profile.blockingKeys()) {
+            if (oversized.contains(key)) {
+                continue;
+            }
+            IntBitmap block = blocks.getOrDefault(key, IntBitmap.EMPTY).with(profile.id());
+            if (block.cardinality() > maxBlockSize) {
+                blocks.remove(key);
+                oversized.add(key);
+            } else {
+                blocks.put(key, block);
+            }
+        }
+        String[] sortKeys = profile.sortKeys();
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).put(orderKey(sortKeys[i], profile.id()), profile.id());
+        }
+        return matches;
+    }
+
+    /**
+     * Removes a student's record, if present. Blocks that were too large stay dropped.
+     */
+    public synchronized void remove(int studentId) {
+        StudentProfile profile = profiles.remove(studentId);
+        if (profile == null) {
+            return;
+        }
+        for (String key : profile.blockingKeys()) {
+            IntBitmap block = blocks.get(key);
+            if (block != null) {
+                block = block.without(studentId);
+                if (block.isEmpty()) {
+                    blocks.remove(key);
+                } else {
+                    blocks.put(key, block);
+                }
+            }
+        }
+        String[] sortKeys = profile.sortKeys();
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).remove(orderKey(sortKeys[i], studentId));
+        }
+    }
+
+    // --- Helpers ---
+
+    private static String orderKey(String sortKey, int studentId) {
+        return sortKey + '\0' + studentId;
+    }
+
+    private static DuplicatePair pair(StudentProfile a, StudentProfile b, double score) {
+        return a.id() <= b.id() ? new DuplicatePair(a.student, b.student, score) : new DuplicatePair(b.student, a.student, score);
+    }
+
+    private static List<DuplicatePair> sorted(Collection<DuplicatePair> pairs) {
+        List<DuplicatePair> list = new ArrayList<>(pairs);
+        list.sort(Comparator.comparingDouble(DuplicatePair::getScore).reversed()
+                .thenComparingInt(pair -> pair.getFirst().getStudentId())
+                .thenComparingInt(pair -> pair.getSecond().getStudentId()));
+        return list;
+    }
+}
@@ -0,0 +1,218 @@
+package com.institute.app.dedup;
+
+import com.institute.app.index.TextIndex;
+import com.institute.app.models.Student;
+import com.institute.app.utils.DateUtils;
+import com.institute.app.utils.ValidationUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A student reduced to the fields duplicates are found by, normalized once: names as
+ * lower-case, accent-free words (see {@link TextIndex#tokenize}), the phone number as its
+ * digits (see {@link ValidationUtils#normalizePhone}), and the birth date as a calendar date.
+ */
+final class StudentProfile {
+
+    // Weights of the three fields in the similarity score.
+    private static final double NAME_WEIGHT = 0.5;
+    private static final double BIRTH_DATE_WEIGHT = 0.3;
+    private static final double PHONE_WEIGHT = 0.2;
+    // Below this name similarity two records are different people, whatever else they share
+    // (siblings share a phone number, twins also a birth date).
+    private static final double MIN_NAME_SIMILARITY = 0.8;
+    // Phone numbers are blocked and compared on their last digits, ignoring country and trunk prefixes.
+    private static final int PHONE_DIGITS = 7;
+
+    final Student student;
+    final String firstName;
+    final String lastName;
+    final String nameKey;   // All name words, sorted: the same for "Jane Smith" and "Smith, Jane"
+    final String phone;     // Last PHONE_DIGITS digits, or null
+    final LocalDate birthDate;
+
+    private StudentProfile(Student student, String firstName, String lastName, String nameKey, String phone, LocalDate birthDate) {
+        this.student = student;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.nameKey = nameKey;
+        this.phone = phone;
+        this.birthDate = birthDate;
+    }
+
+    static StudentProfile of(Student student) {
+        List<String> first = TextIndex.tokenize(student.getFirstName());
+        List<String> last = TextIndex.tokenize(student.getLastName());
+        List<String> words = new ArrayList<>(first);
+        words.addAll(last);
+        words.sort(null);
+
+        String phone = ValidationUtils.normalizePhone(student.getPhone());
+        if (phone != null && phone.length() > PHONE_DIGITS) {
+            phone = phone.substring(phone.length() - PHONE_DIGITS);
+        }
+        LocalDate birthDate = student.getDateOfBirth() == null ? null : DateUtils.toSqlDate(student.getDateOfBirth()).toLocalDate();
+        return new StudentProfile(student, String.join(" ", first), String.join(" ", last), String.join(" ", words), phone, birthDate);
+    }
+
+    int id() {
+        return student.getStudentId();
+    }
+
+    /**
+     * Returns the blocking keys: records that could be duplicates share at least one of them,
+     * or are near each other in a {@link #sortKeys() sort order}.
+     */
+    List<String> blockingKeys() {
+        List<String> keys = new ArrayList<>(3);
+        if (!nameKey.isEmpty()) {
+            keys.add("N" + nameKey);
+        }
+        if (phone != null && phone.length() == PHONE_DIGITS) {
+            keys.add("P" + phone);
+        }
+        if (birthDate != null && !firstName.isEmpty() && !lastName.isEmpty()) {
+            // Birth date and both initials, in either order, for names spelt differently.
+            char[] initials = {firstName.charAt(0), lastName.charAt(0)};
+            Arrays.sort(initials);
+            keys.add("D" + birthDate + new String(initials));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the sorted-neighbourhood keys: the sorted name words, and the same reversed so
+     * that a typo near the start of the name still sorts next to the original.
+     */
+    String[] sortKeys() {
+        return new String[]{nameKey, new StringBuilder(nameKey).reverse().toString()};
+    }
+
+    // --- Similarity ---
+
+    /**
+     * Returns how alike two records are, from 0 to 1: the weighted average of the name,
+     * birth date and phone similarities, over the fields both records have. Returns 0 if
+     * the names are not alike, or if neither a birth date nor a phone number can confirm them.
+     */
+    double similarity(StudentProfile other) {
+        boolean haveDates = birthDate != null && other.birthDate != null;
+        boolean havePhones = phone != null && other.phone != null;
+        if (!haveDates && !havePhones) {
+            return 0;
+        }
+        double name = (jaroWinkler(firstName, other.firstName) + jaroWinkler(lastName, other.lastName)) / 2;
+        if (name < 1) {
+            // The names may have been entered the wrong way round.
+            name = Math.max(name, (jaroWinkler(firstName, other.lastName) + jaroWinkler(lastName, other.firstName)) / 2);
+        }
+        if (name < MIN_NAME_SIMILARITY) {
+            return 0;
+        }
+        double total = NAME_WEIGHT * name;
+        double weights = NAME_WEIGHT;
+        if (haveDates) {
+            total += BIRTH_DATE_WEIGHT * birthDateSimilarity(birthDate, other.birthDate);
+            weights += BIRTH_DATE_WEIGHT;
+        }
+        if (havePhones) {
+            total += PHONE_WEIGHT * phoneSimilarity(phone, other.phone);
+            weights += PHONE_WEIGHT;
+        }
+        return total / weights;
+    }
+
+    /**
+     * 1 for the same date; 0.6 for a likely typing error (day and month swapped, or the
+     * same year with one of day and month different); else 0.
+     */
+    private static double birthDateSimilarity(LocalDate a, LocalDate b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        if (a.getYear() == b.getYear()
+                && (a.getMonthValue() == b.getMonthValue() || a.getDayOfMonth() == b.getDayOfMonth()
+                || (a.getMonthValue() == b.getDayOfMonth() && a.getDayOfMonth() == b.getMonthValue()))) {
+            return 0.6;
+        }
+        return 0;
+    }
+
+    /**
+     * 1 for the same digits; 0.8 for one digit mistyped or two neighbours swapped; else 0.
+     */
+    private static double phoneSimilarity(String a, String b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        if (a.length() != b.length()) {
+            return 0;
+        }
+        int first = -1;
+        int differences = 0;
+        for (int i = 0; i < a.length(); i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                if (++differences == 1) {
+                    first = i;
+                }
+            }
+        }
+        boolean swapped = differences == 2 && first + 1 < a.length()
+                && a.charAt(first) == b.charAt(first + 1) && a.charAt(first + 1) == b.charAt(first);
+        return differences == 1 || swapped ? 0.8 : 0;
+    }
+
+    /**
+     * Returns the Jaro-Winkler similarity of two strings, from 0 to 1, which favours strings
+     * with a common beginning and tolerates transposed and mistyped letters.
+     */
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int range = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] aMatched = new boolean[a.length()];
+        boolean[] bMatched = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int to = Math.min(b.length(), i + range + 1);
+            for (int j = Math.max(0, i - range); j < to; j++) {
+                if (!bMatched[j] && a.charAt(i) == b.charAt(j)) {
+                    aMatched[i] = true;
+                    bMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (aMatched[i]) {
+                while (!bMatched[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        int maxPrefix = Math.min(4, Math.min(a.length(), b.length()));
+        while (prefix < maxPrefix && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+}
@@ -6,6 +6,7 @@ import com.institute.app.gui.panels.PaymentPanel;
 import com.institute.app.gui.panels.ReportsPanel;
 import com.institute.app.gui.panels.StudentPanel;
 import com.institute.app.gui.panels.TeacherPanel;
+import com.institute.app.gui.panels.TimetablePanel;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import javax.swing.JButton;
@@ -58,11 +59,7 @@ public class Dashboard extends JFrame {
         tabbedPane.addTab("Exams", new ExamPanel());
         tabbedPane.addTab("Payments", new PaymentPanel());
         tabbedPane.addTab("Reports", new ReportsPanel());
-
-        // Add a placeholder for Timetable as well, as it's in the file structure
-        JPanel timetablePanel = new JPanel();
-        timetablePanel.add(new JLabel("Timetable Management Coming Soon!"));
-        tabbedPane.addTab("Timetable", timetablePanel);
+        tabbedPane.addTab("Timetable", new TimetablePanel());
 
 
         // Add the tabbed pane to the center of the frame.
@@ -1,9 +1,16 @@
 package com.institute.app.gui;
 
+import com.institute.app.dao.ReferenceDataDAO;
 import com.institute.app.dao.UserDAO;
 import com.institute.app.models.User;
+import com.institute.app.services.AsyncDAO;
+import com.institute.app.services.DuplicateStudentService;
+import com.institute.app.services.ReferenceDataRegistry;
+import com.institute.app.services.SearchService;
 import javax.swing.*;
 import java.awt.Font;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import org.netbeans.lib.awtextra.AbsoluteConstraints;
 import org.netbeans.lib.awtextra.AbsoluteLayout;
 
@@ -89,11 +96,30 @@ public class LoginForm extends JFrame {
             return;
         }
 
-        // Authenticate the user.
-        UserDAO userDAO = new UserDAO();
-        User user = userDAO.authenticate(username, password);
+        // Authenticate in the background so a slow network never freezes the window.
+        setLoginEnabled(false);
+        AsyncDAO.onEdt(
+                AsyncDAO.of(new UserDAO()).call(userDAO -> userDAO.authenticate(username, password)),
+                this::loginCompleted,
+                error -> {
+                    setLoginEnabled(true);
+                    JOptionPane.showMessageDialog(this,
+                            "Could not reach the database: " + error.getMessage(),
+                            "Login Failed",
+                            JOptionPane.ERROR_MESSAGE);
+                });
+    }
 
+    /**
+     * Called on the Event Dispatch Thread once authentication has finished.
+     *
+     * @param user The authenticated user, or null if the credentials were wrong.
+     */
+    private void loginCompleted(User user) {
+        setLoginEnabled(true);
         if (user != null) {
+            startWarmUps();
+
             // If authentication is successful...
             JOptionPane.showMessageDialog(this,
                     "Login Successful! Welcome, " + user.getUsername() + ".",
@@ -114,4 +140,41 @@ public class LoginForm extends JFrame {
                     JOptionPane.ERROR_MESSAGE);
         }
     }
+
+    /**
+     * Loads the lookup tables (roles, payment methods) so the rest of the application can
+     * resolve their names from memory, and starts building the quick-search index and the
+     * duplicate-student detector, all in the background. Each is started and fails on its
+     * own: a failure is logged and never affects the login, and each loads itself again on
+     * first use.
+     */
+    private static void startWarmUps() {
+        warmUp("reference data", () -> AsyncDAO.of(new ReferenceDataDAO()).run(dao -> ReferenceDataRegistry.refresh()));
+        warmUp("search index", SearchService::startBuilding);
+        warmUp("duplicate-student detector", DuplicateStudentService::startLoading);
+    }
+
+    private static void warmUp(String name, Supplier<CompletableFuture<Void>> start) {
+        CompletableFuture<Void> future;
+        try {
+            future = start.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((ignored, error) -> {
+            if (error != null) {
+                System.err.println("Could not prepare the " + name + " after login:");
+                error.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Enables or disables the inputs while a login attempt is running.
+     */
+    private void setLoginEnabled(boolean enabled) {
+        loginButton.setEnabled(enabled);
+        userTextField.setEnabled(enabled);
+        passField.setEnabled(enabled);
+    }
 }
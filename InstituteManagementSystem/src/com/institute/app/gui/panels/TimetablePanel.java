@@ -1,21 +1,211 @@
 package com.institute.app.gui.panels;
 
+import com.institute.app.models.TimetableClash;
+import com.institute.app.models.TimetableSession;
+import com.institute.app.services.AsyncDAO;
+import com.institute.app.services.TimetableGeneratorService;
+import com.institute.app.services.TimetableService;
+import com.institute.app.solver.TimetableSolution;
+import com.institute.app.utils.DateUtils;
+
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
+import javax.swing.JButton;
 import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableModel;
 import java.awt.BorderLayout;
-import javax.swing.SwingConstants;
-import java.awt.Font;
+import java.awt.FlowLayout;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
 
 /**
- * A placeholder panel for Timetable Management.
- * The full implementation will contain UI for managing class schedules.
+ * Timetable Management: loads a term's sessions, lists the clashes among them (the same
+ * teacher, room or student group booked twice at once), and generates a new term timetable.
  */
 public class TimetablePanel extends JPanel {
+
+    private final transient TimetableService timetableService = new TimetableService();
+    private final transient TimetableGeneratorService generatorService = new TimetableGeneratorService();
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("EEE dd-MMM-yyyy HH:mm");
+
+    private final JTextField fromField = new JTextField(10);
+    private final JTextField toField = new JTextField(10);
+    private final JButton loadButton = new JButton("Load Term");
+    private final JButton auditButton = new JButton("Check Clashes");
+    private final JButton generateButton = new JButton("Generate");
+    private final JButton stopButton = new JButton("Stop");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final DefaultTableModel sessionModel = new DefaultTableModel(
+            new Object[]{"Session", "Course", "Teacher", "Room", "Group", "Starts", "Ends"}, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final DefaultListModel<String> clashModel = new DefaultListModel<>();
+
     public TimetablePanel() {
         setLayout(new BorderLayout());
-        JLabel placeholderLabel = new JLabel("Timetable Management Module");
-        placeholderLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-        placeholderLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        add(placeholderLabel, BorderLayout.CENTER);
+
+        // --- Term selection ---
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(new JLabel("Term from:"));
+        toolbar.add(fromField);
+        toolbar.add(new JLabel("to:"));
+        toolbar.add(toField);
+        toolbar.add(loadButton);
+        toolbar.add(auditButton);
+        toolbar.add(generateButton);
+        toolbar.add(stopButton);
+        add(toolbar, BorderLayout.NORTH);
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        add(statusLabel, BorderLayout.SOUTH);
+        stopButton.setEnabled(false);
+
+        // --- Sessions above, clashes below ---
+        JScrollPane clashPane = new JScrollPane(new JList<>(clashModel));
+        clashPane.setBorder(BorderFactory.createTitledBorder("Clashes"));
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(new JTable(sessionModel)), clashPane);
+        split.setResizeWeight(0.7);
+        add(split, BorderLayout.CENTER);
+
+        loadButton.addActionListener(e -> loadTerm());
+        auditButton.addActionListener(e -> auditTerm());
+        generateButton.addActionListener(e -> generate());
+        stopButton.addActionListener(e -> generatorService.cancel());
+    }
+
+    private void loadTerm() {
+        Date from = DateUtils.parseFromUI(fromField.getText().trim());
+        Date to = DateUtils.parseFromUI(toField.getText().trim());
+        if (from == null || to == null) {
+            return;
+        }
+        setButtonsEnabled(false);
+        AsyncDAO.onEdt(
+                AsyncDAO.of(timetableService).call(service -> {
+                    service.openTerm(from, to);
+                    return service.getSessions();
+                }),
+                this::showSessions,
+                this::showError);
+    }
+
+    private void auditTerm() {
+        Date from = DateUtils.parseFromUI(fromField.getText().trim());
+        Date to = DateUtils.parseFromUI(toField.getText().trim());
+        if (from == null || to == null) {
+            return;
+        }
+        setButtonsEnabled(false);
+        AsyncDAO.onEdt(
+                AsyncDAO.of(timetableService).call(service -> service.auditClashes(from, to)),
+                this::showClashes,
+                this::showError);
+    }
+
+    private void generate() {
+        Date from = DateUtils.parseFromUI(fromField.getText().trim());
+        Date to = DateUtils.parseFromUI(toField.getText().trim());
+        if (from == null || to == null) {
+            return;
+        }
+        setButtonsEnabled(false);
+        stopButton.setEnabled(true);
+        statusLabel.setText("Generating timetable...");
+        AsyncDAO.onEdt(
+                AsyncDAO.of(generatorService).call(service -> service.generate(
+                        progress -> SwingUtilities.invokeLater(() -> statusLabel.setText("Generating: " + progress)))),
+                solution -> generated(solution, from, to),
+                this::showError);
+    }
+
+    private void generated(TimetableSolution solution, Date from, Date to) {
+        stopButton.setEnabled(false);
+        statusLabel.setText(solution.toString());
+        String question = solution.isFeasible()
+                ? "A timetable without clashes was found. Add its sessions to every week of the term?"
+                : "The best timetable found still has " + solution.getHardViolations() + " clashes. Add it to the term anyway?";
+        if (JOptionPane.showConfirmDialog(this, question, "Generated Timetable", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            setButtonsEnabled(true);
+            return;
+        }
+        AsyncDAO.onEdt(
+                AsyncDAO.of(generatorService).call(service -> service.saveToTerm(solution, from, to)),
+                saved -> {
+                    statusLabel.setText(saved.size() + " sessions added to the term.");
+                    loadTerm();
+                },
+                this::showError);
+    }
+
+    private void showSessions(List<TimetableSession> sessions) {
+        setButtonsEnabled(true);
+        sessionModel.setRowCount(0);
+        for (TimetableSession session : sessions) {
+            sessionModel.addRow(new Object[]{
+                    session.getSessionId(),
+                    session.getCourseId(),
+                    session.getTeacherId(),
+                    session.getRoomId(),
+                    session.getStudentGroup(),
+                    timeFormat.format(session.getStartTime()),
+                    timeFormat.format(session.getEndTime())
+            });
+        }
+    }
+
+    private void showClashes(List<TimetableClash> clashes) {
+        setButtonsEnabled(true);
+        clashModel.clear();
+        if (clashes.isEmpty()) {
+            clashModel.addElement("No clashes in this term.");
+        }
+        for (TimetableClash clash : clashes) {
+            clashModel.addElement(describe(clash));
+        }
+    }
+
+    private String describe(TimetableClash clash) {
+        TimetableSession first = clash.getFirst();
+        TimetableSession second = clash.getSecond();
+        String shared;
+        switch (clash.getResource()) {
+            case TEACHER:
+                shared = "Teacher " + first.getTeacherId();
+                break;
+            case ROOM:
+                shared = "Room " + first.getRoomId();
+                break;
+            default:
+                shared = "Group " + first.getStudentGroup();
+                break;
+        }
+        return shared + " is booked for session " + first.getSessionId() + " (" + timeFormat.format(first.getStartTime())
+                + ") and session " + second.getSessionId() + " (" + timeFormat.format(second.getStartTime()) + ")";
+    }
+
+    private void showError(Throwable error) {
+        setButtonsEnabled(true);
+        stopButton.setEnabled(false);
+        JOptionPane.showMessageDialog(this,
+                "Could not load the timetable: " + error.getMessage(),
+                "Timetable Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void setButtonsEnabled(boolean enabled) {
+        loadButton.setEnabled(enabled);
+        auditButton.setEnabled(enabled);
+        generateButton.setEnabled(enabled);
     }
 }
@@ -0,0 +1,660 @@
+package com.institute.app.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable, compressed set of non-negative ints (such as student or course IDs).
+ *
+ * The layout follows Roaring bitmaps: values are grouped by their upper 16 bits, and each
+ * group of lower 16 bits is stored either as a sorted `char[]` (up to {@value #ARRAY_MAX}
+ * values, two bytes each) or as a 65536-bit `long[]` (8 KB, for dense groups). Sparse sets
+ * stay small, dense ones cost one bit per possible value, and intersections, unions and
+ * differences work group by group with merges or word-wise AND/OR.
+ *
+ * Instances never change: {@link #with(int)} and {@link #without(int)} return a copy that
+ * shares the untouched groups, so a bitmap can be read from any thread without locking.
+ */
+public final class IntBitmap {
+
+    /** The empty set. */
+    public static final IntBitmap EMPTY = new IntBitmap(new char[0], new Object[0], new int[0]);
+
+    // A group with more values than this is stored as a bitmap.
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10; // 65536 bits
+
+    private final char[] keys;         // Upper 16 bits of each group, ascending
+    private final Object[] containers; // char[] (sorted lower 16 bits, exact length) or long[BITMAP_WORDS]
+    private final int[] counts;        // Values per group
+    private final int cardinality;
+
+    private IntBitmap(char[] keys, Object[] containers, int[] counts) {
+        this.keys = keys;
+        this.containers = containers;
+        this.counts = counts;
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        this.cardinality = total;
+    }
+
+    /**
+     * Collects values in any order, with duplicates, and builds a bitmap from them.
+     */
+    public static final class Builder {
+        private int[] values = new int[16];
+        private int size;
+
+        /**
+         * @throws IllegalArgumentException if the value is negative.
+         */
+        public Builder add(int value) {
+            checkValue(value);
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+            return this;
+        }
+
+        public IntBitmap build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            List<Character> keys = new ArrayList<>();
+            List<Object> containers = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+            int from = 0;
+            while (from < sorted.length) {
+                char key = high(sorted[from]);
+                char[] lows = new char[Math.min(sorted.length - from, 1 << 16)];
+                int n = 0;
+                int i = from;
+                while (i < sorted.length && high(sorted[i]) == key) {
+                    char low = low(sorted[i]);
+                    if (n == 0 || lows[n - 1] != low) {
+                        lows[n++] = low;
+                    }
+                    i++;
+                }
+                keys.add(key);
+                containers.add(n <= ARRAY_MAX ? Arrays.copyOf(lows, n) : toBitmap(lows, n));
+                counts.add(n);
+                from = i;
+            }
+            return create(keys, containers, counts);
+        }
+    }
+
+    /**
+     * Returns a bitmap holding the given values.
+     */
+    public static IntBitmap of(int... values) {
+        Builder builder = new Builder();
+        for (int value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    // --- Queries ---
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, high(value));
+        if (index < 0) {
+            return false;
+        }
+        Object container = containers[index];
+        char low = low(value);
+        if (container instanceof char[]) {
+            return Arrays.binarySearch((char[]) container, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Returns the values in ascending order.
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] n = new int[1];
+        forEach(value -> values[n[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Calls the action for every value, in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int g = 0; g < keys.length; g++) {
+            int base = keys[g] << 16;
+            Object container = containers[g];
+            if (container instanceof char[]) {
+                for (char low : (char[]) container) {
+                    action.accept(base | low);
+                }
+            } else {
+                long[] words = (long[]) container;
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest `limit` values (all of them if there are fewer), in ascending order,
+     * without visiting the rest.
+     */
+    public int[] head(int limit) {
+        int[] values = new int[Math.max(0, Math.min(limit, cardinality))];
+        int n = 0;
+        for (int g = 0; g < keys.length && n < values.length; g++) {
+            int base = keys[g] << 16;
+            Object container = containers[g];
+            if (container instanceof char[]) {
+                char[] lows = (char[]) container;
+                for (int i = 0; i < lows.length && n < values.length; i++) {
+                    values[n++] = base | lows[i];
+                }
+            } else {
+                long[] words = (long[]) container;
+                for (int w = 0; w < words.length && n < values.length; w++) {
+                    long word = words[w];
+                    while (word != 0 && n < values.length) {
+                        values[n++] = base | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    // --- Single-value updates (copy on write) ---
+
+    /**
+     * Returns a bitmap that also holds the value (this one if it already does).
+     *
+     * @throws IllegalArgumentException if the value is negative.
+     */
+    public IntBitmap with(int value) {
+        checkValue(value);
+        if (contains(value)) {
+            return this;
+        }
+        char key = high(value);
+        char low = low(value);
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            int at = -index - 1;
+            return new IntBitmap(insert(keys, at, key), insert(containers, at, new char[]{low}), insert(counts, at, 1));
+        }
+        Object container = containers[index];
+        Object updated;
+        if (container instanceof char[]) {
+            char[] lows = (char[]) container;
+            if (lows.length < ARRAY_MAX) {
+                int at = -Arrays.binarySearch(lows, low) - 1;
+                char[] grown = new char[lows.length + 1];
+                System.arraycopy(lows, 0, grown, 0, at);
+                grown[at] = low;
+                System.arraycopy(lows, at, grown, at + 1, lows.length - at);
+                updated = grown;
+            } else {
+                long[] words = toBitmap(lows, lows.length);
+                words[low >>> 6] |= 1L << low;
+                updated = words;
+            }
+        } else {
+            long[] words = ((long[]) container).clone();
+            words[low >>> 6] |= 1L << low;
+            updated = words;
+        }
+        return replace(index, updated, counts[index] + 1);
+    }
+
+    /**
+     * Returns a bitmap without the value (this one if it does not hold it).
+     */
+    public IntBitmap without(int value) {
+        if (!contains(value)) {
+            return this;
+        }
+        int index = Arrays.binarySearch(keys, high(value));
+        char low = low(value);
+        int count = counts[index] - 1;
+        if (count == 0) {
+            return new IntBitmap(remove(keys, index), remove(containers, index), remove(counts, index));
+        }
+        Object container = containers[index];
+        Object updated;
+        if (container instanceof char[]) {
+            char[] lows = (char[]) container;
+            int at = Arrays.binarySearch(lows, low);
+            char[] shrunk = new char[lows.length - 1];
+            System.arraycopy(lows, 0, shrunk, 0, at);
+            System.arraycopy(lows, at + 1, shrunk, at, lows.length - at - 1);
+            updated = shrunk;
+        } else {
+            long[] words = ((long[]) container).clone();
+            words[low >>> 6] &= ~(1L << low);
+            updated = count <= ARRAY_MAX ? toArray(words, count) : words;
+        }
+        return replace(index, updated, count);
+    }
+
+    // --- Set operations ---
+
+    /**
+     * Returns the values in both bitmaps.
+     */
+    public IntBitmap and(IntBitmap other) {
+        List<Character> keys = new ArrayList<>();
+        List<Object> containers = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < this.keys.length && j < other.keys.length) {
+            if (this.keys[i] < other.keys[j]) {
+                i++;
+            } else if (this.keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                add(keys, containers, counts, this.keys[i], and(this.containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return create(keys, containers, counts);
+    }
+
+    /**
+     * Returns whether the two bitmaps share a value. Unlike `and(other).isEmpty()`, this
+     * allocates nothing and stops at the first shared value.
+     */
+    public boolean intersects(IntBitmap other) {
+        int i = 0;
+        int j = 0;
+        while (i < this.keys.length && j < other.keys.length) {
+            if (this.keys[i] < other.keys[j]) {
+                i++;
+            } else if (this.keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                if (intersects(this.containers[i], other.containers[j])) {
+                    return true;
+                }
+                i++;
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the values in either bitmap.
+     */
+    public IntBitmap or(IntBitmap other) {
+        List<Character> keys = new ArrayList<>();
+        List<Object> containers = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < this.keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < this.keys.length && this.keys[i] < other.keys[j])) {
+                add(keys, containers, counts, this.keys[i], this.containers[i]);
+                i++;
+            } else if (i == this.keys.length || this.keys[i] > other.keys[j]) {
+                add(keys, containers, counts, other.keys[j], other.containers[j]);
+                j++;
+            } else {
+                add(keys, containers, counts, this.keys[i], or(this.containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return create(keys, containers, counts);
+    }
+
+    /**
+     * Returns the values in this bitmap but not in the other.
+     */
+    public IntBitmap andNot(IntBitmap other) {
+        List<Character> keys = new ArrayList<>();
+        List<Object> containers = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        int j = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < this.keys[i]) {
+                j++;
+            }
+            if (j < other.keys.length && other.keys[j] == this.keys[i]) {
+                add(keys, containers, counts, this.keys[i], andNot(this.containers[i], other.containers[j]));
+            } else {
+                add(keys, containers, counts, this.keys[i], this.containers[i]);
+            }
+        }
+        return create(keys, containers, counts);
+    }
+
+    @Override
+    public String toString() {
+        int[] values = toArray();
+        return values.length <= 20 ? Arrays.toString(values) : "IntBitmap[cardinality=" + values.length + "]";
+    }
+
+    // --- Container operations; results are normalized (null when empty) ---
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            char[] x = (char[]) a;
+            char[] y = (char[]) b;
+            char[] out = new char[Math.min(x.length, y.length)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length && j < y.length) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    out[n++] = x[i];
+                    i++;
+                    j++;
+                }
+            }
+            return n == 0 ? null : Arrays.copyOf(out, n);
+        }
+        if (a instanceof long[] && b instanceof long[]) {
+            long[] x = (long[]) a;
+            long[] y = (long[]) b;
+            long[] out = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                out[w] = x[w] & y[w];
+            }
+            return normalize(out);
+        }
+        // One array, one bitmap: keep the array values whose bit is set.
+        char[] lows = (char[]) (a instanceof char[] ? a : b);
+        long[] words = (long[]) (a instanceof long[] ? a : b);
+        return filter(lows, words, true);
+    }
+
+    private static boolean intersects(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            char[] x = (char[]) a;
+            char[] y = (char[]) b;
+            int i = 0;
+            int j = 0;
+            while (i < x.length && j < y.length) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (a instanceof long[] && b instanceof long[]) {
+            long[] x = (long[]) a;
+            long[] y = (long[]) b;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                if ((x[w] & y[w]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long[] words = (long[]) (a instanceof long[] ? a : b);
+        for (char low : (char[]) (a instanceof char[] ? a : b)) {
+            if ((words[low >>> 6] & (1L << low)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            char[] x = (char[]) a;
+            char[] y = (char[]) b;
+            char[] out = new char[x.length + y.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length || j < y.length) {
+                if (j == y.length || (i < x.length && x[i] < y[j])) {
+                    out[n++] = x[i++];
+                } else if (i == x.length || x[i] > y[j]) {
+                    out[n++] = y[j++];
+                } else {
+                    out[n++] = x[i++];
+                    j++;
+                }
+            }
+            return n <= ARRAY_MAX ? Arrays.copyOf(out, n) : toBitmap(out, n);
+        }
+        long[] out;
+        if (a instanceof long[] && b instanceof long[]) {
+            long[] x = (long[]) a;
+            long[] y = (long[]) b;
+            out = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                out[w] = x[w] | y[w];
+            }
+        } else {
+            out = ((long[]) (a instanceof long[] ? a : b)).clone();
+            for (char low : (char[]) (a instanceof char[] ? a : b)) {
+                out[low >>> 6] |= 1L << low;
+            }
+        }
+        return out; // A superset of a bitmap group is still dense.
+    }
+
+    private static Object andNot(Object a, Object b) {
+        if (a instanceof char[]) {
+            char[] x = (char[]) a;
+            if (b instanceof long[]) {
+                return filter(x, (long[]) b, false);
+            }
+            char[] y = (char[]) b;
+            char[] out = new char[x.length];
+            int n = 0;
+            int j = 0;
+            for (char value : x) {
+                while (j < y.length && y[j] < value) {
+                    j++;
+                }
+                if (j == y.length || y[j] != value) {
+                    out[n++] = value;
+                }
+            }
+            return n == 0 ? null : Arrays.copyOf(out, n);
+        }
+        long[] out = ((long[]) a).clone();
+        if (b instanceof long[]) {
+            long[] y = (long[]) b;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                out[w] &= ~y[w];
+            }
+        } else {
+            for (char low : (char[]) b) {
+                out[low >>> 6] &= ~(1L << low);
+            }
+        }
+        return normalize(out);
+    }
+
+    /**
+     * Returns the array values whose bit is set (keep = true) or clear (keep = false).
+     */
+    private static Object filter(char[] lows, long[] words, boolean keep) {
+        char[] out = new char[lows.length];
+        int n = 0;
+        for (char low : lows) {
+            if (((words[low >>> 6] & (1L << low)) != 0) == keep) {
+                out[n++] = low;
+            }
+        }
+        return n == 0 ? null : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Stores a bitmap group as an array if it became sparse, or drops it if it became empty.
+     */
+    private static Object normalize(long[] words) {
+        int count = bitCount(words);
+        if (count == 0) {
+            return null;
+        }
+        return count <= ARRAY_MAX ? toArray(words, count) : words;
+    }
+
+    // --- Helpers ---
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("IntBitmap holds non-negative values only: " + value);
+        }
+    }
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static long[] toBitmap(char[] lows, int n) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < n; i++) {
+            words[lows[i] >>> 6] |= 1L << lows[i];
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words, int count) {
+        char[] lows = new char[count];
+        int n = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                lows[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return lows;
+    }
+
+    private static int countOf(Object container) {
+        return container instanceof char[] ? ((char[]) container).length : bitCount((long[]) container);
+    }
+
+    private static void add(List<Character> keys, List<Object> containers, List<Integer> counts, char key, Object container) {
+        if (container != null) {
+            keys.add(key);
+            containers.add(container);
+            counts.add(countOf(container));
+        }
+    }
+
+    private static IntBitmap create(List<Character> keys, List<Object> containers, List<Integer> counts) {
+        if (keys.isEmpty()) {
+            return EMPTY;
+        }
+        char[] keyArray = new char[keys.size()];
+        int[] countArray = new int[counts.size()];
+        for (int i = 0; i < keyArray.length; i++) {
+            keyArray[i] = keys.get(i);
+            countArray[i] = counts.get(i);
+        }
+        return new IntBitmap(keyArray, containers.toArray(), countArray);
+    }
+
+    private IntBitmap replace(int index, Object container, int count) {
+        Object[] newContainers = containers.clone();
+        newContainers[index] = container;
+        int[] newCounts = counts.clone();
+        newCounts[index] = count;
+        return new IntBitmap(keys, newContainers, newCounts);
+    }
+
+    private static char[] insert(char[] array, int at, char value) {
+        char[] out = new char[array.length + 1];
+        System.arraycopy(array, 0, out, 0, at);
+        out[at] = value;
+        System.arraycopy(array, at, out, at + 1, array.length - at);
+        return out;
+    }
+
+    private static Object[] insert(Object[] array, int at, Object value) {
+        Object[] out = new Object[array.length + 1];
+        System.arraycopy(array, 0, out, 0, at);
+        out[at] = value;
+        System.arraycopy(array, at, out, at + 1, array.length - at);
+        return out;
+    }
+
+    private static int[] insert(int[] array, int at, int value) {
+        int[] out = new int[array.length + 1];
+        System.arraycopy(array, 0, out, 0, at);
+        out[at] = value;
+        System.arraycopy(array, at, out, at + 1, array.length - at);
+        return out;
+    }
+
+    private static char[] remove(char[] array, int at) {
+        char[] out = new char[array.length - 1];
+        System.arraycopy(array, 0, out, 0, at);
+        System.arraycopy(array, at + 1, out, at, array.length - at - 1);
+        return out;
+    }
+
+    private static Object[] remove(Object[] array, int at) {
+        Object[] out = new Object[array.length - 1];
+        System.arraycopy(array, 0, out, 0, at);
+        System.arraycopy(array, at + 1, out, at, array.length - at - 1);
+        return out;
+    }
+
+    private static int[] remove(int[] array, int at) {
+        int[] out = new int[array.length - 1];
+        System.arraycopy(array, 0, out, 0, at);
+        System.arraycopy(array, at + 1, out, at, array.length - at - 1);
+        return out;
+    }
+}
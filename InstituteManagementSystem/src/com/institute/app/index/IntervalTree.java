@@ -0,0 +1,226 @@
+package com.institute.app.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A set of half-open intervals [start, end) with attached values, answering "which intervals
+ * overlap [from, to)?" in O(log n + k) time for k results.
+ *
+ * The tree is an AVL tree ordered by (start, end, id), where each node also records the
+ * largest end in its subtree. A search skips every subtree whose largest end is at or
+ * before `from`, and every right subtree whose smallest start is at or after `to`.
+ * Adding and removing an interval are O(log n).
+ *
+ * The `id` distinguishes intervals with the same bounds (e.g., a session ID); adding an
+ * interval with the bounds and ID of an existing one replaces its value.
+ * Instances are not thread-safe.
+ *
+ * @param <T> The type of the attached values.
+ */
+public final class IntervalTree<T> {
+
+    private static final class Node<T> {
+        final long start;
+        final long end;
+        final int id;
+        T value;
+        long maxEnd;
+        int height = 1;
+        Node<T> left;
+        Node<T> right;
+
+        Node(long start, long end, int id, T value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    /**
+     * Adds an interval, or replaces the value of the interval with the same bounds and ID.
+     *
+     * @throws IllegalArgumentException if `end` is not after `start`.
+     */
+    public void add(long start, long end, int id, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after its start: [" + start + ", " + end + ")");
+        }
+        root = insert(root, start, end, id, value);
+    }
+
+    /**
+     * Removes the interval with the given bounds and ID.
+     *
+     * @return true if it was present.
+     */
+    public boolean remove(long start, long end, int id) {
+        int before = size;
+        root = delete(root, start, end, id);
+        return size < before;
+    }
+
+    /**
+     * Calls the action with the value of every interval overlapping [from, to), in start order.
+     */
+    public void forEachOverlap(long from, long to, Consumer<? super T> action) {
+        if (from < to) {
+            search(root, from, to, action);
+        }
+    }
+
+    /**
+     * Returns the values of the intervals overlapping [from, to), in start order.
+     */
+    public List<T> overlapping(long from, long to) {
+        List<T> values = new ArrayList<>();
+        forEachOverlap(from, to, values::add);
+        return values;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // --- Search ---
+
+    private static <T> void search(Node<T> node, long from, long to, Consumer<? super T> action) {
+        while (node != null && node.maxEnd > from) {
+            search(node.left, from, to, action);
+            if (node.start >= to) {
+                return; // Everything to the right starts later still
+            }
+            if (node.end > from) {
+                action.accept(node.value);
+            }
+            node = node.right;
+        }
+    }
+
+    // --- AVL insertion and deletion ---
+
+    private static int compare(long start, long end, int id, Node<?> node) {
+        int c = Long.compare(start, node.start);
+        if (c == 0) {
+            c = Long.compare(end, node.end);
+        }
+        return c != 0 ? c : Integer.compare(id, node.id);
+    }
+
+    private Node<T> insert(Node<T> node, long start, long end, int id, T value) {
+        if (node == null) {
+            size++;
+            return new Node<>(start, end, id, value);
+        }
+        int c = compare(start, end, id, node);
+        if (c < 0) {
+            node.left = insert(node.left, start, end, id, value);
+        } else if (c > 0) {
+            node.right = insert(node.right, start, end, id, value);
+        } else {
+            node.value = value;
+            return node;
+        }
+        return balance(node);
+    }
+
+    private Node<T> delete(Node<T> node, long start, long end, int id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, end, id, node);
+        if (c < 0) {
+            node.left = delete(node.left, start, end, id);
+        } else if (c > 0) {
+            node.right = delete(node.right, start, end, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace the node with its in-order successor.
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node<T> replacement = new Node<>(successor.start, successor.end, successor.id, successor.value);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            node = replacement;
+        }
+        return balance(node);
+    }
+
+    private static <T> Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long max = node.end;
+        if (node.left != null && node.left.maxEnd > max) {
+            max = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > max) {
+            max = node.right.maxEnd;
+        }
+        node.maxEnd = max;
+    }
+
+    private static <T> Node<T> balance(Node<T> node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
@@ -0,0 +1,151 @@
+package com.institute.app.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-memory many-to-many index between members and groups (e.g., students and courses),
+ * with one {@link IntBitmap} per group and one per member.
+ *
+ * Reads are lock-free: every lookup returns an immutable bitmap, so roster questions such
+ * as "students in both A and B" are a few bitmap operations on a consistent snapshot of
+ * each group. Updates are serialized and replace the affected bitmaps with updated copies.
+ */
+public final class MembershipIndex {
+
+    private final Map<Integer, IntBitmap> membersByGroup;
+    private final Map<Integer, IntBitmap> groupsByMember;
+
+    private MembershipIndex(Map<Integer, IntBitmap> membersByGroup, Map<Integer, IntBitmap> groupsByMember) {
+        this.membersByGroup = membersByGroup;
+        this.groupsByMember = groupsByMember;
+    }
+
+    /**
+     * Collects (member, group) pairs for a bulk load.
+     */
+    public static final class Builder {
+        private final Map<Integer, IntBitmap.Builder> members = new HashMap<>();
+        private final Map<Integer, IntBitmap.Builder> groups = new HashMap<>();
+
+        public Builder add(int member, int group) {
+            members.computeIfAbsent(group, g -> new IntBitmap.Builder()).add(member);
+            groups.computeIfAbsent(member, m -> new IntBitmap.Builder()).add(group);
+            return this;
+        }
+
+        public MembershipIndex build() {
+            return new MembershipIndex(buildAll(members), buildAll(groups));
+        }
+
+        private static Map<Integer, IntBitmap> buildAll(Map<Integer, IntBitmap.Builder> builders) {
+            Map<Integer, IntBitmap> bitmaps = new ConcurrentHashMap<>(Math.max(16, builders.size() * 4 / 3 + 1));
+            for (Map.Entry<Integer, IntBitmap.Builder> entry : builders.entrySet()) {
+                bitmaps.put(entry.getKey(), entry.getValue().build());
+            }
+            return bitmaps;
+        }
+    }
+
+    /**
+     * Returns the members of a group (an empty bitmap if it has none).
+     */
+    public IntBitmap membersOf(int group) {
+        return membersByGroup.getOrDefault(group, IntBitmap.EMPTY);
+    }
+
+    /**
+     * Returns the groups a member belongs to (an empty bitmap if none).
+     */
+    public IntBitmap groupsOf(int member) {
+        return groupsByMember.getOrDefault(member, IntBitmap.EMPTY);
+    }
+
+    public boolean contains(int member, int group) {
+        return membersOf(group).contains(member);
+    }
+
+    /**
+     * Returns the members of every given group (intersection); empty for no groups.
+     */
+    public IntBitmap membersOfAll(int... groups) {
+        if (groups.length == 0) {
+            return IntBitmap.EMPTY;
+        }
+        IntBitmap result = membersOf(groups[0]);
+        for (int i = 1; i < groups.length && !result.isEmpty(); i++) {
+            result = result.and(membersOf(groups[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the members of at least one of the given groups (union).
+     */
+    public IntBitmap membersOfAny(int... groups) {
+        IntBitmap result = IntBitmap.EMPTY;
+        for (int group : groups) {
+            result = result.or(membersOf(group));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the members of `group` who are in none of the `excluded` groups (difference).
+     */
+    public IntBitmap membersOfExcept(int group, int... excluded) {
+        IntBitmap result = membersOf(group);
+        for (int i = 0; i < excluded.length && !result.isEmpty(); i++) {
+            result = result.andNot(membersOf(excluded[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of groups with at least one member.
+     */
+    public int groupCount() {
+        return membersByGroup.size();
+    }
+
+    // --- Updates ---
+
+    public synchronized void add(int member, int group) {
+        membersByGroup.put(group, membersOf(group).with(member));
+        groupsByMember.put(member, groupsOf(member).with(group));
+    }
+
+    public synchronized void remove(int member, int group) {
+        update(membersByGroup, group, membersOf(group).without(member));
+        update(groupsByMember, member, groupsOf(member).without(group));
+    }
+
+    /**
+     * Removes a member from all of its groups (e.g., a deleted student).
+     */
+    public synchronized void removeMember(int member) {
+        IntBitmap groups = groupsByMember.remove(member);
+        if (groups != null) {
+            groups.forEach(group -> update(membersByGroup, group, membersOf(group).without(member)));
+        }
+    }
+
+    /**
+     * Removes a group and all of its memberships (e.g., a deleted course).
+     */
+    public synchronized void removeGroup(int group) {
+        IntBitmap members = membersByGroup.remove(group);
+        if (members != null) {
+            members.forEach(member -> update(groupsByMember, member, groupsOf(member).without(group)));
+        }
+    }
+
+    private static void update(Map<Integer, IntBitmap> map, int key, IntBitmap bitmap) {
+        if (bitmap.isEmpty()) {
+            map.remove(key);
+        } else {
+            map.put(key, bitmap);
+        }
+    }
+}
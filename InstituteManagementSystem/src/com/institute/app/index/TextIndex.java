@@ -0,0 +1,427 @@
+package com.institute.app.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * An in-memory search-as-you-type index over short records (people, courses), answering
+ * "jan smi" with the best-ranked records whose words start with every typed word.
+ *
+ * Each record has name fields and other fields (email, phone, code), which are split into
+ * lower-case, accent-free tokens. Name and other tokens are indexed separately, each with
+ * an {@link IntBitmap} of records per token prefix of up to {@value #MAX_PREFIX} characters
+ * and per whole token, the latter in a sorted map. A query word of up to {@value #MAX_PREFIX}
+ * characters is a single lookup; a longer one unions the few whole tokens it starts.
+ *
+ * Ranking scores each query word by its best match in the record: a whole token (3), the
+ * start of a name token (2), or the start of another token (1). The score tiers are built
+ * best first with bitmap intersections, so the top k come out without scoring every match;
+ * records with equal scores are returned in ID order.
+ *
+ * Searches are lock-free and see each posting list atomically; updates are serialized and
+ * replace the affected bitmaps with updated copies.
+ */
+public final class TextIndex {
+
+    /**
+     * One search result.
+     */
+    public static final class Hit {
+        private final int id;
+        private final String label;
+        private final int score;
+
+        Hit(int id, String label, int score) {
+            this.id = id;
+            this.label = label;
+            this.score = score;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Returns the display text the record was indexed with.
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return label + " (" + score + ")";
+        }
+    }
+
+    private static final int MAX_PREFIX = 4;
+    // Query words after this many only filter the results; they do not add to the score.
+    private static final int SCORED_WORDS = 4;
+    private static final int EXACT_SCORE = 3;
+    private static final int NAME_SCORE = 2;
+    private static final int OTHER_SCORE = 1;
+    private static final int SMALL_POSTING = 64;
+
+    // Posting keys are tagged by their first character: lower case for prefixes, upper case for whole tokens.
+    private static final char NAME_PREFIX = 'n';
+    private static final char OTHER_PREFIX = 'o';
+    private static final char NAME_TOKEN = 'N';
+    private static final char OTHER_TOKEN = 'O';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final class Doc {
+        final String label;
+        final String[] nameTokens;
+        final String[] otherTokens;
+
+        Doc(String label, String[] nameTokens, String[] otherTokens) {
+            this.label = label;
+            this.nameTokens = nameTokens;
+            this.otherTokens = otherTokens;
+        }
+    }
+
+    private final Map<String, IntBitmap> prefixes;
+    private final ConcurrentNavigableMap<String, IntBitmap> tokens;
+    private final Map<Integer, Doc> docs;
+
+    private TextIndex(Map<String, IntBitmap> prefixes, ConcurrentNavigableMap<String, IntBitmap> tokens, Map<Integer, Doc> docs) {
+        this.prefixes = prefixes;
+        this.tokens = tokens;
+        this.docs = docs;
+    }
+
+    /**
+     * Returns an empty index.
+     */
+    public static TextIndex empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Collects records for a bulk load. {@link #build()} tokenizes the records and fills the
+     * posting lists in parallel on the common pool.
+     */
+    public static final class Builder {
+        private final List<Integer> ids = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<String[]> nameFields = new ArrayList<>();
+        private final List<String[]> otherFields = new ArrayList<>();
+
+        /**
+         * Adds a record. Each ID may be added once.
+         *
+         * @param id          The record ID (non-negative).
+         * @param label       The text to show in results.
+         * @param nameFields  The name fields (first name, last name, course name); nulls are skipped.
+         * @param otherFields The other searchable fields; nulls are skipped.
+         */
+        public Builder add(int id, String label, String[] nameFields, String[] otherFields) {
+            ids.add(id);
+            labels.add(label);
+            this.nameFields.add(nameFields);
+            this.otherFields.add(otherFields);
+            return this;
+        }
+
+        public TextIndex build() {
+            int n = ids.size();
+            Doc[] built = new Doc[n];
+            IntStream.range(0, n).parallel()
+                    .forEach(i -> built[i] = newDoc(labels.get(i), nameFields.get(i), otherFields.get(i)));
+
+            // Every key of a token starts with the token's first character, so partitioning
+            // tokens by that character gives each worker its own keys and no merging.
+            Map<String, IntBitmap> prefixes = new ConcurrentHashMap<>();
+            ConcurrentSkipListMap<String, IntBitmap> tokens = new ConcurrentSkipListMap<>();
+            int partitions = Runtime.getRuntime().availableProcessors();
+            IntStream.range(0, partitions).parallel().forEach(partition -> {
+                Map<String, IntBitmap.Builder> postings = new HashMap<>();
+                for (int i = 0; i < n; i++) {
+                    int id = ids.get(i);
+                    for (String token : built[i].nameTokens) {
+                        if (token.charAt(0) % partitions == partition) {
+                            addKeys(token, true, key -> postings.computeIfAbsent(key, k -> new IntBitmap.Builder()).add(id));
+                        }
+                    }
+                    for (String token : built[i].otherTokens) {
+                        if (token.charAt(0) % partitions == partition) {
+                            addKeys(token, false, key -> postings.computeIfAbsent(key, k -> new IntBitmap.Builder()).add(id));
+                        }
+                    }
+                }
+                for (Map.Entry<String, IntBitmap.Builder> entry : postings.entrySet()) {
+                    String key = entry.getKey();
+                    (isToken(key) ? tokens : prefixes).put(key, entry.getValue().build());
+                }
+            });
+
+            Map<Integer, Doc> docs = new ConcurrentHashMap<>(Math.max(16, n * 4 / 3 + 1));
+            for (int i = 0; i < n; i++) {
+                docs.put(ids.get(i), built[i]);
+            }
+            return new TextIndex(prefixes, tokens, docs);
+        }
+    }
+
+    /**
+     * Returns the best matches for a query; an empty query matches nothing.
+     *
+     * @param query What the user typed, e.g. "jan smi" or "555 01".
+     * @param limit The maximum number of results.
+     * @return The matches, best first.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        Set<String> words = new LinkedHashSet<>(tokenize(query));
+        if (words.isEmpty() || limit <= 0) {
+            return hits;
+        }
+        IntBitmap matches = null;
+        List<IntBitmap[]> parts = new ArrayList<>();
+        for (String word : words) {
+            IntBitmap name = startingWith(NAME_PREFIX, NAME_TOKEN, word);
+            IntBitmap other = startingWith(OTHER_PREFIX, OTHER_TOKEN, word);
+            IntBitmap any = name.or(other);
+            matches = matches == null ? any : matches.and(any);
+            if (matches.isEmpty()) {
+                return hits;
+            }
+            if (parts.size() < SCORED_WORDS) {
+                // Split the word's matches into exact, name-prefix-only and other-prefix-only.
+                IntBitmap exact = token(NAME_TOKEN + word).or(token(OTHER_TOKEN + word));
+                parts.add(new IntBitmap[]{exact, name.andNot(exact), other.andNot(name).andNot(exact)});
+            }
+        }
+
+        for (int score = parts.size() * EXACT_SCORE; score >= parts.size() * OTHER_SCORE; score--) {
+            for (int id : tier(parts, matches, score).head(limit - hits.size())) {
+                Doc doc = docs.get(id);
+                if (doc != null) {
+                    hits.add(new Hit(id, doc.label, score));
+                    if (hits.size() == limit) {
+                        return hits;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the matches scoring exactly `score`. Each match falls in one combination of
+     * per-word match kinds (exact, name, other); the combinations adding up to `score` are
+     * intersected and merged, so lower tiers are never computed once the limit is reached.
+     */
+    private static IntBitmap tier(List<IntBitmap[]> parts, IntBitmap matches, int score) {
+        int[] kindScores = {EXACT_SCORE, NAME_SCORE, OTHER_SCORE};
+        int combinations = 1;
+        for (int i = 0; i < parts.size(); i++) {
+            combinations *= kindScores.length;
+        }
+        IntBitmap tier = IntBitmap.EMPTY;
+        for (int combination = 0; combination < combinations; combination++) {
+            int total = 0;
+            for (int word = 0, c = combination; word < parts.size(); word++, c /= kindScores.length) {
+                total += kindScores[c % kindScores.length];
+            }
+            if (total != score) {
+                continue;
+            }
+            IntBitmap records = matches;
+            for (int word = 0, c = combination; word < parts.size() && !records.isEmpty(); word++, c /= kindScores.length) {
+                records = records.and(parts.get(word)[c % kindScores.length]);
+            }
+            tier = tier.or(records);
+        }
+        return tier;
+    }
+
+    /**
+     * Returns the records with a token starting with `word`: one prefix posting for short
+     * words, else the union of the whole tokens in the sorted range starting with it.
+     */
+    private IntBitmap startingWith(char prefixTag, char tokenTag, String word) {
+        if (word.length() <= MAX_PREFIX) {
+            return prefixes.getOrDefault(prefixTag + word, IntBitmap.EMPTY);
+        }
+        String from = tokenTag + word;
+        Collection<IntBitmap> range = tokens.subMap(from, true, from + Character.MAX_VALUE, false).values();
+        if (range.size() <= 1) {
+            return range.isEmpty() ? IntBitmap.EMPTY : range.iterator().next();
+        }
+        // Merge the large postings group by group; collect the many small ones and sort once.
+        IntBitmap large = IntBitmap.EMPTY;
+        IntBitmap.Builder small = new IntBitmap.Builder();
+        for (IntBitmap bitmap : range) {
+            if (bitmap.cardinality() > SMALL_POSTING) {
+                large = large.or(bitmap);
+            } else {
+                bitmap.forEach(small::add);
+            }
+        }
+        return large.or(small.build());
+    }
+
+    private IntBitmap token(String key) {
+        return tokens.getOrDefault(key, IntBitmap.EMPTY);
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    // --- Updates ---
+
+    /**
+     * Adds a record, or replaces the record with the same ID.
+     *
+     * @see Builder#add
+     */
+    public synchronized void put(int id, String label, String[] nameFields, String[] otherFields) {
+        Doc doc = newDoc(label, nameFields, otherFields);
+        Doc old = docs.put(id, doc);
+        Set<String> oldKeys = old == null ? Set.of() : keysOf(old);
+        Set<String> newKeys = keysOf(doc);
+        for (String key : oldKeys) {
+            if (!newKeys.contains(key)) {
+                removeFrom(key, id);
+            }
+        }
+        for (String key : newKeys) {
+            if (!oldKeys.contains(key)) {
+                Map<String, IntBitmap> postings = postingsFor(key);
+                postings.put(key, postings.getOrDefault(key, IntBitmap.EMPTY).with(id));
+            }
+        }
+    }
+
+    /**
+     * Removes a record, if present.
+     */
+    public synchronized void remove(int id) {
+        Doc old = docs.remove(id);
+        if (old != null) {
+            for (String key : keysOf(old)) {
+                removeFrom(key, id);
+            }
+        }
+    }
+
+    private void removeFrom(String key, int id) {
+        Map<String, IntBitmap> postings = postingsFor(key);
+        IntBitmap bitmap = postings.getOrDefault(key, IntBitmap.EMPTY).without(id);
+        if (bitmap.isEmpty()) {
+            postings.remove(key);
+        } else {
+            postings.put(key, bitmap);
+        }
+    }
+
+    private Map<String, IntBitmap> postingsFor(String key) {
+        return isToken(key) ? tokens : prefixes;
+    }
+
+    // --- Tokens ---
+
+    /**
+     * Splits text into lower-case runs of letters or of digits, with accents removed
+     * ("O'Neil-Smith" gives "o", "neil", "smith"; "CS101" gives "cs", "101"; an accented
+     * letter gives the plain letter).
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = fold(text);
+        int start = 0;
+        int kind = 0;
+        for (int i = 0; i <= folded.length(); i++) {
+            int next = i < folded.length() ? kindOf(folded.charAt(i)) : 0;
+            if (next != kind) {
+                if (kind != 0) {
+                    tokens.add(folded.substring(start, i));
+                }
+                start = i;
+                kind = next;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-cases text and strips accents, skipping the normalizer for plain ASCII.
+     */
+    private static String fold(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                text = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /** 1 for a letter, 2 for a digit, 0 for a separator. */
+    private static int kindOf(char c) {
+        return Character.isLetter(c) ? 1 : Character.isDigit(c) ? 2 : 0;
+    }
+
+    private static Doc newDoc(String label, String[] nameFields, String[] otherFields) {
+        return new Doc(label, tokensOf(nameFields), tokensOf(otherFields));
+    }
+
+    private static String[] tokensOf(String[] fields) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String field : fields) {
+                tokens.addAll(tokenize(field));
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static Set<String> keysOf(Doc doc) {
+        Set<String> keys = new HashSet<>();
+        for (String token : doc.nameTokens) {
+            addKeys(token, true, keys::add);
+        }
+        for (String token : doc.otherTokens) {
+            addKeys(token, false, keys::add);
+        }
+        return keys;
+    }
+
+    private static void addKeys(String token, boolean name, Consumer<String> keys) {
+        char prefixTag = name ? NAME_PREFIX : OTHER_PREFIX;
+        int n = Math.min(token.length(), MAX_PREFIX);
+        for (int length = 1; length <= n; length++) {
+            keys.accept(prefixTag + token.substring(0, length));
+        }
+        keys.accept((name ? NAME_TOKEN : OTHER_TOKEN) + token);
+    }
+
+    private static boolean isToken(String key) {
+        return Character.isUpperCase(key.charAt(0));
+    }
+}
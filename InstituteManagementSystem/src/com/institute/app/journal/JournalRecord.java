@@ -0,0 +1,190 @@
+package com.institute.app.journal;
+
+import com.institute.app.models.Payment;
+import com.institute.app.models.Student;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+/**
+ * One entry of the {@link WriteAheadJournal}: a sequence number, a type and the encoded
+ * operation. The static methods encode and decode the operations this application journals.
+ *
+ * The encoding is a fixed field order written with DataOutputStream, so journals written by
+ * one version can be replayed by the next as long as fields are only ever appended.
+ */
+public final class JournalRecord {
+
+    /** {@link com.institute.app.dao.StudentDAO#addStudent(Student)}. */
+    public static final byte ADD_STUDENT = 1;
+    /** {@link com.institute.app.dao.PaymentDAO#addPayment(Payment)}. */
+    public static final byte ADD_PAYMENT = 2;
+
+    private final long seq;
+    private final byte type;
+    private final byte[] payload;
+
+    JournalRecord(long seq, byte type, byte[] payload) {
+        this.seq = seq;
+        this.type = type;
+        this.payload = payload;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    /**
+     * Decodes an {@link #ADD_STUDENT} record. The student's ID is its provisional ID.
+     */
+    public Student getStudent() {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return new Student(provisionalId(seq), readString(in), readString(in), readDate(in),
+                    readString(in), readString(in), readString(in), readDate(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt journal record " + seq, e);
+        }
+    }
+
+    /**
+     * Decodes an {@link #ADD_PAYMENT} record. The payment's ID is its provisional ID; its
+     * student ID is provisional (negative) if the student was journaled too.
+     */
+    public Payment getPayment() {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int studentId = in.readInt();
+            Integer courseId = readInteger(in);
+            BigDecimal amount = readDecimal(in);
+            Date paymentDate = readDate(in);
+            Integer methodId = readInteger(in);
+            return new Payment(provisionalId(seq), studentId, courseId, amount, paymentDate, methodId,
+                    readString(in), readString(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt journal record " + seq, e);
+        }
+    }
+
+    /**
+     * Returns a one-line description for the rejected-operations log.
+     */
+    public String describe() {
+        switch (type) {
+            case ADD_STUDENT: return "addStudent " + getStudent();
+            case ADD_PAYMENT: return "addPayment " + getPayment();
+            default: return "unknown record type " + type;
+        }
+    }
+
+    /**
+     * The ID given to a journaled row until it is replayed: the negated sequence number,
+     * which can never clash with a database ID.
+     */
+    public static int provisionalId(long seq) {
+        return (int) -seq;
+    }
+
+    /**
+     * Returns the sequence number behind a provisional ID.
+     */
+    public static long seqOf(int provisionalId) {
+        return -(long) provisionalId;
+    }
+
+    static byte[] encode(Student student) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, student.getFirstName());
+            writeString(out, student.getLastName());
+            writeDate(out, student.getDateOfBirth());
+            writeString(out, student.getEmail());
+            writeString(out, student.getPhone());
+            writeString(out, student.getAddress());
+            writeDate(out, student.getEnrollmentDate());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Cannot happen with an in-memory stream.
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] encode(Payment payment) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(payment.getStudentId());
+            writeInteger(out, payment.getCourseId());
+            writeDecimal(out, payment.getAmount());
+            writeDate(out, payment.getPaymentDate());
+            writeInteger(out, payment.getPaymentMethodId());
+            writeString(out, payment.getDescription());
+            writeString(out, payment.getInvoiceNumber());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // --- Nullable field helpers: a boolean "present" flag, then the value ---
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, Date value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getTime());
+        }
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new Date(in.readLong()) : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeInt(value.scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,303 @@
+package com.institute.app.journal;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.dao.IdempotencyKeyDAO;
+import com.institute.app.dao.PaymentDAO;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.models.Payment;
+import com.institute.app.models.Student;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Background task that applies journaled operations to the database, oldest first.
+ *
+ * Each batch is one transaction: the rows are inserted with the DAOs' batch inserts and every
+ * operation's idempotency key (`<journal ID>:<sequence number>`) is written to
+ * `idempotency_keys` in the same transaction. Only then is the journal checkpointed. If the
+ * process dies between the commit and the checkpoint, the next replay finds the keys and skips
+ * those operations, so nothing is applied twice.
+ *
+ * If a batch fails while the connection is still healthy, one of its operations is invalid
+ * (a duplicate email or invoice number, for example). The batch is then retried one operation
+ * at a time and the failing operations are written to `rejected.log` in the journal directory
+ * instead of blocking the journal forever.
+ */
+final class JournalReplayer implements Runnable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final WriteAheadJournal journal;
+    private final JournaledWriter writer;
+    private final int batchSize;
+    private final long retryMillis;
+    private final Path rejectedLog;
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final PaymentDAO paymentDAO = new PaymentDAO();
+    private final IdempotencyKeyDAO keyDAO = new IdempotencyKeyDAO();
+
+    // Provisional student ID -> database ID, for payments journaled after their student.
+    private final Map<Integer, Integer> studentIds = new HashMap<>();
+    private final Object signal = new Object();
+    private boolean wakeRequested;
+    private volatile boolean running = true;
+
+    JournalReplayer(WriteAheadJournal journal, JournaledWriter writer, int batchSize, long retryMillis, Path rejectedLog) {
+        this.journal = journal;
+        this.writer = writer;
+        this.batchSize = Math.max(batchSize, 1);
+        this.retryMillis = Math.max(retryMillis, 100);
+        this.rejectedLog = rejectedLog;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            boolean reachable = true;
+            try {
+                List<JournalRecord> batch = journal.read(0, batchSize);
+                if (batch.isEmpty()) {
+                    studentIds.clear(); // Later payments resolve provisional IDs through idempotency_keys.
+                    writer.goOnlineIfDrained();
+                } else {
+                    reachable = replay(batch);
+                    if (reachable) {
+                        continue; // Keep draining without waiting.
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+                reachable = false;
+            }
+            // While the database is unreachable, new records do not trigger a retry; otherwise
+            // every keystroke at the desk would wait for a connection attempt.
+            await(!reachable);
+        }
+    }
+
+    /**
+     * Asks the replayer to look for new records now, unless it is waiting out a failed attempt.
+     */
+    void wakeUp() {
+        synchronized (signal) {
+            wakeRequested = true;
+            signal.notifyAll();
+        }
+    }
+
+    void stop() {
+        running = false;
+        wakeUp();
+    }
+
+    private void await(boolean backOff) {
+        long deadline = System.currentTimeMillis() + retryMillis;
+        synchronized (signal) {
+            if (backOff) {
+                wakeRequested = false;
+            }
+            try {
+                long remaining;
+                while (running && !(wakeRequested && !backOff) && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                    signal.wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                Thread.currentThread().interrupt();
+            }
+            wakeRequested = false;
+        }
+    }
+
+    /**
+     * Applies a batch and checkpoints it.
+     * Package-private so tests can replay a batch without the background thread.
+     *
+     * @return false if the database could not be reached; nothing was checkpointed then.
+     */
+    boolean replay(List<JournalRecord> batch) throws IOException {
+        // Each payment is decoded once, so the invoice number assigned here is the one
+        // inserted. Decoded again for every batch, so a rolled-back attempt leaves nothing
+        // (such as a resolved student ID) behind for the retry.
+        Map<Long, Payment> payments = new HashMap<>();
+        for (JournalRecord record : batch) {
+            if (record.getType() == JournalRecord.ADD_PAYMENT) {
+                payments.put(record.getSeq(), record.getPayment());
+            }
+        }
+        // Invoice numbers first: a new block needs a connection of its own, which must not be
+        // awaited while this batch's transaction holds one.
+        try {
+            paymentDAO.assignInvoiceNumbers(new ArrayList<>(payments.values()));
+        } catch (SQLException | RuntimeException e) {
+            return false;
+        }
+
+        boolean isolate = false;
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Student> savedStudents = new ArrayList<>();
+                Map<Integer, Integer> newStudentIds = apply(conn, batch, payments, savedStudents);
+                conn.commit();
+                studentIds.putAll(newStudentIds);
+                for (Student student : savedStudents) {
+                    StudentDAO.CHANGES.fireSaved(student);
+                }
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                if (!conn.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return false;
+                }
+                if (batch.size() == 1) {
+                    reject(batch.get(0), e);
+                } else {
+                    isolate = true;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Connecting, rolling back or validating failed: the database is unreachable.
+            return false;
+        }
+        if (isolate) {
+            // Every operation on its own, so only the invalid ones are rejected.
+            for (JournalRecord record : batch) {
+                if (!replay(List.of(record))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        journal.checkpoint(batch.get(batch.size() - 1).getSeq());
+        return true;
+    }
+
+    /**
+     * Inserts the batch's operations in order inside `conn`'s transaction, skipping those
+     * whose idempotency key is already recorded. `payments` holds the batch's decoded
+     * payments by sequence number. The students inserted are added to `savedStudents`, to be
+     * announced once the transaction commits.
+     *
+     * @return The provisional-to-database IDs of the students in the batch.
+     */
+    private Map<Integer, Integer> apply(Connection conn, List<JournalRecord> batch, Map<Long, Payment> payments,
+                                        List<Student> savedStudents) throws SQLException {
+        Set<String> keys = new LinkedHashSet<>();
+        for (JournalRecord record : batch) {
+            keys.add(key(record.getSeq()));
+            if (record.getType() == JournalRecord.ADD_PAYMENT) {
+                int studentId = payments.get(record.getSeq()).getStudentId();
+                if (studentId < 0 && !studentIds.containsKey(studentId)) {
+                    keys.add(key(JournalRecord.seqOf(studentId))); // Replayed in an earlier run.
+                }
+            }
+        }
+        Map<String, Integer> applied = keyDAO.findApplied(conn, keys);
+        Map<Integer, Integer> newStudentIds = new HashMap<>();
+        Map<String, Integer> newKeys = new LinkedHashMap<>();
+
+        int from = 0;
+        while (from < batch.size()) {
+            byte type = batch.get(from).getType();
+            int to = from;
+            while (to < batch.size() && batch.get(to).getType() == type) {
+                to++;
+            }
+            List<JournalRecord> run = batch.subList(from, to);
+            if (type == JournalRecord.ADD_STUDENT) {
+                insertStudents(conn, run, applied, newStudentIds, newKeys, savedStudents);
+            } else if (type == JournalRecord.ADD_PAYMENT) {
+                insertPayments(conn, run, payments, applied, newStudentIds, newKeys);
+            } else {
+                throw new IllegalStateException("Unknown journal record type " + type + " at " + batch.get(from).getSeq());
+            }
+            from = to;
+        }
+        keyDAO.markApplied(conn, newKeys);
+        return newStudentIds;
+    }
+
+    private void insertStudents(Connection conn, List<JournalRecord> run, Map<String, Integer> applied,
+                                Map<Integer, Integer> newStudentIds, Map<String, Integer> newKeys,
+                                List<Student> savedStudents) throws SQLException {
+        List<Student> students = new ArrayList<>();
+        List<Long> seqs = new ArrayList<>();
+        for (JournalRecord record : run) {
+            Integer done = applied.get(key(record.getSeq()));
+            if (done != null) {
+                newStudentIds.put(JournalRecord.provisionalId(record.getSeq()), done);
+            } else {
+                students.add(record.getStudent());
+                seqs.add(record.getSeq());
+            }
+        }
+        studentDAO.addStudents(conn, students);
+        savedStudents.addAll(students);
+        for (int i = 0; i < students.size(); i++) {
+            newStudentIds.put(JournalRecord.provisionalId(seqs.get(i)), students.get(i).getStudentId());
+            newKeys.put(key(seqs.get(i)), students.get(i).getStudentId());
+        }
+    }
+
+    private void insertPayments(Connection conn, List<JournalRecord> run, Map<Long, Payment> decoded,
+                                Map<String, Integer> applied, Map<Integer, Integer> newStudentIds,
+                                Map<String, Integer> newKeys) throws SQLException {
+        List<Payment> payments = new ArrayList<>();
+        List<Long> seqs = new ArrayList<>();
+        for (JournalRecord record : run) {
+            if (applied.containsKey(key(record.getSeq()))) {
+                continue;
+            }
+            Payment payment = decoded.get(record.getSeq());
+            if (payment.getStudentId() < 0) {
+                int provisional = payment.getStudentId();
+                Integer studentId = newStudentIds.getOrDefault(provisional, studentIds.get(provisional));
+                if (studentId == null) {
+                    studentId = applied.get(key(JournalRecord.seqOf(provisional)));
+                }
+                if (studentId == null) {
+                    throw new SQLException("Payment " + record.getSeq() + " is for offline student "
+                            + JournalRecord.seqOf(provisional) + ", which was not saved.");
+                }
+                payment.setStudentId(studentId);
+            }
+            payments.add(payment);
+            seqs.add(record.getSeq());
+        }
+        paymentDAO.addPayments(conn, payments);
+        for (int i = 0; i < payments.size(); i++) {
+            newKeys.put(key(seqs.get(i)), payments.get(i).getPaymentId());
+        }
+    }
+
+    private String key(long seq) {
+        return journal.getJournalId() + ":" + seq;
+    }
+
+    private void reject(JournalRecord record, Exception reason) throws IOException {
+        String description;
+        try {
+            description = record.describe();
+        } catch (RuntimeException e) {
+            description = "undecodable record of type " + record.getType();
+        }
+        String line = Instant.now() + "\t" + record.getSeq() + "\t" + description + "\t" + reason + System.lineSeparator();
+        Files.writeString(rejectedLog, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.err.println("Offline journal: rejected operation " + record.getSeq() + " (" + reason.getMessage() + "), see " + rejectedLog);
+        journal.checkpoint(record.getSeq());
+    }
+}
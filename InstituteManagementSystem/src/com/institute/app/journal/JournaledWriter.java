@@ -0,0 +1,197 @@
+package com.institute.app.journal;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.dao.PaymentDAO;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.models.Payment;
+import com.institute.app.models.Student;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+/**
+ * Front-desk writes that keep working while the database is unreachable.
+ *
+ * `addStudent` and `addPayment` go straight to the DAOs while the database is up. When
+ * {@link com.institute.app.config.DBConnection#getConnection()} fails, the writer switches to
+ * offline mode: operations are appended to a local {@link WriteAheadJournal} (a few
+ * microseconds, plus a shared disk flush) and a background thread replays them in order, in
+ * batches, once the database is back. The writer returns to direct writes after the journal
+ * has drained, so operations are never applied out of order.
+ *
+ * The current mode and backlog are reported by {@link #isOffline()} and {@link #getPendingCount()}.
+ *
+ * Rows saved offline get a negative, provisional ID (see {@link JournalRecord#provisionalId(long)}).
+ * A payment may use a provisional student ID; the replay substitutes the real one.
+ *
+ * Configured by the `journal.*` settings in `AppSettings.properties`.
+ */
+public final class JournaledWriter {
+
+    private static volatile JournaledWriter instance;
+
+    private final WriteAheadJournal journal;
+    private final JournalReplayer replayer;
+    private final Thread replayThread;
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final PaymentDAO paymentDAO = new PaymentDAO();
+    private boolean offline; // Guarded by this; appends hold the same lock.
+
+    private JournaledWriter(Path directory) throws IOException {
+        this.journal = new WriteAheadJournal(directory, AppSettings.getInt("journal.segmentBytes", 16 * 1024 * 1024));
+        // Left-over records from a previous run are replayed before any direct write.
+        this.offline = journal.getPendingCount() > 0;
+        this.replayer = new JournalReplayer(journal, this,
+                AppSettings.getInt("journal.replayBatchSize", 200),
+                AppSettings.getInt("journal.retryMillis", 5000),
+                directory.resolve("rejected.log"));
+        this.replayThread = new Thread(replayer, "journal-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    /**
+     * Returns the shared writer, opening the journal (`journal.dir`) on first use.
+     *
+     * @throws RuntimeException if the journal directory cannot be opened.
+     */
+    public static JournaledWriter getInstance() {
+        JournaledWriter current = instance;
+        if (current == null) {
+            synchronized (JournaledWriter.class) {
+                current = instance;
+                if (current == null) {
+                    try {
+                        current = new JournaledWriter(Paths.get(AppSettings.get("journal.dir", "journal")));
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to open the offline journal.", e);
+                    }
+                    Runtime.getRuntime().addShutdownHook(new Thread(current::shutdown, "journal-shutdown"));
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Adds a student, or journals it while the database is unreachable.
+     *
+     * @param student The student to add.
+     * @return The student with its database ID, or with a provisional (negative) ID if it was
+     *         journaled; null if it could not be saved at all.
+     */
+    public Student addStudent(Student student) {
+        if (!isOffline()) {
+            try {
+                return studentDAO.addStudent(student);
+            } catch (RuntimeException e) {
+                if (!isConnectionFailure(e)) {
+                    throw e;
+                }
+            }
+        }
+        long seq = journal(JournalRecord.ADD_STUDENT, JournalRecord.encode(student));
+        if (seq < 0) {
+            return null;
+        }
+        student.setStudentId(JournalRecord.provisionalId(seq));
+        return student;
+    }
+
+    /**
+     * Adds a payment, or journals it while the database is unreachable. Payments for a
+     * student with a provisional ID are always journaled, behind that student.
+     *
+     * @param payment The payment to add.
+     * @return The payment with its database ID, or with a provisional (negative) ID if it was
+     *         journaled; null if it could not be saved at all.
+     */
+    public Payment addPayment(Payment payment) {
+        if (!isOffline() && payment.getStudentId() > 0) {
+            try {
+                return paymentDAO.addPayment(payment);
+            } catch (RuntimeException e) {
+                if (!isConnectionFailure(e)) {
+                    throw e;
+                }
+            }
+        }
+        long seq = journal(JournalRecord.ADD_PAYMENT, JournalRecord.encode(payment));
+        if (seq < 0) {
+            return null;
+        }
+        payment.setPaymentId(JournalRecord.provisionalId(seq));
+        return payment;
+    }
+
+    /**
+     * Returns true while writes go to the journal rather than the database.
+     */
+    public synchronized boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Returns the number of journaled operations not yet replayed.
+     */
+    public long getPendingCount() {
+        return journal.getPendingCount();
+    }
+
+    /**
+     * Stops the replay thread and closes the journal. Pending operations stay on disk and are
+     * replayed after the next start.
+     */
+    public void shutdown() {
+        replayer.stop();
+        try {
+            replayThread.join(10_000);
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Called by the replayer when it found nothing left to replay.
+     */
+    synchronized void goOnlineIfDrained() {
+        if (offline && journal.getPendingCount() == 0) {
+            offline = false;
+        }
+    }
+
+    /**
+     * Appends and flushes an operation.
+     *
+     * @return Its sequence number, or -1 if the journal could not be written.
+     */
+    private long journal(byte type, byte[] payload) {
+        try {
+            long seq;
+            synchronized (this) {
+                offline = true;
+                seq = journal.append(type, payload);
+            }
+            journal.sync(seq); // Outside the lock, so concurrent writers share one flush.
+            replayer.wakeUp();
+            return seq;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * DBConnection wraps a failure to connect in a RuntimeException around the SQLException;
+     * the DAOs handle every other SQLException themselves.
+     */
+    private static boolean isConnectionFailure(RuntimeException e) {
+        return e.getCause() instanceof SQLException;
+    }
+}
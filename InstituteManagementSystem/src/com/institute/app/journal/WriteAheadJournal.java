@@ -0,0 +1,350 @@
+package com.institute.app.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only, memory-mapped log of records on the local disk.
+ *
+ * The log is a series of fixed-size segment files, `<first sequence number>.wal`. Each record
+ * is stored as `[int length][long seq][byte type][payload][int CRC32C]`, where the length and
+ * CRC cover `seq`, `type` and `payload`; a zero length marks the end of the written part.
+ * Appending only copies bytes into the mapped segment. {@link #sync(long)} makes them durable
+ * with group commit: one `force()` covers every record appended before it, so callers that
+ * sync at the same time share one disk flush.
+ *
+ * Sequence numbers start at 1 and are never reused, not even after the log is emptied:
+ * the `checkpoint` file remembers the last processed record across restarts. A torn record at
+ * the end of the last segment (a crash in the middle of an append) is detected by its CRC and
+ * discarded on open.
+ *
+ * All methods are thread-safe.
+ */
+public final class WriteAheadJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 4 + 8 + 1;   // length, seq, type
+    private static final int TRAILER_BYTES = 4;          // CRC32C
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final String journalId;
+    private final Object syncLock = new Object();
+    private final AtomicLong durableSeq = new AtomicLong();
+
+    // Segment files by first sequence number; the last one is the active segment.
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long lastSeq;
+    private long checkpointSeq;
+
+    // Read cursor, so consecutive reads continue where the previous one stopped.
+    private ByteBuffer readBuffer;
+    private long readSegment = -1;
+    private long readNextSeq;
+
+    /**
+     * Opens (or creates) the journal in a directory and recovers its state.
+     *
+     * @param directory    The directory holding the segment files.
+     * @param segmentBytes The size of each segment file; the largest record must fit into one.
+     * @throws IOException if the directory or a segment cannot be read or created.
+     */
+    public WriteAheadJournal(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        this.journalId = readOrCreateId(directory.resolve("journal.id"));
+
+        Path checkpointFile = directory.resolve("checkpoint");
+        if (Files.exists(checkpointFile)) {
+            checkpointSeq = Long.parseLong(Files.readString(checkpointFile, StandardCharsets.US_ASCII).trim());
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            lastSeq = checkpointSeq;
+            openSegment(checkpointSeq + 1, true);
+        } else {
+            lastSeq = segments.lastKey() - 1;
+            openSegment(segments.lastKey(), false);
+            recoverActiveSegment();
+        }
+        durableSeq.set(lastSeq);
+        deleteProcessedSegments();
+    }
+
+    /**
+     * Returns this journal's unique ID, created once per journal directory. Together with a
+     * sequence number it identifies a record across all desks.
+     */
+    public String getJournalId() {
+        return journalId;
+    }
+
+    /**
+     * Appends a record. It is in memory (and survives a crash of this process, but not of the
+     * machine) until {@link #sync(long)} has returned for its sequence number.
+     *
+     * @param type    An application-defined record type.
+     * @param payload The record data.
+     * @return The record's sequence number.
+     * @throws IOException if a new segment cannot be created.
+     */
+    public synchronized long append(byte type, byte[] payload) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length + TRAILER_BYTES;
+        if (recordBytes + 4 > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit into a journal segment.");
+        }
+        if (buffer.remaining() < recordBytes + 4) { // Keep room for the zero end marker.
+            roll();
+        }
+        long seq = lastSeq + 1;
+        int start = buffer.position();
+        buffer.putInt(8 + 1 + payload.length).putLong(seq).put(type).put(payload);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(start + 4).limit(buffer.position()));
+        buffer.putInt((int) crc.getValue());
+        lastSeq = seq;
+        return seq;
+    }
+
+    /**
+     * Blocks until the record with the given sequence number (and every record before it) is
+     * on disk. Concurrent callers are served by a single flush.
+     *
+     * @param seq A sequence number returned by {@link #append(byte, byte[])}.
+     * @throws IOException if the flush fails.
+     */
+    public void sync(long seq) throws IOException {
+        if (durableSeq.get() >= seq) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableSeq.get() >= seq) {
+                return; // Flushed by the caller that held the lock before us.
+            }
+            MappedByteBuffer target;
+            long upTo;
+            synchronized (this) {
+                target = buffer;
+                upTo = lastSeq;
+            }
+            try {
+                target.force(); // Runs without the append lock, so appends continue meanwhile.
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            durableSeq.accumulateAndGet(upTo, Math::max);
+        }
+    }
+
+    /**
+     * Reads records after a sequence number, in order.
+     *
+     * @param afterSeq Only records with a larger sequence number are returned.
+     * @param max      The maximum number of records to return.
+     * @return Up to `max` records; empty if there are none after `afterSeq`.
+     * @throws IOException if a segment cannot be read.
+     */
+    public synchronized List<JournalRecord> read(long afterSeq, int max) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        long nextSeq = Math.max(afterSeq, checkpointSeq) + 1;
+        while (records.size() < max && nextSeq <= lastSeq) {
+            positionReader(nextSeq);
+            while (records.size() < max && readNextSeq <= lastSeq && readBuffer.remaining() >= 4) {
+                int length = readBuffer.getInt(readBuffer.position());
+                if (length == 0) {
+                    break; // End of this segment.
+                }
+                readBuffer.getInt();
+                long seq = readBuffer.getLong();
+                byte type = readBuffer.get();
+                byte[] payload = new byte[length - 9];
+                readBuffer.get(payload);
+                readBuffer.getInt(); // CRC, checked when the segment was recovered or written by us.
+                records.add(new JournalRecord(seq, type, payload));
+                readNextSeq = seq + 1;
+            }
+            if (readNextSeq == nextSeq) {
+                throw new IOException("Journal record " + nextSeq + " is missing.");
+            }
+            nextSeq = readNextSeq;
+        }
+        return records;
+    }
+
+    /**
+     * Marks every record up to a sequence number as processed. They are not returned by
+     * {@link #read(long, int)} again, and segments holding only processed records are deleted.
+     *
+     * @param seq The last processed sequence number.
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    public synchronized void checkpoint(long seq) throws IOException {
+        if (seq <= checkpointSeq) {
+            return;
+        }
+        Path file = directory.resolve("checkpoint");
+        Path tmp = directory.resolve("checkpoint.tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(Long.toString(seq).getBytes(StandardCharsets.US_ASCII)));
+            out.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointSeq = seq;
+        deleteProcessedSegments();
+    }
+
+    /**
+     * Returns the sequence number of the newest record (0 if nothing was ever appended).
+     */
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Returns the number of records appended but not yet checkpointed.
+     */
+    public synchronized long getPendingCount() {
+        return lastSeq - checkpointSeq;
+    }
+
+    /**
+     * Flushes and closes the active segment.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // --- Segments ---
+
+    private void openSegment(long firstSeq, boolean create) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", firstSeq, SEGMENT_SUFFIX));
+        channel = create
+                ? FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segments.put(firstSeq, file);
+    }
+
+    private void roll() throws IOException {
+        buffer.force();
+        durableSeq.accumulateAndGet(lastSeq, Math::max);
+        channel.close();
+        openSegment(lastSeq + 1, true);
+    }
+
+    /**
+     * Finds the end of the active segment, validating every record, and zeroes anything
+     * after the last valid one.
+     */
+    private void recoverActiveSegment() {
+        long expectedSeq = segments.lastKey();
+        while (buffer.remaining() >= HEADER_BYTES + TRAILER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length < 9 || start + 4 + length + TRAILER_BYTES > buffer.limit()
+                    || buffer.getLong(start + 4) != expectedSeq) {
+                break;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().position(start + 4).limit(start + 4 + length));
+            if ((int) crc.getValue() != buffer.getInt(start + 4 + length)) {
+                break;
+            }
+            buffer.position(start + 4 + length + TRAILER_BYTES);
+            lastSeq = expectedSeq++;
+        }
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0); // Torn or stale bytes after the last valid record.
+            }
+        }
+    }
+
+    private void positionReader(long seq) throws IOException {
+        Map.Entry<Long, Path> segment = segments.floorEntry(seq);
+        if (segment == null) {
+            throw new IOException("Journal record " + seq + " is missing.");
+        }
+        if (readBuffer == null || readSegment != segment.getKey() || readNextSeq > seq) {
+            if (segment.getKey().equals(segments.lastKey())) {
+                readBuffer = buffer.duplicate();
+            } else {
+                try (FileChannel in = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                    readBuffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                }
+            }
+            readBuffer.position(0);
+            readSegment = segment.getKey();
+            readNextSeq = segment.getKey();
+        }
+        // In the active segment, only what has been appended so far; a segment that was active
+        // at the last read may have grown since.
+        readBuffer.limit(readSegment == segments.lastKey() ? buffer.position() : readBuffer.capacity());
+        while (readNextSeq < seq) {
+            readBuffer.position(readBuffer.position() + 4 + readBuffer.getInt(readBuffer.position()) + TRAILER_BYTES);
+            readNextSeq++;
+        }
+    }
+
+    private void deleteProcessedSegments() {
+        while (segments.size() > 1) {
+            Map.Entry<Long, Path> oldest = segments.firstEntry();
+            long nextFirst = segments.higherKey(oldest.getKey());
+            if (nextFirst - 1 > checkpointSeq) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(oldest.getValue());
+            } catch (IOException e) {
+                // Still mapped on some platforms; it is skipped now and deleted on a later open.
+                e.printStackTrace();
+            }
+            segments.remove(oldest.getKey());
+            if (readSegment == oldest.getKey()) {
+                readBuffer = null;
+                readSegment = -1;
+            }
+        }
+    }
+
+    private static String readOrCreateId(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return Files.readString(file, StandardCharsets.US_ASCII).trim();
+        }
+        String id = UUID.randomUUID().toString();
+        Files.writeString(file, id, StandardCharsets.US_ASCII);
+        return id;
+    }
+}
@@ -0,0 +1,148 @@
+package com.institute.app.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of per-operation metrics, published as JMX MBeans.
+ *
+ * Every operation appears in JConsole / VisualVM under
+ * `com.institute.app:type=Operations,name=<Class.method>` with its call count, error
+ * count and p50/p95/p99/max latencies.
+ */
+public final class Metrics {
+
+    /** The JMX domain all application MBeans are registered under. */
+    public static final String JMX_DOMAIN = "com.institute.app";
+
+    /** How deeply instrumented calls may nest on one thread before being ignored. */
+    private static final int MAX_DEPTH = 16;
+
+    private static final Map<String, OperationMetrics> OPERATIONS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<CallStack> CALL_STACK = ThreadLocal.withInitial(CallStack::new);
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private Metrics() {}
+
+    /**
+     * Returns the metrics for an operation, creating and registering them on first use.
+     * Call this once per operation and keep the result in a static field.
+     *
+     * @param name The operation name, by convention `ClassName.methodName`.
+     * @return The operation's metrics.
+     */
+    public static OperationMetrics operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, n -> {
+            OperationMetrics metrics = new OperationMetrics(n);
+            register("Operations", n, metrics);
+            return metrics;
+        });
+    }
+
+    /**
+     * Returns the metrics of every operation registered so far.
+     */
+    public static List<OperationMetrics> getAllOperations() {
+        return new ArrayList<>(OPERATIONS.values());
+    }
+
+    /**
+     * Returns the innermost operation running on the current thread.
+     *
+     * @return The operation, or null if the thread is not inside an instrumented call.
+     */
+    public static OperationMetrics currentOperation() {
+        return CALL_STACK.get().peek();
+    }
+
+    /**
+     * Marks the call running on the current thread as failed; the operation counts one error
+     * when the call stops, however many times this is called during it. Used in catch blocks,
+     * including those of shared helpers that do not know which operation called them.
+     * Does nothing outside an instrumented call.
+     */
+    public static void recordError() {
+        CALL_STACK.get().fail();
+    }
+
+    /**
+     * Registers an MBean under {@link #JMX_DOMAIN}, replacing any bean with the same name.
+     * Failures are logged and otherwise ignored; metrics must never break the application.
+     *
+     * @param type The MBean type key, e.g. "Operations".
+     * @param name The MBean name key.
+     * @param bean The MBean (a class implementing a matching `*MBean` interface).
+     */
+    public static void register(String type, String name, Object bean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(bean, objectName);
+        } catch (JMException | SecurityException e) {
+            e.printStackTrace();
+        }
+    }
+
+    static void push(OperationMetrics operation) {
+        CALL_STACK.get().push(operation);
+    }
+
+    /**
+     * Leaves the innermost call.
+     *
+     * @return true if {@link #recordError()} was called during it.
+     */
+    static boolean pop() {
+        return CALL_STACK.get().pop();
+    }
+
+    /**
+     * The instrumented calls in progress on one thread. Allocated once per thread, so
+     * entering and leaving a call does not allocate.
+     */
+    private static final class CallStack {
+        private final OperationMetrics[] operations = new OperationMetrics[MAX_DEPTH];
+        private final boolean[] failed = new boolean[MAX_DEPTH];
+        private int depth;
+
+        void push(OperationMetrics operation) {
+            if (depth < MAX_DEPTH) {
+                operations[depth] = operation;
+                failed[depth] = false;
+            }
+            depth++;
+        }
+
+        boolean pop() {
+            if (depth > 0) {
+                depth--;
+                if (depth < MAX_DEPTH) {
+                    operations[depth] = null;
+                    return failed[depth];
+                }
+            }
+            return false;
+        }
+
+        void fail() {
+            if (depth > 0) {
+                failed[Math.min(depth, MAX_DEPTH) - 1] = true;
+            }
+        }
+
+        OperationMetrics peek() {
+            return depth == 0 ? null : operations[Math.min(depth, MAX_DEPTH) - 1];
+        }
+    }
+}
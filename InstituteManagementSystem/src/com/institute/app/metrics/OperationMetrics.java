@@ -0,0 +1,140 @@
+package com.institute.app.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram for one operation, e.g. `StudentDAO.getStudentById`.
+ *
+ * Instances are created once through {@link Metrics#operation(String)} and kept in a
+ * static field. A call is measured like this:
+ * <pre>
+ * long startNanos = GET_STUDENT_BY_ID.start();
+ * try {
+ *     ...
+ * } catch (SQLException e) {
+ *     Metrics.recordError();
+ *     ...
+ * } catch (RuntimeException | Error e) {
+ *     Metrics.recordError();
+ *     throw e;
+ * } finally {
+ *     GET_STUDENT_BY_ID.stop(startNanos);
+ * }
+ * </pre>
+ * Every failure must reach {@link Metrics#recordError()}, including unchecked exceptions
+ * such as DBConnection's "cannot connect"; a call counts at most one error however many
+ * catch blocks record it. Neither call allocates. While a call is running the operation is the thread's
+ * {@link Metrics#currentOperation() current operation}, so shared helpers can attribute
+ * errors to it.
+ */
+public final class OperationMetrics implements OperationMetricsMBean {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Marks the start of a call.
+     *
+     * @return The start time to pass to {@link #stop(long)}.
+     */
+    public long start() {
+        Metrics.push(this);
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a call started with {@link #start()} and records its duration,
+     * counting an error if {@link Metrics#recordError()} was called during it.
+     *
+     * @param startNanos The value returned by {@link #start()}.
+     */
+    public void stop(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+        if (Metrics.pop()) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Leaves a call started with {@link #start()} without timing it yet, for calls that hand
+     * back a lazily-read result (such as a stream of rows) whose work goes on after they
+     * return. Time it with {@link #finish(long, boolean)} once that result is closed.
+     *
+     * @return true if {@link Metrics#recordError()} was called during the call so far.
+     */
+    public boolean detach() {
+        return Metrics.pop();
+    }
+
+    /**
+     * Records the duration of a call left with {@link #detach()}, and an error if it failed.
+     *
+     * @param startNanos The value returned by {@link #start()}.
+     * @param failed     Whether the call, including reading its result, failed.
+     */
+    public void finish(long startNanos, boolean failed) {
+        latency.record(System.nanoTime() - startNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMeanNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getValueAtPercentile(50.0) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP95Millis() {
+        return latency.getValueAtPercentile(95.0) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getValueAtPercentile(99.0) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMaxNanos() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        errors.reset();
+        latency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s calls=%d errors=%d p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                name, getCalls(), getErrors(), getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis());
+    }
+}
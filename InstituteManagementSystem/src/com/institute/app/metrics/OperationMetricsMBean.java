@@ -0,0 +1,28 @@
+package com.institute.app.metrics;
+
+/**
+ * JMX view of one instrumented operation. Latencies are in milliseconds.
+ */
+public interface OperationMetricsMBean {
+
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    /**
+     * Clears the counters and the histogram.
+     */
+    void reset();
+}
@@ -0,0 +1,42 @@
+package com.institute.app.models;
+
+/**
+ * Two student records that probably describe the same person, with how alike they are.
+ * Instances are immutable.
+ */
+public class DuplicatePair {
+
+    private final Student first;
+    private final Student second;
+    private final double score;
+
+    /**
+     * @param first  The record with the lower student_id.
+     * @param second The record with the higher student_id.
+     * @param score  The similarity, from 0 (nothing alike) to 1 (same name, birth date and phone).
+     */
+    public DuplicatePair(Student first, Student second, double score) {
+        this.first = first;
+        this.second = second;
+        this.score = score;
+    }
+
+    // --- Getters ---
+
+    public Student getFirst() {
+        return first;
+    }
+
+    public Student getSecond() {
+        return second;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s / %s (%.2f)", first, second, score);
+    }
+}
@@ -0,0 +1,74 @@
+package com.institute.app.models;
+
+import java.util.Date;
+
+/**
+ * Represents a student's enrollment in a course.
+ */
+public class Enrollment {
+    private int enrollmentId;
+    private int studentId;
+    private int courseId;
+    private Date enrollmentDate;
+    private String grade; // Optional: final grade, e.g. "A+", "B", "F"
+
+    // Default constructor
+    public Enrollment() {
+    }
+
+    // Constructor with all fields
+    public Enrollment(int enrollmentId, int studentId, int courseId, Date enrollmentDate, String grade) {
+        this.enrollmentId = enrollmentId;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.enrollmentDate = enrollmentDate;
+        this.grade = grade;
+    }
+
+    // --- Getters and Setters ---
+
+    public int getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(int enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public Date getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public void setEnrollmentDate(Date enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public void setGrade(String grade) {
+        this.grade = grade;
+    }
+
+    @Override
+    public String toString() {
+        return "Enrollment [Student: " + studentId + ", Course: " + courseId + ", Date: " + enrollmentDate + "]";
+    }
+}
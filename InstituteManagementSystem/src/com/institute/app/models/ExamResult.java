@@ -0,0 +1,74 @@
+package com.institute.app.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the marks a student obtained in an exam.
+ */
+public class ExamResult {
+    private int resultId;
+    private int examId;
+    private int studentId;
+    private BigDecimal marksObtained;
+    private String comments;
+
+    // Default constructor
+    public ExamResult() {
+    }
+
+    // Constructor with all fields
+    public ExamResult(int resultId, int examId, int studentId, BigDecimal marksObtained, String comments) {
+        this.resultId = resultId;
+        this.examId = examId;
+        this.studentId = studentId;
+        this.marksObtained = marksObtained;
+        this.comments = comments;
+    }
+
+    // --- Getters and Setters ---
+
+    public int getResultId() {
+        return resultId;
+    }
+
+    public void setResultId(int resultId) {
+        this.resultId = resultId;
+    }
+
+    public int getExamId() {
+        return examId;
+    }
+
+    public void setExamId(int examId) {
+        this.examId = examId;
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(int studentId) {
+        this.studentId = studentId;
+    }
+
+    public BigDecimal getMarksObtained() {
+        return marksObtained;
+    }
+
+    public void setMarksObtained(BigDecimal marksObtained) {
+        this.marksObtained = marksObtained;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+
+    @Override
+    public String toString() {
+        return "Result [Exam: " + examId + ", Student: " + studentId + ", Marks: " + marksObtained + "]";
+    }
+}
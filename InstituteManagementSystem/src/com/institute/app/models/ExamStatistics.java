@@ -0,0 +1,110 @@
+package com.institute.app.models;
+
+/**
+ * Summary statistics of one exam's marks, computed by
+ * {@link com.institute.app.services.ExamStatisticsService}.
+ *
+ * Percentiles interpolate linearly between the two nearest marks (the same definition as
+ * a spreadsheet's PERCENTILE.INC). The standard deviation is that of the whole cohort
+ * (population standard deviation). All values are 0 for an exam without results.
+ */
+public class ExamStatistics {
+    private final int examId;
+    private final String examName;
+    private final int maxMarks;
+    private final int count;
+    private final double mean;
+    private final double standardDeviation;
+    private final double min;
+    private final double max;
+    private final double median;
+    private final double[] percentiles;   // One value per ExamStatisticsService.PERCENTILES rank
+    private final int[] histogram;        // Equal-width bins from 0 to maxMarks
+    private final String[] gradeLabels;
+    private final int[] gradeCounts;      // Parallel to gradeLabels
+
+    // Constructor with all fields
+    public ExamStatistics(int examId, String examName, int maxMarks, int count, double mean, double standardDeviation,
+                          double min, double max, double median, double[] percentiles, int[] histogram,
+                          String[] gradeLabels, int[] gradeCounts) {
+        this.examId = examId;
+        this.examName = examName;
+        this.maxMarks = maxMarks;
+        this.count = count;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.min = min;
+        this.max = max;
+        this.median = median;
+        this.percentiles = percentiles;
+        this.histogram = histogram;
+        this.gradeLabels = gradeLabels;
+        this.gradeCounts = gradeCounts;
+    }
+
+    // --- Getters ---
+
+    public int getExamId() {
+        return examId;
+    }
+
+    public String getExamName() {
+        return examName;
+    }
+
+    public int getMaxMarks() {
+        return maxMarks;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    /**
+     * Returns the percentiles, in the order of {@link com.institute.app.services.ExamStatisticsService#PERCENTILES}.
+     */
+    public double[] getPercentiles() {
+        return percentiles.clone();
+    }
+
+    /**
+     * Returns the number of marks per bin; bin i covers [i, i + 1) * maxMarks / bins, and
+     * the last bin includes maxMarks itself.
+     */
+    public int[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public String[] getGradeLabels() {
+        return gradeLabels.clone();
+    }
+
+    public int[] getGradeCounts() {
+        return gradeCounts.clone();
+    }
+
+    @Override
+    public String toString() {
+        return examName + " [n=" + count + ", mean=" + String.format("%.2f", mean) + ", median=" + median + "]";
+    }
+}
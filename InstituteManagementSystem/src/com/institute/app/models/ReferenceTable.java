@@ -0,0 +1,104 @@
+package com.institute.app.models;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable id/name lookup table for a small reference table such as `roles` or
+ * `payment_methods`.
+ *
+ * Names are stored in an array indexed directly by ID, so {@link #getName(int)} is a
+ * bounds check and an array read. Name-to-ID lookups use a hash map and ignore case.
+ */
+public class ReferenceTable {
+    private final String tableName;
+    private final String[] namesById;
+    private final int[] ids;
+    private final Map<String, Integer> idsByName;
+
+    /**
+     * @param tableName The source table, for messages (e.g., "roles").
+     * @param ids       The row IDs; must be non-negative.
+     * @param names     The row names, in the same order as `ids`.
+     */
+    public ReferenceTable(String tableName, int[] ids, String[] names) {
+        if (ids.length != names.length) {
+            throw new IllegalArgumentException("Every ID needs exactly one name.");
+        }
+        int maxId = -1;
+        for (int id : ids) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Reference IDs must not be negative: " + id);
+            }
+            maxId = Math.max(maxId, id);
+        }
+        this.tableName = tableName;
+        this.ids = ids.clone();
+        this.namesById = new String[maxId + 1];
+        Map<String, Integer> byName = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            namesById[ids[i]] = names[i];
+            byName.put(normalize(names[i]), ids[i]);
+        }
+        this.idsByName = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Returns the name for an ID.
+     *
+     * @param id The row ID.
+     * @return The name, or null if there is no such ID.
+     */
+    public String getName(int id) {
+        return id >= 0 && id < namesById.length ? namesById[id] : null;
+    }
+
+    /**
+     * Returns the name for a nullable ID (as stored on {@link Payment#getPaymentMethodId()}).
+     *
+     * @return The name, or null if the ID is null or unknown.
+     */
+    public String getName(Integer id) {
+        return id == null ? null : getName(id.intValue());
+    }
+
+    /**
+     * Returns the ID for a name, ignoring case and surrounding whitespace.
+     *
+     * @param name The name to look up (e.g., "Cash").
+     * @return The ID, or -1 if there is no such name.
+     */
+    public int getId(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer id = idsByName.get(normalize(name));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns all IDs in the order they were loaded (a copy).
+     */
+    public int[] getIds() {
+        return ids.clone();
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return tableName + " (" + ids.length + " rows)";
+    }
+}
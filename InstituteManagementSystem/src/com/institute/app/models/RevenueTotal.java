@@ -0,0 +1,75 @@
+package com.institute.app.models;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Aggregated revenue for one group: a day, a month, a course or a payment method.
+ */
+public class RevenueTotal {
+    private String label;
+    private Date periodStart; // Set for day and month totals
+    private Integer groupId;  // Course or payment method ID; null for "none" and for periods
+    private long paymentCount;
+    private BigDecimal totalAmount;
+
+    // Default constructor
+    public RevenueTotal() {
+    }
+
+    // Constructor with all fields
+    public RevenueTotal(String label, Date periodStart, Integer groupId, long paymentCount, BigDecimal totalAmount) {
+        this.label = label;
+        this.periodStart = periodStart;
+        this.groupId = groupId;
+        this.paymentCount = paymentCount;
+        this.totalAmount = totalAmount;
+    }
+
+    // --- Getters and Setters ---
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Date getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(Date periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public Integer getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Integer groupId) {
+        this.groupId = groupId;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    @Override
+    public String toString() {
+        return label + ": " + totalAmount + " (" + paymentCount + " payments)";
+    }
+}
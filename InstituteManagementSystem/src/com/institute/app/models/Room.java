@@ -0,0 +1,52 @@
+package com.institute.app.models;
+
+/**
+ * Represents a room where classes are held.
+ */
+public class Room {
+    private int roomId;
+    private String roomName;
+    private Integer capacity; // Optional: number of seats
+
+    // Default constructor
+    public Room() {
+    }
+
+    // Constructor with all fields
+    public Room(int roomId, String roomName, Integer capacity) {
+        this.roomId = roomId;
+        this.roomName = roomName;
+        this.capacity = capacity;
+    }
+
+    // --- Getters and Setters ---
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(int roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public void setRoomName(String roomName) {
+        this.roomName = roomName;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String toString() {
+        return roomName;
+    }
+}
@@ -0,0 +1,55 @@
+package com.institute.app.models;
+
+/**
+ * One result of a quick search over students, teachers and courses. Instances are immutable.
+ */
+public class SearchHit {
+
+    /**
+     * The table the result comes from.
+     */
+    public enum Type {
+        STUDENT, TEACHER, COURSE
+    }
+
+    private final Type type;
+    private final int id;
+    private final String label;
+    private final int score;
+
+    public SearchHit(Type type, int id, String label, int score) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.score = score;
+    }
+
+    // --- Getters ---
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the student_id, teacher_id or course_id, depending on {@link #getType()}.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the match quality; higher is better. Only comparable within one query.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + id + ": " + label;
+    }
+}
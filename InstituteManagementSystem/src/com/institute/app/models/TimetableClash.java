@@ -0,0 +1,44 @@
+package com.institute.app.models;
+
+/**
+ * Two timetable sessions that overlap in time and share a teacher, a room or a student group.
+ * Instances are immutable.
+ */
+public class TimetableClash {
+
+    /**
+     * The resource the two sessions both need.
+     */
+    public enum Resource {
+        TEACHER, ROOM, STUDENT_GROUP
+    }
+
+    private final Resource resource;
+    private final TimetableSession first;
+    private final TimetableSession second;
+
+    public TimetableClash(Resource resource, TimetableSession first, TimetableSession second) {
+        this.resource = resource;
+        this.first = first;
+        this.second = second;
+    }
+
+    // --- Getters ---
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    public TimetableSession getFirst() {
+        return first;
+    }
+
+    public TimetableSession getSecond() {
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        return resource + " clash: " + first + " / " + second;
+    }
+}
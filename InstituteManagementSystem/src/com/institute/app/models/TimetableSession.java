@@ -0,0 +1,97 @@
+package com.institute.app.models;
+
+import java.util.Date;
+
+/**
+ * Represents one scheduled class meeting of a course: who teaches it, where, for which
+ * student group, and when. The session runs from its start time (inclusive) to its end
+ * time (exclusive), so back-to-back sessions do not clash.
+ */
+public class TimetableSession {
+    private int sessionId;
+    private int courseId;
+    private Integer teacherId; // Foreign key to teachers table
+    private Integer roomId; // Foreign key to rooms table
+    private String studentGroup; // Optional: class or batch attending, e.g. "BSc-CS-1A"
+    private Date startTime;
+    private Date endTime;
+
+    // Default constructor
+    public TimetableSession() {
+    }
+
+    // Constructor with all fields
+    public TimetableSession(int sessionId, int courseId, Integer teacherId, Integer roomId, String studentGroup,
+                            Date startTime, Date endTime) {
+        this.sessionId = sessionId;
+        this.courseId = courseId;
+        this.teacherId = teacherId;
+        this.roomId = roomId;
+        this.studentGroup = studentGroup;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // --- Getters and Setters ---
+
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(int sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(Integer teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public Integer getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Integer roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getStudentGroup() {
+        return studentGroup;
+    }
+
+    public void setStudentGroup(String studentGroup) {
+        this.studentGroup = studentGroup;
+    }
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Date startTime) {
+        this.startTime = startTime;
+    }
+
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Date endTime) {
+        this.endTime = endTime;
+    }
+
+    @Override
+    public String toString() {
+        return "Session " + sessionId + " [Course: " + courseId + ", " + startTime + " - " + endTime + "]";
+    }
+}
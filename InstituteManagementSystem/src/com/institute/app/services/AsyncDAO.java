@@ -0,0 +1,152 @@
+package com.institute.app.services;
+
+import com.institute.app.config.AppSettings;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs DAO calls off the Swing Event Dispatch Thread and hands back a CompletableFuture.
+ *
+ * Usage from a Swing handler:
+ * <pre>
+ * AsyncDAO.of(new StudentDAO())
+ *         .call(dao -> dao.getStudentById(id))
+ *         .whenCompleteAsync((student, error) -> showStudent(student), AsyncDAO.EDT);
+ * </pre>
+ *
+ * - Calls run on virtual threads when the JVM supports them (Java 21+), otherwise on
+ *   daemon platform threads.
+ * - Each DAO class may run at most `async.maxConcurrentPerDao` calls at once, so one busy
+ *   screen cannot take every pooled connection.
+ * - Cancelling the returned future interrupts the call; a call still waiting for a
+ *   permit is dropped without touching the database.
+ * - {@link #EDT} runs completion callbacks on the Event Dispatch Thread.
+ *
+ * @param <D> The DAO type.
+ */
+public final class AsyncDAO<D> {
+
+    /** Runs callbacks on the Swing Event Dispatch Thread, e.g. with `whenCompleteAsync`. */
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final int MAX_CONCURRENT_PER_DAO = Math.max(AppSettings.getInt("async.maxConcurrentPerDao", 4), 1);
+    private static final Map<String, Semaphore> PERMITS = new ConcurrentHashMap<>();
+
+    private final D dao;
+    private final String name;
+    private final Semaphore permits;
+
+    private AsyncDAO(D dao, String name) {
+        this.dao = dao;
+        this.name = name;
+        this.permits = PERMITS.computeIfAbsent(name, n -> new Semaphore(MAX_CONCURRENT_PER_DAO, true));
+    }
+
+    /**
+     * Wraps a DAO. All wrappers of the same DAO class share one concurrency limit.
+     *
+     * @param dao The DAO to call asynchronously.
+     * @return An asynchronous facade for the DAO.
+     */
+    public static <D> AsyncDAO<D> of(D dao) {
+        return new AsyncDAO<>(dao, dao.getClass().getSimpleName());
+    }
+
+    /**
+     * Runs a DAO operation in the background.
+     *
+     * @param operation The call to make, e.g. `dao -> dao.getAllCourses()`.
+     * @return A future completed with the operation's result, or exceptionally with its error.
+     */
+    public <T> CompletableFuture<T> call(Function<? super D, ? extends T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return; // Cancelled before it started.
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                result.completeExceptionally(new CancellationException(name + " call was cancelled while waiting."));
+                return;
+            }
+            try {
+                if (!result.isDone()) {
+                    result.complete(operation.apply(dao));
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                permits.release();
+            }
+        });
+        // Propagate cancellation to the worker so a waiting call never reaches the database.
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs a DAO operation that returns nothing (or whose result is not needed).
+     */
+    public CompletableFuture<Void> run(Consumer<? super D> operation) {
+        return call(d -> {
+            operation.accept(d);
+            return null;
+        });
+    }
+
+    /**
+     * Convenience for the common Swing case: run a callback on the Event Dispatch Thread
+     * with either the result or the error.
+     *
+     * @param future    The future returned by {@link #call(Function)}.
+     * @param onSuccess Receives the result on the EDT.
+     * @param onFailure Receives the (unwrapped) error on the EDT; not called on cancellation.
+     */
+    public static <T> void onEdt(CompletableFuture<T> future, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        future.whenCompleteAsync((value, error) -> {
+            if (error == null) {
+                onSuccess.accept(value);
+            } else if (!(error instanceof CancellationException)) {
+                onFailure.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        }, EDT);
+    }
+
+    /**
+     * Uses `Executors.newVirtualThreadPerTaskExecutor()` when the running JVM has it.
+     * It is looked up reflectively so the application still builds and runs on older JDKs.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "dao-async-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.institute.app.services;
 
+import com.institute.app.models.RevenueTotal;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -11,6 +12,7 @@ import org.jfree.data.general.DefaultPieDataset;
 import javax.swing.JPanel;
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.util.List;
 import org.jfree.chart.plot.PiePlot;
 
 /**
@@ -101,6 +103,22 @@ public class ChartService {
         return createChartPanel(lineChart);
     }
 
+    /**
+     * Builds a dataset for {@link #createLineChart} or {@link #createBarChart} from revenue
+     * totals (see {@link com.institute.app.dao.RevenueDAO}), one category per total, in order.
+     *
+     * @param seriesName The name of the series, shown in the legend (e.g., "Revenue").
+     * @param totals     The totals to plot.
+     * @return A dataset with one value per total.
+     */
+    public DefaultCategoryDataset createRevenueDataset(String seriesName, List<RevenueTotal> totals) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (RevenueTotal total : totals) {
+            dataset.addValue(total.getTotalAmount(), seriesName, total.getLabel());
+        }
+        return dataset;
+    }
+
     /**
      * Helper method to create a standardized JPanel for a JFreeChart.
      *
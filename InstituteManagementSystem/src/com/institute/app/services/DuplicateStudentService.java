@@ -0,0 +1,155 @@
+package com.institute.app.services;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.dao.EntityChangeListener;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.dedup.DuplicateDetector;
+import com.institute.app.models.DuplicatePair;
+import com.institute.app.models.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Finds students entered more than once (see {@link DuplicateDetector}): on demand over the
+ * whole table, before saving a new student, and on every student saved, e.g. by a bulk import.
+ *
+ * The detector is loaded at login (see {@link #startLoading()}) and follows the
+ * {@link StudentDAO#CHANGES} listener afterwards. Every saved student that matches an
+ * existing one is kept in {@link #getFlagged()} for review. Writes that arrive while the
+ * detector is loading are replayed on it before it is used, like in {@link SearchService}.
+ *
+ * Tuned by `dedup.threshold`, `dedup.window` and `dedup.maxBlockSize`.
+ */
+public final class DuplicateStudentService {
+
+    private static final double THRESHOLD = AppSettings.getDouble("dedup.threshold", 0.8);
+    private static final int WINDOW = AppSettings.getInt("dedup.window", 8);
+    private static final int MAX_BLOCK_SIZE = AppSettings.getInt("dedup.maxBlockSize", 500);
+
+    private static volatile DuplicateDetector detector;
+    // Non-null while loading: the changes to replay on the new detector. Guarded by the class.
+    private static List<Consumer<DuplicateDetector>> pending;
+    private static final List<DuplicatePair> flagged = new CopyOnWriteArrayList<>();
+    // Serializes loads, so only one set of pending changes exists at a time.
+    private static final Object LOAD_LOCK = new Object();
+
+    static {
+        StudentDAO.CHANGES.add(new EntityChangeListener<Student>() {
+            @Override
+            public void saved(Student student) {
+                apply(current -> {
+                    List<DuplicatePair> matches = current.add(student);
+                    if (current == detector) {
+                        // Only the detector in use flags; a replay on a newly loaded one does not repeat it.
+                        flagged.addAll(matches);
+                    }
+                });
+            }
+
+            @Override
+            public void deleted(int id) {
+                apply(current -> current.remove(id));
+                flagged.removeIf(pair -> pair.getFirst().getStudentId() == id || pair.getSecond().getStudentId() == id);
+            }
+        });
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private DuplicateStudentService() {}
+
+    /**
+     * Reads all students and loads a new detector in the background.
+     *
+     * @return Completes once the new detector is in use.
+     */
+    public static CompletableFuture<Void> startLoading() {
+        return CompletableFuture.runAsync(DuplicateStudentService::load);
+    }
+
+    /**
+     * Scans the whole table in parallel, loading it first if needed. Blocks; run it off the
+     * Event Dispatch Thread.
+     *
+     * @return Every likely duplicate pair, best first.
+     */
+    public static List<DuplicatePair> scanAll() {
+        return loaded().findAll();
+    }
+
+    /**
+     * Returns the existing students a new (not yet saved) student probably duplicates, best
+     * first, so the user can be warned before saving.
+     */
+    public static List<DuplicatePair> findDuplicatesOf(Student student) {
+        return loaded().findMatches(student);
+    }
+
+    /**
+     * Returns the pairs found as students were saved since the detector was first loaded,
+     * oldest first.
+     */
+    public static List<DuplicatePair> getFlagged() {
+        return new ArrayList<>(flagged);
+    }
+
+    /**
+     * Forgets the flagged pairs, e.g. once they have been reviewed.
+     */
+    public static void clearFlagged() {
+        flagged.clear();
+    }
+
+    private static DuplicateDetector loaded() {
+        DuplicateDetector current = detector;
+        if (current == null) {
+            synchronized (LOAD_LOCK) {
+                if (detector == null) {
+                    load();
+                }
+                current = detector;
+            }
+        }
+        return current;
+    }
+
+    private static void load() {
+        synchronized (LOAD_LOCK) {
+            synchronized (DuplicateStudentService.class) {
+                pending = new ArrayList<>();
+            }
+            DuplicateDetector loading = new DuplicateDetector(THRESHOLD, WINDOW, MAX_BLOCK_SIZE);
+            try {
+                List<Student> students = new ArrayList<>();
+                new StudentDAO().forEachStudent(students::add);
+                loading.load(students);
+            } catch (RuntimeException e) {
+                synchronized (DuplicateStudentService.class) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (DuplicateStudentService.class) {
+                for (Consumer<DuplicateDetector> change : pending) {
+                    change.accept(loading);
+                }
+                pending = null;
+                detector = loading;
+            }
+        }
+    }
+
+    private static synchronized void apply(Consumer<DuplicateDetector> change) {
+        if (detector != null) {
+            change.accept(detector);
+        }
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+}
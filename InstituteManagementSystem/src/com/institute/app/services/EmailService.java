@@ -1,5 +1,8 @@
 package com.institute.app.services;
 
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
+
 import javax.mail.*;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
@@ -17,6 +20,9 @@ import java.util.stream.Collectors;
  */
 public class EmailService {
 
+    private static final OperationMetrics SEND_EMAIL = Metrics.operation("EmailService.sendEmail");
+    private static final OperationMetrics LOAD_EMAIL_TEMPLATE = Metrics.operation("EmailService.loadEmailTemplate");
+
     private final Properties emailProps;
     private final Authenticator authenticator;
     private final String fromEmail;
@@ -65,6 +71,7 @@ public class EmailService {
         // Create a mail session with the loaded properties and authenticator.
         Session session = Session.getInstance(emailProps, authenticator);
 
+        long startNanos = SEND_EMAIL.start();
         try {
             // Create a new MimeMessage object.
             Message message = new MimeMessage(session);
@@ -84,9 +91,15 @@ public class EmailService {
             return true;
 
         } catch (MessagingException e) {
+            Metrics.recordError();
             e.printStackTrace();
             System.err.println("Failed to send email: " + e.getMessage());
             return false;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            SEND_EMAIL.stop(startNanos);
         }
     }
 
@@ -99,6 +112,7 @@ public class EmailService {
      */
     public String loadEmailTemplate(String templateName) throws IOException {
         String resourcePath = "/email-templates/" + templateName; // Note the leading slash for resource loading
+        long startNanos = LOAD_EMAIL_TEMPLATE.start();
         try (InputStream inputStream = EmailService.class.getResourceAsStream(resourcePath)) {
             if (inputStream == null) {
                 throw new IOException("Template file not found: " + resourcePath);
@@ -106,6 +120,11 @@ public class EmailService {
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
                 return reader.lines().collect(Collectors.joining(System.lineSeparator()));
             }
+        } catch (IOException | RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            LOAD_EMAIL_TEMPLATE.stop(startNanos);
         }
     }
 }
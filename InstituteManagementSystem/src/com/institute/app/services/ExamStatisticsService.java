@@ -0,0 +1,294 @@
+package com.institute.app.services;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.dao.ExamDAO;
+import com.institute.app.dao.ExamResultDAO;
+import com.institute.app.models.Exam;
+import com.institute.app.models.ExamStatistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes mark statistics (mean, standard deviation, median, percentiles, histogram and
+ * grade distribution) for many exams at once, e.g. every exam of a term for the reports screen.
+ *
+ * - Marks are loaded as primitive `double[]` arrays with one query per 500 exams
+ *   ({@link ExamResultDAO#getMarksForExams}); no per-row objects are created.
+ * - Each exam's moments, extremes, histogram and grades come from a single pass over its
+ *   array; the median and percentiles are found with quickselect, in expected O(n) time,
+ *   without sorting.
+ * - Exams are processed in parallel on the common fork-join pool, split until a task holds
+ *   one exam or fewer than {@value #SEQUENTIAL_MARKS} marks.
+ *
+ * Grades are configured by `stats.grades` (label:minimum percentage of max_marks, highest
+ * first) and the histogram by `stats.histogramBins`.
+ */
+public class ExamStatisticsService {
+
+    /** The percentile ranks reported by {@link ExamStatistics#getPercentiles()}. */
+    public static final double[] PERCENTILES = {0.10, 0.25, 0.75, 0.90};
+
+    // Below this many marks a task is computed directly instead of being split further.
+    private static final int SEQUENTIAL_MARKS = 50_000;
+    // Ranges this small are finished with insertion sort inside quickselect.
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private static final int HISTOGRAM_BINS = Math.max(AppSettings.getInt("stats.histogramBins", 10), 1);
+    private static final String[] GRADE_LABELS;
+    private static final double[] GRADE_MINIMUMS; // Percentages, highest first
+
+    static {
+        String[] entries = AppSettings.get("stats.grades", "A:90,B:75,C:60,D:50,F:0").split(",");
+        List<String> labels = new ArrayList<>();
+        List<Double> minimums = new ArrayList<>();
+        for (String entry : entries) {
+            String[] parts = entry.trim().split(":");
+            try {
+                double minimum = Double.parseDouble(parts[1].trim());
+                if (!minimums.isEmpty() && minimum >= minimums.get(minimums.size() - 1)) {
+                    throw new NumberFormatException("grades must be listed highest first");
+                }
+                labels.add(parts[0].trim());
+                minimums.add(minimum);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                System.err.println("Ignoring invalid stats.grades entry '" + entry + "': " + e.getMessage());
+            }
+        }
+        GRADE_LABELS = labels.toArray(new String[0]);
+        GRADE_MINIMUMS = minimums.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private final ExamDAO examDAO = new ExamDAO();
+    private final ExamResultDAO examResultDAO = new ExamResultDAO();
+
+    /**
+     * Computes the statistics of every exam held in a period.
+     *
+     * @param from The start of the period (inclusive).
+     * @param to   The end of the period (exclusive).
+     * @return One entry per exam, oldest first.
+     */
+    public List<ExamStatistics> getStatisticsForPeriod(Date from, Date to) {
+        return getStatistics(examDAO.getExamsBetween(from, to));
+    }
+
+    /**
+     * Computes the statistics of the given exams.
+     *
+     * @param exams The exams; their max_marks scale the histogram and grades.
+     * @return One entry per exam, in the same order.
+     */
+    public List<ExamStatistics> getStatistics(List<Exam> exams) {
+        List<Integer> ids = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            ids.add(exam.getExamId());
+        }
+        Map<Integer, double[]> marks = examResultDAO.getMarksForExams(ids);
+
+        Exam[] examArray = exams.toArray(new Exam[0]);
+        double[][] markArrays = new double[examArray.length][];
+        for (int i = 0; i < examArray.length; i++) {
+            markArrays[i] = marks.getOrDefault(examArray[i].getExamId(), new double[0]);
+        }
+        ExamStatistics[] results = new ExamStatistics[examArray.length];
+        ForkJoinPool.commonPool().invoke(new StatisticsTask(examArray, markArrays, results, 0, examArray.length));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Computes one exam's statistics.
+     *
+     * @param exam  The exam.
+     * @param marks The marks obtained; reordered in place by the percentile selection.
+     * @return The statistics.
+     */
+    public static ExamStatistics compute(Exam exam, double[] marks) {
+        int n = marks.length;
+        int maxMarks = exam.getMaxMarks();
+        int[] histogram = new int[HISTOGRAM_BINS];
+        int[] gradeCounts = new int[GRADE_LABELS.length];
+        if (n == 0) {
+            return new ExamStatistics(exam.getExamId(), exam.getExamName(), maxMarks, 0, 0, 0, 0, 0, 0,
+                    new double[PERCENTILES.length], histogram, GRADE_LABELS.clone(), gradeCounts);
+        }
+
+        // Single pass: Welford's running mean and squared deviations, extremes, bins and grades.
+        double mean = 0;
+        double m2 = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double binScale = maxMarks > 0 ? HISTOGRAM_BINS / (double) maxMarks : 0;
+        double percentScale = maxMarks > 0 ? 100.0 / maxMarks : 0;
+        for (int i = 0; i < n; i++) {
+            double x = marks[i];
+            double delta = x - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (x - mean);
+            if (x < min) {
+                min = x;
+            }
+            if (x > max) {
+                max = x;
+            }
+            int bin = (int) (x * binScale);
+            histogram[Math.max(0, Math.min(bin, HISTOGRAM_BINS - 1))]++;
+            if (gradeCounts.length > 0) {
+                gradeCounts[gradeOf(x * percentScale)]++;
+            }
+        }
+
+        // Order statistics, lowest rank first: each selection leaves everything at or above
+        // its index no smaller, so the next one only has to search from there.
+        double[] ranks = new double[PERCENTILES.length + 1];
+        System.arraycopy(PERCENTILES, 0, ranks, 0, PERCENTILES.length);
+        ranks[PERCENTILES.length] = 0.5;
+        Integer[] order = new Integer[ranks.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(ranks[a], ranks[b]));
+        double[] values = new double[ranks.length];
+        int from = 0;
+        for (int index : order) {
+            double position = ranks[index] * (n - 1);
+            int k = (int) position;
+            select(marks, from, n - 1, k);
+            double value = marks[k];
+            double fraction = position - k;
+            if (fraction > 0) {
+                value += fraction * (minimum(marks, k + 1, n) - value);
+            }
+            values[index] = value;
+            from = k;
+        }
+
+        return new ExamStatistics(exam.getExamId(), exam.getExamName(), maxMarks, n, mean, Math.sqrt(m2 / n), min, max,
+                values[PERCENTILES.length], Arrays.copyOf(values, PERCENTILES.length), histogram,
+                GRADE_LABELS.clone(), gradeCounts);
+    }
+
+    /**
+     * Returns the index of the highest grade whose minimum the percentage reaches; marks
+     * below every minimum get the lowest grade.
+     */
+    private static int gradeOf(double percentage) {
+        for (int g = 0; g < GRADE_MINIMUMS.length; g++) {
+            if (percentage >= GRADE_MINIMUMS[g]) {
+                return g;
+            }
+        }
+        return GRADE_MINIMUMS.length - 1;
+    }
+
+    /**
+     * Rearranges a[lo..hi] so that a[k] holds the value it would have if the range were
+     * sorted, with nothing larger before it and nothing smaller after it (Hoare's
+     * quickselect with a median-of-three pivot).
+     */
+    static void select(double[] a, int lo, int hi, int k) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < a[lo]) {
+                swap(a, lo, mid);
+            }
+            if (a[hi] < a[lo]) {
+                swap(a, lo, hi);
+            }
+            if (a[hi] < a[mid]) {
+                swap(a, mid, hi);
+            }
+            double pivot = a[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+                while (a[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(a, i++, j--);
+                }
+            }
+            // Now a[lo..j] <= pivot <= a[i..hi], and anything between i and j equals the pivot.
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            double x = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > x) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    private static double minimum(double[] a, int from, int to) {
+        double min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    private static void swap(double[] a, int i, int j) {
+        double t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Computes results[from..to) from the matching exams and marks, splitting the range in
+     * half while it holds more than one exam and at least {@value #SEQUENTIAL_MARKS} marks.
+     */
+    private static final class StatisticsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Exam[] exams;
+        private final double[][] marks;
+        private final ExamStatistics[] results;
+        private final int from;
+        private final int to;
+
+        StatisticsTask(Exam[] exams, double[][] marks, ExamStatistics[] results, int from, int to) {
+            this.exams = exams;
+            this.marks = marks;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                total += marks[i].length;
+            }
+            if (to - from <= 1 || total < SEQUENTIAL_MARKS) {
+                for (int i = from; i < to; i++) {
+                    results[i] = ExamStatisticsService.compute(exams[i], marks[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StatisticsTask(exams, marks, results, from, mid),
+                    new StatisticsTask(exams, marks, results, mid, to));
+        }
+    }
+}
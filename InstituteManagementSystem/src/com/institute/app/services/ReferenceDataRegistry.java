@@ -0,0 +1,96 @@
+package com.institute.app.services;
+
+import com.institute.app.dao.ReferenceDataDAO;
+import com.institute.app.models.ReferenceTable;
+
+/**
+ * Keeps the `roles` and `payment_methods` tables in memory, so screens, reports and
+ * emails can turn IDs into names (and back) without a query or a join.
+ *
+ * The tables are loaded at login (see {@link #refresh()}), or on first use if nothing
+ * has loaded them yet. Each refresh swaps in new immutable tables, so readers never
+ * see a half-loaded state and need no locking. A table that fails to load keeps its
+ * previous contents; if it was never loaded, lookups see it empty and the next access
+ * tries again.
+ */
+public final class ReferenceDataRegistry {
+
+    private static volatile ReferenceTable roles;
+    private static volatile ReferenceTable paymentMethods;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ReferenceDataRegistry() {}
+
+    /**
+     * Reloads both tables from the database, e.g. after an admin edited them.
+     */
+    public static synchronized void refresh() {
+        ReferenceDataDAO dao = new ReferenceDataDAO();
+        ReferenceTable loadedRoles = dao.loadRoles();
+        if (loadedRoles != null) {
+            roles = loadedRoles;
+        }
+        ReferenceTable loadedMethods = dao.loadPaymentMethods();
+        if (loadedMethods != null) {
+            paymentMethods = loadedMethods;
+        }
+    }
+
+    /**
+     * Returns the roles table (Admin, Teacher, Accountant, ...).
+     */
+    public static ReferenceTable roles() {
+        ReferenceTable current = roles;
+        if (current == null) {
+            refreshIfNeeded();
+            current = roles;
+        }
+        return current != null ? current : empty("roles");
+    }
+
+    /**
+     * Returns the payment methods table (Cash, Credit Card, ...).
+     */
+    public static ReferenceTable paymentMethods() {
+        ReferenceTable current = paymentMethods;
+        if (current == null) {
+            refreshIfNeeded();
+            current = paymentMethods;
+        }
+        return current != null ? current : empty("payment_methods");
+    }
+
+    /**
+     * Convenience lookup for a role name, e.g. for {@link com.institute.app.models.User#getRoleId()}.
+     *
+     * @return The role name, or null if unknown.
+     */
+    public static String getRoleName(int roleId) {
+        return roles().getName(roleId);
+    }
+
+    /**
+     * Convenience lookup for a payment method name, e.g. for
+     * {@link com.institute.app.models.Payment#getPaymentMethodId()}.
+     *
+     * @return The method name, or null if the ID is null or unknown.
+     */
+    public static String getPaymentMethodName(Integer methodId) {
+        return paymentMethods().getName(methodId);
+    }
+
+    private static synchronized void refreshIfNeeded() {
+        if (roles == null || paymentMethods == null) {
+            refresh();
+        }
+    }
+
+    /**
+     * A stand-in for a table that could not be loaded. Never stored, so the next access retries.
+     */
+    private static ReferenceTable empty(String tableName) {
+        return new ReferenceTable(tableName, new int[0], new String[0]);
+    }
+}
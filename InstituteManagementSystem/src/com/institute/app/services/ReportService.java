@@ -1,6 +1,8 @@
 package com.institute.app.services;
 
 import com.institute.app.config.DBConnection;
+import com.institute.app.metrics.Metrics;
+import com.institute.app.metrics.OperationMetrics;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -21,6 +23,11 @@ import net.sf.jasperreports.view.JasperViewer;
  */
 public class ReportService {
 
+    private static final OperationMetrics GENERATE_BEAN_REPORT = Metrics.operation("ReportService.generateBeanReport");
+    private static final OperationMetrics GENERATE_DB_REPORT = Metrics.operation("ReportService.generateDbReport");
+    private static final OperationMetrics EXPORT_TO_PDF = Metrics.operation("ReportService.exportToPdf");
+    private static final OperationMetrics EXPORT_TO_XLS = Metrics.operation("ReportService.exportToXls");
+
     /**
      * Generates and displays a JasperReport using a collection of Java Beans as the data source.
      * This is ideal for reports based on data already loaded into the application.
@@ -30,6 +37,8 @@ public class ReportService {
      * @param beanList   A list of Java Beans (e.g., a `List<Student>`) to use as the report's data source.
      */
     public void generateBeanReport(String reportName, Map<String, Object> parameters, List<?> beanList) {
+        Exception error = null;
+        long startNanos = GENERATE_BEAN_REPORT.start();
         try {
             // Create a data source from the provided list of objects.
             JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(beanList);
@@ -51,19 +60,32 @@ public class ReportService {
             JasperViewer.viewReport(jasperPrint, false);
 
         } catch (JRException e) {
-            handleReportError(e);
+            Metrics.recordError();
+            error = e;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GENERATE_BEAN_REPORT.stop(startNanos);
+        }
+        // The error dialog is modal, so it is shown only after the call has been timed.
+        if (error != null) {
+            handleReportError(error);
         }
     }
 
     /**
      * Generates a report by passing a direct database connection.
      * This is useful for complex reports where the SQL query is defined inside the .jrxml file.
+     * The report reads from a read replica when one is configured (`db.replica.urls`).
      *
      * @param reportName The name of the .jrxml file.
      * @param parameters A map of parameters to pass to the report.
      */
     public void generateDbReport(String reportName, Map<String, Object> parameters) {
-        try (Connection conn = DBConnection.getConnection()) {
+        Exception error = null;
+        long startNanos = GENERATE_DB_REPORT.start();
+        try (Connection conn = DBConnection.getReadConnection()) {
             InputStream reportStream = getClass().getResourceAsStream("/reports/" + reportName);
             if (reportStream == null) {
                 throw new JRException("Cannot find report template: " + reportName);
@@ -76,7 +98,16 @@ public class ReportService {
             JasperViewer.viewReport(jasperPrint, false);
 
         } catch (JRException | SQLException e) {
-            handleReportError(e);
+            Metrics.recordError();
+            error = e;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            GENERATE_DB_REPORT.stop(startNanos);
+        }
+        if (error != null) {
+            handleReportError(error);
         }
     }
 
@@ -87,12 +118,20 @@ public class ReportService {
      * @param filePath    The destination file path (e.g., "C:/reports/student_list.pdf").
      */
     public void exportToPdf(JasperPrint jasperPrint, String filePath) {
+        Exception error = null;
+        long startNanos = EXPORT_TO_PDF.start();
         try {
             JasperExportManager.exportReportToPdfFile(jasperPrint, filePath);
-            JOptionPane.showMessageDialog(null, "Report successfully exported to:\n" + filePath, "Export Successful", JOptionPane.INFORMATION_MESSAGE);
         } catch (JRException e) {
-            handleReportError(e);
+            Metrics.recordError();
+            error = e;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            EXPORT_TO_PDF.stop(startNanos);
         }
+        showExportResult(error, filePath);
     }
 
     /**
@@ -102,6 +141,8 @@ public class ReportService {
      * @param filePath    The destination file path (e.g., "C:/reports/student_list.xls").
      */
     public void exportToXls(JasperPrint jasperPrint, String filePath) {
+        Exception error = null;
+        long startNanos = EXPORT_TO_XLS.start();
         try {
             JRXlsExporter exporter = new JRXlsExporter();
             exporter.setExporterInput(new SimpleExporterInput(jasperPrint));
@@ -114,9 +155,27 @@ public class ReportService {
             exporter.setConfiguration(configuration);
 
             exporter.exportReport();
-            JOptionPane.showMessageDialog(null, "Report successfully exported to:\n" + filePath, "Export Successful", JOptionPane.INFORMATION_MESSAGE);
         } catch (JRException e) {
-            handleReportError(e);
+            Metrics.recordError();
+            error = e;
+        } catch (RuntimeException | Error e) {
+            Metrics.recordError();
+            throw e;
+        } finally {
+            EXPORT_TO_XLS.stop(startNanos);
+        }
+        showExportResult(error, filePath);
+    }
+
+    /**
+     * Tells the user whether an export succeeded. Called after the export has been timed,
+     * so the time a dialog stays open is not counted as export latency.
+     */
+    private void showExportResult(Exception error, String filePath) {
+        if (error != null) {
+            handleReportError(error);
+        } else {
+            JOptionPane.showMessageDialog(null, "Report successfully exported to:\n" + filePath, "Export Successful", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
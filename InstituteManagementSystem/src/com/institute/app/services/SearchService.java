@@ -0,0 +1,194 @@
+package com.institute.app.services;
+
+import com.institute.app.dao.CourseDAO;
+import com.institute.app.dao.EntityChangeListener;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.dao.TeacherDAO;
+import com.institute.app.index.TextIndex;
+import com.institute.app.models.Course;
+import com.institute.app.models.SearchHit;
+import com.institute.app.models.Student;
+import com.institute.app.models.Teacher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Search-as-you-type over students (name, email, phone), teachers (name, email, phone,
+ * specialization) and courses (name, code), answered from memory by {@link TextIndex}.
+ *
+ * The three indexes are built in parallel at login (see {@link #startBuilding()}); until
+ * then searches return nothing. Afterwards they follow the DAOs' writes through their
+ * `CHANGES` listeners. Writes that arrive while an index is being built are applied to the
+ * old index and replayed on the new one before it is published, so none are lost.
+ */
+public final class SearchService {
+
+    private static final Slot<Student> STUDENTS = new Slot<>(SearchHit.Type.STUDENT, SearchService::indexStudent);
+    private static final Slot<Teacher> TEACHERS = new Slot<>(SearchHit.Type.TEACHER, SearchService::indexTeacher);
+    private static final Slot<Course> COURSES = new Slot<>(SearchHit.Type.COURSE, SearchService::indexCourse);
+
+    static {
+        StudentDAO.CHANGES.add(STUDENTS);
+        TeacherDAO.CHANGES.add(TEACHERS);
+        CourseDAO.CHANGES.add(COURSES);
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private SearchService() {}
+
+    /**
+     * Loads the three tables and builds their indexes in parallel, in the background.
+     *
+     * @return Completes when all three indexes are in use; completes exceptionally if a
+     *         table could not be read (its previous index stays in use).
+     */
+    public static CompletableFuture<Void> startBuilding() {
+        return CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> STUDENTS.rebuild(action -> new StudentDAO().forEachStudent(action))),
+                CompletableFuture.runAsync(() -> TEACHERS.rebuild(action -> new TeacherDAO().getAllTeachers().forEach(action))),
+                CompletableFuture.runAsync(() -> COURSES.rebuild(action -> new CourseDAO().getAllCourses().forEach(action))));
+    }
+
+    /**
+     * Returns the best students for what was typed, e.g. "jan smi", "jane@" or "555 0100".
+     *
+     * @param limit The maximum number of results.
+     */
+    public static List<SearchHit> searchStudents(String query, int limit) {
+        return STUDENTS.search(query, limit);
+    }
+
+    public static List<SearchHit> searchTeachers(String query, int limit) {
+        return TEACHERS.search(query, limit);
+    }
+
+    public static List<SearchHit> searchCourses(String query, int limit) {
+        return COURSES.search(query, limit);
+    }
+
+    /**
+     * Searches all three tables and returns the best `limit` results overall; on equal
+     * scores, students come before teachers and teachers before courses.
+     */
+    public static List<SearchHit> search(String query, int limit) {
+        List<SearchHit> hits = new ArrayList<>(searchStudents(query, limit));
+        hits.addAll(searchTeachers(query, limit));
+        hits.addAll(searchCourses(query, limit));
+        hits.sort(Comparator.comparingInt(SearchHit::getScore).reversed());
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    // --- What is indexed ---
+
+    /**
+     * Receives one record's fields: {@link TextIndex.Builder#add} or {@link TextIndex#put}.
+     */
+    private interface Sink {
+        void add(int id, String label, String[] nameFields, String[] otherFields);
+    }
+
+    private static void indexStudent(Student s, Sink sink) {
+        sink.add(s.getStudentId(), personLabel(s.getFirstName(), s.getLastName(), s.getEmail()),
+                new String[]{s.getFirstName(), s.getLastName()},
+                new String[]{s.getEmail(), s.getPhone(), digitsOf(s.getPhone())});
+    }
+
+    private static void indexTeacher(Teacher t, Sink sink) {
+        sink.add(t.getTeacherId(), personLabel(t.getFirstName(), t.getLastName(), t.getEmail()),
+                new String[]{t.getFirstName(), t.getLastName()},
+                new String[]{t.getEmail(), t.getPhone(), digitsOf(t.getPhone()), t.getSubjectSpecialization()});
+    }
+
+    private static void indexCourse(Course c, Sink sink) {
+        sink.add(c.getCourseId(), c.getCourseCode() + " - " + c.getCourseName(),
+                new String[]{c.getCourseName()}, new String[]{c.getCourseCode()});
+    }
+
+    private static String personLabel(String firstName, String lastName, String email) {
+        return firstName + " " + lastName + (email == null ? "" : " <" + email + ">");
+    }
+
+    /**
+     * Returns the phone number's digits run together, so "5550100" finds "555-0100".
+     */
+    private static String digitsOf(String phone) {
+        return phone == null ? null : phone.replaceAll("\\D", "");
+    }
+
+    /**
+     * One table's index and the listener that keeps it current.
+     */
+    private static final class Slot<T> implements EntityChangeListener<T> {
+
+        private final SearchHit.Type type;
+        private final BiConsumer<T, Sink> fields;
+        private volatile TextIndex index = TextIndex.empty();
+        // Non-null while a rebuild runs: the changes to replay on the new index. Guarded by this.
+        private List<Consumer<TextIndex>> pending;
+
+        Slot(SearchHit.Type type, BiConsumer<T, Sink> fields) {
+            this.type = type;
+            this.fields = fields;
+        }
+
+        List<SearchHit> search(String query, int limit) {
+            List<SearchHit> hits = new ArrayList<>();
+            for (TextIndex.Hit hit : index.search(query, limit)) {
+                hits.add(new SearchHit(type, hit.getId(), hit.getLabel(), hit.getScore()));
+            }
+            return hits;
+        }
+
+        /**
+         * Builds a new index from every row `source` yields and swaps it in. The rows are read
+         * after `pending` is set, so a write committed meanwhile is either in them or replayed.
+         */
+        void rebuild(Consumer<Consumer<T>> source) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            TextIndex built;
+            try {
+                TextIndex.Builder builder = new TextIndex.Builder();
+                source.accept(entity -> fields.accept(entity, builder::add));
+                built = builder.build();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (Consumer<TextIndex> change : pending) {
+                    change.accept(built);
+                }
+                pending = null;
+                index = built;
+            }
+        }
+
+        @Override
+        public void saved(T entity) {
+            apply(target -> fields.accept(entity, target::put));
+        }
+
+        @Override
+        public void deleted(int id) {
+            apply(target -> target.remove(id));
+        }
+
+        private synchronized void apply(Consumer<TextIndex> change) {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+}
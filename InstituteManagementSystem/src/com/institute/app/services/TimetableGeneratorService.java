@@ -0,0 +1,200 @@
+package com.institute.app.services;
+
+import com.institute.app.config.AppSettings;
+import com.institute.app.dao.CourseDAO;
+import com.institute.app.dao.EnrollmentDAO;
+import com.institute.app.dao.RoomDAO;
+import com.institute.app.dao.TeacherDAO;
+import com.institute.app.dao.TimetableDAO;
+import com.institute.app.index.IntBitmap;
+import com.institute.app.models.Course;
+import com.institute.app.models.Room;
+import com.institute.app.models.Teacher;
+import com.institute.app.models.TimetableSession;
+import com.institute.app.solver.TimetableProblem;
+import com.institute.app.solver.TimetableSolution;
+import com.institute.app.solver.TimetableSolution.Placement;
+import com.institute.app.solver.TimetableSolver;
+import com.institute.app.utils.ValidationUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Generates a weekly timetable for every course and writes it into a term.
+ *
+ * The problem is built from the database: each course needs one weekly session per credit
+ * (at least one) and is taught by its lead teacher, or, when it has none, by a teacher whose
+ * `subject_specialization` appears in its name or description (any teacher if nobody
+ * matches). Two courses must not meet at once if they share an enrolled student, which is
+ * read from the enrollment index. Rooms must seat the course's students.
+ *
+ * The weekly grid is `timetable.days` x `timetable.periodsPerDay` periods of
+ * `timetable.periodMinutes` from `timetable.dayStart`; the search runs for
+ * `timetable.solver.timeLimitSeconds` on `timetable.solver.threads` threads
+ * (see {@link TimetableSolver}).
+ */
+public class TimetableGeneratorService {
+
+    private static final List<DayOfWeek> DAYS = parseDays(AppSettings.get("timetable.days", "MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY"));
+    private static final LocalTime DAY_START = LocalTime.parse(AppSettings.get("timetable.dayStart", "09:00"));
+    private static final int PERIOD_MINUTES = Math.max(AppSettings.getInt("timetable.periodMinutes", 60), 1);
+    private static final int PERIODS_PER_DAY = Math.max(AppSettings.getInt("timetable.periodsPerDay", 8), 1);
+    private static final long TIME_LIMIT_MILLIS = AppSettings.getLong("timetable.solver.timeLimitSeconds", 120) * 1000;
+    private static final int THREADS = AppSettings.getInt("timetable.solver.threads", 0);
+    private static final double TEACHER_GAP_WEIGHT = AppSettings.getDouble("timetable.solver.teacherGapWeight", 1.0);
+    private static final double ROOM_WASTE_WEIGHT = AppSettings.getDouble("timetable.solver.roomWasteWeight", 0.5);
+
+    private final CourseDAO courseDAO = new CourseDAO();
+    private final TeacherDAO teacherDAO = new TeacherDAO();
+    private final RoomDAO roomDAO = new RoomDAO();
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAO();
+    private final TimetableDAO timetableDAO = new TimetableDAO();
+
+    private volatile TimetableSolver running;
+
+    /**
+     * Builds the problem from the database and searches for the configured time.
+     * Blocks until the search ends; run it off the Event Dispatch Thread.
+     *
+     * @param listener Receives progress about twice a second; may be null.
+     * @return The best weekly timetable found. Check {@link TimetableSolution#isFeasible()}.
+     */
+    public TimetableSolution generate(Consumer<? super TimetableSolver.Progress> listener) {
+        TimetableSolver solver = new TimetableSolver(buildProblem(), TEACHER_GAP_WEIGHT, ROOM_WASTE_WEIGHT);
+        running = solver;
+        try {
+            return solver.solve(TIME_LIMIT_MILLIS, THREADS, listener);
+        } finally {
+            running = null;
+        }
+    }
+
+    /**
+     * Stops a running {@link #generate}, which then returns the best timetable found so far.
+     */
+    public void cancel() {
+        TimetableSolver solver = running;
+        if (solver != null) {
+            solver.cancel();
+        }
+    }
+
+    /**
+     * Repeats a weekly timetable on every week of a term.
+     *
+     * @param solution The weekly timetable.
+     * @param from     The first day of the term (inclusive).
+     * @param to       The end of the term (exclusive).
+     * @return The dated sessions, in date order, not yet saved.
+     */
+    public List<TimetableSession> toSessions(TimetableSolution solution, Date from, Date to) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate first = from.toInstant().atZone(zone).toLocalDate();
+        LocalDate end = to.toInstant().atZone(zone).toLocalDate();
+        List<TimetableSession> sessions = new ArrayList<>();
+        for (LocalDate date = first; date.isBefore(end); date = date.plusDays(1)) {
+            int day = DAYS.indexOf(date.getDayOfWeek());
+            if (day < 0) {
+                continue;
+            }
+            for (Placement placement : solution.getPlacements()) {
+                if (placement.getDay() != day) {
+                    continue;
+                }
+                LocalDateTime start = date.atTime(DAY_START).plusMinutes((long) placement.getPeriod() * PERIOD_MINUTES);
+                sessions.add(new TimetableSession(0, placement.getCourseId(), placement.getTeacherId(),
+                        placement.getRoomId(), null,
+                        Date.from(start.atZone(zone).toInstant()),
+                        Date.from(start.plusMinutes(PERIOD_MINUTES).atZone(zone).toInstant())));
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Saves a weekly timetable into every week of a term (see {@link #toSessions}).
+     *
+     * @return The saved sessions, each with its new session_id.
+     */
+    public List<TimetableSession> saveToTerm(TimetableSolution solution, Date from, Date to) {
+        return timetableDAO.addSessions(toSessions(solution, from, to));
+    }
+
+    private TimetableProblem buildProblem() {
+        TimetableProblem.Builder builder = new TimetableProblem.Builder(DAYS.size(), PERIODS_PER_DAY);
+        for (Room room : roomDAO.getAllRooms()) {
+            builder.addRoom(room.getRoomId(), room.getCapacity());
+        }
+        List<Teacher> teachers = teacherDAO.getAllTeachers();
+        for (Teacher teacher : teachers) {
+            builder.addTeacher(teacher.getTeacherId());
+        }
+
+        List<Course> courses = courseDAO.getAllCourses();
+        IntBitmap[] rosters = new IntBitmap[courses.size()];
+        for (int i = 0; i < courses.size(); i++) {
+            Course course = courses.get(i);
+            rosters[i] = enrollmentDAO.getStudentIdsInCourse(course.getCourseId());
+            Integer credits = course.getCredits();
+            builder.addCourse(course.getCourseId(), credits != null ? credits : 1, rosters[i].cardinality(),
+                    teacherChoices(course, teachers));
+        }
+        for (int i = 0; i < courses.size(); i++) {
+            for (int j = i + 1; j < courses.size(); j++) {
+                if (rosters[i].intersects(rosters[j])) {
+                    builder.addConflict(courses.get(i).getCourseId(), courses.get(j).getCourseId());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the lead teacher, else the teachers whose specialization the course's name or
+     * description mentions, else every teacher.
+     */
+    private static int[] teacherChoices(Course course, List<Teacher> teachers) {
+        if (course.getTeacherId() != null) {
+            return new int[]{course.getTeacherId()};
+        }
+        String text = (course.getCourseName() + " " + (course.getDescription() == null ? "" : course.getDescription()))
+                .toLowerCase(Locale.ROOT);
+        List<Integer> specialists = new ArrayList<>();
+        for (Teacher teacher : teachers) {
+            String specialization = teacher.getSubjectSpecialization();
+            if (!ValidationUtils.isNullOrEmpty(specialization) && text.contains(specialization.trim().toLowerCase(Locale.ROOT))) {
+                specialists.add(teacher.getTeacherId());
+            }
+        }
+        if (specialists.isEmpty()) {
+            for (Teacher teacher : teachers) {
+                specialists.add(teacher.getTeacherId());
+            }
+        }
+        return specialists.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<DayOfWeek> parseDays(String value) {
+        List<DayOfWeek> days = new ArrayList<>();
+        for (String name : value.split(",")) {
+            try {
+                days.add(DayOfWeek.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring invalid timetable.days entry '" + name + "'");
+            }
+        }
+        if (days.isEmpty()) {
+            days.add(DayOfWeek.MONDAY);
+        }
+        return days;
+    }
+}
@@ -0,0 +1,269 @@
+package com.institute.app.services;
+
+import com.institute.app.dao.TimetableDAO;
+import com.institute.app.index.IntervalTree;
+import com.institute.app.models.TimetableClash;
+import com.institute.app.models.TimetableClash.Resource;
+import com.institute.app.models.TimetableSession;
+import com.institute.app.utils.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Edits a term's timetable and detects clashes: two sessions that overlap in time and share
+ * a teacher, a room or a student group.
+ *
+ * {@link #openTerm} loads the term's sessions into one {@link IntervalTree} per teacher, per
+ * room and per student group. Checking a new or moved session is then three tree searches,
+ * O(log n + k) for k clashes, so the editor can report clashes as the user types. Sessions
+ * added, moved or deleted through this service keep the trees current; changes made by other
+ * installations are picked up the next time the term is opened.
+ *
+ * {@link #auditClashes} checks a whole period independently of the open term: it builds the
+ * same trees and searches them once per session, O(n log n + k) overall.
+ */
+public class TimetableService {
+
+    private final TimetableDAO timetableDAO = new TimetableDAO();
+
+    // The open term: sessions starting in [termStart, termEnd). Guarded by this.
+    private Date termStart;
+    private Date termEnd;
+    private Schedule schedule;
+
+    /**
+     * Loads a term's sessions for editing, replacing any term opened before.
+     *
+     * @param from The start of the term (inclusive).
+     * @param to   The end of the term (exclusive).
+     */
+    public synchronized void openTerm(Date from, Date to) {
+        Schedule loaded = new Schedule();
+        for (TimetableSession session : timetableDAO.getSessionsBetween(from, to)) {
+            loaded.add(session);
+        }
+        termStart = new Date(from.getTime());
+        termEnd = new Date(to.getTime());
+        schedule = loaded;
+    }
+
+    /**
+     * Returns the sessions of the open term, in start order.
+     */
+    public synchronized List<TimetableSession> getSessions() {
+        checkOpen();
+        List<TimetableSession> sessions = new ArrayList<>();
+        for (TimetableSession session : schedule.byId.values()) {
+            sessions.add(copy(session));
+        }
+        sessions.sort(START_ORDER);
+        return sessions;
+    }
+
+    /**
+     * Finds the sessions of the open term that would clash with the given one. The session
+     * itself (same ID) is ignored, so this also checks a session that is being moved.
+     *
+     * @param session The new or edited session.
+     * @return One clash per (resource, other session), with the given session first.
+     * @throws IllegalStateException    if no term is open.
+     * @throws IllegalArgumentException if the session does not end after it starts, or does
+     *                                  not start in the open term.
+     */
+    public synchronized List<TimetableClash> findClashes(TimetableSession session) {
+        checkInTerm(session);
+        List<TimetableClash> clashes = new ArrayList<>();
+        schedule.findClashes(session, false, clashes);
+        return clashes;
+    }
+
+    /**
+     * Saves a new session and adds it to the open term. This does not refuse clashes: call
+     * {@link #findClashes} first and let the user decide.
+     *
+     * @param session The session to add.
+     * @return The session with its new session_id, or null on failure.
+     * @throws IllegalStateException    if no term is open.
+     * @throws IllegalArgumentException if the session does not end after it starts, or does
+     *                                  not start in the open term.
+     */
+    public synchronized TimetableSession addSession(TimetableSession session) {
+        checkInTerm(session);
+        TimetableSession saved = timetableDAO.addSession(session);
+        if (saved != null) {
+            schedule.add(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Saves changes to a session of the open term (e.g., a new time or room) and moves it in
+     * the trees. Like {@link #addSession}, this does not refuse clashes.
+     *
+     * @param session The session with updated information.
+     * @return true if the update was successful, false otherwise.
+     * @throws IllegalStateException    if no term is open.
+     * @throws IllegalArgumentException if the session does not end after it starts, or does
+     *                                  not start in the open term.
+     */
+    public synchronized boolean updateSession(TimetableSession session) {
+        checkInTerm(session);
+        boolean updated = timetableDAO.updateSession(session);
+        if (updated) {
+            schedule.remove(session.getSessionId());
+            schedule.add(session);
+        }
+        return updated;
+    }
+
+    /**
+     * Deletes a session and removes it from the open term.
+     *
+     * @param sessionId The ID of the session to delete.
+     * @return true if the deletion was successful, false otherwise.
+     * @throws IllegalStateException if no term is open.
+     */
+    public synchronized boolean deleteSession(int sessionId) {
+        checkOpen();
+        boolean deleted = timetableDAO.deleteSession(sessionId);
+        if (deleted) {
+            schedule.remove(sessionId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Lists every clash among the sessions starting in a period, read from the database.
+     *
+     * @param from The start of the period (inclusive).
+     * @param to   The end of the period (exclusive).
+     * @return Each clashing pair once per shared resource, the earlier-starting session
+     *         first, ordered by that session's start.
+     */
+    public List<TimetableClash> auditClashes(Date from, Date to) {
+        List<TimetableSession> sessions = timetableDAO.getSessionsBetween(from, to);
+        Schedule audit = new Schedule();
+        for (TimetableSession session : sessions) {
+            audit.add(session);
+        }
+        List<TimetableClash> clashes = new ArrayList<>();
+        for (TimetableSession session : sessions) {
+            audit.findClashes(session, true, clashes);
+        }
+        return clashes;
+    }
+
+    private void checkOpen() {
+        if (schedule == null) {
+            throw new IllegalStateException("No term is open; call openTerm first.");
+        }
+    }
+
+    private void checkInTerm(TimetableSession session) {
+        checkOpen();
+        if (!session.getEndTime().after(session.getStartTime())) {
+            throw new IllegalArgumentException("A session must end after it starts.");
+        }
+        if (session.getStartTime().before(termStart) || !session.getStartTime().before(termEnd)) {
+            throw new IllegalArgumentException("The session does not start in the open term.");
+        }
+    }
+
+    private static final Comparator<TimetableSession> START_ORDER = Comparator
+            .comparing(TimetableSession::getStartTime)
+            .thenComparingInt(TimetableSession::getSessionId);
+
+    private static TimetableSession copy(TimetableSession session) {
+        return new TimetableSession(session.getSessionId(), session.getCourseId(), session.getTeacherId(),
+                session.getRoomId(), session.getStudentGroup(), new Date(session.getStartTime().getTime()),
+                new Date(session.getEndTime().getTime()));
+    }
+
+    /**
+     * The sessions of a period, indexed by ID and by the resources they use. The trees hold
+     * private copies, so callers may keep editing the objects they passed in.
+     */
+    private static final class Schedule {
+        final Map<Integer, TimetableSession> byId = new HashMap<>();
+        final Map<Integer, IntervalTree<TimetableSession>> byTeacher = new HashMap<>();
+        final Map<Integer, IntervalTree<TimetableSession>> byRoom = new HashMap<>();
+        final Map<String, IntervalTree<TimetableSession>> byGroup = new HashMap<>();
+
+        void add(TimetableSession session) {
+            TimetableSession indexed = copy(session);
+            byId.put(indexed.getSessionId(), indexed);
+            if (indexed.getTeacherId() != null) {
+                insert(byTeacher, indexed.getTeacherId(), indexed);
+            }
+            if (indexed.getRoomId() != null) {
+                insert(byRoom, indexed.getRoomId(), indexed);
+            }
+            if (!ValidationUtils.isNullOrEmpty(indexed.getStudentGroup())) {
+                insert(byGroup, indexed.getStudentGroup(), indexed);
+            }
+        }
+
+        void remove(int sessionId) {
+            TimetableSession indexed = byId.remove(sessionId);
+            if (indexed == null) {
+                return;
+            }
+            if (indexed.getTeacherId() != null) {
+                delete(byTeacher, indexed.getTeacherId(), indexed);
+            }
+            if (indexed.getRoomId() != null) {
+                delete(byRoom, indexed.getRoomId(), indexed);
+            }
+            if (!ValidationUtils.isNullOrEmpty(indexed.getStudentGroup())) {
+                delete(byGroup, indexed.getStudentGroup(), indexed);
+            }
+        }
+
+        /**
+         * Adds the clashes of `session` to `out`. With `laterOnly`, only sessions that come
+         * after it in start order are reported, so an audit lists each pair once.
+         */
+        void findClashes(TimetableSession session, boolean laterOnly, List<TimetableClash> out) {
+            if (session.getTeacherId() != null) {
+                search(byTeacher.get(session.getTeacherId()), Resource.TEACHER, session, laterOnly, out);
+            }
+            if (session.getRoomId() != null) {
+                search(byRoom.get(session.getRoomId()), Resource.ROOM, session, laterOnly, out);
+            }
+            if (!ValidationUtils.isNullOrEmpty(session.getStudentGroup())) {
+                search(byGroup.get(session.getStudentGroup()), Resource.STUDENT_GROUP, session, laterOnly, out);
+            }
+        }
+
+        private static void search(IntervalTree<TimetableSession> tree, Resource resource, TimetableSession session,
+                                   boolean laterOnly, List<TimetableClash> out) {
+            if (tree == null) {
+                return;
+            }
+            tree.forEachOverlap(session.getStartTime().getTime(), session.getEndTime().getTime(), other -> {
+                if (other.getSessionId() != session.getSessionId()
+                        && (!laterOnly || START_ORDER.compare(other, session) > 0)) {
+                    out.add(new TimetableClash(resource, session, other));
+                }
+            });
+        }
+
+        private static <K> void insert(Map<K, IntervalTree<TimetableSession>> trees, K key, TimetableSession session) {
+            trees.computeIfAbsent(key, k -> new IntervalTree<>())
+                    .add(session.getStartTime().getTime(), session.getEndTime().getTime(), session.getSessionId(), session);
+        }
+
+        private static <K> void delete(Map<K, IntervalTree<TimetableSession>> trees, K key, TimetableSession session) {
+            IntervalTree<TimetableSession> tree = trees.get(key);
+            tree.remove(session.getStartTime().getTime(), session.getEndTime().getTime(), session.getSessionId());
+            if (tree.isEmpty()) {
+                trees.remove(key);
+            }
+        }
+    }
+}
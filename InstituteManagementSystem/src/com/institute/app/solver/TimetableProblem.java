@@ -0,0 +1,222 @@
+package com.institute.app.solver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The input of {@link TimetableSolver}: a weekly grid of `days` x `periodsPerDay` slots, the
+ * rooms, the teachers, and the courses to place, each with its number of weekly sessions,
+ * its number of students, the teachers who may teach it, and the other courses it shares
+ * students with.
+ *
+ * Everything is stored as dense int arrays indexed from 0 (course index, teacher index,
+ * room index, session index) so the search never touches a map or boxes a number. Instances
+ * are immutable and are built with {@link Builder}.
+ */
+public final class TimetableProblem {
+
+    final int days;
+    final int periodsPerDay;
+    final int slots;
+
+    final int[] roomIds;
+    final int[] teacherIds;
+    final int[] courseIds;
+    final int[] courseSizes;        // Students per course
+    final int[][] teacherChoices;   // Per course: teacher indices it may be given; empty for none
+    final int[][] roomChoices;      // Per course: room indices large enough for it, tightest fit first
+    final double[][] roomWaste;     // Per course, per room choice: share of the room's seats left empty
+    final int[][] conflicts;        // Per course: indices of the courses sharing at least one student
+    final int[] firstSession;       // Sessions of course c are firstSession[c] .. firstSession[c + 1] - 1
+    final int[] sessionCourse;      // Course index of each session
+
+    private TimetableProblem(Builder b) {
+        this.days = b.days;
+        this.periodsPerDay = b.periodsPerDay;
+        this.slots = b.days * b.periodsPerDay;
+
+        this.roomIds = b.roomIds.stream().mapToInt(Integer::intValue).toArray();
+        int[] capacities = b.roomCapacities.stream().mapToInt(Integer::intValue).toArray();
+        this.teacherIds = b.teacherIndex.keySet().stream().mapToInt(Integer::intValue).toArray();
+
+        int courseCount = b.courses.size();
+        this.courseIds = new int[courseCount];
+        this.courseSizes = new int[courseCount];
+        this.teacherChoices = new int[courseCount][];
+        this.roomChoices = new int[courseCount][];
+        this.roomWaste = new double[courseCount][];
+        this.conflicts = new int[courseCount][];
+        this.firstSession = new int[courseCount + 1];
+
+        Map<Integer, Integer> courseIndex = new HashMap<>();
+        int c = 0;
+        for (CourseSpec course : b.courses.values()) {
+            courseIndex.put(course.courseId, c++);
+        }
+        List<Integer> sessions = new ArrayList<>();
+        c = 0;
+        for (CourseSpec course : b.courses.values()) {
+            courseIds[c] = course.courseId;
+            courseSizes[c] = course.students;
+            teacherChoices[c] = course.teacherIds.stream().mapToInt(b.teacherIndex::get).toArray();
+            roomChoices[c] = roomsFor(course.students, capacities);
+            roomWaste[c] = new double[roomChoices[c].length];
+            for (int i = 0; i < roomChoices[c].length; i++) {
+                int capacity = capacities[roomChoices[c][i]];
+                roomWaste[c][i] = capacity > 0 ? Math.max(0, capacity - course.students) / (double) capacity : 0;
+            }
+            conflicts[c] = course.conflicts.stream().mapToInt(courseIndex::get).toArray();
+            firstSession[c] = sessions.size();
+            for (int i = 0; i < course.sessions; i++) {
+                sessions.add(c);
+            }
+            c++;
+        }
+        firstSession[courseCount] = sessions.size();
+        this.sessionCourse = sessions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the rooms with at least `students` seats (capacity 0 means unknown, which fits
+     * anyone), smallest first with unknown capacities last; if there are none, the largest
+     * rooms, so the course still gets a room.
+     */
+    private static int[] roomsFor(int students, int[] capacities) {
+        List<Integer> fitting = new ArrayList<>();
+        int largest = 0;
+        for (int r = 0; r < capacities.length; r++) {
+            if (capacities[r] == 0 || capacities[r] >= students) {
+                fitting.add(r);
+            }
+            largest = Math.max(largest, capacities[r]);
+        }
+        if (fitting.isEmpty()) {
+            for (int r = 0; r < capacities.length; r++) {
+                if (capacities[r] == largest) {
+                    fitting.add(r);
+                }
+            }
+        }
+        fitting.sort(Comparator.comparingInt(r -> capacities[r] == 0 ? Integer.MAX_VALUE : capacities[r]));
+        return fitting.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getPeriodsPerDay() {
+        return periodsPerDay;
+    }
+
+    public int getCourseCount() {
+        return courseIds.length;
+    }
+
+    public int getSessionCount() {
+        return sessionCourse.length;
+    }
+
+    private static final class CourseSpec {
+        final int courseId;
+        final int sessions;
+        final int students;
+        final List<Integer> teacherIds;
+        final TreeSet<Integer> conflicts = new TreeSet<>();
+
+        CourseSpec(int courseId, int sessions, int students, List<Integer> teacherIds) {
+            this.courseId = courseId;
+            this.sessions = sessions;
+            this.students = students;
+            this.teacherIds = teacherIds;
+        }
+    }
+
+    /**
+     * Collects the grid, rooms, teachers, courses and conflicts by database ID.
+     */
+    public static final class Builder {
+        private final int days;
+        private final int periodsPerDay;
+        private final List<Integer> roomIds = new ArrayList<>();
+        private final List<Integer> roomCapacities = new ArrayList<>();
+        private final Map<Integer, Integer> teacherIndex = new LinkedHashMap<>();
+        private final Map<Integer, CourseSpec> courses = new LinkedHashMap<>();
+
+        /**
+         * @throws IllegalArgumentException if the grid is empty.
+         */
+        public Builder(int days, int periodsPerDay) {
+            if (days < 1 || periodsPerDay < 1) {
+                throw new IllegalArgumentException("The weekly grid needs at least one day and one period.");
+            }
+            this.days = days;
+            this.periodsPerDay = periodsPerDay;
+        }
+
+        /**
+         * @param capacity The number of seats, or null if unknown (the room then fits any course).
+         */
+        public Builder addRoom(int roomId, Integer capacity) {
+            roomIds.add(roomId);
+            roomCapacities.add(capacity != null && capacity > 0 ? capacity : 0);
+            return this;
+        }
+
+        public Builder addTeacher(int teacherId) {
+            teacherIndex.putIfAbsent(teacherId, teacherIndex.size());
+            return this;
+        }
+
+        /**
+         * Adds a course. Teachers not added yet are added.
+         *
+         * @param sessions   Its number of weekly sessions (at least 1).
+         * @param students   Its number of enrolled students.
+         * @param teacherIds The teachers the solver may choose from; none means it needs no teacher.
+         */
+        public Builder addCourse(int courseId, int sessions, int students, int... teacherIds) {
+            List<Integer> teachers = new ArrayList<>();
+            for (int teacherId : teacherIds) {
+                addTeacher(teacherId);
+                teachers.add(teacherId);
+            }
+            courses.put(courseId, new CourseSpec(courseId, Math.max(1, sessions), students, teachers));
+            return this;
+        }
+
+        /**
+         * Records that two added courses share at least one student, so their sessions must
+         * not be at the same time.
+         *
+         * @throws IllegalArgumentException if either course has not been added.
+         */
+        public Builder addConflict(int courseIdA, int courseIdB) {
+            CourseSpec a = courses.get(courseIdA);
+            CourseSpec b = courses.get(courseIdB);
+            if (a == null || b == null) {
+                throw new IllegalArgumentException("Unknown course in conflict " + courseIdA + "/" + courseIdB);
+            }
+            if (courseIdA != courseIdB) {
+                a.conflicts.add(courseIdB);
+                b.conflicts.add(courseIdA);
+            }
+            return this;
+        }
+
+        /**
+         * @throws IllegalStateException if there are courses but no rooms.
+         */
+        public TimetableProblem build() {
+            if (!courses.isEmpty() && roomIds.isEmpty()) {
+                throw new IllegalStateException("There are no rooms to schedule courses in.");
+            }
+            return new TimetableProblem(this);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.institute.app.solver;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A weekly timetable found by {@link TimetableSolver}: one {@link Placement} per session,
+ * with its quality. Instances are immutable.
+ */
+public final class TimetableSolution {
+
+    /**
+     * One weekly session: a course, taught by a teacher (null if it needs none), in a room,
+     * at a day and period of the weekly grid (both from 0).
+     */
+    public static final class Placement {
+        private final int courseId;
+        private final Integer teacherId;
+        private final int roomId;
+        private final int day;
+        private final int period;
+
+        public Placement(int courseId, Integer teacherId, int roomId, int day, int period) {
+            this.courseId = courseId;
+            this.teacherId = teacherId;
+            this.roomId = roomId;
+            this.day = day;
+            this.period = period;
+        }
+
+        public int getCourseId() {
+            return courseId;
+        }
+
+        public Integer getTeacherId() {
+            return teacherId;
+        }
+
+        public int getRoomId() {
+            return roomId;
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public int getPeriod() {
+            return period;
+        }
+
+        @Override
+        public String toString() {
+            return "Course " + courseId + " [Day " + day + ", Period " + period + ", Room " + roomId
+                    + ", Teacher " + teacherId + "]";
+        }
+    }
+
+    private final List<Placement> placements;
+    private final int hardViolations;
+    private final int teacherGaps;
+    private final double roomWaste;
+    private final double softCost;
+
+    TimetableSolution(List<Placement> placements, int hardViolations, int teacherGaps, double roomWaste, double softCost) {
+        this.placements = Collections.unmodifiableList(placements);
+        this.hardViolations = hardViolations;
+        this.teacherGaps = teacherGaps;
+        this.roomWaste = roomWaste;
+        this.softCost = softCost;
+    }
+
+    public List<Placement> getPlacements() {
+        return placements;
+    }
+
+    /**
+     * Returns the number of clashes: a teacher, a room or a shared student booked twice in a slot.
+     * A usable timetable has none.
+     */
+    public int getHardViolations() {
+        return hardViolations;
+    }
+
+    public boolean isFeasible() {
+        return hardViolations == 0;
+    }
+
+    /**
+     * Returns the total number of idle periods between each teacher's first and last class of each day.
+     */
+    public int getTeacherGaps() {
+        return teacherGaps;
+    }
+
+    /**
+     * Returns the sum over sessions of the share of the room's seats left empty.
+     */
+    public double getRoomWaste() {
+        return roomWaste;
+    }
+
+    /**
+     * Returns the weighted soft-constraint cost the solver minimized (lower is better).
+     */
+    public double getSoftCost() {
+        return softCost;
+    }
+
+    /**
+     * Returns true if this solution is better than `other`: fewer clashes, then a lower soft cost.
+     */
+    public boolean isBetterThan(TimetableSolution other) {
+        return other == null || hardViolations < other.hardViolations
+                || (hardViolations == other.hardViolations && softCost < other.softCost);
+    }
+
+    @Override
+    public String toString() {
+        return "TimetableSolution [Sessions: " + placements.size() + ", Clashes: " + hardViolations
+                + ", Teacher gaps: " + teacherGaps + ", Soft cost: " + String.format("%.2f", softCost) + "]";
+    }
+}
@@ -0,0 +1,545 @@
+package com.institute.app.solver;
+
+import com.institute.app.solver.TimetableSolution.Placement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Finds a weekly timetable for a {@link TimetableProblem}: a slot and a room for every session
+ * and a teacher for every course.
+ *
+ * Hard constraints are that no teacher, room or student is booked twice in a slot (students
+ * clash when two courses sharing a student, or two sessions of one course, meet at once);
+ * rooms too small for a course are never used unless no room is large enough. Soft
+ * constraints are minimized as a weighted sum: idle periods in a teacher's day, and the share
+ * of each room's seats left empty.
+ *
+ * The search is simulated annealing. One independent search per worker thread runs on a
+ * dedicated fork-join pool, each from its own greedy start and random seed, until the time
+ * limit or {@link #cancel()}. Every move (move a session, swap two sessions' slots, change a
+ * course's teacher) is evaluated incrementally from per-slot occupancy counts, so a move costs
+ * about as much as the course's number of conflicting courses. Workers publish their best
+ * timetable at most every {@value #PUBLISH_INTERVAL_MILLIS} ms; the overall best so far is
+ * available from {@link #getBest()} and is what {@link #solve} returns.
+ *
+ * A solver runs once; create a new one for each run.
+ */
+public final class TimetableSolver {
+
+    /**
+     * A snapshot of a running search, reported to the progress listener.
+     */
+    public static final class Progress {
+        private final long elapsedMillis;
+        private final long iterations;
+        private final int hardViolations;
+        private final double softCost;
+        private final boolean finished;
+
+        Progress(long elapsedMillis, long iterations, int hardViolations, double softCost, boolean finished) {
+            this.elapsedMillis = elapsedMillis;
+            this.iterations = iterations;
+            this.hardViolations = hardViolations;
+            this.softCost = softCost;
+            this.finished = finished;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Returns the number of moves tried so far by all workers.
+         */
+        public long getIterations() {
+            return iterations;
+        }
+
+        /**
+         * Returns the clashes in the best timetable so far.
+         */
+        public int getHardViolations() {
+            return hardViolations;
+        }
+
+        /**
+         * Returns the soft cost of the best timetable so far.
+         */
+        public double getSoftCost() {
+            return softCost;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f s, %,d moves, best: %d clashes, soft cost %.2f%s",
+                    elapsedMillis / 1000.0, iterations, hardViolations, softCost, finished ? " (finished)" : "");
+        }
+    }
+
+    // One clash outweighs any realistic soft improvement.
+    private static final double HARD_WEIGHT = 100;
+    // Annealing temperature, lowered geometrically from START to END over the time limit.
+    private static final double START_TEMPERATURE = 10;
+    private static final double END_TEMPERATURE = 0.05;
+    private static final long PUBLISH_INTERVAL_MILLIS = 100;
+    private static final long PROGRESS_INTERVAL_MILLIS = 500;
+    // Workers check the clock, the cancel flag and the temperature every this many moves.
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final TimetableProblem problem;
+    private final double teacherGapWeight;
+    private final double roomWasteWeight;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final LongAdder iterations = new LongAdder();
+    private volatile TimetableSolution best;
+
+    /**
+     * @param problem          The timetable to solve.
+     * @param teacherGapWeight The soft cost of one idle period in a teacher's day.
+     * @param roomWasteWeight  The soft cost of a session in a room whose seats are all empty
+     *                         (scaled by the share of empty seats).
+     */
+    public TimetableSolver(TimetableProblem problem, double teacherGapWeight, double roomWasteWeight) {
+        this.problem = problem;
+        this.teacherGapWeight = teacherGapWeight;
+        this.roomWasteWeight = roomWasteWeight;
+    }
+
+    /**
+     * Runs the search on the calling thread's behalf and returns the best timetable found.
+     *
+     * @param timeLimitMillis How long to search.
+     * @param threads         The number of parallel searches; 0 or less for one per core.
+     * @param listener        Called on the calling thread about every {@value #PROGRESS_INTERVAL_MILLIS}
+     *                        ms and once at the end; may be null.
+     * @return The best timetable found. If the calling thread is interrupted, the search is
+     *         cancelled and the best so far is returned with the interrupt flag set.
+     */
+    public TimetableSolution solve(long timeLimitMillis, int threads, Consumer<? super Progress> listener) {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+        if (problem.getSessionCount() == 0) {
+            offer(new Search(0).toSolution());
+            report(listener, startNanos, true);
+            return best;
+        }
+
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom();
+        try {
+            for (int w = 0; w < workers; w++) {
+                long seed = seeds.nextLong();
+                tasks.add(pool.submit(() -> new Search(seed).run(startNanos, deadline)));
+            }
+            pool.shutdown();
+            while (!pool.awaitTermination(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                report(listener, startNanos, false);
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join(); // Rethrows a worker's failure
+            }
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        report(listener, startNanos, true);
+        return best;
+    }
+
+    /**
+     * Stops the search; {@link #solve} then returns the best timetable found so far.
+     */
+    public void cancel() {
+        stopped.set(true);
+    }
+
+    /**
+     * Returns the best timetable found so far, or null if none has been published yet.
+     */
+    public TimetableSolution getBest() {
+        return best;
+    }
+
+    private synchronized void offer(TimetableSolution solution) {
+        if (solution.isBetterThan(best)) {
+            best = solution;
+            if (solution.getHardViolations() == 0 && solution.getSoftCost() == 0) {
+                cancel(); // Nothing left to improve
+            }
+        }
+    }
+
+    private void report(Consumer<? super Progress> listener, long startNanos, boolean finished) {
+        TimetableSolution current = best;
+        if (listener != null && current != null) {
+            listener.accept(new Progress(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), iterations.sum(),
+                    current.getHardViolations(), current.getSoftCost(), finished));
+        }
+    }
+
+    /**
+     * One worker's timetable and its incrementally maintained cost. Slots are numbered
+     * day * periodsPerDay + period; occupancy counts are flat arrays indexed entity * slots + slot.
+     */
+    private final class Search {
+        private final TimetableProblem p = problem;
+        private final int slots = p.slots;
+        private final SplittableRandom random;
+
+        private final int[] slotOf = new int[p.sessionCourse.length];
+        private final int[] roomChoiceOf = new int[p.sessionCourse.length]; // Index into p.roomChoices[course]
+        private final int[] teacherOf = new int[p.courseIds.length];         // Teacher index, or -1 for none
+
+        private final int[] teacherCount = new int[p.teacherIds.length * slots];
+        private final int[] roomCount = new int[p.roomIds.length * slots];
+        private final int[] courseCount = new int[p.courseIds.length * slots];
+        private final int[] gaps = new int[p.teacherIds.length * p.days]; // Idle periods per teacher and day
+
+        private int hard;
+        private int gapTotal;
+        private double waste;
+
+        // The best state this worker has seen, and whether it has been published.
+        private int[] bestSlot;
+        private int[] bestRoomChoice;
+        private int[] bestTeacher;
+        private double bestCost = Double.POSITIVE_INFINITY;
+        private boolean unpublished;
+
+        Search(long seed) {
+            this.random = new SplittableRandom(seed);
+            Arrays.fill(teacherOf, -1);
+        }
+
+        void run(long startNanos, long deadline) {
+            construct();
+            saveBest();
+            publish();
+            double temperature = START_TEMPERATURE;
+            long lastPublish = System.nanoTime();
+            for (long moves = 1; ; moves++) {
+                if (moves % CHECK_INTERVAL == 0) {
+                    iterations.add(CHECK_INTERVAL);
+                    long now = System.nanoTime();
+                    if (now >= deadline || stopped.get()) {
+                        break;
+                    }
+                    double progress = (now - startNanos) / (double) (deadline - startNanos);
+                    temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, progress);
+                    if (unpublished && now - lastPublish >= TimeUnit.MILLISECONDS.toNanos(PUBLISH_INTERVAL_MILLIS)) {
+                        publish();
+                        lastPublish = now;
+                    }
+                }
+                step(temperature);
+            }
+            publish();
+        }
+
+        // --- Construction ---
+
+        /**
+         * Places the most constrained courses first, each session in the slot with the fewest
+         * clashes (random among equals) and the tightest free room there.
+         */
+        private void construct() {
+            Integer[] order = new Integer[p.courseIds.length];
+            for (int c = 0; c < order.length; c++) {
+                order[c] = c;
+            }
+            Arrays.sort(order, (a, b) -> a.equals(b) ? 0
+                    : p.conflicts[a].length != p.conflicts[b].length ? p.conflicts[b].length - p.conflicts[a].length
+                    : p.courseSizes[b] - p.courseSizes[a]);
+            int[] teacherLoad = new int[p.teacherIds.length];
+            for (int c : order) {
+                int sessions = p.firstSession[c + 1] - p.firstSession[c];
+                int teacher = -1;
+                for (int t : p.teacherChoices[c]) {
+                    if (teacher < 0 || teacherLoad[t] < teacherLoad[teacher]
+                            || (teacherLoad[t] == teacherLoad[teacher] && random.nextBoolean())) {
+                        teacher = t;
+                    }
+                }
+                teacherOf[c] = teacher;
+                if (teacher >= 0) {
+                    teacherLoad[teacher] += sessions;
+                }
+                for (int s = p.firstSession[c]; s < p.firstSession[c + 1]; s++) {
+                    placeGreedily(s, c, teacher);
+                }
+            }
+        }
+
+        private void placeGreedily(int s, int c, int teacher) {
+            int bestSlotFound = 0;
+            int bestChoice = 0;
+            int bestClashes = Integer.MAX_VALUE;
+            int offset = random.nextInt(slots);
+            for (int i = 0; i < slots && bestClashes > 0; i++) {
+                int slot = (offset + i) % slots;
+                int clashes = courseCount[c * slots + slot];
+                for (int n : p.conflicts[c]) {
+                    clashes += courseCount[n * slots + slot];
+                }
+                if (teacher >= 0 && teacherCount[teacher * slots + slot] > 0) {
+                    clashes++;
+                }
+                int choice = freeRoomChoice(c, slot);
+                if (choice < 0) {
+                    clashes++;
+                    choice = random.nextInt(p.roomChoices[c].length);
+                }
+                if (clashes < bestClashes) {
+                    bestClashes = clashes;
+                    bestSlotFound = slot;
+                    bestChoice = choice;
+                }
+            }
+            place(s, bestSlotFound, bestChoice);
+        }
+
+        private int freeRoomChoice(int c, int slot) {
+            int[] rooms = p.roomChoices[c];
+            for (int i = 0; i < rooms.length; i++) {
+                if (roomCount[rooms[i] * slots + slot] == 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // --- Local search ---
+
+        private void step(double temperature) {
+            int s = pickSession();
+            int c = p.sessionCourse[s];
+            double before = cost();
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                // Move the session to another slot, sometimes also to another suitable room.
+                int oldSlot = slotOf[s];
+                int oldChoice = roomChoiceOf[s];
+                int slot = random.nextInt(slots);
+                int choice = random.nextInt(3) == 0 ? random.nextInt(p.roomChoices[c].length) : oldChoice;
+                if (slot == oldSlot && choice == oldChoice) {
+                    return;
+                }
+                unplace(s);
+                place(s, slot, choice);
+                if (!accept(before, temperature)) {
+                    unplace(s);
+                    place(s, oldSlot, oldChoice);
+                }
+            } else if (kind < 9) {
+                // Swap the slots of two sessions, each keeping its room.
+                int o = random.nextInt(slotOf.length);
+                int a = slotOf[s];
+                int b = slotOf[o];
+                if (a == b) {
+                    return;
+                }
+                int choiceS = roomChoiceOf[s];
+                int choiceO = roomChoiceOf[o];
+                unplace(s);
+                unplace(o);
+                place(s, b, choiceS);
+                place(o, a, choiceO);
+                if (!accept(before, temperature)) {
+                    unplace(s);
+                    unplace(o);
+                    place(s, a, choiceS);
+                    place(o, b, choiceO);
+                }
+            } else {
+                // Give the course another of its possible teachers.
+                int[] choices = p.teacherChoices[c];
+                if (choices.length < 2) {
+                    return;
+                }
+                int oldTeacher = teacherOf[c];
+                int teacher = choices[random.nextInt(choices.length)];
+                if (teacher == oldTeacher) {
+                    return;
+                }
+                setTeacher(c, teacher);
+                if (!accept(before, temperature)) {
+                    setTeacher(c, oldTeacher);
+                }
+            }
+            if (cost() < bestCost) {
+                saveBest();
+            }
+        }
+
+        /**
+         * Picks a random session, preferring (while there are clashes) one involved in a clash.
+         */
+        private int pickSession() {
+            int s = random.nextInt(slotOf.length);
+            if (hard > 0 && random.nextBoolean()) {
+                for (int tries = 0; tries < 8 && !inClash(s); tries++) {
+                    s = random.nextInt(slotOf.length);
+                }
+            }
+            return s;
+        }
+
+        private boolean inClash(int s) {
+            int c = p.sessionCourse[s];
+            int slot = slotOf[s];
+            int teacher = teacherOf[c];
+            if (courseCount[c * slots + slot] > 1
+                    || roomCount[p.roomChoices[c][roomChoiceOf[s]] * slots + slot] > 1
+                    || (teacher >= 0 && teacherCount[teacher * slots + slot] > 1)) {
+                return true;
+            }
+            for (int n : p.conflicts[c]) {
+                if (courseCount[n * slots + slot] > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean accept(double before, double temperature) {
+            double delta = cost() - before;
+            return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+        }
+
+        private double cost() {
+            return HARD_WEIGHT * hard + teacherGapWeight * gapTotal + roomWasteWeight * waste;
+        }
+
+        // --- Incremental bookkeeping ---
+
+        private void place(int s, int slot, int choice) {
+            int c = p.sessionCourse[s];
+            hard += courseCount[c * slots + slot];
+            for (int n : p.conflicts[c]) {
+                hard += courseCount[n * slots + slot];
+            }
+            courseCount[c * slots + slot]++;
+            if (roomCount[p.roomChoices[c][choice] * slots + slot]++ > 0) {
+                hard++;
+            }
+            int teacher = teacherOf[c];
+            if (teacher >= 0) {
+                if (teacherCount[teacher * slots + slot]++ > 0) {
+                    hard++;
+                }
+                updateGaps(teacher, slot / p.periodsPerDay);
+            }
+            waste += p.roomWaste[c][choice];
+            slotOf[s] = slot;
+            roomChoiceOf[s] = choice;
+        }
+
+        private void unplace(int s) {
+            int c = p.sessionCourse[s];
+            int slot = slotOf[s];
+            int choice = roomChoiceOf[s];
+            courseCount[c * slots + slot]--;
+            hard -= courseCount[c * slots + slot];
+            for (int n : p.conflicts[c]) {
+                hard -= courseCount[n * slots + slot];
+            }
+            if (--roomCount[p.roomChoices[c][choice] * slots + slot] > 0) {
+                hard--;
+            }
+            int teacher = teacherOf[c];
+            if (teacher >= 0) {
+                if (--teacherCount[teacher * slots + slot] > 0) {
+                    hard--;
+                }
+                updateGaps(teacher, slot / p.periodsPerDay);
+            }
+            waste -= p.roomWaste[c][choice];
+        }
+
+        private void setTeacher(int c, int teacher) {
+            for (int s = p.firstSession[c]; s < p.firstSession[c + 1]; s++) {
+                unplace(s);
+            }
+            teacherOf[c] = teacher;
+            for (int s = p.firstSession[c]; s < p.firstSession[c + 1]; s++) {
+                place(s, slotOf[s], roomChoiceOf[s]);
+            }
+        }
+
+        private void updateGaps(int teacher, int day) {
+            int base = teacher * slots + day * p.periodsPerDay;
+            int first = -1;
+            int last = -1;
+            int busy = 0;
+            for (int period = 0; period < p.periodsPerDay; period++) {
+                if (teacherCount[base + period] > 0) {
+                    if (first < 0) {
+                        first = period;
+                    }
+                    last = period;
+                    busy++;
+                }
+            }
+            int dayGaps = first < 0 ? 0 : last - first + 1 - busy;
+            gapTotal += dayGaps - gaps[teacher * p.days + day];
+            gaps[teacher * p.days + day] = dayGaps;
+        }
+
+        // --- Best state ---
+
+        private void saveBest() {
+            bestSlot = slotOf.clone();
+            bestRoomChoice = roomChoiceOf.clone();
+            bestTeacher = teacherOf.clone();
+            bestCost = cost();
+            unpublished = true;
+        }
+
+        /**
+         * Rebuilds the best state from scratch, so its reported cost carries no accumulated
+         * rounding, and offers it to the solver.
+         */
+        private void publish() {
+            if (!unpublished) {
+                return;
+            }
+            Search copy = new Search(0);
+            System.arraycopy(bestTeacher, 0, copy.teacherOf, 0, bestTeacher.length);
+            for (int s = 0; s < bestSlot.length; s++) {
+                copy.place(s, bestSlot[s], bestRoomChoice[s]);
+            }
+            offer(copy.toSolution());
+            unpublished = false;
+        }
+
+        TimetableSolution toSolution() {
+            List<Placement> placements = new ArrayList<>(slotOf.length);
+            for (int s = 0; s < slotOf.length; s++) {
+                int c = p.sessionCourse[s];
+                int teacher = teacherOf[c];
+                placements.add(new Placement(p.courseIds[c], teacher >= 0 ? p.teacherIds[teacher] : null,
+                        p.roomIds[p.roomChoices[c][roomChoiceOf[s]]], slotOf[s] / p.periodsPerDay,
+                        slotOf[s] % p.periodsPerDay));
+            }
+            return new TimetableSolution(placements, hard, gapTotal, waste,
+                    teacherGapWeight * gapTotal + roomWasteWeight * waste);
+        }
+    }
+}
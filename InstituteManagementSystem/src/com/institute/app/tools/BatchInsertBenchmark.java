@@ -0,0 +1,77 @@
+package com.institute.app.tools;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.models.Student;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Command-line benchmark comparing {@link StudentDAO#addStudent(Student)} in a loop
+ * with the batched {@link StudentDAO#addStudents(List)}.
+ *
+ * It inserts synthetic students into the database configured in `AppSettings.properties`,
+ * prints rows/sec for each path and deletes the rows again afterwards.
+ * Run it against a development database only.
+ *
+ * Usage: java -cp ... com.institute.app.tools.BatchInsertBenchmark [rows]
+ */
+public class BatchInsertBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        String runId = "bench" + System.currentTimeMillis();
+        StudentDAO studentDAO = new StudentDAO();
+
+        try {
+            // Warm up the pool, the statement cache and the JIT before measuring.
+            studentDAO.addStudents(createStudents(runId + "w", 200));
+
+            List<Student> perRow = createStudents(runId + "a", rows);
+            long start = System.nanoTime();
+            for (Student student : perRow) {
+                studentDAO.addStudent(student);
+            }
+            report("addStudent (per row)", rows, System.nanoTime() - start);
+
+            List<Student> batched = createStudents(runId + "b", rows);
+            start = System.nanoTime();
+            List<Student> saved = studentDAO.addStudents(batched);
+            report("addStudents (batched)", saved.size(), System.nanoTime() - start);
+        } finally {
+            deleteRun(runId);
+            DBConnection.closeConnection();
+        }
+    }
+
+    private static List<Student> createStudents(String prefix, int count) {
+        List<Student> students = new ArrayList<>(count);
+        Date today = new Date();
+        for (int i = 0; i < count; i++) {
+            students.add(new Student(0, "Bench", "Student" + i, today,
+                    prefix + "-" + i + "@bench.invalid", "000-000-0000", "Benchmark row", today));
+        }
+        return students;
+    }
+
+    private static void report(String label, int rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-24s %,8d rows in %8.3f s  -> %,12.0f rows/sec%n", label, rows, seconds, rows / seconds);
+    }
+
+    private static void deleteRun(String runId) {
+        String sql = "DELETE FROM students WHERE email LIKE ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, runId + "%@bench.invalid");
+            System.out.println("Cleaned up " + pstmt.executeUpdate() + " benchmark rows.");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
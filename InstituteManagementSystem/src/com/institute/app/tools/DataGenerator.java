@@ -0,0 +1,611 @@
+package com.institute.app.tools;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.dao.RevenueDAO;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a large, realistic data set for the institute schema: teachers, courses, exams,
+ * students, enrollments, exam results and payments that satisfy every foreign key and
+ * UNIQUE constraint in `institute_management_db.sql`.
+ *
+ * The output depends only on the seed and the sizes, never on the number of threads: every
+ * student's rows come from a random stream derived from the seed and the student's index.
+ * Teachers, courses, exams and students get explicit IDs starting above `idOffset`, so the
+ * generated data can sit next to the seed rows of the schema script; enrollments, results
+ * and payments keep their AUTO_INCREMENT IDs.
+ *
+ * Two outputs are supported:
+ * - {@link #insertIntoDatabase(int)}: multi-threaded batched inserts through the pool;
+ * - {@link #writeLoadDataFiles(File, int)}: tab-separated files plus a `load.sql` script of
+ *   `LOAD DATA LOCAL INFILE` statements, the fastest way to load millions of rows.
+ *
+ * Usage: java -cp ... com.institute.app.tools.DataGenerator [--seed=42] [--scale=1.0]
+ *        [--students=N] [--teachers=N] [--courses=N] [--enrollmentsPerStudent=N]
+ *        [--examsPerCourse=N] [--paymentsPerStudent=N] [--idOffset=N] [--threads=N] [--out=DIR]
+ */
+public class DataGenerator {
+
+    /** Students generated (and committed, or written to one file set) per task. */
+    private static final int STUDENTS_PER_TASK = 5_000;
+    /** Students whose rows are sent to the database per transaction. */
+    private static final int STUDENTS_PER_COMMIT = 500;
+    // All dates count back from a fixed day (2025-01-01 UTC) so the output never depends on today's date.
+    private static final long BASE_MILLIS = 1_735_689_600_000L;
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Amara", "Ana", "Chen", "Daniel", "Dilani", "Elena", "Farah", "Hiro", "Isabel",
+            "Ivan", "Kasun", "Kenji", "Layla", "Liam", "Maya", "Mohamed", "Nadia", "Nimal", "Noah",
+            "Olivia", "Omar", "Priya", "Ravi", "Sakura", "Sofia", "Tariq", "Thilini", "Yusuf", "Zara"};
+    private static final String[] LAST_NAMES = {
+            "Ahmed", "Bandara", "Chen", "Dissanayake", "Fernando", "Garcia", "Gunawardena", "Haddad", "Ivanova", "Jayasinghe",
+            "Jones", "Khan", "Kim", "Kumar", "Lee", "Mendis", "Novak", "Okafor", "Perera", "Rahman",
+            "Rodrigo", "Sato", "Silva", "Smith", "Tanaka", "Wickramasinghe", "Wijesinghe", "Williams", "Yamamoto", "Zhou"};
+    private static final String[] SUBJECTS = {
+            "Mathematics", "Physics", "Chemistry", "Biology", "Computer Science", "English",
+            "Accounting", "Economics", "Business Studies", "Art", "Music", "History"};
+    private static final String[] COURSE_LEVELS = {"Introduction to", "Foundations of", "Intermediate", "Advanced", "Applied"};
+    private static final String[] EXAM_NAMES = {"Mid-term Exam", "Final Exam", "Quiz", "Practical Exam", "Assignment"};
+    private static final String[] GRADES = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D", "F"};
+    private static final String[] STREETS = {"Galle Road", "Main Street", "Temple Road", "Lake Drive", "Station Road", "Hill Street", "Park Avenue"};
+    private static final String[] CITIES = {"Colombo", "Kandy", "Galle", "Negombo", "Jaffna", "Matara", "Kurunegala"};
+
+    /**
+     * The generated tables, in an order that satisfies their foreign keys.
+     */
+    enum Table {
+        TEACHERS("teachers", "teacher_id, first_name, last_name, email, phone, subject_specialization, hire_date"),
+        COURSES("courses", "course_id, course_name, course_code, description, credits, teacher_id"),
+        EXAMS("exams", "exam_id, exam_name, exam_date, course_id, max_marks"),
+        STUDENTS("students", "student_id, first_name, last_name, date_of_birth, email, phone, address, enrollment_date"),
+        ENROLLMENTS("enrollments", "student_id, course_id, enrollment_date, grade"),
+        EXAM_RESULTS("exam_results", "exam_id, student_id, marks_obtained, comments"),
+        PAYMENTS("payments", "student_id, course_id, amount, payment_date, payment_method_id, description, invoice_number");
+
+        final String tableName;
+        final String columns;
+        final int columnCount;
+
+        Table(String tableName, String columns) {
+            this.tableName = tableName;
+            this.columns = columns;
+            this.columnCount = columns.split(",").length;
+        }
+    }
+
+    /**
+     * Receives generated rows and stores them somewhere.
+     */
+    interface RowSink extends AutoCloseable {
+        void add(Table table, Object... values) throws IOException, SQLException;
+
+        /** Makes everything added so far durable (a commit, for the database). */
+        void flush() throws IOException, SQLException;
+
+        @Override
+        void close() throws IOException, SQLException;
+    }
+
+    private final long seed;
+    private int students = 200_000;
+    private int teachers = 400;
+    private int courses = 2_000;
+    private int enrollmentsPerStudent = 10;
+    private int examsPerCourse = 2;
+    private int paymentsPerStudent = 6;
+    private int idOffset = 1_000;
+    private int[] paymentMethodIds = {1, 2, 3, 4};
+
+    /**
+     * Creates a generator with the default sizes (200k students, 2k courses, about 2M
+     * enrollments, 4M exam results and 1.2M payments).
+     *
+     * @param seed The seed; the same seed and sizes always produce the same data.
+     */
+    public DataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long seed = 42;
+        double scale = 1.0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        File out = null;
+        Map<String, String> options = new java.util.HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Unrecognised argument: " + arg);
+                return;
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        if (options.containsKey("seed")) {
+            seed = Long.parseLong(options.remove("seed"));
+        }
+        if (options.containsKey("scale")) {
+            scale = Double.parseDouble(options.remove("scale"));
+        }
+        if (options.containsKey("threads")) {
+            threads = Integer.parseInt(options.remove("threads"));
+        }
+        if (options.containsKey("out")) {
+            out = new File(options.remove("out"));
+        }
+
+        DataGenerator generator = new DataGenerator(seed);
+        generator.setStudents((int) Math.round(generator.getStudents() * scale));
+        generator.setTeachers((int) Math.max(Math.round(generator.getTeachers() * scale), 1));
+        generator.setCourses((int) Math.max(Math.round(generator.getCourses() * scale), 1));
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            int value = Integer.parseInt(option.getValue());
+            switch (option.getKey()) {
+                case "students": generator.setStudents(value); break;
+                case "teachers": generator.setTeachers(value); break;
+                case "courses": generator.setCourses(value); break;
+                case "enrollmentsPerStudent": generator.setEnrollmentsPerStudent(value); break;
+                case "examsPerCourse": generator.setExamsPerCourse(value); break;
+                case "paymentsPerStudent": generator.setPaymentsPerStudent(value); break;
+                case "idOffset": generator.setIdOffset(value); break;
+                default:
+                    System.err.println("Unknown option: --" + option.getKey());
+                    return;
+            }
+        }
+
+        long start = System.nanoTime();
+        if (out != null) {
+            generator.writeLoadDataFiles(out, threads);
+            System.out.println("Wrote LOAD DATA files to " + out.getAbsolutePath() + "; run load.sql from that directory with mysql --local-infile=1.");
+        } else {
+            try {
+                generator.insertIntoDatabase(threads);
+            } finally {
+                DBConnection.closeConnection();
+            }
+        }
+        System.out.printf("Done in %.1f s.%n", (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    /**
+     * Inserts the data through the connection pool using batched statements, one
+     * transaction per {@value #STUDENTS_PER_COMMIT} students, then rebuilds the revenue rollup.
+     *
+     * @param threads Parallel insert threads; capped at the pool size.
+     * @throws IllegalStateException if rows with the generated IDs already exist.
+     */
+    public void insertIntoDatabase(int threads) throws Exception {
+        checkIdsAreFree();
+        paymentMethodIds = loadPaymentMethodIds();
+        int poolSize = DBConnection.getPoolStats().getMaxSize();
+        int workers = Math.max(1, Math.min(threads, poolSize));
+
+        try (RowSink sink = new JdbcSink(DBConnection.getConnection())) {
+            generateReferenceRows(sink);
+        }
+        runStudentTasks(workers, task -> new JdbcSink(DBConnection.getConnection()));
+
+        // The payments bypass PaymentDAO, so the revenue rollup is rebuilt from them.
+        if (!new RevenueDAO().rebuildRollup(null, null)) {
+            throw new IllegalStateException("Failed to rebuild payment_daily_rollup.");
+        }
+    }
+
+    /**
+     * Writes one tab-separated file per table and task, plus `load.sql`, which loads them
+     * in foreign-key order with `LOAD DATA LOCAL INFILE`. The payment method IDs are
+     * assumed to be those of the schema script (1 to 4).
+     *
+     * @param directory Where to write the files; created if needed.
+     * @param threads   Parallel writer threads.
+     */
+    public void writeLoadDataFiles(File directory, int threads) throws Exception {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        try (RowSink sink = new TsvSink(directory, "reference")) {
+            generateReferenceRows(sink);
+        }
+        int tasks = runStudentTasks(Math.max(threads, 1), task -> new TsvSink(directory, String.format("part%04d", task)));
+
+        try (PrintWriter script = new PrintWriter(Files.newBufferedWriter(new File(directory, "load.sql").toPath(), StandardCharsets.UTF_8))) {
+            script.println("-- Generated by DataGenerator (seed " + seed + "). Run from this directory:");
+            script.println("--   mysql --local-infile=1 institute_management_db < load.sql");
+            script.println("SET unique_checks = 0;");
+            for (Table table : Table.values()) {
+                List<String> parts = new ArrayList<>();
+                parts.add("reference");
+                for (int task = 0; task < tasks; task++) {
+                    parts.add(String.format("part%04d", task));
+                }
+                for (String part : parts) {
+                    File file = new File(directory, table.tableName + "." + part + ".tsv");
+                    if (file.length() > 0) {
+                        script.println("LOAD DATA LOCAL INFILE '" + file.getName() + "' INTO TABLE " + table.tableName
+                                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' ("
+                                + table.columns + ");");
+                    }
+                }
+            }
+            script.println("SET unique_checks = 1;");
+            // Same statements as RevenueDAO.rebuildRollup over all dates.
+            script.println("DELETE FROM payment_daily_rollup;");
+            script.println("INSERT INTO payment_daily_rollup (payment_date, course_id, payment_method_id, payment_count, total_amount)"
+                    + " SELECT payment_date, COALESCE(course_id, 0), COALESCE(payment_method_id, 0), COUNT(*), SUM(amount) FROM payments"
+                    + " GROUP BY payment_date, COALESCE(course_id, 0), COALESCE(payment_method_id, 0);");
+        }
+    }
+
+    // --- Generation ---
+
+    private interface SinkFactory {
+        RowSink open(int task) throws IOException, SQLException;
+    }
+
+    /**
+     * Generates the students in parallel tasks of {@value #STUDENTS_PER_TASK}.
+     *
+     * @return The number of tasks.
+     */
+    private int runStudentTasks(int threads, SinkFactory sinks) throws Exception {
+        int tasks = (students + STUDENTS_PER_TASK - 1) / STUDENTS_PER_TASK;
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < tasks; t++) {
+                int task = t;
+                futures.add(executor.submit(() -> {
+                    int from = task * STUDENTS_PER_TASK;
+                    int to = Math.min(from + STUDENTS_PER_TASK, students);
+                    try (RowSink sink = sinks.open(task)) {
+                        for (int i = from; i < to; i++) {
+                            generateStudent(sink, i);
+                            if ((i - from + 1) % STUDENTS_PER_COMMIT == 0) {
+                                sink.flush();
+                            }
+                        }
+                        sink.flush();
+                    }
+                    System.out.printf("Students: %,d / %,d%n", done.addAndGet(to - from), students);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(); // Rethrows the first failure.
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return tasks;
+    }
+
+    private void generateReferenceRows(RowSink sink) throws IOException, SQLException {
+        SplittableRandom random = random(1, 0);
+        for (int i = 0; i < teachers; i++) {
+            int id = teacherId(i);
+            String first = pick(random, FIRST_NAMES);
+            String last = pick(random, LAST_NAMES);
+            sink.add(Table.TEACHERS, id, first, last,
+                    "t" + id + "." + first.toLowerCase() + "@staff.example.com", phone(random),
+                    pick(random, SUBJECTS), date(3_650 + random.nextInt(5_000)));
+        }
+        for (int c = 0; c < courses; c++) {
+            String subject = SUBJECTS[c % SUBJECTS.length];
+            String name = COURSE_LEVELS[(c / SUBJECTS.length) % COURSE_LEVELS.length] + " " + subject
+                    + (c >= SUBJECTS.length * COURSE_LEVELS.length ? " " + (c / (SUBJECTS.length * COURSE_LEVELS.length) + 1) : "");
+            sink.add(Table.COURSES, courseId(c), name, "G" + courseId(c),
+                    "Generated course on " + subject.toLowerCase() + ".", 1 + random.nextInt(4),
+                    teacherId(random.nextInt(teachers)));
+            for (int e = 0; e < examsPerCourse; e++) {
+                sink.add(Table.EXAMS, examId(c, e), EXAM_NAMES[e % EXAM_NAMES.length] + " - " + name,
+                        new Timestamp(BASE_MILLIS - random.nextInt(1_000) * DAY_MILLIS + (8 + random.nextInt(9)) * 3_600_000L),
+                        courseId(c), e % EXAM_NAMES.length == 2 ? 20 : 100);
+            }
+        }
+        sink.flush();
+    }
+
+    private void generateStudent(RowSink sink, int index) throws IOException, SQLException {
+        SplittableRandom random = random(2, index);
+        int id = idOffset + index + 1;
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+        int enrolledDaysAgo = random.nextInt(4 * 365);
+        sink.add(Table.STUDENTS, id, first, last, date(6_000 + random.nextInt(4_000)),
+                first.toLowerCase() + "." + last.toLowerCase() + "." + id + "@students.example.com", phone(random),
+                (1 + random.nextInt(400)) + " " + pick(random, STREETS) + ", " + pick(random, CITIES),
+                date(enrolledDaysAgo));
+
+        // Distinct courses, so (student_id, course_id) and (exam_id, student_id) stay unique.
+        int count = Math.min(courses, 1 + random.nextInt(Math.max(2 * enrollmentsPerStudent - 1, 1)));
+        int[] chosen = new int[count];
+        for (int n = 0; n < count; n++) {
+            int course;
+            do {
+                course = random.nextInt(courses);
+            } while (contains(chosen, n, course));
+            chosen[n] = course;
+
+            boolean finished = random.nextInt(4) > 0;
+            sink.add(Table.ENROLLMENTS, id, courseId(course), date(Math.max(enrolledDaysAgo - random.nextInt(60), 0)),
+                    finished ? pick(random, GRADES) : null);
+            for (int e = 0; e < examsPerCourse; e++) {
+                int maxMarks = e % EXAM_NAMES.length == 2 ? 20 : 100;
+                double marks = Math.max(0, Math.min(maxMarks, maxMarks * (0.65 + 0.18 * gaussian(random))));
+                sink.add(Table.EXAM_RESULTS, examId(course, e), id,
+                        BigDecimal.valueOf(Math.round(marks * 2) / 2.0).setScale(2), random.nextInt(5) == 0 ? "Needs improvement" : null);
+            }
+        }
+
+        int payments = random.nextInt(2 * paymentsPerStudent + 1);
+        for (int p = 0; p < payments; p++) {
+            Integer course = random.nextInt(3) == 0 ? null : courseId(chosen[random.nextInt(count)]);
+            sink.add(Table.PAYMENTS, id, course, BigDecimal.valueOf(5_000 + random.nextInt(200_000), 2),
+                    date(Math.max(enrolledDaysAgo - random.nextInt(365), 0)),
+                    paymentMethodIds[random.nextInt(paymentMethodIds.length)],
+                    course == null ? "Registration fee" : "Tuition installment " + (p + 1),
+                    "GEN-" + id + "-" + (p + 1));
+        }
+    }
+
+    private SplittableRandom random(int stream, int index) {
+        // SplittableRandom mixes its seed, so neighbouring seeds give unrelated sequences.
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private int teacherId(int index) {
+        return idOffset + index + 1;
+    }
+
+    private int courseId(int index) {
+        return idOffset + index + 1;
+    }
+
+    private int examId(int course, int exam) {
+        return idOffset + course * examsPerCourse + exam + 1;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String phone(SplittableRandom random) {
+        return String.format("07%d-%07d", random.nextInt(10), random.nextInt(10_000_000));
+    }
+
+    private static java.sql.Date date(int daysAgo) {
+        return new java.sql.Date(BASE_MILLIS - daysAgo * DAY_MILLIS);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Sum of uniforms: a bounded, roughly normal value with mean 0 and variance 1.
+        double sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += random.nextDouble();
+        }
+        return sum - 6;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Database preparation ---
+
+    private void checkIdsAreFree() throws SQLException {
+        String[][] checks = {{"teachers", "teacher_id"}, {"courses", "course_id"}, {"exams", "exam_id"}, {"students", "student_id"}};
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String[] check : checks) {
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + check[0] + " WHERE " + check[1] + " > " + idOffset)) {
+                    if (rs.next() && rs.getLong(1) > 0) {
+                        throw new IllegalStateException("Table " + check[0] + " already has rows with IDs above " + idOffset
+                                + ". Use a larger --idOffset or reload the schema.");
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] loadPaymentMethodIds() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT method_id FROM payment_methods ORDER BY method_id")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The payment_methods table is empty; load the schema script first.");
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // --- Sinks ---
+
+    /**
+     * Sends rows as JDBC batches (rewritten into multi-row INSERTs by the driver) and
+     * commits on every flush, parents before children.
+     */
+    private static final class JdbcSink implements RowSink {
+        private final Connection conn;
+        private final Map<Table, PreparedStatement> statements = new EnumMap<>(Table.class);
+
+        JdbcSink(Connection conn) throws SQLException {
+            this.conn = conn;
+            conn.setAutoCommit(false);
+        }
+
+        @Override
+        public void add(Table table, Object... values) throws SQLException {
+            PreparedStatement pstmt = statements.get(table);
+            if (pstmt == null) {
+                StringBuilder placeholders = new StringBuilder("?");
+                for (int i = 1; i < table.columnCount; i++) {
+                    placeholders.append(", ?");
+                }
+                pstmt = conn.prepareStatement("INSERT INTO " + table.tableName + " (" + table.columns + ") VALUES (" + placeholders + ")");
+                statements.put(table, pstmt);
+            }
+            for (int i = 0; i < values.length; i++) {
+                pstmt.setObject(i + 1, values[i]);
+            }
+            pstmt.addBatch();
+        }
+
+        @Override
+        public void flush() throws SQLException {
+            try {
+                for (PreparedStatement pstmt : statements.values()) { // EnumMap iterates in FK order.
+                    pstmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                for (PreparedStatement pstmt : statements.values()) {
+                    pstmt.close();
+                }
+            } finally {
+                conn.close(); // The pool resets auto-commit.
+            }
+        }
+    }
+
+    /**
+     * Writes rows in MySQL's default `LOAD DATA` text format: tab-separated, `\N` for NULL,
+     * backslash escapes for tabs, newlines and backslashes.
+     */
+    private static final class TsvSink implements RowSink {
+        private final File directory;
+        private final String part;
+        private final Map<Table, BufferedWriter> writers = new EnumMap<>(Table.class);
+
+        TsvSink(File directory, String part) {
+            this.directory = directory;
+            this.part = part;
+        }
+
+        @Override
+        public void add(Table table, Object... values) throws IOException {
+            BufferedWriter writer = writers.get(table);
+            if (writer == null) {
+                writer = Files.newBufferedWriter(new File(directory, table.tableName + "." + part + ".tsv").toPath(), StandardCharsets.UTF_8);
+                writers.put(table, writer);
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write('\t');
+                }
+                writer.write(values[i] == null ? "\\N" : escape(values[i].toString()));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() {
+            // Files are flushed when closed.
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedWriter writer : writers.values()) {
+                writer.close();
+            }
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf('\\') < 0 && value.indexOf('\t') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+        }
+    }
+
+    // --- Sizes ---
+
+    public int getStudents() {
+        return students;
+    }
+
+    public void setStudents(int students) {
+        this.students = Math.max(students, 0);
+    }
+
+    public int getTeachers() {
+        return teachers;
+    }
+
+    public void setTeachers(int teachers) {
+        this.teachers = Math.max(teachers, 1);
+    }
+
+    public int getCourses() {
+        return courses;
+    }
+
+    public void setCourses(int courses) {
+        this.courses = Math.max(courses, 1);
+    }
+
+    /**
+     * @param enrollmentsPerStudent The average number of courses per student (capped at the course count).
+     */
+    public void setEnrollmentsPerStudent(int enrollmentsPerStudent) {
+        this.enrollmentsPerStudent = Math.max(enrollmentsPerStudent, 1);
+    }
+
+    public void setExamsPerCourse(int examsPerCourse) {
+        this.examsPerCourse = Math.max(examsPerCourse, 0);
+    }
+
+    /**
+     * @param paymentsPerStudent The average number of payments per student.
+     */
+    public void setPaymentsPerStudent(int paymentsPerStudent) {
+        this.paymentsPerStudent = Math.max(paymentsPerStudent, 0);
+    }
+
+    /**
+     * @param idOffset Generated teachers, courses, exams and students get IDs above this value.
+     */
+    public void setIdOffset(int idOffset) {
+        this.idOffset = Math.max(idOffset, 0);
+    }
+}
@@ -0,0 +1,378 @@
+package com.institute.app.tools;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.dao.ExamDAO;
+import com.institute.app.dao.ExamResultDAO;
+import com.institute.app.dao.PaymentDAO;
+import com.institute.app.dao.RevenueDAO;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.dao.UserDAO;
+import com.institute.app.metrics.LatencyHistogram;
+import com.institute.app.models.Exam;
+import com.institute.app.models.Payment;
+import com.institute.app.models.Student;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless load-test driver that simulates front-desk staff working against one database.
+ *
+ * Each operator is a thread running a weighted mix of the application's real flows through
+ * the DAOs: logging in, looking up a student, entering a payment, entering exam results and
+ * loading a payment report. Per flow it reports throughput, latency percentiles and the
+ * error rate. A flow counts as failed when it throws or when a DAO returns its failure value
+ * (null, false or an empty page where rows must exist).
+ *
+ * The driver writes to the database (payments and exam results), so run it against a
+ * test database filled by {@link DataGenerator}. The payments it adds are deleted at the
+ * end unless `--keep=true` is given.
+ *
+ * Usage: java -cp ... com.institute.app.tools.LoadTest [--operators=20] [--duration=60]
+ *        [--warmup=10] [--think=0] [--seed=1]
+ *        [--mix=login:5,lookup:50,payment:20,examResult:15,report:10] [--keep=false]
+ */
+public class LoadTest {
+
+    /** The simulated flows. */
+    enum Flow {
+        LOGIN("login"),
+        LOOKUP("lookup"),
+        PAYMENT("payment"),
+        EXAM_RESULT("examResult"),
+        REPORT("report");
+
+        final String key;
+
+        Flow(String key) {
+            this.key = key;
+        }
+    }
+
+    /** Per-flow counters; flows that start during the warm-up are not recorded. */
+    private static final class FlowStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+    }
+
+    private static final int LOOKUP_PAGE_SIZE = 25;
+    private static final int REPORT_PAGE_SIZE = 500;
+    private static final int REPORT_PAGES = 2;
+    private static final int RESULTS_PER_ENTRY = 10;
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final PaymentDAO paymentDAO = new PaymentDAO();
+    private final ExamDAO examDAO = new ExamDAO();
+    private final ExamResultDAO examResultDAO = new ExamResultDAO();
+    private final UserDAO userDAO = new UserDAO();
+    private final RevenueDAO revenueDAO = new RevenueDAO();
+    private final Map<Flow, FlowStats> stats = new HashMap<>();
+    private final Date startDate = new Date();
+    private final String runId = "LOAD-" + Long.toString(startDate.getTime(), 36) + "-";
+    private final AtomicLong invoiceCounter = new AtomicLong();
+
+    private int[] studentIds;
+    private int[] examIds;
+    private int[] paymentMethodIds;
+    private String[][] credentials;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Unrecognised argument: " + arg);
+                return;
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        int operators = Integer.parseInt(options.getOrDefault("operators", "20"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int think = Integer.parseInt(options.getOrDefault("think", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        boolean keep = Boolean.parseBoolean(options.getOrDefault("keep", "false"));
+        int[] weights = parseMix(options.getOrDefault("mix", "login:5,lookup:50,payment:20,examResult:15,report:10"));
+        if (weights == null) {
+            return;
+        }
+
+        LoadTest test = new LoadTest();
+        try {
+            test.loadFixtures();
+            int poolSize = DBConnection.getPoolStats().getMaxSize();
+            if (operators > poolSize) {
+                System.out.println("Note: " + operators + " operators share " + poolSize
+                        + " pooled connections; time spent waiting for a connection is part of the latency.");
+            }
+            test.run(operators, weights, warmup, duration, think, seed);
+            test.printReport(duration);
+            System.out.println("Pool: " + DBConnection.getPoolStats());
+            System.out.print(DBConnection.getReplicaStatus());
+        } finally {
+            if (!keep) {
+                test.deletePayments();
+            }
+            DBConnection.closeConnection();
+        }
+    }
+
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[Flow.values().length];
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Flow flow = null;
+            for (Flow candidate : Flow.values()) {
+                if (candidate.key.equals(parts[0])) {
+                    flow = candidate;
+                }
+            }
+            if (flow == null || parts.length != 2) {
+                System.err.println("Invalid --mix entry: " + entry);
+                return null;
+            }
+            weights[flow.ordinal()] = Integer.parseInt(parts[1]);
+        }
+        return weights;
+    }
+
+    /**
+     * Reads the IDs and credentials the flows pick from, so that every lookup hits a real row.
+     */
+    private void loadFixtures() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            studentIds = readIds(stmt, "SELECT student_id FROM students");
+            examIds = readIds(stmt, "SELECT exam_id FROM exams");
+            paymentMethodIds = readIds(stmt, "SELECT method_id FROM payment_methods");
+            List<String[]> users = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT username, password_hash FROM users LIMIT 100")) {
+                while (rs.next()) {
+                    users.add(new String[]{rs.getString(1), rs.getString(2)});
+                }
+            }
+            credentials = users.toArray(new String[0][]);
+        }
+        if (studentIds.length == 0 || examIds.length == 0 || paymentMethodIds.length == 0 || credentials.length == 0) {
+            throw new IllegalStateException("The database needs students, exams, payment methods and users; fill it with DataGenerator first.");
+        }
+        System.out.printf("Fixtures: %,d students, %,d exams, %d users.%n", studentIds.length, examIds.length, credentials.length);
+    }
+
+    private static int[] readIds(Statement stmt, String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void run(int operators, int[] weights, int warmupSeconds, int durationSeconds, int thinkMillis, long seed)
+            throws InterruptedException {
+        for (Flow flow : Flow.values()) {
+            stats.put(flow, new FlowStats());
+        }
+        int totalWeight = 0;
+        for (int weight : weights) {
+            totalWeight += weight;
+        }
+        int weightSum = totalWeight;
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CountDownLatch finished = new CountDownLatch(operators);
+        for (int i = 0; i < operators; i++) {
+            SplittableRandom random = new SplittableRandom(seed * 31 + i);
+            Thread operator = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        Flow flow = pick(random, weights, weightSum);
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = execute(flow, random);
+                        } catch (RuntimeException e) {
+                            ok = false;
+                        }
+                        long stop = System.nanoTime();
+                        if (start >= measureFrom) {
+                            FlowStats flowStats = stats.get(flow);
+                            flowStats.latency.record(stop - start);
+                            if (!ok) {
+                                flowStats.errors.increment();
+                            }
+                        }
+                        if (thinkMillis > 0) {
+                            Thread.sleep(random.nextInt(2 * thinkMillis + 1));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            }, "operator-" + i);
+            operator.setDaemon(true);
+            operator.start();
+        }
+
+        System.out.printf("Running %d operators: %d s warm-up, %d s measured.%n", operators, warmupSeconds, durationSeconds);
+        while (!finished.await(10, TimeUnit.SECONDS)) {
+            long completed = 0;
+            for (FlowStats flowStats : stats.values()) {
+                completed += flowStats.latency.getCount();
+            }
+            System.out.printf("  ... %,d measured flows so far%n", completed);
+        }
+    }
+
+    private static Flow pick(SplittableRandom random, int[] weights, int totalWeight) {
+        int ticket = random.nextInt(totalWeight);
+        for (Flow flow : Flow.values()) {
+            ticket -= weights[flow.ordinal()];
+            if (ticket < 0) {
+                return flow;
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    // --- Flows ---
+
+    private boolean execute(Flow flow, SplittableRandom random) {
+        switch (flow) {
+            case LOGIN: return login(random);
+            case LOOKUP: return lookupStudent(random);
+            case PAYMENT: return enterPayment(random);
+            case EXAM_RESULT: return enterExamResults(random);
+            case REPORT: return loadPaymentReport();
+            default: throw new IllegalArgumentException("Unknown flow " + flow);
+        }
+    }
+
+    /** The login form: one authentication query. */
+    private boolean login(SplittableRandom random) {
+        String[] user = credentials[random.nextInt(credentials.length)];
+        return userDAO.authenticate(user[0], user[1]) != null;
+    }
+
+    /** Opening a student's record, then the page of the name list around them. */
+    private boolean lookupStudent(SplittableRandom random) {
+        Student student = studentDAO.getStudentById(studentIds[random.nextInt(studentIds.length)]);
+        if (student == null) {
+            return false;
+        }
+        studentDAO.getStudentSummariesAfter(student.getLastName(), student.getFirstName(), student.getStudentId(), LOOKUP_PAGE_SIZE);
+        return true;
+    }
+
+    /** The accountant checks the student and records a payment against them. */
+    private boolean enterPayment(SplittableRandom random) {
+        Student student = studentDAO.getStudentById(studentIds[random.nextInt(studentIds.length)]);
+        if (student == null) {
+            return false;
+        }
+        Payment payment = new Payment(0, student.getStudentId(), null,
+                BigDecimal.valueOf(5_000 + random.nextInt(200_000), 2), new Date(),
+                paymentMethodIds[random.nextInt(paymentMethodIds.length)],
+                "Load test payment", runId + invoiceCounter.incrementAndGet());
+        return paymentDAO.addPayment(payment) != null;
+    }
+
+    /**
+     * A teacher opens an exam and saves marks for a handful of students in one transaction.
+     */
+    private boolean enterExamResults(SplittableRandom random) {
+        Exam exam = examDAO.getExamById(examIds[random.nextInt(examIds.length)]);
+        if (exam == null) {
+            return false;
+        }
+        Map<Integer, BigDecimal> marks = new HashMap<>();
+        for (int i = 0; i < RESULTS_PER_ENTRY; i++) {
+            marks.put(studentIds[random.nextInt(studentIds.length)],
+                    BigDecimal.valueOf(random.nextInt(exam.getMaxMarks() * 2 + 1), 1));
+        }
+        return examResultDAO.saveResults(exam.getExamId(), marks);
+    }
+
+    /** The data behind the payment report: the latest payments, page by page, totalled. */
+    private boolean loadPaymentReport() {
+        BigDecimal total = BigDecimal.ZERO;
+        Date lastDate = null;
+        int lastId = 0;
+        for (int page = 0; page < REPORT_PAGES; page++) {
+            List<Payment> payments = paymentDAO.getPaymentsBefore(lastDate, lastId, REPORT_PAGE_SIZE);
+            if (payments.isEmpty()) {
+                return page > 0;
+            }
+            for (Payment payment : payments) {
+                total = total.add(payment.getAmount());
+            }
+            Payment last = payments.get(payments.size() - 1);
+            lastDate = last.getPaymentDate();
+            lastId = last.getPaymentId();
+        }
+        return total.signum() >= 0;
+    }
+
+    // --- Reporting and clean-up ---
+
+    private void printReport(int durationSeconds) {
+        System.out.println();
+        System.out.printf("%-12s %10s %10s %10s %10s %10s %10s %8s%n",
+                "Flow", "Count", "Ops/sec", "p50 ms", "p95 ms", "p99 ms", "Max ms", "Errors");
+        long totalCount = 0;
+        long totalErrors = 0;
+        for (Flow flow : Flow.values()) {
+            FlowStats flowStats = stats.get(flow);
+            long count = flowStats.latency.getCount();
+            long errors = flowStats.errors.sum();
+            totalCount += count;
+            totalErrors += errors;
+            if (count == 0) {
+                continue;
+            }
+            System.out.printf("%-12s %,10d %10.1f %10.2f %10.2f %10.2f %10.2f %7.2f%%%n",
+                    flow.key, count, count / (double) durationSeconds,
+                    millis(flowStats.latency.getValueAtPercentile(50)),
+                    millis(flowStats.latency.getValueAtPercentile(95)),
+                    millis(flowStats.latency.getValueAtPercentile(99)),
+                    millis(flowStats.latency.getMaxNanos()),
+                    100.0 * errors / count);
+        }
+        System.out.printf("%-12s %,10d %10.1f %54.2f%%%n", "total", totalCount, totalCount / (double) durationSeconds,
+                totalCount == 0 ? 0.0 : 100.0 * totalErrors / totalCount);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private void deletePayments() {
+        String sql = "DELETE FROM payments WHERE invoice_number LIKE ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, runId + "%");
+            System.out.println("Cleaned up " + pstmt.executeUpdate() + " load-test payments.");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        // The bulk delete bypasses PaymentDAO; recompute the days the run's payments fell on.
+        revenueDAO.rebuildRollup(startDate, new Date());
+    }
+}
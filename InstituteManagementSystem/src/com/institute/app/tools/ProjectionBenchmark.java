@@ -0,0 +1,109 @@
+package com.institute.app.tools;
+
+import com.institute.app.config.DBConnection;
+import com.institute.app.models.Student;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Command-line measurement of what explicit column lists save when reading `students`.
+ *
+ * For each read style it reports the bytes MySQL sent (from the session's `Bytes_sent`
+ * counter) and the time spent reading and mapping rows, both scaled to 100k rows:
+ * - `SELECT *` mapped by column label (the old DAO code);
+ * - the explicit column list mapped by position (`StudentDAO` today);
+ * - the summary projection without `address` (`StudentDAO.getAllStudentSummaries`).
+ *
+ * Usage: java -cp ... com.institute.app.tools.ProjectionBenchmark [repetitions]
+ * Seed the database with a realistic number of students first.
+ */
+public class ProjectionBenchmark {
+
+    private static final String STAR_SQL = "SELECT * FROM students";
+    private static final String EXPLICIT_SQL = "SELECT student_id, first_name, last_name, date_of_birth, email, phone, address, enrollment_date FROM students";
+    private static final String SUMMARY_SQL = "SELECT student_id, first_name, last_name, date_of_birth, email, phone, enrollment_date FROM students";
+
+    private enum Style { STAR_BY_LABEL, EXPLICIT_BY_INDEX, SUMMARY_BY_INDEX }
+
+    public static void main(String[] args) throws SQLException {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        // All measurements share one connection so the session byte counter is meaningful.
+        try (Connection conn = DBConnection.getConnection()) {
+            // Warm-up pass for the JIT and the server's buffer pool.
+            for (Style style : Style.values()) {
+                measure(conn, style);
+            }
+            System.out.printf("%-20s %16s %16s%n", "style", "bytes/100k rows", "ms/100k rows");
+            for (Style style : Style.values()) {
+                long bytes = 0;
+                long nanos = 0;
+                long rows = 0;
+                for (int i = 0; i < repetitions; i++) {
+                    long[] result = measure(conn, style);
+                    rows += result[0];
+                    bytes += result[1];
+                    nanos += result[2];
+                }
+                if (rows == 0) {
+                    System.out.println("The students table is empty; nothing to measure.");
+                    return;
+                }
+                System.out.printf("%-20s %,16d %16.1f%n", style,
+                        bytes * 100_000 / rows, nanos / 1_000_000.0 * 100_000 / rows);
+            }
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    /**
+     * @return {rows read, bytes sent by the server, nanoseconds spent reading and mapping}
+     */
+    private static long[] measure(Connection conn, Style style) throws SQLException {
+        String sql = style == Style.STAR_BY_LABEL ? STAR_SQL : style == Style.EXPLICIT_BY_INDEX ? EXPLICIT_SQL : SUMMARY_SQL;
+        long bytesBefore = bytesSent(conn);
+        long overhead = bytesSent(conn) - bytesBefore; // What one status query itself costs.
+        bytesBefore += overhead;
+
+        long rows = 0;
+        long start = System.nanoTime();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                Student student = map(rs, style);
+                if (student.getStudentId() != 0) {
+                    rows++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = bytesSent(conn) - bytesBefore - overhead;
+        return new long[]{rows, bytes, elapsed};
+    }
+
+    private static Student map(ResultSet rs, Style style) throws SQLException {
+        switch (style) {
+            case STAR_BY_LABEL:
+                return new Student(rs.getInt("student_id"), rs.getString("first_name"), rs.getString("last_name"),
+                        rs.getDate("date_of_birth"), rs.getString("email"), rs.getString("phone"),
+                        rs.getString("address"), rs.getDate("enrollment_date"));
+            case EXPLICIT_BY_INDEX:
+                return new Student(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getDate(4),
+                        rs.getString(5), rs.getString(6), rs.getString(7), rs.getDate(8));
+            default:
+                return new Student(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getDate(4),
+                        rs.getString(5), rs.getString(6), null, rs.getDate(7));
+        }
+    }
+
+    private static long bytesSent(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SHOW SESSION STATUS LIKE 'Bytes_sent'")) {
+            return rs.next() ? rs.getLong(2) : 0;
+        }
+    }
+}
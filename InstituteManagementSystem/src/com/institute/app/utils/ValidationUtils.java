@@ -68,6 +68,30 @@ public final class ValidationUtils {
         return true;
     }
 
+    /**
+     * Checks a phone number against the same rules as the entry forms: 7 to 20 digits,
+     * spaces, dashes, parentheses and plus signs.
+     * @param phone The phone number to check.
+     * @return `true` if the format is valid, `false` otherwise (including null).
+     */
+    public static boolean isValidPhone(String phone) {
+        return phone != null && PHONE_PATTERN.matcher(phone.trim()).matches();
+    }
+
+    /**
+     * Reduces a valid phone number to its digits, so "(555) 010-0100" and "555-010-0100"
+     * compare equal.
+     * @param phone The phone number to normalize.
+     * @return The digits, or null if the number is not valid (see {@link #isValidPhone(String)}).
+     */
+    public static String normalizePhone(String phone) {
+        if (!isValidPhone(phone)) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : digits;
+    }
+
     /**
      * Validates a string to ensure it can be parsed as a positive number.
      * @param parent The parent component for the dialog.
@@ -0,0 +1,104 @@
+package com.institute.app.journal;
+
+import com.institute.app.dao.PaymentDAO;
+import com.institute.app.dao.StudentDAO;
+import com.institute.app.models.Payment;
+import com.institute.app.models.Student;
+import com.institute.app.test.TestDatabase;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays journaled operations into the embedded test database.
+ */
+class JournalReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    private WriteAheadJournal journal;
+    private JournalReplayer replayer;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void openJournal() throws Exception {
+        journal = new WriteAheadJournal(directory, 1024 * 1024);
+        // Batches are replayed directly, so the background thread and its writer are not needed.
+        replayer = new JournalReplayer(journal, null, 200, 1000, directory.resolve("rejected.log"));
+    }
+
+    @AfterEach
+    void closeJournal() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void insertsPaymentJournaledWithoutInvoiceNumber() throws Exception {
+        Student student = new StudentDAO().addStudent(newStudent("replay-invoice"));
+        assertNotNull(student);
+        long seq = journal.append(JournalRecord.ADD_PAYMENT, JournalRecord.encode(newPayment(student.getStudentId(), "Online student")));
+        journal.sync(seq);
+
+        assertTrue(replayer.replay(journal.read(0, 200)));
+
+        assertFalse(Files.exists(directory.resolve("rejected.log")));
+        assertEquals(0, journal.getPendingCount());
+        List<Payment> saved = paymentsOf(student.getStudentId());
+        assertEquals(1, saved.size());
+        assertNotNull(saved.get(0).getInvoiceNumber());
+    }
+
+    @Test
+    void insertsPaymentForStudentJournaledInSameBatch() throws Exception {
+        Student student = newStudent("replay-offline-student");
+        long studentSeq = journal.append(JournalRecord.ADD_STUDENT, JournalRecord.encode(student));
+        int provisionalId = JournalRecord.provisionalId(studentSeq);
+        long seq = journal.append(JournalRecord.ADD_PAYMENT, JournalRecord.encode(newPayment(provisionalId, "Offline student")));
+        journal.sync(seq);
+
+        assertTrue(replayer.replay(journal.read(0, 200)));
+
+        assertFalse(Files.exists(directory.resolve("rejected.log")));
+        List<Payment> saved = new PaymentDAO().getAllPayments().stream()
+                .filter(p -> "Offline student".equals(p.getDescription()))
+                .collect(Collectors.toList());
+        assertEquals(1, saved.size());
+        assertTrue(saved.get(0).getStudentId() > 0);
+        assertNotNull(saved.get(0).getInvoiceNumber());
+    }
+
+    private static List<Payment> paymentsOf(int studentId) {
+        return new PaymentDAO().getAllPayments().stream()
+                .filter(p -> p.getStudentId() == studentId)
+                .collect(Collectors.toList());
+    }
+
+    private static Student newStudent(String key) {
+        return new Student(0, "Maya", "Perera", new Date(946_684_800_000L), key + "@test.invalid",
+                "0771234567", "1 Galle Road, Colombo 3", new Date());
+    }
+
+    private static Payment newPayment(int studentId, String description) {
+        // No invoice number, like the payments JournaledWriter.addPayment journals from the desk.
+        return new Payment(0, studentId, null, new BigDecimal("2500.00"), new Date(), null, description, null);
+    }
+}
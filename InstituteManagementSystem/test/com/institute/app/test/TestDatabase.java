@@ -0,0 +1,68 @@
+package com.institute.app.test;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.institute.app.config.DBConnection;
+
+/**
+ * An embedded MariaDB server (through MariaDB4j) with the application schema and no rows,
+ * shared by every test in one JVM.
+ *
+ * The server listens on a free local port; `db.url`, `db.user` and `db.password` are set
+ * as system properties so {@link DBConnection} and the DAOs use it without any changes.
+ */
+public final class TestDatabase {
+
+    public static final String NAME = "institute_management_db";
+
+    private static DB server;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private TestDatabase() {}
+
+    /**
+     * Starts the database and creates the schema the first time it is called in this JVM.
+     */
+    public static synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0); // Pick a free port.
+            server = DB.newEmbeddedDB(config.build());
+            server.start();
+            server.createDB(NAME);
+            // The schema script is copied onto the test classpath by the `test-compile` target.
+            server.source("institute_management_db.sql", "root", null, NAME);
+
+            System.setProperty("db.url", "jdbc:mysql://localhost:" + server.getConfiguration().getPort() + "/" + NAME);
+            System.setProperty("db.user", "root");
+            System.setProperty("db.password", "");
+            DBConnection.closeConnection(); // Make sure the pool is created with the new settings.
+
+            Runtime.getRuntime().addShutdownHook(new Thread(TestDatabase::stop, "test-db-shutdown"));
+        } catch (ManagedProcessException e) {
+            throw new RuntimeException("Failed to start the embedded test database.", e);
+        }
+    }
+
+    /**
+     * Closes the pool and stops the server.
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        DBConnection.closeConnection();
+        try {
+            server.stop();
+        } catch (ManagedProcessException e) {
+            e.printStackTrace();
+        }
+        server = null;
+    }
+}